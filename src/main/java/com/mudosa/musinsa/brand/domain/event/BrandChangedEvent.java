@@ -0,0 +1,7 @@
+package com.mudosa.musinsa.brand.domain.event;
+
+/**
+ * 브랜드 정보(이름, 수수료율 등)가 생성/변경되었을 때 발행된다.
+ */
+public record BrandChangedEvent(Long brandId) {
+}
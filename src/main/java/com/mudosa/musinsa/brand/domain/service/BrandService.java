@@ -3,6 +3,7 @@ package com.mudosa.musinsa.brand.domain.service;
 import com.mudosa.musinsa.brand.domain.dto.BrandDetailResponseDTO;
 import com.mudosa.musinsa.brand.domain.dto.BrandRequestDTO;
 import com.mudosa.musinsa.brand.domain.dto.BrandResponseDTO;
+import com.mudosa.musinsa.brand.domain.event.BrandChangedEvent;
 import com.mudosa.musinsa.brand.domain.model.Brand;
 import com.mudosa.musinsa.brand.domain.model.BrandMember;
 import com.mudosa.musinsa.brand.domain.model.BrandStatus;
@@ -28,6 +29,7 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -51,6 +53,7 @@ public class BrandService {
 
   private final BrandMemberRepository brandMemberRepository;
   private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Qualifier("s3AsyncFileStore")
   private final FileStore fileStore;
@@ -97,6 +100,9 @@ public class BrandService {
 
     brandMemberRepository.save(BrandMember.create(userId, savedBrand));
 
+    // 정산 브랜드 디렉터리 갱신 (커밋 후)
+    eventPublisher.publishEvent(new BrandChangedEvent(savedBrand.getBrandId()));
+
     // 4. 응답 DTO 변환
     return convertToBrandResponse(savedBrand);
   }
@@ -0,0 +1,20 @@
+package com.mudosa.musinsa.chat.broker;
+
+import java.util.function.Consumer;
+
+/**
+ * 채널 구독까지 지원하는 브로커 (노드 간 fan-out용)
+ */
+public interface ChatChannelBroker extends ChatMessageBroker {
+  /**
+   * 구독 시작 (받은 payload 문자열을 listener로 전달)
+   * <p>
+   * 같은 destination을 다시 구독하면 이전 listener를 대체한다.
+   */
+  void subscribe(String destination, Consumer<String> listener);
+
+  /**
+   * 구독 해제
+   */
+  void unsubscribe(String destination);
+}
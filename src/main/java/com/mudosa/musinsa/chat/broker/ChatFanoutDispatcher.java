@@ -0,0 +1,116 @@
+package com.mudosa.musinsa.chat.broker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h5>채팅방 메시지 fan-out</h5>
+ * <p>
+ * payload는 메시지마다 한 번만 JSON으로 직렬화하고, 같은 바이트 배열을 로컬 구독 세션 전체에 그대로 보낸다.
+ * <ul>
+ *   <li>로컬 세션: 브로커를 거치지 않고 바로 전달한다.</li>
+ *   <li>다른 노드: 방에 다른 노드의 세션이 있을 때만 브로커로 발행한다. 모두 로컬이면 발행하지 않는다.</li>
+ * </ul>
+ * 메트릭: chat.fanout.messages{route=local|broker}, chat.fanout.received
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.fanout.enabled", havingValue = "true")
+public class ChatFanoutDispatcher {
+
+  public static final String ROOM_DESTINATION_PREFIX = "/topic/chat.";
+
+  private final SimpMessageSendingOperations messagingTemplate;
+  private final ChatRoomPresence chatRoomPresence;
+  private final ObjectMapper objectMapper;
+  private final Counter localOnly;
+  private final Counter brokered;
+  private final Counter received;
+
+  public ChatFanoutDispatcher(SimpMessageSendingOperations messagingTemplate,
+                              ChatRoomPresence chatRoomPresence,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+    this.messagingTemplate = messagingTemplate;
+    this.chatRoomPresence = chatRoomPresence;
+    this.objectMapper = objectMapper;
+    this.localOnly = routeCounter(meterRegistry, "local");
+    this.brokered = routeCounter(meterRegistry, "broker");
+    this.received = Counter.builder("chat.fanout.received")
+        .description("다른 노드에서 받아 로컬 세션에 전달한 채팅 메시지 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * <h5>채팅방으로 전송</h5>
+   *
+   * @param chatId  채팅방 아이디
+   * @param payload WSMessageResponseDTO OR WSFileUploadSuccessDTO
+   */
+  public void dispatch(Long chatId, Object payload) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      log.error("[chatId={}] 채팅 메시지 직렬화 실패", chatId, e);
+      return;
+    }
+
+    // 1. 로컬 세션 전달
+    deliverLocally(chatId, json.getBytes(StandardCharsets.UTF_8));
+
+    // 2. 다른 노드에 세션이 있을 때만 발행
+    if (chatRoomPresence.hasRemoteNodes(chatId)) {
+      chatRoomPresence.publish(chatId, json);
+      brokered.increment();
+    } else {
+      localOnly.increment();
+    }
+  }
+
+  /**
+   * 이 노드에 방의 첫 로컬 세션이 생겼을 때 방 채널 구독
+   */
+  public void openRoom(Long chatId) {
+    chatRoomPresence.join(chatId, json -> {
+      received.increment();
+      deliverLocally(chatId, json.getBytes(StandardCharsets.UTF_8));
+    });
+  }
+
+  /**
+   * 이 노드에서 방의 마지막 로컬 세션이 나갔을 때 방 채널 구독 해제
+   */
+  public void closeRoom(Long chatId) {
+    chatRoomPresence.leave(chatId);
+  }
+
+  /* 직렬화된 JSON을 그대로 싣는다. 구독 세션별로는 헤더만 복사된다. */
+  private void deliverLocally(Long chatId, byte[] json) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+    accessor.setLeaveMutable(true);
+    Message<byte[]> message = MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    messagingTemplate.send(ROOM_DESTINATION_PREFIX + chatId, message);
+  }
+
+  private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+    return Counter.builder("chat.fanout.messages")
+        .tag("route", route)
+        .description("채팅 메시지 fan-out 경로 (local: 방의 세션이 모두 이 노드)")
+        .register(meterRegistry);
+  }
+}
@@ -15,4 +15,5 @@ public interface ChatMessageBroker {
    * 전체 전달
    */
   void broadcast(String destination, Object payload);
+
 }
@@ -0,0 +1,159 @@
+package com.mudosa.musinsa.chat.broker;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * <h5>채팅방 노드 구독 현황</h5>
+ * <p>
+ * 채팅방마다 로컬 세션을 가진 노드 목록을 Redis Set(chat:fanout:room:{chatId})에 두고,
+ * 노드는 로컬 세션이 있는 동안에만 방 채널(chat:room:{chatId})을 구독한다.
+ * <ul>
+ *   <li>다른 노드 목록은 방별로 로컬에 캐시하고, JOIN/LEAVE 알림(chat:fanout:presence)으로 바로 고친다.</li>
+ *   <li>다른 노드가 없는 방은 브로커로 발행하지 않는다.</li>
+ *   <li>비정상 종료로 Set에 남은 노드는 발행만 한 번 더 하게 만들 뿐 유실은 없다.</li>
+ * </ul>
+ * 방 채널 프레임은 "nodeId\n{json}" 형식이며 자기 노드가 보낸 프레임은 버린다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.fanout.enabled", havingValue = "true")
+public class ChatRoomPresence {
+
+  public static final String PRESENCE_CHANNEL = "chat:fanout:presence";
+  private static final String ROOM_NODES_KEY = "chat:fanout:room:";
+  private static final String ROOM_CHANNEL = "chat:room:";
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final ChatChannelBroker chatChannelBroker;
+  private final String nodeId = UUID.randomUUID().toString();
+  // chatId -> 이 노드를 뺀 구독 노드 목록
+  private final Cache<Long, Set<String>> remoteNodes;
+  // 이 노드가 구독 중인 방
+  private final Set<Long> joinedRooms = ConcurrentHashMap.newKeySet();
+
+  public ChatRoomPresence(StringRedisTemplate stringRedisTemplate,
+                          ChatChannelBroker chatChannelBroker,
+                          @Value("${chat.fanout.presence-refresh-ms:30000}") long refreshMillis) {
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.chatChannelBroker = chatChannelBroker;
+    this.remoteNodes = Caffeine.newBuilder()
+        .maximumSize(100_000)
+        .expireAfterWrite(Duration.ofMillis(refreshMillis))
+        .build();
+  }
+
+  @PostConstruct
+  void subscribe() {
+    chatChannelBroker.subscribe(PRESENCE_CHANNEL, this::onPresence);
+  }
+
+  @PreDestroy
+  void leaveAll() {
+    for (Long chatId : Set.copyOf(joinedRooms)) {
+      try {
+        leave(chatId);
+      } catch (Exception e) {
+        log.warn("[chatId={}] 종료 중 방 구독 해제 실패", chatId, e);
+      }
+    }
+  }
+
+  /**
+   * <h5>방 구독 시작</h5>
+   * <p>
+   * 이 노드에 방의 첫 로컬 세션이 생겼을 때 호출한다.
+   *
+   * @param listener 다른 노드가 발행한 payload(JSON)
+   */
+  public void join(Long chatId, Consumer<String> listener) {
+    chatChannelBroker.subscribe(roomChannel(chatId), frame -> {
+      int separator = frame.indexOf('\n');
+      if (separator < 0 || separator == nodeId.length() && frame.startsWith(nodeId)) {
+        return;
+      }
+      listener.accept(frame.substring(separator + 1));
+    });
+    stringRedisTemplate.opsForSet().add(ROOM_NODES_KEY + chatId, nodeId);
+    joinedRooms.add(chatId);
+    chatChannelBroker.sendToTopic(PRESENCE_CHANNEL, "JOIN:" + nodeId + ":" + chatId);
+  }
+
+  /**
+   * <h5>방 구독 해제</h5>
+   * <p>
+   * 이 노드에서 방의 마지막 로컬 세션이 나갔을 때 호출한다.
+   */
+  public void leave(Long chatId) {
+    joinedRooms.remove(chatId);
+    stringRedisTemplate.opsForSet().remove(ROOM_NODES_KEY + chatId, nodeId);
+    chatChannelBroker.unsubscribe(roomChannel(chatId));
+    chatChannelBroker.sendToTopic(PRESENCE_CHANNEL, "LEAVE:" + nodeId + ":" + chatId);
+  }
+
+  /**
+   * 방에 다른 노드의 세션이 있는지
+   */
+  public boolean hasRemoteNodes(Long chatId) {
+    return !remoteNodes.get(chatId, this::loadRemoteNodes).isEmpty();
+  }
+
+  /**
+   * 다른 노드로 payload(JSON) 발행
+   */
+  public void publish(Long chatId, String json) {
+    chatChannelBroker.sendToTopic(roomChannel(chatId), nodeId + "\n" + json);
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  /* "JOIN|LEAVE:nodeId:chatId" */
+  private void onPresence(String body) {
+    String[] parts = body.split(":");
+    if (parts.length != 3 || parts[1].equals(nodeId)) {
+      return;
+    }
+    Long chatId = Long.valueOf(parts[2]);
+    boolean join = "JOIN".equals(parts[0]);
+    // 캐시에 없는 방은 다음 조회 때 Set에서 읽는다.
+    remoteNodes.asMap().computeIfPresent(chatId, (id, nodes) -> {
+      Set<String> next = new HashSet<>(nodes);
+      if (join) {
+        next.add(parts[1]);
+      } else {
+        next.remove(parts[1]);
+      }
+      return Set.copyOf(next);
+    });
+  }
+
+  private Set<String> loadRemoteNodes(Long chatId) {
+    Set<String> members = stringRedisTemplate.opsForSet().members(ROOM_NODES_KEY + chatId);
+    if (members == null || members.isEmpty()) {
+      return Set.of();
+    }
+    Set<String> remote = new HashSet<>(members);
+    remote.remove(nodeId);
+    return Set.copyOf(remote);
+  }
+
+  private static String roomChannel(Long chatId) {
+    return ROOM_CHANNEL + chatId;
+  }
+}
@@ -0,0 +1,139 @@
+package com.mudosa.musinsa.chat.broker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h5>로컬 채팅방 구독 세션 집계</h5>
+ * <p>
+ * STOMP 구독(/topic/chat.{chatId})을 방별로 세어, 이 노드에 방의 첫 세션이 생기면 방 채널을 구독하고
+ * 마지막 세션이 나가면 해제한다. 브로커 호출은 ConcurrentHashMap.compute 밖에서 방별 잠금으로 하고,
+ * 잠금 안에서 현재 집계와 구독 상태를 맞추므로 구독/해제 순서가 뒤바뀌어도 최종 상태는 집계를 따른다.
+ * <p>
+ * 메트릭: chat.fanout.rooms (로컬 세션이 있는 방 수), chat.fanout.subscriptions
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.fanout.enabled", havingValue = "true")
+public class ChatRoomSessionRegistry {
+
+  private static final int ROOM_LOCK_STRIPES = 64;
+
+  private final ChatFanoutDispatcher chatFanoutDispatcher;
+  // sessionId -> (subscriptionId -> chatId)
+  private final Map<String, Map<String, Long>> sessions = new ConcurrentHashMap<>();
+  // chatId -> 로컬 구독 수
+  private final Map<Long, Integer> roomSubscriptions = new ConcurrentHashMap<>();
+  // 방 채널을 구독 중인 방 (방별 잠금 안에서만 바뀐다)
+  private final Set<Long> openRooms = ConcurrentHashMap.newKeySet();
+  private final ReentrantLock[] roomLocks = new ReentrantLock[ROOM_LOCK_STRIPES];
+
+  public ChatRoomSessionRegistry(ChatFanoutDispatcher chatFanoutDispatcher, MeterRegistry meterRegistry) {
+    this.chatFanoutDispatcher = chatFanoutDispatcher;
+    for (int i = 0; i < roomLocks.length; i++) {
+      roomLocks[i] = new ReentrantLock();
+    }
+    Gauge.builder("chat.fanout.rooms", roomSubscriptions, Map::size)
+        .description("이 노드에 구독 세션이 있는 채팅방 수")
+        .register(meterRegistry);
+    Gauge.builder("chat.fanout.subscriptions", roomSubscriptions,
+            rooms -> rooms.values().stream().mapToInt(Integer::intValue).sum())
+        .description("이 노드의 채팅방 구독 수")
+        .register(meterRegistry);
+  }
+
+  @EventListener
+  public void handleSubscribe(SessionSubscribeEvent event) {
+    StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+    Long chatId = parseChatId(accessor.getDestination());
+    if (chatId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+      return;
+    }
+    Long previous = sessions.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+        .put(accessor.getSubscriptionId(), chatId);
+    if (previous != null) {
+      release(previous);
+    }
+    roomSubscriptions.merge(chatId, 1, Integer::sum);
+    syncRoom(chatId);
+  }
+
+  @EventListener
+  public void handleUnsubscribe(SessionUnsubscribeEvent event) {
+    StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+    Map<String, Long> subscriptions = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+    if (subscriptions == null || accessor.getSubscriptionId() == null) {
+      return;
+    }
+    Long chatId = subscriptions.remove(accessor.getSubscriptionId());
+    if (chatId != null) {
+      release(chatId);
+    }
+  }
+
+  @EventListener
+  public void handleDisconnect(SessionDisconnectEvent event) {
+    Map<String, Long> subscriptions = sessions.remove(event.getSessionId());
+    if (subscriptions != null) {
+      subscriptions.values().forEach(this::release);
+    }
+  }
+
+  /**
+   * 이 노드의 방 구독 수
+   */
+  public int getSubscriptionCount(Long chatId) {
+    return roomSubscriptions.getOrDefault(chatId, 0);
+  }
+
+  private void release(Long chatId) {
+    roomSubscriptions.computeIfPresent(chatId, (id, count) -> count > 1 ? count - 1 : null);
+    syncRoom(chatId);
+  }
+
+  /* 방 구독 상태를 현재 집계에 맞춘다. 실패한 구독은 다음 구독 이벤트에서 다시 시도한다. */
+  private void syncRoom(Long chatId) {
+    ReentrantLock lock = roomLocks[Math.floorMod(chatId.hashCode(), roomLocks.length)];
+    lock.lock();
+    try {
+      boolean active = roomSubscriptions.containsKey(chatId);
+      if (active && openRooms.add(chatId)) {
+        try {
+          chatFanoutDispatcher.openRoom(chatId);
+        } catch (RuntimeException e) {
+          openRooms.remove(chatId);
+          throw e;
+        }
+      } else if (!active && openRooms.remove(chatId)) {
+        chatFanoutDispatcher.closeRoom(chatId);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static Long parseChatId(String destination) {
+    if (destination == null || !destination.startsWith(ChatFanoutDispatcher.ROOM_DESTINATION_PREFIX)) {
+      return null;
+    }
+    try {
+      return Long.valueOf(destination.substring(ChatFanoutDispatcher.ROOM_DESTINATION_PREFIX.length()));
+    } catch (NumberFormatException e) {
+      log.debug("채팅방 구독 경로가 아님: {}", destination);
+      return null;
+    }
+  }
+}
@@ -3,17 +3,29 @@ package com.mudosa.musinsa.chat.broker;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class RedisBrokerAdapter implements ChatMessageBroker {
+public class RedisBrokerAdapter implements ChatChannelBroker {
 
   // pub/sub 전용 템플릿 (String JSON)
   private final RedisTemplate<String, String> redisPubSubTemplate;
   private final ObjectMapper redisObjectMapper;
+  private final RedisMessageListenerContainer listenerContainer;
+
+  // destination -> 등록된 리스너 (구독 해제용)
+  private final Map<String, MessageListener> listeners = new ConcurrentHashMap<>();
 
   @Override
   public void sendToTopic(String destination, Object payload) {
@@ -32,10 +44,29 @@ public class RedisBrokerAdapter implements ChatMessageBroker {
     publish(destination, payload);
   }
 
+  @Override
+  public void subscribe(String destination, Consumer<String> listener) {
+    MessageListener messageListener = (message, pattern) ->
+        listener.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+    MessageListener previous = listeners.put(destination, messageListener);
+    if (previous != null) {
+      listenerContainer.removeMessageListener(previous, new ChannelTopic(destination));
+    }
+    listenerContainer.addMessageListener(messageListener, new ChannelTopic(destination));
+  }
+
+  @Override
+  public void unsubscribe(String destination) {
+    MessageListener messageListener = listeners.remove(destination);
+    if (messageListener != null) {
+      listenerContainer.removeMessageListener(messageListener, new ChannelTopic(destination));
+    }
+  }
+
   private void publish(String channel, Object payload) {
     try {
-      // DTO -> JSON 문자열
-      String json = redisObjectMapper.writeValueAsString(payload);
+      // DTO -> JSON 문자열 (이미 직렬화된 문자열은 그대로)
+      String json = payload instanceof String serialized ? serialized : redisObjectMapper.writeValueAsString(payload);
       log.debug("[RedisBroker] publish -> channel={}, payload={}", channel, json);
 
       // JSON String 그대로 pub/sub
@@ -1,28 +1,43 @@
-//package com.mudosa.musinsa.chat.broker.config;
-//
-//import com.mudosa.musinsa.chat.broker.*;
-//import org.springframework.beans.factory.annotation.Value;
-//import org.springframework.context.annotation.Bean;
-//import org.springframework.context.annotation.Configuration;
-//
-//@Configuration
-//public class BrokerConfig {
-//
-//  @Value("${app.broker.type:rabbit}")
-//  private String brokerType;
-//
-//  @Bean
-//  public ChatMessageBroker chatMessageBroker(
-//      SimpleMessageBrokerAdapter simple,
-//      RedisBrokerAdapter redis,
-//      RabbitMqBrokerAdapter rabbit,
-//      KafkaBrokerAdapter kafka
-//  ) {
-//    return switch (brokerType) {
-//      case "redis" -> redis;
-//      case "rabbit" -> rabbit;
-//      case "kafka" -> kafka;
-//      default -> simple;
-//    };
-//  }
-//}
+package com.mudosa.musinsa.chat.broker.config;
+
+import com.mudosa.musinsa.chat.broker.ChatMessageBroker;
+import com.mudosa.musinsa.chat.broker.KafkaBrokerAdapter;
+import com.mudosa.musinsa.chat.broker.RedisBrokerAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 채팅 브로커 선택 (chat.fanout.broker)
+ * <p>
+ * 노드 간 fan-out은 방 채널 구독이 필요하므로 구독을 지원하는 redis가 기본이다. kafka는 발행만 지원하므로
+ * chat.fanout.enabled=true 와 함께 쓰면 시작 시 설정 오류로 실패한다.
+ */
+@Configuration
+public class BrokerConfig {
+
+  @Value("${chat.fanout.broker:redis}")
+  private String brokerType;
+
+  @Value("${chat.fanout.enabled:false}")
+  private boolean fanoutEnabled;
+
+  @Bean
+  @Primary
+  public ChatMessageBroker chatMessageBroker(
+      RedisBrokerAdapter redis,
+      KafkaBrokerAdapter kafka
+  ) {
+    return switch (brokerType) {
+      case "kafka" -> {
+        if (fanoutEnabled) {
+          throw new IllegalStateException(
+              "chat.fanout.broker=kafka 는 방 채널 구독을 지원하지 않아 chat.fanout.enabled=true 와 함께 쓸 수 없습니다.");
+        }
+        yield kafka;
+      }
+      default -> redis;
+    };
+  }
+}
@@ -0,0 +1,45 @@
+package com.mudosa.musinsa.chat.dto;
+
+import com.mudosa.musinsa.chat.enums.MessageStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쓰기 지연 대기 메시지 (저널 한 줄, DB 한 행)
+ *
+ * @param previousMessageId 다른 메시지와 ID가 겹쳐 새 ID로 저장한 경우 원래 ID (저널 재처리 시 원래 줄을 대신한다)
+ */
+public record PendingMessage(
+    Long messageId,
+    Long chatId,
+    Long chatPartId,
+    Long userId,
+    String userName,
+    Long parentId,
+    String content,
+    LocalDateTime createdAt,
+    MessageStatus status,
+    Long previousMessageId
+) {
+
+  public PendingMessage(Long messageId, Long chatId, Long chatPartId, Long userId, String userName, Long parentId,
+                        String content, LocalDateTime createdAt, MessageStatus status) {
+    this(messageId, chatId, chatPartId, userId, userName, parentId, content, createdAt, status, null);
+  }
+
+  /**
+   * 새 ID로 옮긴 메시지 (원래 ID를 previousMessageId로 남김)
+   */
+  public PendingMessage reassign(Long newMessageId) {
+    return new PendingMessage(newMessageId, chatId, chatPartId, userId, userName, parentId, content, createdAt, status,
+        messageId);
+  }
+
+  /**
+   * 부모 ID만 바꾼 메시지
+   */
+  public PendingMessage withParentId(Long newParentId) {
+    return new PendingMessage(messageId, chatId, chatPartId, userId, userName, newParentId, content, createdAt, status,
+        previousMessageId);
+  }
+}
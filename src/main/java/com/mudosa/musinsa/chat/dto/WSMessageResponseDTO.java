@@ -45,6 +45,9 @@ public class WSMessageResponseDTO {
   @Schema(description = "동일 메시지 여부 구분 id", example = "UUID-1111-1234")
   private String clientMessageId;
 
+  @Schema(description = "정정 전 메시지 id (type R: 이 id로 받은 메시지를 messageId로 바꾼다)", example = "100")
+  private Long previousMessageId;
+
   public static WSMessageResponseDTO of(Message message) {
     // 1) 부모 메시지 취득 (없을 수 있음)
     Message parent = message.getParent();
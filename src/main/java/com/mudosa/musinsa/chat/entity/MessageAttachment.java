@@ -1,6 +1,6 @@
 package com.mudosa.musinsa.chat.entity;
 
-import com.mudosa.musinsa.chat.event.TempUploadedFile;
+import com.mudosa.musinsa.chat.event.UploadedFile;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -46,10 +46,10 @@ public class MessageAttachment {
   }
 
   /**
-   * TempUploadedFile 기반 팩토리
+   * UploadedFile(임시 파일/스트리밍) 기반 팩토리
    * - 비동기 파일 처리에서 사용
    */
-  public static MessageAttachment create(Message message, TempUploadedFile file, String storedUrl) {
+  public static MessageAttachment create(Message message, UploadedFile file, String storedUrl) {
     return MessageAttachment.builder()
         .attachmentUrl(storedUrl)
         .message(message)
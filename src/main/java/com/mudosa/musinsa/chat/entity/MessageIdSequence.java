@@ -0,0 +1,29 @@
+package com.mudosa.musinsa.chat.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 메시지 ID 시퀀스 (1행)
+ * <p>
+ * 쓰기 지연 모드에서 저장 전에 메시지 ID를 정하기 위해 MessageIdAllocator가 블록 단위로 올린다.
+ * next_value는 아직 어느 노드에도 예약되지 않은 첫 ID이며, 예약 시 message 테이블의 최대 ID보다 뒤에서 시작한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "message_id_sequence")
+public class MessageIdSequence {
+
+  @Id
+  @Column(name = "sequence_name", length = 50)
+  private String sequenceName;
+
+  @Column(name = "next_value", nullable = false)
+  private Long nextValue;
+}
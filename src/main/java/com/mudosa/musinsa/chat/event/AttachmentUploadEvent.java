@@ -6,7 +6,7 @@ import java.util.List;
 // [내부용] 파일 업로드 요청 이벤트
 public record AttachmentUploadEvent(
     Long messageId,
-    List<TempUploadedFile> files,
+    List<UploadedFile> files,
     String clientMessageId
 ) {
 }
\ No newline at end of file
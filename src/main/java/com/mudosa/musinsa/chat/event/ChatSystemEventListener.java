@@ -15,9 +15,9 @@ public class ChatSystemEventListener {
   private final AttachmentUploadService attachmentUploadService;
 
   /**
-   * Facade 트랜잭션이 커밋된 후 -> 별도 스레드에서 파일 업로드 시작
+   * Facade 트랜잭션이 커밋된 후 -> 별도 스레드에서 파일 업로드 등록 (업로드 완료를 기다리지 않음)
    */
-  @Async
+  @Async("chatFileExecutor")
   @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
   public void handleFileUpload(AttachmentUploadEvent event) {
     attachmentUploadService.saveAttachments(event.messageId(), event.files(), event.clientMessageId());
@@ -1,27 +1,28 @@
-//package com.mudosa.musinsa.chat.event;
-//
-//import com.mudosa.musinsa.chat.broker.ChatMessageBroker;
-//import lombok.RequiredArgsConstructor;
-//import lombok.extern.slf4j.Slf4j;
-//import org.springframework.stereotype.Component;
-//import org.springframework.transaction.event.TransactionPhase;
-//import org.springframework.transaction.event.TransactionalEventListener;
-//
-//@Slf4j
-//@Component
-//@RequiredArgsConstructor
-//public class ChatWebSocketEventListener {
-//  private final ChatMessageBroker chatMessageBroker;
-//
-//  /**
-//   * DB 트랜잭션이 안전하게 커밋된 후에만 클라이언트에게 전송
-//   */
-//  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
-//  public void handleBroadcast(ChatBroadcastEvent event) {
-//    String destination = "/topic/chat." + event.chatId();
-//
-//    log.debug("[WSEvent] 브로드캐스트 전송 -> dest={}, payload={}", destination, event.payload());
-//
-//    chatMessageBroker.sendToTopic(destination, event.payload());
-//  }
-//}
\ No newline at end of file
+package com.mudosa.musinsa.chat.event;
+
+import com.mudosa.musinsa.chat.broker.ChatFanoutDispatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.fanout.enabled", havingValue = "true")
+public class ChatWebSocketEventListener {
+  private final ChatFanoutDispatcher chatFanoutDispatcher;
+
+  /**
+   * DB 트랜잭션이 안전하게 커밋된 후에만 클라이언트에게 전송
+   * (쓰기 지연 메시지처럼 트랜잭션 밖에서 발행된 경우 바로 전송)
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void handleBroadcast(ChatBroadcastEvent event) {
+    log.debug("[WSEvent] 브로드캐스트 전송 -> chatId={}, payload={}", event.chatId(), event.payload());
+
+    chatFanoutDispatcher.dispatch(event.chatId(), event.payload());
+  }
+}
@@ -17,7 +17,7 @@ public class SpringChatEventPublisher implements ChatEventPublisher {
    * 파일 업로드 로직 실행 (비동기 처리용)
    */
   @Override
-  public void publishUploadEvent(Long messageId, List<TempUploadedFile> files, String clientMessageId) {
+  public void publishUploadEvent(Long messageId, List<UploadedFile> files, String clientMessageId) {
     eventPublisher.publishEvent(new AttachmentUploadEvent(messageId, files, clientMessageId));
   }
 
@@ -0,0 +1,12 @@
+package com.mudosa.musinsa.chat.event;
+
+import java.util.concurrent.CompletableFuture;
+
+// 요청 중에 S3 스트리밍 업로드를 시작한 파일 (storedUrl: 업로드 완료 시 URL)
+public record StreamedUploadedFile(
+    String originalFilename,
+    String contentType,
+    long size,
+    CompletableFuture<String> storedUrl
+) implements UploadedFile {
+}
@@ -7,5 +7,5 @@ public record TempUploadedFile(
     String contentType,
     Path tempPath,
     long size
-) {
+) implements UploadedFile {
 }
@@ -0,0 +1,16 @@
+package com.mudosa.musinsa.chat.event;
+
+/**
+ * 업로드 이벤트로 넘기는 첨부파일
+ * <ul>
+ *   <li>TempUploadedFile: 임시 파일로 복사해 두고 커밋 후 업로드</li>
+ *   <li>StreamedUploadedFile: 요청 중에 이미 S3로 스트리밍을 시작한 파일</li>
+ * </ul>
+ */
+public sealed interface UploadedFile permits TempUploadedFile, StreamedUploadedFile {
+  String originalFilename();
+
+  String contentType();
+
+  long size();
+}
@@ -4,16 +4,21 @@ import com.mudosa.musinsa.chat.entity.ChatPart;
 import com.mudosa.musinsa.chat.entity.Message;
 import com.mudosa.musinsa.chat.enums.MessageStatus;
 import com.mudosa.musinsa.chat.event.ChatEventPublisher;
+import com.mudosa.musinsa.chat.event.StreamedUploadedFile;
 import com.mudosa.musinsa.chat.event.TempUploadedFile;
+import com.mudosa.musinsa.chat.event.UploadedFile;
+import com.mudosa.musinsa.chat.file.FileStore;
 import com.mudosa.musinsa.chat.service.ChatRoomService;
 import com.mudosa.musinsa.chat.service.MessageCommandService;
 import com.mudosa.musinsa.chat.service.MessageQueryService;
+import com.mudosa.musinsa.chat.service.MessageWriteBehind;
 import com.mudosa.musinsa.exception.BusinessException;
 import com.mudosa.musinsa.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -24,6 +29,7 @@ import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
@@ -33,6 +39,9 @@ public class ChatMessageFacade {
   private final MessageCommandService messageCommandService;
   private final MessageQueryService messageQueryService;
   private final ChatEventPublisher chatEventPublisher;
+  private final MessageWriteBehind messageWriteBehind;
+  private final TransactionTemplate transactionTemplate;
+  private final FileStore fileStore;
 
   /**
    * <h5>메시지 저장</h5>
@@ -52,62 +61,73 @@ public class ChatMessageFacade {
    * @throws BusinessException CHAT_PARTICIPANT_NOT_FOUND - 채팅 참여 중이지 않을 때
    * @throws BusinessException MESSAGE_PARENT_NOT_FOUND - 부모 메시지가 없거나 해당 채팅방의 메시지가 아닐 때
    */
-  @Transactional
   public void saveMessage(Long chatId, Long userId, Long parentId, String content, List<MultipartFile> files, LocalDateTime now, String clientMessageId) {
     // 1. 검증
     // 1-1) 메시지 존재 검증
     validateMessageOrFiles(content, files);
 
-    // 1-2) 채팅방 존재 검증
-    chatRoomService.getChatRoomOrThrow(chatId);
+    // 쓰기 지연 모드: 참여자 캐시로 검증하고 순서만 정한 뒤 바로 전송, 저장은 방별 배치로
+    if (messageWriteBehind.isAccepting()) {
+      saveMessageWriteBehind(chatId, userId, parentId, content, files, now, clientMessageId);
+      return;
+    }
+    // AUTO_INCREMENT로 저장하는 노드가 있어 받지 않는 동안에는 방 순서를 지키도록 대기 메시지를 먼저 저장한다.
+    if (messageWriteBehind.isEnabled()) {
+      messageWriteBehind.flush(chatId);
+    }
 
-    // 1-3) 참여자 존재 검증
-    ChatPart chatPart = chatRoomService.getChatPartOrThrow(chatId, userId);
+    transactionTemplate.executeWithoutResult(status -> {
+      // 1-2) 채팅방 존재 검증
+      chatRoomService.getChatRoomOrThrow(chatId);
 
-    // 1-4) 부모 메시지 검증 및 조회
-    Message parent = messageQueryService.getParentMessageIfExists(parentId, chatId);
+      // 1-3) 참여자 존재 검증
+      ChatPart chatPart = chatRoomService.getChatPartOrThrow(chatId, userId);
 
-    // 2. 파일 존재 여부에 따라 메시지 상태 결정
-    boolean hasRealFile = files != null && files.stream().anyMatch(f -> !f.isEmpty());
-    MessageStatus status = (!hasRealFile) ? MessageStatus.NORMAL : MessageStatus.UPLOADING;
+      // 1-4) 부모 메시지 검증 및 조회
+      Message parent = messageQueryService.getParentMessageIfExists(parentId, chatId);
 
-    // 3. 메시지 저장(파일 제외)
-    // 3-1) 메시지 엔티티 생성
-    Message message = Message.createMessage(content, now, chatPart, parent, status);
-    // 3-2) 메시지 저장 (메시지 ID 반환)
-    Long savedMessageId = messageCommandService.saveContentMessage(message, clientMessageId);
+      // 2. 파일 존재 여부에 따라 메시지 상태 결정
+      boolean hasRealFile = hasRealFile(files);
+      MessageStatus messageStatus = (!hasRealFile) ? MessageStatus.NORMAL : MessageStatus.UPLOADING;
+
+      // 3. 메시지 저장(파일 제외)
+      // 3-1) 메시지 엔티티 생성
+      Message message = Message.createMessage(content, now, chatPart, parent, messageStatus);
+      // 3-2) 메시지 저장 (메시지 ID 반환)
+      Long savedMessageId = messageCommandService.saveContentMessage(message, clientMessageId);
+
+      // 4. 파일 비동기 처리(파일 존재 시)
+      if (hasRealFile) {
+        chatEventPublisher.publishUploadEvent(savedMessageId, toUploadedFiles(chatId, savedMessageId, files), clientMessageId);
+      }
+    });
+  }
+
+  /**
+   * <h5>메시지 저장 (쓰기 지연)</h5>
+   * <p>
+   * 텍스트 메시지는 트랜잭션 없이 접수만 한다.
+   * 첨부가 있으면 업로드가 메시지 행을 찾을 수 있도록 저장된 뒤에 업로드 이벤트를 발행한다.
+   * 방 큐를 바로 저장해 보고, 실패하면 다음 주기 저장 뒤에 발행한다. (이미 전송한 메시지이므로 요청은 실패시키지 않음)
+   */
+  private void saveMessageWriteBehind(Long chatId, Long userId, Long parentId, String content, List<MultipartFile> files, LocalDateTime now, String clientMessageId) {
+    boolean hasRealFile = hasRealFile(files);
+    MessageStatus messageStatus = (!hasRealFile) ? MessageStatus.NORMAL : MessageStatus.UPLOADING;
+
+    Long messageId = messageWriteBehind.accept(chatId, userId, parentId, content, messageStatus, now, clientMessageId);
 
-    // 4. 파일 비동기 처리(파일 존재 시)
     if (hasRealFile) {
-      List<TempUploadedFile> tempFiles = files.stream()
-          .map(f -> {
-            try {
-              String suffix = Optional.ofNullable(f.getOriginalFilename())
-                  .filter(name -> name.contains("."))
-                  .map(name -> name.substring(name.lastIndexOf('.')))
-                  .orElse("");
-
-              Path tempPath = Files.createTempFile("chat-upload-", suffix);
-              log.debug("임시 파일 경로: " + tempPath.toAbsolutePath());
-              try (InputStream in = f.getInputStream();
-                   OutputStream out = Files.newOutputStream(tempPath)) {
-
-                in.transferTo(out); // 내부적으로 버퍼링, 전체를 힙에 안 올림
-              }
-
-              return new TempUploadedFile(
-                  f.getOriginalFilename(),
-                  f.getContentType(),
-                  tempPath,
-                  Files.size(tempPath)
-              );
-            } catch (IOException e) {
-              throw new IllegalStateException("파일 임시 저장 실패: " + f.getOriginalFilename(), e);
-            }
-          })
-          .toList();
-
-      chatEventPublisher.publishUploadEvent(savedMessageId, tempFiles, clientMessageId);
+      CompletableFuture<Long> persisted = messageWriteBehind.whenPersisted(messageId);
+      // MultiPart 파일은 Http 응답시 사라지므로 응답 전에 스트리밍 시작 또는 복사
+      List<UploadedFile> uploadedFiles = toUploadedFiles(chatId, messageId, files);
+      persisted
+          .thenAccept(savedId -> transactionTemplate.executeWithoutResult(
+              status -> chatEventPublisher.publishUploadEvent(savedId, uploadedFiles, clientMessageId)))
+          .exceptionally(ex -> {
+            log.error("[messageId={}] 첨부 업로드 이벤트 발행 실패", messageId, ex);
+            return null;
+          });
+      messageWriteBehind.flush(chatId);
     }
   }
 
@@ -129,41 +149,63 @@ public class ChatMessageFacade {
 
     // 4. 파일 비동기 처리(파일 존재 시)
     if (hasRealFile) {
-      // 4-1) MultiPart 파일은 Http 응답시 사라지므로 복사
-      List<TempUploadedFile> tempFiles = files.stream()
-          .map(f -> {
-            try {
-              String suffix = Optional.ofNullable(f.getOriginalFilename())
-                  .filter(name -> name.contains("."))
-                  .map(name -> name.substring(name.lastIndexOf('.')))
-                  .orElse("");
-
-              Path tempPath = Files.createTempFile("chat-upload-", suffix);
-//              log.error("임시 파일 경로: " + tempPath.toAbsolutePath());
-
-              try (InputStream in = f.getInputStream();
-                   OutputStream out = Files.newOutputStream(tempPath)) {
-
-                in.transferTo(out); // 내부적으로 버퍼링, 전체를 힙에 안 올림
-              }
-
-              return new TempUploadedFile(
-                  f.getOriginalFilename(),
-                  f.getContentType(),
-                  tempPath,
-                  Files.size(tempPath)
-              );
-            } catch (IOException e) {
-              throw new IllegalStateException("파일 임시 저장 실패: " + f.getOriginalFilename(), e);
-            }
-          })
-          .toList();
-
-      chatEventPublisher.publishUploadEvent(messageId, tempFiles, "retry");
+      // 4-1) MultiPart 파일은 Http 응답시 사라지므로 스트리밍 시작 또는 복사
+      List<UploadedFile> uploadedFiles = toUploadedFiles(chatId, messageId, files);
+
+      chatEventPublisher.publishUploadEvent(messageId, uploadedFiles, "retry");
     }
   }
 
 
+  private boolean hasRealFile(List<MultipartFile> files) {
+    return files != null && files.stream().anyMatch(f -> !f.isEmpty());
+  }
+
+  /**
+   * <h5>업로드할 첨부파일 준비</h5>
+   * <p>
+   * 스트리밍 업로드가 켜져 있으면 요청 본문을 바로 S3로 올리기 시작하고,
+   * 꺼져 있거나 업로드 버퍼 한도를 넘으면 임시 파일로 복사해 커밋 후 업로드한다.
+   */
+  private List<UploadedFile> toUploadedFiles(Long chatId, Long messageId, List<MultipartFile> files) {
+    return files.stream()
+        .map(f -> fileStore.streamMessageFile(chatId, messageId, f)
+            .<UploadedFile>map(storedUrl -> new StreamedUploadedFile(
+                f.getOriginalFilename(),
+                f.getContentType(),
+                f.getSize(),
+                storedUrl))
+            .orElseGet(() -> copyToTempFile(f)))
+        .toList();
+  }
+
+  /* MultiPart 파일을 임시 파일로 복사 */
+  private TempUploadedFile copyToTempFile(MultipartFile f) {
+    try {
+      String suffix = Optional.ofNullable(f.getOriginalFilename())
+          .filter(name -> name.contains("."))
+          .map(name -> name.substring(name.lastIndexOf('.')))
+          .orElse("");
+
+      Path tempPath = Files.createTempFile("chat-upload-", suffix);
+      log.debug("임시 파일 경로: " + tempPath.toAbsolutePath());
+      try (InputStream in = f.getInputStream();
+           OutputStream out = Files.newOutputStream(tempPath)) {
+
+        in.transferTo(out); // 내부적으로 버퍼링, 전체를 힙에 안 올림
+      }
+
+      return new TempUploadedFile(
+          f.getOriginalFilename(),
+          f.getContentType(),
+          tempPath,
+          Files.size(tempPath)
+      );
+    } catch (IOException e) {
+      throw new IllegalStateException("파일 임시 저장 실패: " + f.getOriginalFilename(), e);
+    }
+  }
+
   /**
    * <h5>메시지와 파일이 모두 없는지 검증</h5>
    *
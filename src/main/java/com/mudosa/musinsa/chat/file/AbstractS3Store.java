@@ -1,6 +1,5 @@
 package com.mudosa.musinsa.chat.file;
 
-import com.mudosa.musinsa.chat.event.TempUploadedFile;
 import io.micrometer.tracing.Tracer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,8 +18,8 @@ public abstract class AbstractS3Store {
   protected String bucketName;
 
   // 1. 채팅 메시지용 키 생성
-  protected String generateMessageKey(Long chatId, Long messageId, TempUploadedFile file) {
-    String original = Objects.requireNonNullElse(file.originalFilename(), "unknown");
+  protected String generateMessageKey(Long chatId, Long messageId, String originalFilename) {
+    String original = Objects.requireNonNullElse(originalFilename, "unknown");
     String safeName = UUID.randomUUID() + "_" + StringUtils.cleanPath(original);
 
     // chat/{chatId}/message/{messageId}/{uuid_filename}
@@ -3,6 +3,7 @@ package com.mudosa.musinsa.chat.file;
 import com.mudosa.musinsa.chat.event.TempUploadedFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 public interface FileStore {
@@ -10,4 +11,9 @@ public interface FileStore {
   CompletableFuture<String> storeMessageFile(Long chatId, Long messageId, TempUploadedFile file);
 
   CompletableFuture<String> storeBrandLogo(Long brandId, MultipartFile file);
+
+  // 요청 중에 본문을 임시 파일 없이 바로 업로드 시작. 지원하지 않거나 업로드 버퍼 한도를 넘으면 empty (임시 파일로 처리)
+  default Optional<CompletableFuture<String>> streamMessageFile(Long chatId, Long messageId, MultipartFile file) {
+    return Optional.empty();
+  }
 }
\ No newline at end of file
@@ -12,7 +12,8 @@ import software.amazon.awssdk.services.s3.model.GetUrlRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -20,10 +21,12 @@ import java.util.concurrent.CompletableFuture;
 public class S3AsyncFileStore extends AbstractS3Store implements FileStore {
 
   private final S3AsyncClient s3AsyncClient;
+  private final S3StreamingUploader streamingUploader;
 
-  public S3AsyncFileStore(Tracer tracer, S3AsyncClient s3AsyncClient) {
+  public S3AsyncFileStore(Tracer tracer, S3AsyncClient s3AsyncClient, S3StreamingUploader streamingUploader) {
     super(tracer);
     this.s3AsyncClient = s3AsyncClient;
+    this.streamingUploader = streamingUploader;
   }
 
   /**
@@ -31,19 +34,79 @@ public class S3AsyncFileStore extends AbstractS3Store implements FileStore {
    */
   @Override
   public CompletableFuture<String> storeMessageFile(Long chatId, Long messageId, TempUploadedFile file) {
-    String key = generateMessageKey(chatId, messageId, file);
+    String key = generateMessageKey(chatId, messageId, file.originalFilename());
     return uploadInternal(key, file);
   }
 
+  /**
+   * 채팅 메시지 첨부용 - 요청 본문 스트리밍 (chat.upload.streaming.enabled)
+   */
+  @Override
+  public Optional<CompletableFuture<String>> streamMessageFile(Long chatId, Long messageId, MultipartFile file) {
+    if (!streamingUploader.isEnabled()) {
+      return Optional.empty();
+    }
+    String key = generateMessageKey(chatId, messageId, file.getOriginalFilename());
+    return streamInternal(key, file);
+  }
+
   /**
    * 브랜드 로고 업로드 - 기존 MultipartFile 기반 유지
    */
   @Override
   public CompletableFuture<String> storeBrandLogo(Long brandId, MultipartFile file) {
     String key = generateBrandKey(brandId, file);
+    if (streamingUploader.isEnabled()) {
+      Optional<CompletableFuture<String>> streamed = streamInternal(key, file);
+      if (streamed.isPresent()) {
+        return streamed.get();
+      }
+    }
     return uploadInternal(key, file);
   }
 
+  /**
+   * MultipartFile 본문을 임시 파일/byte[] 없이 업로드 (버퍼 한도를 넘으면 empty)
+   */
+  private Optional<CompletableFuture<String>> streamInternal(String key, MultipartFile file) {
+    Span span = tracer.nextSpan().name("s3.upload")
+        .tag("type", "stream")
+        .tag("file.size", String.valueOf(file.getSize()))
+        .start();
+
+    Optional<CompletableFuture<Void>> upload;
+    try (InputStream in = file.getInputStream()) {
+      upload = streamingUploader.tryUpload(bucketName, key, file.getContentType(), file.getSize(), in);
+    } catch (IOException e) {
+      span.error(e);
+      span.end();
+      log.error("S3 stream upload failed (MultipartFile). key={}", key, e);
+      return Optional.of(CompletableFuture.failedFuture(e));
+    }
+
+    if (upload.isEmpty()) {
+      span.end();
+      return Optional.empty();
+    }
+
+    return Optional.of(upload.get()
+        .thenApply(ignored ->
+            s3AsyncClient.utilities()
+                .getUrl(GetUrlRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build())
+                .toString()
+        )
+        .whenComplete((url, ex) -> {
+          if (ex != null) {
+            span.error(ex);
+            log.error("S3 stream upload failed (MultipartFile). key={}", key, ex);
+          }
+          span.end();
+        }));
+  }
+
   /**
    * TempUploadedFile 기반 비동기 업로드
    * - 이미 메모리에 로딩된 byte[] 사용
@@ -73,13 +136,7 @@ public class S3AsyncFileStore extends AbstractS3Store implements FileStore {
                 .toString()
         )
         .whenComplete((url, ex) -> {
-          try {
-            log.debug("임시 파일 삭제. path={}", file.tempPath());
-            Files.deleteIfExists(file.tempPath());
-          } catch (IOException ioe) {
-            log.warn("임시 파일 삭제 실패. path={}", file.tempPath(), ioe);
-          }
-
+          // 임시 파일은 재시도 후 최종 결과가 나면 AttachmentUploadScheduler가 지운다
           if (ex != null) {
             span.error(ex);
             log.error("S3 async upload failed (TempUploadedFile). key={}", key, ex);
@@ -0,0 +1,332 @@
+package com.mudosa.musinsa.chat.file;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h5>S3 스트리밍 업로드</h5>
+ * <p>
+ * 요청 본문(InputStream)을 임시 파일에 복사하지 않고 풀링한 direct ByteBuffer로 읽어 바로 S3에 올린다.
+ * <ul>
+ *   <li>small-buffer-size 이하: 작은 버퍼 하나로 PutObject</li>
+ *   <li>part-size 이하: 파트 버퍼 하나로 PutObject</li>
+ *   <li>그보다 크면: 파트 버퍼 단위로 읽으며 Multipart Upload 파트를 동시에 올린다. (버퍼 수만큼만 동시 전송)</li>
+ * </ul>
+ * 노드 전체에서 사용 중인 버퍼 크기를 max-in-flight-bytes로 제한한다.
+ * 첫 버퍼를 acquire-timeout 안에 못 잡으면 empty를 반환하고, 호출자는 기존 임시 파일 경로로 처리한다.
+ * (direct 메모리는 사용 중 + 풀에 남은 버퍼를 합쳐 최대 size class별 max-in-flight-bytes)
+ * <p>
+ * 메트릭: chat.upload.stream.requests{mode}, chat.upload.stream.fallback, chat.upload.stream.duration{mode}, chat.upload.stream.inflight.bytes
+ */
+@Slf4j
+@Component
+public class S3StreamingUploader {
+
+  // S3 Multipart Upload 파트 최소 크기 (마지막 파트 제외)
+  private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+  private final S3AsyncClient s3AsyncClient;
+  private final boolean enabled;
+  private final int partSize;
+  private final long acquireTimeoutMillis;
+  private final Semaphore inFlightBytes;
+  private final int maxInFlightBytes;
+  private final BufferPool smallBuffers;
+  private final BufferPool partBuffers;
+  private final MeterRegistry meterRegistry;
+  private final Counter fallback;
+
+  public S3StreamingUploader(S3AsyncClient s3AsyncClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${chat.upload.streaming.enabled:false}") boolean enabled,
+                             @Value("${chat.upload.streaming.small-buffer-size:262144}") int smallBufferSize,
+                             @Value("${chat.upload.streaming.part-size:8388608}") int partSize,
+                             @Value("${chat.upload.streaming.max-in-flight-bytes:268435456}") int maxInFlightBytes,
+                             @Value("${chat.upload.streaming.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+    if (partSize < MIN_PART_SIZE) {
+      throw new IllegalArgumentException("chat.upload.streaming.part-size는 5MB 이상이어야 합니다: " + partSize);
+    }
+    if (maxInFlightBytes < partSize) {
+      throw new IllegalArgumentException("chat.upload.streaming.max-in-flight-bytes는 part-size 이상이어야 합니다: " + maxInFlightBytes);
+    }
+    this.s3AsyncClient = s3AsyncClient;
+    this.enabled = enabled;
+    this.partSize = partSize;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+    this.maxInFlightBytes = maxInFlightBytes;
+    this.inFlightBytes = new Semaphore(maxInFlightBytes);
+    this.smallBuffers = new BufferPool(smallBufferSize, maxInFlightBytes / smallBufferSize);
+    this.partBuffers = new BufferPool(partSize, maxInFlightBytes / partSize);
+    this.meterRegistry = meterRegistry;
+    this.fallback = Counter.builder("chat.upload.stream.fallback")
+        .description("업로드 버퍼 한도로 임시 파일 경로로 넘긴 파일 수")
+        .register(meterRegistry);
+    Gauge.builder("chat.upload.stream.inflight.bytes", this, uploader -> uploader.getInFlightBytes())
+        .description("S3로 전송 중인 업로드 버퍼 크기")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long getInFlightBytes() {
+    return maxInFlightBytes - inFlightBytes.availablePermits();
+  }
+
+  /**
+   * <h5>스트리밍 업로드 시작</h5>
+   * <p>
+   * 호출 스레드에서 본문을 끝까지 읽어 버퍼에 담고, 전송은 비동기로 진행한다. (반환 후 스트림을 닫아도 된다)
+   *
+   * @return 업로드 완료 future, 업로드 버퍼 한도를 넘으면 empty
+   * @throws IOException 본문을 읽다 실패하거나 size보다 짧을 때
+   */
+  public Optional<CompletableFuture<Void>> tryUpload(String bucket, String key, String contentType,
+                                                     long size, InputStream in) throws IOException {
+    BufferPool pool = size <= smallBuffers.capacity ? smallBuffers : partBuffers;
+    ByteBuffer first = acquire(pool, true);
+    if (first == null) {
+      fallback.increment();
+      log.debug("업로드 버퍼 한도 초과, 임시 파일로 처리. key={}, size={}", key, size);
+      return Optional.empty();
+    }
+
+    ReadableByteChannel channel = Channels.newChannel(in);
+    if (size <= partSize) {
+      return Optional.of(putObject(bucket, key, contentType, size, channel, pool, first));
+    }
+    return Optional.of(multipartUpload(bucket, key, contentType, size, channel, first));
+  }
+
+  private CompletableFuture<Void> putObject(String bucket, String key, String contentType, long size,
+                                            ReadableByteChannel channel, BufferPool pool, ByteBuffer buffer) throws IOException {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    try {
+      fill(channel, buffer, (int) size);
+    } catch (IOException e) {
+      release(pool, buffer);
+      throw e;
+    }
+    count("single");
+
+    PutObjectRequest request = PutObjectRequest.builder()
+        .bucket(bucket)
+        .key(key)
+        .contentType(contentType)
+        .contentLength(size)
+        .build();
+
+    return s3AsyncClient.putObject(request, AsyncRequestBody.fromRemainingByteBufferUnsafe(buffer))
+        .whenComplete((response, ex) -> {
+          release(pool, buffer);
+          sample.stop(timer("single"));
+        })
+        .thenApply(response -> null);
+  }
+
+  /*
+   * 파트 버퍼를 하나씩 채워 업로드를 건다. 버퍼가 모두 전송 중이면 반납될 때까지 기다린다. (요청 스레드 배압)
+   * 하나라도 실패하면 Multipart Upload를 중단(abort)한다.
+   */
+  private CompletableFuture<Void> multipartUpload(String bucket, String key, String contentType, long size,
+                                                  ReadableByteChannel channel, ByteBuffer first) throws IOException {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    count("multipart");
+
+    CompletableFuture<String> uploadId = s3AsyncClient.createMultipartUpload(CreateMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .contentType(contentType)
+            .build())
+        .thenApply(response -> response.uploadId());
+
+    List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+    long remaining = size;
+    ByteBuffer buffer = first;
+    try {
+      for (int partNumber = 1; remaining > 0; partNumber++) {
+        if (buffer == null) {
+          buffer = acquire(partBuffers, false);
+        }
+        int length = (int) Math.min(partSize, remaining);
+        fill(channel, buffer, length);
+        remaining -= length;
+        parts.add(uploadPart(bucket, key, uploadId, partNumber, buffer));
+        buffer = null;
+      }
+    } catch (IOException | RuntimeException e) {
+      if (buffer != null) {
+        release(partBuffers, buffer);
+      }
+      abortWhenDone(bucket, key, uploadId, parts);
+      throw e;
+    }
+
+    return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+        .thenCompose(ignored -> uploadId)
+        .thenCompose(id -> s3AsyncClient.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .uploadId(id)
+            .multipartUpload(CompletedMultipartUpload.builder()
+                .parts(parts.stream()
+                    .map(CompletableFuture::join)
+                    .sorted(Comparator.comparing(CompletedPart::partNumber))
+                    .toList())
+                .build())
+            .build()))
+        .<Void>thenApply(response -> null)
+        .whenComplete((ignored, ex) -> {
+          if (ex != null) {
+            abort(bucket, key, uploadId);
+          }
+          sample.stop(timer("multipart"));
+        });
+  }
+
+  private CompletableFuture<CompletedPart> uploadPart(String bucket, String key, CompletableFuture<String> uploadId,
+                                                      int partNumber, ByteBuffer buffer) {
+    return uploadId
+        .thenCompose(id -> s3AsyncClient.uploadPart(UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(id)
+                .partNumber(partNumber)
+                .contentLength((long) buffer.remaining())
+                .build(),
+            AsyncRequestBody.fromRemainingByteBufferUnsafe(buffer)))
+        .thenApply(response -> CompletedPart.builder()
+            .partNumber(partNumber)
+            .eTag(response.eTag())
+            .build())
+        .whenComplete((part, ex) -> release(partBuffers, buffer));
+  }
+
+  /* 이미 건 파트가 끝난 뒤 중단 (전송 중인 버퍼를 먼저 돌려받기 위해) */
+  private void abortWhenDone(String bucket, String key, CompletableFuture<String> uploadId,
+                             List<CompletableFuture<CompletedPart>> parts) {
+    CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+        .whenComplete((ignored, ex) -> abort(bucket, key, uploadId));
+  }
+
+  private void abort(String bucket, String key, CompletableFuture<String> uploadId) {
+    uploadId
+        .thenCompose(id -> s3AsyncClient.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .uploadId(id)
+            .build()))
+        .whenComplete((response, ex) -> {
+          if (ex != null) {
+            log.warn("S3 multipart upload 중단 실패. key={}", key, ex);
+          }
+        });
+  }
+
+  /*
+   * 풀 버퍼 하나 + 그 크기만큼 한도 확보.
+   * optional=true면 timeout 안에 못 잡을 때 null, 아니면 예외 (이미 본문을 읽기 시작해서 되돌릴 수 없음)
+   */
+  private ByteBuffer acquire(BufferPool pool, boolean optional) throws IOException {
+    try {
+      if (!inFlightBytes.tryAcquire(pool.capacity, acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        if (optional) {
+          return null;
+        }
+        throw new IOException("업로드 버퍼를 " + acquireTimeoutMillis + "ms 안에 확보하지 못했습니다.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("업로드 버퍼 대기 중 인터럽트", e);
+    }
+    return pool.take();
+  }
+
+  private void release(BufferPool pool, ByteBuffer buffer) {
+    pool.give(buffer);
+    inFlightBytes.release(pool.capacity);
+  }
+
+  /* 버퍼를 비우고 length 바이트를 채운 뒤 읽기 모드로 돌린다 */
+  private static void fill(ReadableByteChannel channel, ByteBuffer buffer, int length) throws IOException {
+    buffer.clear().limit(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new EOFException("업로드 본문이 선언된 크기보다 짧습니다.");
+      }
+    }
+    buffer.flip();
+  }
+
+  private void count(String mode) {
+    Counter.builder("chat.upload.stream.requests")
+        .description("스트리밍 업로드 수")
+        .tag("mode", mode)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private Timer timer(String mode) {
+    return Timer.builder("chat.upload.stream.duration")
+        .description("스트리밍 업로드 시작부터 S3 완료까지 걸린 시간")
+        .tag("mode", mode)
+        .register(meterRegistry);
+  }
+
+  /**
+   * 같은 크기의 direct ByteBuffer 풀 (반납된 버퍼는 maxIdle개까지 보관)
+   */
+  private static final class BufferPool {
+    private final int capacity;
+    private final int maxIdle;
+    private final Queue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+
+    private BufferPool(int capacity, int maxIdle) {
+      this.capacity = capacity;
+      this.maxIdle = maxIdle;
+    }
+
+    private ByteBuffer take() {
+      ByteBuffer buffer = idle.poll();
+      return buffer != null ? buffer : ByteBuffer.allocateDirect(capacity);
+    }
+
+    private void give(ByteBuffer buffer) {
+      if (idle.size() < maxIdle) {
+        idle.offer(buffer);
+      }
+    }
+  }
+}
@@ -13,7 +13,6 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.util.concurrent.CompletableFuture;
 
 @Component
@@ -32,7 +31,7 @@ public class S3SyncFileStore extends AbstractS3Store implements FileStore {
    */
   @Override
   public CompletableFuture<String> storeMessageFile(Long chatId, Long messageId, TempUploadedFile file) {
-    String key = generateMessageKey(chatId, messageId, file);
+    String key = generateMessageKey(chatId, messageId, file.originalFilename());
     String url = uploadInternal(key, file);
 
     return CompletableFuture.completedFuture(url);
@@ -75,11 +74,7 @@ public class S3SyncFileStore extends AbstractS3Store implements FileStore {
         span.error(e);
         throw e;
       } finally {
-        try {
-          Files.deleteIfExists(file.tempPath());
-        } catch (IOException ioe) {
-          log.warn("임시 파일 삭제 실패. path={}", file.tempPath(), ioe);
-        }
+        // 임시 파일은 재시도 후 최종 결과가 나면 AttachmentUploadScheduler가 지운다
         span.end();
       }
 
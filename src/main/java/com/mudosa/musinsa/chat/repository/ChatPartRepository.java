@@ -23,4 +23,8 @@ public interface ChatPartRepository extends JpaRepository<ChatPart, Long> {
   Optional<ChatPart> findByChatRoom_ChatIdAndUserIdAndDeletedAtIsNull(Long chatId, Long userId);
 
   long countByChatRoom_ChatIdAndDeletedAtIsNull(Long chatId);
+
+  // 채팅방의 활성 참여자 전체 조회 (참여자 캐시 적재용)
+  @Query("SELECT cp FROM ChatPart cp JOIN FETCH cp.user WHERE cp.chatRoom.chatId = :chatId AND cp.deletedAt IS NULL")
+  List<ChatPart> findActiveWithUserByChatId(@Param("chatId") Long chatId);
 }
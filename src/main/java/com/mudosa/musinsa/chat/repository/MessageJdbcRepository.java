@@ -0,0 +1,157 @@
+package com.mudosa.musinsa.chat.repository;
+
+import com.mudosa.musinsa.chat.dto.PendingMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 쓰기 지연 메시지 저장 (JDBC)
+ * <p>
+ * ID를 미리 정한 메시지를 batch insert로 넣는다. (rewriteBatchedStatements로 다중 행 INSERT)
+ * INSERT IGNORE를 쓰지 않고, 키 중복이 나면 저장된 행을 읽어 직접 가른다.
+ * <ul>
+ *   <li>같은 방/발신자/내용의 행이면 저널 재처리나 재시도로 이미 들어간 것으로 보고 건너뛴다.</li>
+ *   <li>다른 메시지가 그 ID를 쓰고 있으면 충돌로 돌려준다. (쓰기 지연을 끈 노드의 AUTO_INCREMENT 등)</li>
+ * </ul>
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageJdbcRepository {
+
+  private static final String INSERT_SQL = """
+      INSERT INTO message (message_id, chat_part_id, chat_id, parent_id, content, created_at, status)
+      VALUES (?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private static final String FIND_STORED_SQL = """
+      SELECT message_id, chat_id, chat_part_id, content FROM message WHERE message_id IN (:messageIds)
+      """;
+
+  // 새 ID로 옮긴 부모를 가리키도록, 원래 ID를 부모로 저장된 같은 배치의 답장만 고친다.
+  private static final String REPARENT_SQL = """
+      UPDATE message SET parent_id = :newParentId
+       WHERE chat_id = :chatId AND parent_id = :oldParentId AND message_id IN (:messageIds)
+      """;
+
+  private static final String INSERT_SEQUENCE_IF_ABSENT_SQL = """
+      INSERT IGNORE INTO message_id_sequence (sequence_name, next_value) VALUES (:sequenceName, 1)
+      """;
+
+  // 쓰기 지연을 끈 동안 AUTO_INCREMENT로 저장된 메시지보다 뒤에서 시작한다.
+  private static final String LOCK_SEQUENCE_SQL = """
+      SELECT GREATEST(next_value, (SELECT COALESCE(MAX(message_id), 0) + 1 FROM message))
+        FROM message_id_sequence
+       WHERE sequence_name = :sequenceName
+         FOR UPDATE
+      """;
+
+  private static final String ADVANCE_SEQUENCE_SQL = """
+      UPDATE message_id_sequence SET next_value = :nextValue WHERE sequence_name = :sequenceName
+      """;
+
+  private static final String SEQUENCE_NAME = "message";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  /**
+   * 메시지 일괄 저장
+   *
+   * @return 다른 메시지가 이미 같은 ID로 저장돼 있어 넣지 못한 메시지 (없으면 빈 목록)
+   */
+  public List<PendingMessage> insertAll(List<PendingMessage> messages) {
+    try {
+      batchInsert(messages);
+      return List.of();
+    } catch (DuplicateKeyException e) {
+      return insertMissing(messages);
+    }
+  }
+
+  /* 이미 저장된 행과 비교해 없는 것만 넣고, 다른 메시지와 겹친 것은 돌려준다 */
+  private List<PendingMessage> insertMissing(List<PendingMessage> messages) {
+    Map<Long, PendingMessage> stored = new HashMap<>();
+    namedParameterJdbcTemplate.query(FIND_STORED_SQL,
+        new MapSqlParameterSource("messageIds", messages.stream().map(PendingMessage::messageId).toList()),
+        rs -> {
+          Long chatPartId = rs.getObject("chat_part_id", Long.class);
+          stored.put(rs.getLong("message_id"), new PendingMessage(rs.getLong("message_id"), rs.getLong("chat_id"),
+              chatPartId, null, null, null, rs.getString("content"), null, null));
+        });
+
+    List<PendingMessage> missing = new ArrayList<>();
+    List<PendingMessage> conflicts = new ArrayList<>();
+    for (PendingMessage message : messages) {
+      PendingMessage row = stored.get(message.messageId());
+      if (row == null) {
+        missing.add(message);
+      } else if (!isSameMessage(row, message)) {
+        conflicts.add(message);
+      }
+    }
+    if (!missing.isEmpty()) {
+      batchInsert(missing);
+    }
+    return conflicts;
+  }
+
+  private static boolean isSameMessage(PendingMessage row, PendingMessage message) {
+    return Objects.equals(row.chatId(), message.chatId())
+        && Objects.equals(row.chatPartId(), message.chatPartId())
+        && Objects.equals(row.content(), message.content());
+  }
+
+  private void batchInsert(List<PendingMessage> messages) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+      ps.setLong(1, message.messageId());
+      ps.setLong(2, message.chatPartId());
+      ps.setLong(3, message.chatId());
+      if (message.parentId() != null) {
+        ps.setLong(4, message.parentId());
+      } else {
+        ps.setNull(4, Types.BIGINT);
+      }
+      ps.setString(5, message.content());
+      ps.setTimestamp(6, Timestamp.valueOf(message.createdAt()));
+      ps.setString(7, message.status().name());
+    });
+  }
+
+  /**
+   * 지정한 답장들의 부모를 oldParentId에서 newParentId로 바꾼다. (이미 바뀐 행은 그대로)
+   */
+  public void reparent(Long chatId, Long oldParentId, Long newParentId, List<Long> messageIds) {
+    if (messageIds.isEmpty()) {
+      return;
+    }
+    namedParameterJdbcTemplate.update(REPARENT_SQL, new MapSqlParameterSource()
+        .addValue("chatId", chatId)
+        .addValue("oldParentId", oldParentId)
+        .addValue("newParentId", newParentId)
+        .addValue("messageIds", messageIds));
+  }
+
+  /**
+   * [시작값, 시작값 + blockSize) 구간을 예약하고 시작값을 돌려준다.
+   * 호출한 쪽의 트랜잭션 안에서 행을 잠그므로 커밋 전까지 다른 예약은 대기한다.
+   */
+  public long reserveIdBlock(int blockSize) {
+    MapSqlParameterSource params = new MapSqlParameterSource("sequenceName", SEQUENCE_NAME);
+    namedParameterJdbcTemplate.update(INSERT_SEQUENCE_IF_ABSENT_SQL, params);
+    Long start = namedParameterJdbcTemplate.queryForObject(LOCK_SEQUENCE_SQL, params, Long.class);
+    namedParameterJdbcTemplate.update(ADVANCE_SEQUENCE_SQL, params.addValue("nextValue", start + blockSize));
+    return start;
+  }
+}
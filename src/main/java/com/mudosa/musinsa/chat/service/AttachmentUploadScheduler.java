@@ -0,0 +1,270 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.mudosa.musinsa.chat.event.StreamedUploadedFile;
+import com.mudosa.musinsa.chat.event.TempUploadedFile;
+import com.mudosa.musinsa.chat.event.UploadedFile;
+import com.mudosa.musinsa.chat.file.FileStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * <h5>첨부파일 업로드 스케줄러</h5>
+ * <p>
+ * 메시지 첨부(임시 파일)를 노드/채팅방별 동시 업로드 한도 안에서 올린다. 업로드 결과는 future 콜백으로 받아
+ * 스레드가 join으로 묶여 있지 않는다.
+ * <ul>
+ *   <li>순서: 작은 이미지(small-image-bytes 이하)를 먼저, 그 외 파일은 large-file-delay-ms 늦게 들어온 것처럼 취급 (오래 기다리면 결국 먼저 나감)</li>
+ *   <li>실패한 파일은 backoff-initial-ms부터 두 배씩(backoff-max-ms까지) 기다렸다가 max-attempts까지 다시 올린다.</li>
+ *   <li>끝까지 실패한 파일은 null로 알려주고, 임시 파일은 최종 결과가 난 뒤 지운다.</li>
+ *   <li>요청 중에 스트리밍을 시작한 파일은 이미 전송 중이므로 결과만 기다린다. (재시도는 S3 클라이언트 재시도에 맡김)</li>
+ * </ul>
+ * 메트릭: chat.upload.queue.depth, chat.upload.inflight, chat.upload.inflight.bytes, chat.upload.retries,
+ * chat.upload.file.duration{kind,result} (대기 + 재시도 포함, 히스토그램)
+ */
+@Slf4j
+@Component
+public class AttachmentUploadScheduler {
+
+  private static final Comparator<UploadTask> ORDER =
+      Comparator.comparingLong(UploadTask::rank).thenComparingLong(UploadTask::sequence);
+
+  private final FileStore fileStore;
+  private final Executor uploadExecutor;
+  private final MeterRegistry meterRegistry;
+  private final int maxConcurrent;
+  private final int maxConcurrentPerRoom;
+  private final long smallImageBytes;
+  private final long largeFileDelayMillis;
+  private final int maxAttempts;
+  private final long backoffInitialMillis;
+  private final long backoffMaxMillis;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final NavigableSet<UploadTask> queue = new TreeSet<>(ORDER);
+  private final Map<Long, Integer> runningByRoom = new HashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicLong runningBytes = new AtomicLong();
+  private final ScheduledExecutorService retryScheduler;
+  private final Counter retries;
+
+  public AttachmentUploadScheduler(FileStore fileStore,
+                                   @Qualifier("chatFileExecutor") Executor uploadExecutor,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${chat.upload.scheduler.max-concurrent:16}") int maxConcurrent,
+                                   @Value("${chat.upload.scheduler.max-concurrent-per-room:4}") int maxConcurrentPerRoom,
+                                   @Value("${chat.upload.scheduler.small-image-bytes:1048576}") long smallImageBytes,
+                                   @Value("${chat.upload.scheduler.large-file-delay-ms:2000}") long largeFileDelayMillis,
+                                   @Value("${chat.upload.scheduler.max-attempts:3}") int maxAttempts,
+                                   @Value("${chat.upload.scheduler.backoff-initial-ms:500}") long backoffInitialMillis,
+                                   @Value("${chat.upload.scheduler.backoff-max-ms:10000}") long backoffMaxMillis) {
+    this.fileStore = fileStore;
+    this.uploadExecutor = uploadExecutor;
+    this.meterRegistry = meterRegistry;
+    this.maxConcurrent = maxConcurrent;
+    this.maxConcurrentPerRoom = maxConcurrentPerRoom;
+    this.smallImageBytes = smallImageBytes;
+    this.largeFileDelayMillis = largeFileDelayMillis;
+    this.maxAttempts = maxAttempts;
+    this.backoffInitialMillis = backoffInitialMillis;
+    this.backoffMaxMillis = backoffMaxMillis;
+    this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "chat-upload-retry");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.retries = Counter.builder("chat.upload.retries")
+        .description("실패 후 다시 올린 첨부파일 수")
+        .register(meterRegistry);
+    Gauge.builder("chat.upload.queue.depth", queued, AtomicInteger::get)
+        .description("업로드 대기 중인 첨부파일 수")
+        .register(meterRegistry);
+    Gauge.builder("chat.upload.inflight", running, AtomicInteger::get)
+        .description("업로드 중인 첨부파일 수")
+        .register(meterRegistry);
+    Gauge.builder("chat.upload.inflight.bytes", runningBytes, AtomicLong::get)
+        .description("업로드 중인 첨부파일 크기")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * <h5>메시지 첨부 업로드 등록</h5>
+   * <p>
+   * 바로 반환한다. 모든 파일의 최종 결과가 나오면 업로드 실행기(chatFileExecutor)에서 완료된다.
+   *
+   * @return 파일 순서대로 저장 URL (최종 실패한 파일은 null)
+   */
+  public CompletableFuture<List<String>> submit(Long chatId, Long messageId, List<UploadedFile> files) {
+    List<CompletableFuture<String>> results = new ArrayList<>(files.size());
+    for (UploadedFile file : files) {
+      CompletableFuture<String> result = new CompletableFuture<>();
+      results.add(result);
+      long startedAt = System.nanoTime();
+      switch (file) {
+        case StreamedUploadedFile streamed -> streamed.storedUrl().whenComplete((url, ex) -> {
+          if (ex != null) {
+            log.warn("[messageId={}] 스트리밍 첨부 업로드 실패. file={}", messageId, streamed.originalFilename(), ex);
+          }
+          record(streamed, startedAt, ex == null);
+          result.complete(ex == null ? url : null);
+        });
+        case TempUploadedFile temp -> enqueue(new UploadTask(chatId, messageId, temp, result, 1, startedAt,
+            rank(temp), sequence.incrementAndGet()));
+      }
+    }
+    dispatch();
+
+    return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+        .thenApplyAsync(ignored -> results.stream().map(CompletableFuture::join).toList(), uploadExecutor);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    retryScheduler.shutdownNow();
+  }
+
+  /* 한도 안에서 우선순위가 높은 작업부터 꺼내 시작한다 (방 한도에 걸린 작업은 건너뜀) */
+  private void dispatch() {
+    List<UploadTask> ready = new ArrayList<>();
+    lock.lock();
+    try {
+      Iterator<UploadTask> it = queue.iterator();
+      while (running.get() < maxConcurrent && it.hasNext()) {
+        UploadTask task = it.next();
+        if (runningByRoom.getOrDefault(task.chatId(), 0) >= maxConcurrentPerRoom) {
+          continue;
+        }
+        it.remove();
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        runningBytes.addAndGet(task.file().size());
+        runningByRoom.merge(task.chatId(), 1, Integer::sum);
+        ready.add(task);
+      }
+    } finally {
+      lock.unlock();
+    }
+    ready.forEach(this::start);
+  }
+
+  /* 동기 저장소도 스레드를 오래 잡지 않도록 업로드 실행기에서 호출하고, 결과는 콜백으로 받는다 */
+  private void start(UploadTask task) {
+    CompletableFuture
+        .supplyAsync(() -> fileStore.storeMessageFile(task.chatId(), task.messageId(), task.file()), uploadExecutor)
+        .thenCompose(Function.identity())
+        .whenComplete((url, ex) -> {
+          release(task);
+          if (ex == null) {
+            finish(task, url);
+          } else {
+            retryOrFail(task, ex);
+          }
+          dispatch();
+        });
+  }
+
+  private void retryOrFail(UploadTask task, Throwable ex) {
+    if (task.attempt() >= maxAttempts) {
+      log.warn("[messageId={}] 첨부 업로드 최종 실패 ({}회). file={}", task.messageId(), task.attempt(),
+          task.file().originalFilename(), ex);
+      finish(task, null);
+      return;
+    }
+    long delay = Math.min(backoffInitialMillis << (task.attempt() - 1), backoffMaxMillis);
+    log.debug("[messageId={}] 첨부 업로드 실패, {}ms 후 재시도 ({}회). file={}", task.messageId(), delay,
+        task.attempt(), task.file().originalFilename());
+    retries.increment();
+    retryScheduler.schedule(() -> {
+      enqueue(task.nextAttempt(rank(task.file()), sequence.incrementAndGet()));
+      dispatch();
+    }, delay, TimeUnit.MILLISECONDS);
+  }
+
+  private void finish(UploadTask task, String url) {
+    try {
+      Files.deleteIfExists(task.file().tempPath());
+    } catch (IOException e) {
+      log.warn("임시 파일 삭제 실패. path={}", task.file().tempPath(), e);
+    }
+    record(task.file(), task.startedAt(), url != null);
+    task.result().complete(url);
+  }
+
+  private void enqueue(UploadTask task) {
+    lock.lock();
+    try {
+      queue.add(task);
+      queued.incrementAndGet();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(UploadTask task) {
+    lock.lock();
+    try {
+      running.decrementAndGet();
+      runningBytes.addAndGet(-task.file().size());
+      runningByRoom.computeIfPresent(task.chatId(), (id, count) -> count > 1 ? count - 1 : null);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /* 작은 이미지는 지금, 그 외 파일은 large-file-delay-ms 뒤에 들어온 것으로 정렬 */
+  private long rank(UploadedFile file) {
+    long now = System.currentTimeMillis();
+    return isSmallImage(file) ? now : now + largeFileDelayMillis;
+  }
+
+  private boolean isSmallImage(UploadedFile file) {
+    return file.contentType() != null && file.contentType().startsWith("image/") && file.size() <= smallImageBytes;
+  }
+
+  private void record(UploadedFile file, long startedAt, boolean success) {
+    Timer.builder("chat.upload.file.duration")
+        .description("첨부파일 등록부터 업로드 최종 결과까지 걸린 시간 (대기/재시도 포함)")
+        .tag("kind", isSmallImage(file) ? "small_image" : "file")
+        .tag("result", success ? "success" : "failure")
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+  }
+
+  private record UploadTask(Long chatId, Long messageId, TempUploadedFile file, CompletableFuture<String> result,
+                            int attempt, long startedAt, long rank, long sequence) {
+
+    private UploadTask nextAttempt(long rank, long sequence) {
+      return new UploadTask(chatId, messageId, file, result, attempt + 1, startedAt, rank, sequence);
+    }
+  }
+}
@@ -5,8 +5,7 @@ import com.mudosa.musinsa.chat.dto.WSFileUploadSuccessDTO;
 import com.mudosa.musinsa.chat.entity.Message;
 import com.mudosa.musinsa.chat.entity.MessageAttachment;
 import com.mudosa.musinsa.chat.event.ChatEventPublisher;
-import com.mudosa.musinsa.chat.event.TempUploadedFile;
-import com.mudosa.musinsa.chat.file.FileStore;
+import com.mudosa.musinsa.chat.event.UploadedFile;
 import com.mudosa.musinsa.chat.repository.MessageAttachmentRepository;
 import com.mudosa.musinsa.chat.repository.MessageRepository;
 import com.mudosa.musinsa.exception.BusinessException;
@@ -17,8 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
@@ -26,9 +24,10 @@ import java.util.concurrent.CompletableFuture;
 public class AttachmentUploadService {
   private final MessageRepository messageRepository;
   private final MessageAttachmentRepository attachmentRepository;
-  private final FileStore fileStore;
+  private final AttachmentUploadScheduler attachmentUploadScheduler;
   private final ChatEventPublisher chatEventPublisher;
   private final TransactionTemplate transactionTemplate;
+  private final RecentMessageCache recentMessageCache;
 
   /**
    * <h5>파일 저장</h5>
@@ -39,7 +38,7 @@ public class AttachmentUploadService {
    * @param files           파일 목록
    * @param clientMessageId 구별을 위한 clientId
    */
-  public void saveAttachments(Long messageId, List<TempUploadedFile> files, String clientMessageId) {
+  public void saveAttachments(Long messageId, List<UploadedFile> files, String clientMessageId) {
     // 0. 파일이 없으면 SKIP!
     if (files == null || files.isEmpty()) {
       return;
@@ -48,52 +47,44 @@ public class AttachmentUploadService {
     Message message = messageRepository.findById(messageId)
         .orElseThrow(() -> new BusinessException(ErrorCode.MESSAGE_NOT_FOUND));
 
-    // 1. S3 업로드 + 엔티티 생성 (여기서 실패한 파일 null)
-    List<MessageAttachment> successAttachments =
-        uploadFilesToS3AndBuildEntities(message, files);
+    // 1. S3 업로드 등록 (업로드 스케줄러가 한도/우선순위/재시도 처리, 여기서 기다리지 않음)
+    attachmentUploadScheduler.submit(message.getChatId(), message.getMessageId(), files)
+        // 2. 모든 파일의 최종 결과가 나오면 결과 처리
+        .thenAccept(storedUrls -> completeUpload(message, files, storedUrls, clientMessageId))
+        .exceptionally(ex -> {
+          log.error("[messageId={}] 첨부 업로드 결과 처리 실패", messageId, ex);
+          return null;
+        });
+  }
+
+  /**
+   * <h5>업로드 결과 처리</h5>
+   * <p>
+   * 성공한 파일만 첨부 엔티티로 만들어 저장하고, 전부 실패했으면 메시지를 FAILED로 바꾼다.
+   *
+   * @param message         메시지
+   * @param files           파일 목록
+   * @param storedUrls      파일 순서대로 저장 URL (실패한 파일은 null)
+   * @param clientMessageId 구별을 위한 clientId
+   */
+  protected void completeUpload(Message message, List<UploadedFile> files, List<String> storedUrls, String clientMessageId) {
+    List<MessageAttachment> successAttachments = IntStream.range(0, files.size())
+        .filter(i -> storedUrls.get(i) != null) // 성공한(null이 아닌) 파일만 수집
+        .mapToObj(i -> MessageAttachment.create(message, files.get(i), storedUrls.get(i)))
+        .toList();
 
-    // 2. 결과 처리
     transactionTemplate.executeWithoutResult(status -> {
       // DB 저장 및 상태 변경 작업은 하나의 트랜잭션으로 묶여 실행됩니다.
       if (successAttachments.isEmpty()) {
-        // 2-1) 전부 실패한 경우 -> 메시지 상태 FAILED
+        // 전부 실패한 경우 -> 메시지 상태 FAILED
         markMessageFailed(message, clientMessageId);
       } else {
-        // 2-2) 하나라도 성공한 경우 -> 성공한 것만 저장 및 알림 발송
+        // 하나라도 성공한 경우 -> 성공한 것만 저장 및 알림 발송
         saveAttachmentsAndUpdateStatusToNormal(message, successAttachments, clientMessageId);
       }
     });
   }
 
-  /**
-   * <h5>S3 파일 저장</h5>
-   * <p>
-   * S3로 파일을 저장한다.
-   *
-   * @param message 메시지
-   * @param files   파일 목록
-   * @return 저장된 메시지 첨부파일 리스트
-   * @implNote 예외 발생시 throw 하지 않고 null을 반환하여 성공한 것만 필터링
-   */
-  protected List<MessageAttachment> uploadFilesToS3AndBuildEntities(Message message, List<TempUploadedFile> files) {
-    // 1. S3로 파일 저장
-    List<CompletableFuture<MessageAttachment>> futures = files.stream()
-        .map(file -> fileStore.storeMessageFile(message.getChatId(), message.getMessageId(), file)
-            .thenApply(storedUrl -> MessageAttachment.create(message, file, storedUrl))
-            // 개별 파일 업로드 실패 시 null 반환 (전체 로직 중단 방지)
-            .exceptionally(ex -> {
-              return null;
-            })
-        )
-        .toList();
-
-    // 2. join()으로 저장된 값 가져오기
-    return futures.stream()
-        .map(CompletableFuture::join)
-        .filter(Objects::nonNull) // 성공한(null이 아닌) 객체만 수집
-        .toList();
-  }
-
   /**
    * <h5>DB 저장 & 메시지 상태 변경 및 WS으로 저장된 파일 전송</h5>
    * <p>
@@ -121,6 +112,9 @@ public class AttachmentUploadService {
 
     // 5. 웹소켓 전송 (성공한 파일 목록)
     chatEventPublisher.publishBroadcastEvent(dto.getChatId(), dto);
+
+    // 6. 커밋 후 최근 메시지 캐시에 첨부 반영
+    recentMessageCache.attachmentsChanged(message.getChatId(), message.getMessageId(), responses);
   }
 
   /**
@@ -141,5 +135,8 @@ public class AttachmentUploadService {
 
     // 3. 웹소켓 전송 (빈 배열)
     chatEventPublisher.publishBroadcastEvent(dto.getChatId(), dto);
+
+    // 4. 커밋 후 최근 메시지 캐시에 빈 첨부 반영
+    recentMessageCache.attachmentsChanged(message.getChatId(), message.getMessageId(), List.of());
   }
 }
\ No newline at end of file
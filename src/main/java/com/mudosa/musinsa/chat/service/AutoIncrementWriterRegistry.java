@@ -0,0 +1,86 @@
+package com.mudosa.musinsa.chat.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * <h5>AUTO_INCREMENT 메시지 저장 노드 목록</h5>
+ * <p>
+ * 쓰기 지연을 끈 노드는 메시지 ID를 AUTO_INCREMENT로 받는다. 그 ID는 쓰기 지연 노드가 예약해 둔 구간과 겹칠 수 있으므로,
+ * 쓰기 지연을 끈 노드는 Redis ZSET(chat:message:auto-increment-writers)에 만료 시각을 점수로 자기를 올려 두고,
+ * 쓰기 지연 노드는 살아 있는 항목이 있는 동안 새 메시지를 쓰기 지연으로 받지 않는다.
+ * <ul>
+ *   <li>heartbeat-ms마다 갱신하고, 3주기 동안 갱신이 없으면 죽은 노드로 보고 뺀다.</li>
+ *   <li>Redis 조회에 실패하면 마지막으로 본 값을 유지한다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class AutoIncrementWriterRegistry {
+
+  static final String WRITERS_KEY = "chat:message:auto-increment-writers";
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final boolean writeBehindEnabled;
+  private final long ttlMillis;
+  private final String nodeId = UUID.randomUUID().toString();
+  private volatile boolean present;
+
+  public AutoIncrementWriterRegistry(StringRedisTemplate stringRedisTemplate,
+                                     @Value("${chat.write-behind.enabled:false}") boolean writeBehindEnabled,
+                                     @Value("${chat.write-behind.writer-heartbeat-ms:5000}") long heartbeatMillis) {
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.writeBehindEnabled = writeBehindEnabled;
+    this.ttlMillis = heartbeatMillis * 3;
+  }
+
+  /**
+   * 살아 있는 AUTO_INCREMENT 저장 노드가 있는지 (마지막 확인 기준)
+   */
+  public boolean isPresent() {
+    return present;
+  }
+
+  // 요청을 받기 전에 한 번 올리거나 확인한다.
+  @PostConstruct
+  @Scheduled(fixedDelayString = "${chat.write-behind.writer-heartbeat-ms:5000}")
+  public void heartbeat() {
+    long now = System.currentTimeMillis();
+    try {
+      if (!writeBehindEnabled) {
+        stringRedisTemplate.opsForZSet().add(WRITERS_KEY, nodeId, now + ttlMillis);
+        return;
+      }
+      stringRedisTemplate.opsForZSet().removeRangeByScore(WRITERS_KEY, 0, now);
+      Long alive = stringRedisTemplate.opsForZSet().count(WRITERS_KEY, now, Double.POSITIVE_INFINITY);
+      boolean next = alive != null && alive > 0;
+      if (next != present) {
+        log.warn(next
+            ? "AUTO_INCREMENT로 메시지를 저장하는 노드가 있어 쓰기 지연 접수를 멈춥니다: {}개"
+            : "AUTO_INCREMENT로 메시지를 저장하는 노드가 없어 쓰기 지연 접수를 다시 시작합니다: {}개", alive);
+      }
+      present = next;
+    } catch (Exception e) {
+      log.warn("AUTO_INCREMENT 메시지 저장 노드 목록 갱신 실패", e);
+    }
+  }
+
+  @PreDestroy
+  void unregister() {
+    if (writeBehindEnabled) {
+      return;
+    }
+    try {
+      stringRedisTemplate.opsForZSet().remove(WRITERS_KEY, nodeId);
+    } catch (Exception e) {
+      log.warn("AUTO_INCREMENT 메시지 저장 노드 목록에서 빼기 실패", e);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.mudosa.musinsa.chat.entity.ChatPart;
+import com.mudosa.musinsa.chat.repository.ChatPartRepository;
+import com.mudosa.musinsa.chat.repository.ChatRoomRepository;
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <h5>채팅방 참여자 캐시</h5>
+ * <p>
+ * 쓰기 지연 모드에서 메시지마다 채팅방/참여 정보를 조회하지 않도록 방별 활성 참여자를 한 번에 읽어 둔다.
+ * <ul>
+ *   <li>참여자가 아니면 한 번 다시 읽고 판단한다. (다른 노드에서 막 참여한 경우)</li>
+ *   <li>참여/퇴장은 이 노드에서 바로 무효화하고, 다른 노드의 퇴장은 ttl 안에 반영된다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ChatMembershipCache {
+
+  private final ChatPartRepository chatPartRepository;
+  private final ChatRoomRepository chatRoomRepository;
+  private final LoadingCache<Long, Map<Long, Member>> members;
+
+  public ChatMembershipCache(ChatPartRepository chatPartRepository,
+                             ChatRoomRepository chatRoomRepository,
+                             @Value("${chat.write-behind.membership-ttl-ms:30000}") long ttlMillis) {
+    this.chatPartRepository = chatPartRepository;
+    this.chatRoomRepository = chatRoomRepository;
+    this.members = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterWrite(Duration.ofMillis(ttlMillis))
+        .build(this::load);
+  }
+
+  /**
+   * <h5>참여 정보 조회</h5>
+   *
+   * @throws BusinessException CHAT_NOT_FOUND - 채팅방이 없을 때
+   * @throws BusinessException CHAT_PARTICIPANT_NOT_FOUND - 채팅 참여 중이지 않을 때
+   */
+  public Member getMemberOrThrow(Long chatId, Long userId) {
+    Member member = members.get(chatId).get(userId);
+    if (member != null) {
+      return member;
+    }
+    members.invalidate(chatId);
+    Map<Long, Member> reloaded = members.get(chatId);
+    member = reloaded.get(userId);
+    if (member != null) {
+      return member;
+    }
+    if (reloaded.isEmpty() && !chatRoomRepository.existsById(chatId)) {
+      log.warn("[chatId={}] 채팅방이 존재하지 않습니다.", chatId);
+      throw new BusinessException(ErrorCode.CHAT_NOT_FOUND);
+    }
+    log.warn("[chatId={}][userId={}] 채팅 참여 정보를 확인할 수 없습니다.", chatId, userId);
+    throw new BusinessException(ErrorCode.CHAT_PARTICIPANT_NOT_FOUND);
+  }
+
+  /**
+   * 참여/퇴장 시 방 참여자 무효화
+   */
+  public void invalidate(Long chatId) {
+    members.invalidate(chatId);
+  }
+
+  private Map<Long, Member> load(Long chatId) {
+    return chatPartRepository.findActiveWithUserByChatId(chatId).stream()
+        .collect(Collectors.toUnmodifiableMap(
+            chatPart -> chatPart.getUser().getId(),
+            Member::of,
+            (first, second) -> first));
+  }
+
+  /**
+   * 참여 정보 (chatPartId, 이름)
+   */
+  public record Member(Long chatPartId, Long userId, String userName) {
+
+    static Member of(ChatPart chatPart) {
+      return new Member(chatPart.getChatPartId(), chatPart.getUser().getId(), chatPart.getUser().getUserName());
+    }
+  }
+}
@@ -26,6 +26,7 @@ public class ChatRoomService {
   private final ChatRoomRepository chatRoomRepository;
   private final ChatPartRepository chatPartRepository;
   private final UserRepository userRepository;
+  private final ChatMembershipCache chatMembershipCache;
 
   /**
    * <h5>채팅방 정보 조회</h5>
@@ -79,6 +80,7 @@ public class ChatRoomService {
 
     // 4. 참여 정보 저장
     ChatPart chatPart = chatPartRepository.save(ChatPart.create(chatRoom, user));
+    chatMembershipCache.invalidate(chatId);
 
     // 5. 결과 반환
     return ChatPartResponse.of(chatPart);
@@ -104,6 +106,7 @@ public class ChatRoomService {
 
     // 3. 채팅방 나가기
     chatPart.setDeletedAt(LocalDateTime.now());
+    chatMembershipCache.invalidate(chatId);
   }
 
   /**
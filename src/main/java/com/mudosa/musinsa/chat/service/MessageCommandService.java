@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class MessageCommandService {
   private final MessageRepository messageRepository;
   private final ChatEventPublisher chatEventPublisher;
+  private final RecentMessageCache recentMessageCache;
 
   /**
    * <h5>메시지 저장</h5>
@@ -35,6 +36,9 @@ public class MessageCommandService {
     // 2. 이벤트 발행 (메세지 저장 정보 반환)
     chatEventPublisher.publishBroadcastEvent(messageResponse.getChatId(), messageResponse);
 
+    // 2-1) 커밋 후 최근 메시지 캐시에 추가
+    recentMessageCache.messageSaved(savedMessage, messageResponse.getParent());
+
     // 3. 저장된 메시지 반환
     return savedMessage.getMessageId();
   }
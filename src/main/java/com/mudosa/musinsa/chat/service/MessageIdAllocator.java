@@ -0,0 +1,97 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.mudosa.musinsa.chat.repository.MessageJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h5>메시지 ID 블록 할당기</h5>
+ * <p>
+ * 쓰기 지연 모드에서 저장 전에 메시지 ID를 정한다.
+ * 노드마다 message_id_sequence에서 blockSize개 구간을 예약해 두고 메모리에서 락 없이 나눠준다.
+ * <ul>
+ *   <li>예약은 별도 트랜잭션(REQUIRES_NEW)에서 바로 커밋하므로 노드가 죽어도 같은 ID가 다시 나가지 않는다. (빈 번호는 남음)</li>
+ *   <li>예약 구간은 항상 message의 최대 ID 뒤에서 시작한다. 쓰기 지연은 모든 노드에서 함께 켜고 끈다.
+ *       (섞여 있는 동안에는 {@link AutoIncrementWriterRegistry}로 쓰기 지연 접수를 멈춘다)</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class MessageIdAllocator {
+
+  private final MessageJdbcRepository messageJdbcRepository;
+  private final TransactionTemplate requiresNewTemplate;
+  private final Counter reserved;
+  private final int blockSize;
+
+  private final AtomicReference<Block> block = new AtomicReference<>();
+  private final ReentrantLock refillLock = new ReentrantLock();
+
+  public MessageIdAllocator(MessageJdbcRepository messageJdbcRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${chat.write-behind.id-block-size:1000}") int blockSize) {
+    this.messageJdbcRepository = messageJdbcRepository;
+    this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+    this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.reserved = Counter.builder("chat.message_id.reserved")
+        .description("예약한 메시지 ID 블록 수")
+        .register(meterRegistry);
+    this.blockSize = blockSize;
+  }
+
+  public long next() {
+    while (true) {
+      Block current = block.get();
+      if (current != null) {
+        long value = current.take();
+        if (value >= 0) {
+          return value;
+        }
+      }
+      refill(current);
+    }
+  }
+
+  /* 다 쓴 블록을 새 블록으로 바꾼다. 다른 스레드가 먼저 바꿨으면 그 블록을 쓴다. */
+  private void refill(Block exhausted) {
+    refillLock.lock();
+    try {
+      if (block.get() != exhausted) {
+        return;
+      }
+      Long start = requiresNewTemplate.execute(status -> messageJdbcRepository.reserveIdBlock(blockSize));
+      block.set(new Block(start, start + blockSize));
+      reserved.increment();
+      log.debug("메시지 ID 블록 예약: [{}, {})", start, start + blockSize);
+    } finally {
+      refillLock.unlock();
+    }
+  }
+
+  private static final class Block {
+    private final AtomicLong next;
+    private final long end;
+
+    private Block(long start, long end) {
+      this.next = new AtomicLong(start);
+      this.end = end;
+    }
+
+    /* 남은 번호가 없으면 -1 */
+    private long take() {
+      long value = next.getAndIncrement();
+      return value < end ? value : -1;
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mudosa.musinsa.chat.dto.PendingMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * <h5>쓰기 지연 메시지 저널 (로컬 append-only 파일)</h5>
+ * <p>
+ * 메시지를 응답하기 전에 한 줄(JSON)씩 덧붙인다. 세그먼트(journal-{번호}.log) 단위로 돌려 쓰고,
+ * 닫힌 세그먼트의 메시지가 모두 DB에 들어가면 지운다. 재기동 시 남은 세그먼트를 다시 넣는다.
+ * <ul>
+ *   <li>fsync=false: 쓰기마다 OS에 넘기므로 프로세스가 죽어도 남는다. (OS/디스크 장애는 보장하지 않음)</li>
+ *   <li>fsync=true: 쓰기마다 디스크까지 강제한다.</li>
+ * </ul>
+ */
+@Slf4j
+class MessageJournal {
+
+  private static final String PREFIX = "journal-";
+  private static final String SUFFIX = ".log";
+
+  private final Path directory;
+  private final boolean fsync;
+  private final ObjectMapper objectMapper;
+  private long segment;
+  private FileChannel channel;
+
+  MessageJournal(Path directory, boolean fsync, ObjectMapper objectMapper) {
+    this.directory = directory;
+    this.fsync = fsync;
+    this.objectMapper = objectMapper;
+    try {
+      Files.createDirectories(directory);
+      this.segment = segments().stream().mapToLong(MessageJournal::segmentOf).max().orElse(0) + 1;
+      this.channel = open(segment);
+    } catch (IOException e) {
+      throw new UncheckedIOException("메시지 저널을 열 수 없습니다: " + directory, e);
+    }
+  }
+
+  /**
+   * 메시지 한 줄 추가
+   */
+  synchronized void append(PendingMessage message) {
+    try {
+      byte[] line = (objectMapper.writeValueAsString(message) + "\n").getBytes(StandardCharsets.UTF_8);
+      ByteBuffer buffer = ByteBuffer.wrap(line);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      if (fsync) {
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("메시지 저널 쓰기 실패", e);
+    }
+  }
+
+  /**
+   * 지금 쓰는 세그먼트 번호
+   */
+  synchronized long segment() {
+    return segment;
+  }
+
+  /**
+   * 새 세그먼트로 돌려 쓰고 새 세그먼트 번호를 돌려준다. 이보다 작은 번호의 세그먼트는 닫힌 것이다.
+   */
+  synchronized long rotate() {
+    try {
+      channel.close();
+      segment++;
+      channel = open(segment);
+      return segment;
+    } catch (IOException e) {
+      throw new UncheckedIOException("메시지 저널 교체 실패", e);
+    }
+  }
+
+  /**
+   * boundary보다 작은 번호의 세그먼트 삭제
+   */
+  void deleteBefore(long boundary) {
+    for (Path path : segments()) {
+      if (segmentOf(path) < boundary) {
+        try {
+          Files.deleteIfExists(path);
+        } catch (IOException e) {
+          log.warn("메시지 저널 삭제 실패: {}", path, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * boundary보다 작은 번호의 세그먼트에 남은 메시지 (기록 순서)
+   * <p>
+   * 쓰다가 죽어 잘린 마지막 줄은 응답하지 않은 메시지이므로 건너뛴다.
+   */
+  List<PendingMessage> readBefore(long boundary) {
+    List<PendingMessage> messages = new ArrayList<>();
+    for (Path path : segments()) {
+      if (segmentOf(path) >= boundary) {
+        continue;
+      }
+      try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (line.isBlank()) {
+            continue;
+          }
+          try {
+            messages.add(objectMapper.readValue(line, PendingMessage.class));
+          } catch (IOException e) {
+            log.warn("메시지 저널의 잘린 줄을 건너뜁니다: {}", path);
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("메시지 저널 읽기 실패: " + path, e);
+      }
+    }
+    return messages;
+  }
+
+  synchronized void close() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      log.warn("메시지 저널 닫기 실패", e);
+    }
+  }
+
+  private FileChannel open(long number) throws IOException {
+    return FileChannel.open(directory.resolve(PREFIX + number + SUFFIX),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  /* 번호순 세그먼트 목록 */
+  private List<Path> segments() {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> {
+            String name = path.getFileName().toString();
+            return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+          })
+          .sorted((a, b) -> Long.compare(segmentOf(a), segmentOf(b)))
+          .toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException("메시지 저널 목록 조회 실패: " + directory, e);
+    }
+  }
+
+  private static long segmentOf(Path path) {
+    String name = path.getFileName().toString();
+    return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+  }
+}
@@ -32,11 +32,13 @@ public class MessageQueryService {
   private final MessageAttachmentRepository attachmentRepository;
   private final BrandMemberRepository brandMemberRepository;
   private final ChatRoomRepository chatRoomRepository;
+  private final RecentMessageCache recentMessageCache;
 
   /**
    * <h5>메시지 조회</h5>
    * <p>
    * 메시지 정보를 조합하여 반환한다.
+   * 첫 페이지는 최근 메시지 캐시에 있으면 DB를 거치지 않고, 없으면 DB에서 읽은 결과로 캐시를 채운다.
    *
    * @param chatId 채팅방 아이디
    * @param cursor 범위 위치
@@ -44,6 +46,16 @@ public class MessageQueryService {
    * @return 메시지 리스트 DTO
    */
   public Slice<MessageResponse> getChatMessages(Long chatId, MessageCursor cursor, int size) {
+    // 0. 첫 페이지는 최근 메시지 캐시 먼저 확인
+    boolean firstPage = cursor == null || cursor.messageId() == null;
+    if (firstPage) {
+      Optional<Slice<MessageResponse>> cached = recentMessageCache.getFirstPage(chatId, size);
+      if (cached.isPresent()) {
+        return cached.get();
+      }
+    }
+    long stamp = recentMessageCache.stamp(chatId);
+
     // 1. 메시지 조회
     MessagesBundle bundle = loadMessages(chatId, cursor, size);
 
@@ -54,6 +66,9 @@ public class MessageQueryService {
 
     // 3. DTO 매핑
     List<MessageResponse> dtoList = mapToMessageResponseList(bundle);
+    if (firstPage) {
+      recentMessageCache.seed(chatId, stamp, dtoList, bundle.hasNext(), bundle.managerUserIds());
+    }
 
     // 4. 반환
     return new SliceImpl<>(dtoList, PageRequest.of(0, size), bundle.hasNext());
@@ -259,4 +274,23 @@ public class MessageQueryService {
     return parent;
   }
 
+  /**
+   * <h5>부모 메시지 응답 조회</h5>
+   * <p>
+   * 트랜잭션 밖(쓰기 지연)에서 쓸 수 있도록 부모 메시지와 첨부를 응답 DTO로 만들어 반환한다.
+   *
+   * @return 부모 메시지 응답 (parentId가 없으면 null)
+   * @throws BusinessException MESSAGE_PARENT_NOT_FOUND - 부모 메시지가 없거나 해당 채팅방의 메시지가 아닐 때
+   */
+  public ParentMessageResponse getParentMessageResponseIfExists(Long parentId, Long chatId) {
+    Message parent = getParentMessageIfExists(parentId, chatId);
+    if (parent == null) {
+      return null;
+    }
+    List<AttachmentResponse> attachments = attachmentRepository.findAllByMessageIdIn(List.of(parent.getMessageId())).stream()
+        .map(AttachmentResponse::of)
+        .toList();
+    return ParentMessageResponse.of(parent, attachments);
+  }
+
 }
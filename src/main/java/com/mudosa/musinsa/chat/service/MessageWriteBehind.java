@@ -0,0 +1,591 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mudosa.musinsa.chat.dto.MessageResponse;
+import com.mudosa.musinsa.chat.dto.ParentMessageResponse;
+import com.mudosa.musinsa.chat.dto.PendingMessage;
+import com.mudosa.musinsa.chat.dto.WSMessageResponseDTO;
+import com.mudosa.musinsa.chat.enums.MessageStatus;
+import com.mudosa.musinsa.chat.event.ChatEventPublisher;
+import com.mudosa.musinsa.chat.repository.MessageJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * <h5>채팅 메시지 쓰기 지연 저장</h5>
+ * <p>
+ * 트래픽이 몰리는 방에서 메시지마다 트랜잭션(방/참여/부모 조회 + INSERT)을 잡지 않도록,
+ * 메모리에서 검증하고 순서를 정해 바로 응답/전송한 뒤 방별로 모아 batch insert 한다.
+ * <ul>
+ *   <li>참여 검증은 ChatMembershipCache, 메시지 ID는 MessageIdAllocator 블록에서 가져온다.</li>
+ *   <li>방마다 (createdAt, messageId)가 이 노드에서 단조 증가하도록 방 락 안에서 정한다. (시계가 뒤로 가면 직전 시각 사용)</li>
+ *   <li>응답 전에 로컬 저널에 기록한다. 노드가 죽으면 재기동 시(빈 초기화 중) 저널을 다시 넣는다. (이미 들어간 메시지는 건너뜀)
+ *       주기 저장은 복구가 끝난 뒤에만 저널을 지운다.</li>
+ *   <li>저장 실패 시 방 큐 앞에 되돌려 다음 주기에 순서대로 다시 넣는다.</li>
+ *   <li>AUTO_INCREMENT로 저장하는 노드(쓰기 지연을 끈 노드)가 살아 있으면 새 메시지를 받지 않는다. ({@link AutoIncrementWriterRegistry})</li>
+ *   <li>그래도 다른 메시지가 이미 같은 ID로 저장돼 있으면 버리지 않고 새 ID로 저장한다.
+ *       새 ID를 먼저 저널에 남기고(재처리 시 원래 줄 대신 사용), 답장의 부모 ID를 고치고, 정정(type R)을 전송한다.</li>
+ * </ul>
+ * 메트릭: chat.write_behind.accepted, chat.write_behind.flushed, chat.write_behind.flush_failures,
+ * chat.write_behind.id_conflicts, chat.write_behind.pending
+ */
+@Slf4j
+@Component
+public class MessageWriteBehind {
+
+  private final ChatMembershipCache chatMembershipCache;
+  private final MessageIdAllocator messageIdAllocator;
+  private final MessageJdbcRepository messageJdbcRepository;
+  private final MessageQueryService messageQueryService;
+  private final ChatEventPublisher chatEventPublisher;
+  private final RecentMessageCache recentMessageCache;
+  private final AutoIncrementWriterRegistry autoIncrementWriters;
+  private final boolean enabled;
+  private final int batchSize;
+  private final MessageJournal journal;
+  // 이 번호보다 작은 세그먼트는 이전 실행이 남긴 것이다.
+  private final long recoveryBoundary;
+  private volatile boolean recovered;
+
+  private final Map<Long, RoomQueue> rooms = new ConcurrentHashMap<>();
+  // 첨부 메시지 ID -> 저장되면 저장된 ID로 완료 (whenPersisted로 가져감)
+  private final Map<Long, CompletableFuture<Long>> persistWaiters = new ConcurrentHashMap<>();
+  private final Counter accepted;
+  private final Counter flushed;
+  private final Counter flushFailures;
+  private final Counter idConflicts;
+
+  public MessageWriteBehind(ChatMembershipCache chatMembershipCache,
+                            MessageIdAllocator messageIdAllocator,
+                            MessageJdbcRepository messageJdbcRepository,
+                            MessageQueryService messageQueryService,
+                            ChatEventPublisher chatEventPublisher,
+                            RecentMessageCache recentMessageCache,
+                            AutoIncrementWriterRegistry autoIncrementWriters,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${chat.write-behind.enabled:false}") boolean enabled,
+                            @Value("${chat.write-behind.batch-size:500}") int batchSize,
+                            @Value("${chat.write-behind.journal-dir:${java.io.tmpdir}/chat-journal}") String journalDir,
+                            @Value("${chat.write-behind.journal-fsync:false}") boolean journalFsync) {
+    this.chatMembershipCache = chatMembershipCache;
+    this.messageIdAllocator = messageIdAllocator;
+    this.messageJdbcRepository = messageJdbcRepository;
+    this.messageQueryService = messageQueryService;
+    this.chatEventPublisher = chatEventPublisher;
+    this.recentMessageCache = recentMessageCache;
+    this.autoIncrementWriters = autoIncrementWriters;
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.journal = enabled ? new MessageJournal(Path.of(journalDir), journalFsync, objectMapper) : null;
+    this.recoveryBoundary = enabled ? journal.segment() : 0;
+    this.accepted = Counter.builder("chat.write_behind.accepted")
+        .description("쓰기 지연으로 받은 채팅 메시지 수")
+        .register(meterRegistry);
+    this.flushed = Counter.builder("chat.write_behind.flushed")
+        .description("쓰기 지연 큐에서 DB에 저장한 채팅 메시지 수")
+        .register(meterRegistry);
+    this.flushFailures = Counter.builder("chat.write_behind.flush_failures")
+        .description("쓰기 지연 방 배치 저장 실패 수")
+        .register(meterRegistry);
+    this.idConflicts = Counter.builder("chat.write_behind.id_conflicts")
+        .description("다른 메시지와 ID가 겹쳐 새 ID로 저장한 채팅 메시지 수")
+        .register(meterRegistry);
+    Gauge.builder("chat.write_behind.pending", rooms,
+            queues -> queues.values().stream().mapToInt(RoomQueue::size).sum())
+        .description("DB 저장 대기 중인 채팅 메시지 수")
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 새 메시지를 쓰기 지연으로 받을 수 있는지.
+   * AUTO_INCREMENT로 저장하는 노드가 살아 있으면 예약한 ID와 겹칠 수 있으므로 받지 않는다. (대기 중인 메시지 저장은 계속함)
+   */
+  public boolean isAccepting() {
+    return enabled && !autoIncrementWriters.isPresent();
+  }
+
+  /**
+   * <h5>메시지 접수</h5>
+   * <p>
+   * 검증 후 ID/순서를 정하고 저널에 기록한 다음 바로 WS로 전송한다. DB 저장은 다음 flush 때 한다.
+   *
+   * @return 메시지 ID
+   * @throws com.mudosa.musinsa.exception.BusinessException CHAT_NOT_FOUND - 채팅방이 없을 때
+   * @throws com.mudosa.musinsa.exception.BusinessException CHAT_PARTICIPANT_NOT_FOUND - 채팅 참여 중이지 않을 때
+   * @throws com.mudosa.musinsa.exception.BusinessException MESSAGE_PARENT_NOT_FOUND - 부모 메시지가 없거나 해당 채팅방의 메시지가 아닐 때
+   */
+  public Long accept(Long chatId, Long userId, Long parentId, String content, MessageStatus status,
+                     LocalDateTime now, String clientMessageId) {
+    // 1. 검증 (참여자 캐시, 부모는 대기 큐 -> DB 순)
+    ChatMembershipCache.Member member = chatMembershipCache.getMemberOrThrow(chatId, userId);
+    ParentMessageResponse parent = parentId != null ? findParent(chatId, parentId) : null;
+
+    // 2. 방 순서 확정 + 저널 기록
+    PendingMessage pending = enqueue(chatId, room -> {
+      PendingMessage message = new PendingMessage(
+          messageIdAllocator.next(), chatId, member.chatPartId(), userId, member.userName(), parentId,
+          StringUtils.hasText(content) ? content.trim() : null, room.nextCreatedAt(now), status);
+      // 첨부 업로드는 저장된 행이 필요하므로 큐에 넣기 전에 대기자를 만든다.
+      if (status == MessageStatus.UPLOADING) {
+        persistWaiters.put(message.messageId(), new CompletableFuture<>());
+      }
+      return message;
+    });
+    accepted.increment();
+
+    // 3. 바로 전송
+    chatEventPublisher.publishBroadcastEvent(chatId, WSMessageResponseDTO.builder()
+        .type("M")
+        .messageId(pending.messageId())
+        .chatId(chatId)
+        .userId(userId)
+        .userName(pending.userName())
+        .content(pending.content())
+        .createdAt(pending.createdAt())
+        .parent(parent)
+        .status(status)
+        .clientMessageId(clientMessageId)
+        .build());
+    recentMessageCache.messageSaved(MessageResponse.builder()
+        .messageId(pending.messageId())
+        .chatId(chatId)
+        .chatPartId(pending.chatPartId())
+        .userId(userId)
+        .userName(pending.userName())
+        .content(pending.content())
+        .attachments(List.of())
+        .createdAt(pending.createdAt())
+        .parent(parent)
+        .build());
+    return pending.messageId();
+  }
+
+  /**
+   * <h5>첨부 메시지 저장 대기</h5>
+   * <p>
+   * 첨부 메시지(UPLOADING)가 DB에 저장되면 저장된 메시지 ID로 완료된다. 다른 메시지와 ID가 겹쳐 새 ID로 저장됐으면 새 ID다.
+   * 첨부 메시지를 접수한 쪽이 바로 한 번 가져가며, 완료되면 대기 목록에서 빠진다.
+   */
+  public CompletableFuture<Long> whenPersisted(Long messageId) {
+    CompletableFuture<Long> waiter = persistWaiters.get(messageId);
+    if (waiter == null) {
+      return CompletableFuture.completedFuture(messageId);
+    }
+    waiter.whenComplete((savedId, ex) -> persistWaiters.remove(messageId));
+    return waiter;
+  }
+
+  /**
+   * <h5>주기 저장</h5>
+   * <p>
+   * 저널을 돌려 쓴 뒤 모든 방의 대기 메시지를 저장한다. 전부 성공하면 닫힌 저널 세그먼트를 지운다.
+   * 이전 실행의 저널을 아직 다시 넣지 않았으면 먼저 넣는다. (넣기 전에 지우지 않도록)
+   */
+  @Scheduled(fixedDelayString = "${chat.write-behind.flush-interval-ms:100}")
+  public void flushAll() {
+    if (!enabled) {
+      return;
+    }
+    if (!recovered) {
+      recover();
+    }
+    long boundary = journal.rotate();
+    boolean allFlushed = true;
+    for (Long chatId : rooms.keySet()) {
+      allFlushed &= flush(chatId);
+      retireIfIdle(chatId);
+    }
+    if (allFlushed) {
+      journal.deleteBefore(boundary);
+    }
+  }
+
+  /**
+   * <h5>방 저장</h5>
+   * <p>
+   * 방의 대기 메시지를 순서대로 batch-size씩 저장한다. 첨부 업로드 전처럼 바로 DB에 있어야 할 때도 호출한다.
+   *
+   * @return 모두 저장했는지 (실패분은 큐 앞으로 되돌림)
+   */
+  public boolean flush(Long chatId) {
+    RoomQueue room = rooms.get(chatId);
+    if (room == null) {
+      return true;
+    }
+    // 저장된 첨부 메시지 대기자는 방 저장 락을 푼 뒤에 깨운다.
+    Map<Long, Long> persistedIds = new LinkedHashMap<>();
+    room.flushLock.lock();
+    try {
+      List<PendingMessage> drained = room.drain();
+      for (int from = 0; from < drained.size(); from += batchSize) {
+        List<PendingMessage> batch = drained.subList(from, Math.min(from + batchSize, drained.size()));
+        try {
+          Map<Long, Long> reassigned = insert(chatId, batch);
+          room.persisted(batch);
+          flushed.increment(batch.size());
+          for (PendingMessage message : batch) {
+            if (message.status() == MessageStatus.UPLOADING) {
+              persistedIds.put(message.messageId(), reassigned.getOrDefault(message.messageId(), message.messageId()));
+            }
+          }
+          if (!reassigned.isEmpty()) {
+            // 아직 저장하지 않은 답장이 새 ID를 부모로 가리키도록
+            remapParents(drained, from + batch.size(), reassigned);
+            room.remapParents(reassigned);
+          }
+        } catch (Exception e) {
+          room.requeue(drained.subList(from, drained.size()));
+          flushFailures.increment();
+          log.warn("[chatId={}] 채팅 메시지 배치 저장 실패, 다음 주기에 재시도 ({}건)", chatId, drained.size() - from, e);
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      room.flushLock.unlock();
+      persistedIds.forEach((messageId, savedId) -> {
+        CompletableFuture<Long> waiter = persistWaiters.get(messageId);
+        if (waiter != null) {
+          waiter.complete(savedId);
+        }
+      });
+    }
+  }
+
+  /**
+   * <h5>저널 복구</h5>
+   * <p>
+   * 이전 실행에서 저장하지 못하고 남은 저널 세그먼트를 방별 순서대로 다시 넣는다.
+   * 요청을 받고 주기 저장이 시작되기 전(빈 초기화)에 돈다. 실패하면 기동하지 않는다.
+   */
+  @PostConstruct
+  public synchronized void recover() {
+    if (!enabled || recovered) {
+      return;
+    }
+    Map<Long, Long> journaled = new HashMap<>();
+    List<PendingMessage> messages = resolveReassignments(journal.readBefore(recoveryBoundary), journaled);
+    Map<Long, List<PendingMessage>> byRoom = new LinkedHashMap<>();
+    for (PendingMessage message : messages) {
+      byRoom.computeIfAbsent(message.chatId(), id -> new ArrayList<>()).add(message);
+    }
+    for (List<PendingMessage> roomMessages : byRoom.values()) {
+      Long chatId = roomMessages.get(0).chatId();
+      for (int from = 0; from < roomMessages.size(); from += batchSize) {
+        List<PendingMessage> batch = roomMessages.subList(from, Math.min(from + batchSize, roomMessages.size()));
+        remapParents(roomMessages, from + batch.size(), insert(chatId, batch));
+      }
+    }
+    // 이전 실행에서 새 ID로 옮긴 뒤 부모를 고치기 전에 죽었을 수 있다.
+    for (PendingMessage message : messages) {
+      journaled.forEach((previousId, messageId) -> {
+        if (message.messageId().equals(resolveId(messageId, journaled))) {
+          messageJdbcRepository.reparent(message.chatId(), previousId, message.messageId(), messages.stream()
+              .filter(child -> message.messageId().equals(child.parentId()))
+              .map(PendingMessage::messageId)
+              .toList());
+        }
+      });
+    }
+    journal.deleteBefore(recoveryBoundary);
+    recovered = true;
+    if (!messages.isEmpty()) {
+      log.info("채팅 메시지 저널 복구 - {}개 방, {}건", byRoom.size(), messages.size());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (!enabled) {
+      return;
+    }
+    flushAll();
+    journal.close();
+  }
+
+  /**
+   * 배치를 저장하고, 다른 메시지와 ID가 겹친 것은 새 ID로 다시 저장한다.
+   * 새 ID는 저장 전에 저널에 남기고, 원래 ID를 부모로 이미 저장된 같은 배치의 답장은 부모를 고친 뒤,
+   * 원래 ID로 전송/캐시된 메시지를 바로잡는다.
+   *
+   * @return 새 ID로 저장한 메시지 (기존 ID -> 새 ID)
+   */
+  private Map<Long, Long> insert(Long chatId, List<PendingMessage> batch) {
+    List<PendingMessage> conflicts = messageJdbcRepository.insertAll(batch);
+    if (conflicts.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, Long> reassigned = new LinkedHashMap<>();
+    for (PendingMessage message : conflicts) {
+      reassigned.put(message.messageId(), messageIdAllocator.next());
+    }
+    List<PendingMessage> retried = new ArrayList<>(conflicts.size());
+    for (PendingMessage message : conflicts) {
+      PendingMessage moved = remapParent(message.reassign(reassigned.get(message.messageId())), reassigned);
+      // 재기동 시 원래 ID로 또 한 번 저장하지 않도록
+      journal.append(moved);
+      retried.add(moved);
+    }
+    if (!messageJdbcRepository.insertAll(retried).isEmpty()) {
+      throw new IllegalStateException("새 메시지 ID도 이미 사용 중: chatId=" + chatId);
+    }
+    reassigned.forEach((previousId, messageId) -> messageJdbcRepository.reparent(chatId, previousId, messageId,
+        batch.stream()
+            .filter(message -> previousId.equals(message.parentId()) && !reassigned.containsKey(message.messageId()))
+            .map(PendingMessage::messageId)
+            .toList()));
+    idConflicts.increment(conflicts.size());
+    log.warn("[chatId={}] 다른 메시지와 ID가 겹쳐 새 ID로 저장: {}", chatId, reassigned);
+
+    retried.forEach(this::broadcastReassigned);
+    recentMessageCache.invalidateRoom(chatId);
+    return reassigned;
+  }
+
+  /* 원래 ID로 이미 받은 클라이언트가 새 ID로 바꾸도록 정정 전송 */
+  private void broadcastReassigned(PendingMessage message) {
+    chatEventPublisher.publishBroadcastEvent(message.chatId(), WSMessageResponseDTO.builder()
+        .type("R")
+        .messageId(message.messageId())
+        .previousMessageId(message.previousMessageId())
+        .chatId(message.chatId())
+        .userId(message.userId())
+        .userName(message.userName())
+        .content(message.content())
+        .createdAt(message.createdAt())
+        .status(message.status())
+        .build());
+  }
+
+  /**
+   * 저널 재처리 순서. 새 ID로 옮긴 기록(previousMessageId)이 있으면 원래 줄 자리에 새 ID 메시지를 두고,
+   * 답장의 부모도 새 ID로 바꾼다.
+   *
+   * @param reassigned 저널에 남은 재할당 (기존 ID -> 새 ID)을 채운다
+   */
+  private static List<PendingMessage> resolveReassignments(List<PendingMessage> messages, Map<Long, Long> reassigned) {
+    Map<Long, PendingMessage> replacements = new HashMap<>();
+    for (PendingMessage message : messages) {
+      if (message.previousMessageId() != null) {
+        replacements.put(message.previousMessageId(), message);
+        reassigned.put(message.previousMessageId(), message.messageId());
+      }
+    }
+    if (replacements.isEmpty()) {
+      return messages;
+    }
+    List<PendingMessage> resolved = new ArrayList<>(messages.size());
+    Set<Long> placed = new HashSet<>();
+    for (PendingMessage message : messages) {
+      PendingMessage current = message;
+      // 복구 중에 또 겹쳐 다시 옮겼을 수 있다.
+      while (replacements.containsKey(current.messageId())) {
+        current = replacements.get(current.messageId());
+      }
+      if (placed.add(current.messageId())) {
+        resolved.add(remapParent(current, reassigned));
+      }
+    }
+    return resolved;
+  }
+
+  /* from 이후 메시지의 부모 ID를 새 ID로 */
+  private static void remapParents(List<PendingMessage> messages, int from, Map<Long, Long> reassigned) {
+    if (reassigned.isEmpty()) {
+      return;
+    }
+    for (int i = from; i < messages.size(); i++) {
+      messages.set(i, remapParent(messages.get(i), reassigned));
+    }
+  }
+
+  private static PendingMessage remapParent(PendingMessage message, Map<Long, Long> reassigned) {
+    Long parentId = message.parentId();
+    if (parentId == null || !reassigned.containsKey(parentId)) {
+      return message;
+    }
+    return message.withParentId(resolveId(parentId, reassigned));
+  }
+
+  /* 여러 번 옮겼으면 마지막 ID */
+  private static Long resolveId(Long messageId, Map<Long, Long> reassigned) {
+    Long resolved = messageId;
+    while (reassigned.containsKey(resolved)) {
+      resolved = reassigned.get(resolved);
+    }
+    return resolved;
+  }
+
+  /* 방 락 안에서 메시지를 만들고 저널/큐에 넣는다. 정리된 방이면 새 큐로 다시 시도한다. */
+  private PendingMessage enqueue(Long chatId, Function<RoomQueue, PendingMessage> factory) {
+    while (true) {
+      RoomQueue room = rooms.computeIfAbsent(chatId, id -> new RoomQueue());
+      room.lock.lock();
+      try {
+        if (room.retired) {
+          continue;
+        }
+        PendingMessage pending = factory.apply(room);
+        journal.append(pending);
+        room.add(pending);
+        return pending;
+      } finally {
+        room.lock.unlock();
+      }
+    }
+  }
+
+  /* 대기 큐에 있으면 그 메시지, 아니면 DB */
+  private ParentMessageResponse findParent(Long chatId, Long parentId) {
+    RoomQueue room = rooms.get(chatId);
+    PendingMessage pending = room != null ? room.find(parentId) : null;
+    if (pending != null) {
+      return ParentMessageResponse.builder()
+          .messageId(pending.messageId())
+          .userName(pending.userName())
+          .content(pending.content())
+          .attachments(List.of())
+          .build();
+    }
+    return messageQueryService.getParentMessageResponseIfExists(parentId, chatId);
+  }
+
+  /* 비어 있는 방 큐는 맵에서 뺀다 (락을 못 잡으면 다음 주기에) */
+  private void retireIfIdle(Long chatId) {
+    rooms.computeIfPresent(chatId, (id, room) -> {
+      if (!room.lock.tryLock()) {
+        return room;
+      }
+      try {
+        if (room.size() > 0) {
+          return room;
+        }
+        room.retired = true;
+        return null;
+      } finally {
+        room.lock.unlock();
+      }
+    });
+  }
+
+  /**
+   * 방 하나의 저장 대기 큐
+   */
+  private static final class RoomQueue {
+    // 접수 순서/저널 순서를 맞추는 락
+    private final ReentrantLock lock = new ReentrantLock();
+    // 같은 방의 저장을 한 번에 하나만
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Deque<PendingMessage> pending = new ArrayDeque<>();
+    // 부모 조회용 (저장 전 메시지)
+    private final Map<Long, PendingMessage> byId = new HashMap<>();
+    private LocalDateTime lastCreatedAt;
+    private boolean retired;
+
+    /* 락 안에서 호출 */
+    private LocalDateTime nextCreatedAt(LocalDateTime now) {
+      lastCreatedAt = lastCreatedAt == null || now.isAfter(lastCreatedAt) ? now : lastCreatedAt;
+      return lastCreatedAt;
+    }
+
+    /* 락 안에서 호출 */
+    private void add(PendingMessage message) {
+      pending.addLast(message);
+      byId.put(message.messageId(), message);
+    }
+
+    private List<PendingMessage> drain() {
+      lock.lock();
+      try {
+        List<PendingMessage> drained = new ArrayList<>(pending);
+        pending.clear();
+        return drained;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void requeue(List<PendingMessage> messages) {
+      lock.lock();
+      try {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+          pending.addFirst(messages.get(i));
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /* 대기 중인 답장의 부모 ID를 새 ID로 */
+    private void remapParents(Map<Long, Long> reassigned) {
+      lock.lock();
+      try {
+        List<PendingMessage> queued = new ArrayList<>(pending);
+        pending.clear();
+        for (PendingMessage message : queued) {
+          PendingMessage remapped = remapParent(message, reassigned);
+          pending.addLast(remapped);
+          byId.computeIfPresent(remapped.messageId(), (id, old) -> remapped);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void persisted(List<PendingMessage> messages) {
+      lock.lock();
+      try {
+        messages.forEach(message -> byId.remove(message.messageId()));
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private PendingMessage find(Long messageId) {
+      lock.lock();
+      try {
+        return byId.get(messageId);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private int size() {
+      lock.lock();
+      try {
+        return byId.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
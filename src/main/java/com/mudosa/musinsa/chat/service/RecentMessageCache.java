@@ -0,0 +1,435 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mudosa.musinsa.chat.dto.AttachmentResponse;
+import com.mudosa.musinsa.chat.dto.MessageResponse;
+import com.mudosa.musinsa.chat.dto.ParentMessageResponse;
+import com.mudosa.musinsa.chat.entity.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h5>채팅방 최근 메시지 캐시</h5>
+ * <p>
+ * 채팅방마다 최신 메시지 capacity개를 조합이 끝난 MessageResponse로 들고 있다가 첫 페이지 조회에 DB 없이 응답한다.
+ * <ul>
+ *   <li>첫 페이지를 DB에서 읽으면 그 결과로 채운다. 이후에는 메시지 저장/첨부 상태 변경이 커밋될 때 갱신한다.</li>
+ *   <li>DB 조회 중에 같은 방에 커밋된 쓰기가 있으면(방별 쓰기 스탬프) 채우지 않는다. 조회 결과에 그 쓰기가 빠졌을 수 있기 때문이다.</li>
+ *   <li>방 버퍼는 바꿀 때마다 새로 만들어 교체하므로 조회는 락 없이 일관된 목록을 본다.</li>
+ *   <li>모든 방을 합친 추정 크기가 max-bytes를 넘으면 오래 안 쓴 방부터 비운다.</li>
+ *   <li>다른 노드에는 Redis pub/sub으로 바뀐 메시지(저장된 메시지 또는 첨부 목록)를 보내, 받은 노드가 자기 방 버퍼에 같은 변경을 적용한다.
+ *       방을 통째로 비우지 않으므로 메시지가 오갈 때마다 모든 노드가 DB에서 다시 채우지 않는다.
+ *       첨부 변경을 받았는데 버퍼에 그 메시지가 없으면(저장 이벤트보다 먼저 도착) 방을 비운다.</li>
+ *   <li>버퍼에는 호출자와 공유하지 않는 복사본을 넣는다. (MessageResponse는 setter가 있는 DTO)</li>
+ *   <li>매니저 여부는 방을 채울 때의 브랜드 매니저 목록으로 판단한다. (ttl 이후 다시 읽음)</li>
+ * </ul>
+ * 메트릭: chat.recent_cache.requests{result=hit|miss}, cache.* {cache=chat.recent}
+ */
+@Slf4j
+@Component
+public class RecentMessageCache implements MessageListener {
+
+  public static final String CACHE_NAME = "chat.recent";
+  // 방 단위 무효화("nodeId:chatId")를 쓰던 이전 버전과 섞여 배포돼도 서로 해석하지 않도록 채널을 나눈다.
+  public static final String CHANGE_CHANNEL = "chat:recent:changes";
+
+  private static final int STAMP_STRIPES = 1024;
+  private static final Comparator<MessageResponse> NEWEST_FIRST = Comparator
+      .comparing(MessageResponse::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+      .thenComparing(MessageResponse::getMessageId, Comparator.reverseOrder());
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final int capacity;
+  private final Cache<Long, RoomBuffer> rooms;
+  // 방별 쓰기 스탬프 (chatId 해시 구간 단위). 채우기 전후로 값이 바뀌었으면 채우지 않는다.
+  private final AtomicLongArray writeStamps = new AtomicLongArray(STAMP_STRIPES);
+  private final String nodeId = UUID.randomUUID().toString();
+  private final Counter hits;
+  private final Counter misses;
+
+  public RecentMessageCache(StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${chat.recent-cache.enabled:false}") boolean enabled,
+                            @Value("${chat.recent-cache.capacity:50}") int capacity,
+                            @Value("${chat.recent-cache.max-bytes:67108864}") long maxBytes,
+                            @Value("${chat.recent-cache.ttl-ms:600000}") long ttlMillis) {
+    this.stringRedisTemplate = stringRedisTemplate;
+    this.listenerContainer = listenerContainer;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.capacity = capacity;
+    this.rooms = Caffeine.newBuilder()
+        .maximumWeight(maxBytes)
+        .weigher((Long chatId, RoomBuffer buffer) -> buffer.weight())
+        .expireAfterWrite(Duration.ofMillis(ttlMillis))
+        .recordStats()
+        .build();
+    this.hits = requestCounter(meterRegistry, "hit");
+    this.misses = requestCounter(meterRegistry, "miss");
+    CaffeineCacheMetrics.monitor(meterRegistry, rooms, CACHE_NAME);
+  }
+
+  @PostConstruct
+  void subscribe() {
+    if (enabled) {
+      listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+    }
+  }
+
+  /**
+   * <h5>첫 페이지 조회</h5>
+   *
+   * @return 캐시로 답할 수 있으면 첫 페이지, 아니면 empty
+   */
+  public Optional<Slice<MessageResponse>> getFirstPage(Long chatId, int size) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    RoomBuffer buffer = rooms.getIfPresent(chatId);
+    if (buffer == null || (buffer.messages().size() < size && buffer.hasOlder())) {
+      misses.increment();
+      return Optional.empty();
+    }
+    hits.increment();
+    List<MessageResponse> page = buffer.messages().size() > size ? buffer.messages().subList(0, size) : buffer.messages();
+    boolean hasNext = buffer.messages().size() > size || buffer.hasOlder();
+    return Optional.of(new SliceImpl<>(page, PageRequest.of(0, size), hasNext));
+  }
+
+  /**
+   * <h5>쓰기 스탬프 조회</h5>
+   * <p>
+   * 첫 페이지를 DB에서 읽기 전에 받아 두었다가 {@link #seed}에 넘긴다.
+   */
+  public long stamp(Long chatId) {
+    return writeStamps.get(stripe(chatId));
+  }
+
+  /**
+   * <h5>DB에서 읽은 첫 페이지로 방 채우기</h5>
+   *
+   * @param stamp           DB 조회 전에 받은 쓰기 스탬프
+   * @param newestFirst     최신순 메시지
+   * @param hasNext         더 오래된 메시지가 있는지
+   * @param managerUserIds  브랜드 매니저 유저 ID
+   */
+  public void seed(Long chatId, long stamp, List<MessageResponse> newestFirst, boolean hasNext, Set<Long> managerUserIds) {
+    if (!enabled) {
+      return;
+    }
+    List<MessageResponse> messages = (newestFirst.size() > capacity ? newestFirst.subList(0, capacity) : newestFirst)
+        .stream()
+        .map(message -> RoomBuffer.copyOf(message, message.isManager()))
+        .toList();
+    RoomBuffer seeded = RoomBuffer.of(messages, hasNext || newestFirst.size() > capacity, managerUserIds);
+    rooms.asMap().compute(chatId, (id, existing) -> {
+      // 조회 중에 커밋된 쓰기가 있으면 이 결과에는 빠졌을 수 있다.
+      if (writeStamps.get(stripe(chatId)) != stamp) {
+        return existing;
+      }
+      // 더 많이 들고 있는 버퍼를 작은 페이지로 덮어쓰지 않는다.
+      if (existing != null && existing.messages().size() >= seeded.messages().size()) {
+        return existing;
+      }
+      return seeded;
+    });
+  }
+
+  /**
+   * <h5>메시지 저장 반영</h5>
+   * <p>
+   * 현재 트랜잭션이 커밋되면 방 버퍼에 메시지를 넣는다. 첨부파일은 업로드가 끝난 뒤 {@link #attachmentsChanged}로 채운다.
+   *
+   * @param message   저장된 메시지 (chatPart, user 로딩됨)
+   * @param parentDto 부모 메시지 응답 (없으면 null)
+   */
+  public void messageSaved(Message message, ParentMessageResponse parentDto) {
+    if (!enabled) {
+      return;
+    }
+    // 커밋 후에는 엔티티가 분리되므로 응답은 지금 만들어 둔다.
+    messageSaved(MessageResponse.of(message, List.of(), parentDto, false));
+  }
+
+  /**
+   * <h5>메시지 저장 반영 (응답 DTO)</h5>
+   * <p>
+   * 트랜잭션 밖에서 호출하면 바로 반영한다. (쓰기 지연 모드)
+   *
+   * @param response 첨부 없는 메시지 응답 (매니저 여부는 방 버퍼 기준으로 채운 복사본을 넣고, 인자는 바꾸지 않는다)
+   */
+  public void messageSaved(MessageResponse response) {
+    if (!enabled) {
+      return;
+    }
+    MessageResponse saved = RoomBuffer.copyOf(response, response.isManager());
+    afterCommit(new RoomChange(nodeId, saved.getChatId(), saved, null, null));
+  }
+
+  /**
+   * <h5>첨부파일 상태 변경 반영</h5>
+   * <p>
+   * 업로드가 끝나(NORMAL) 첨부가 생겼거나 실패(FAILED)했을 때, 커밋 후 메시지와 그 메시지를 부모로 둔 답장의 첨부 목록을 바꾼다.
+   */
+  public void attachmentsChanged(Long chatId, Long messageId, List<AttachmentResponse> attachments) {
+    if (!enabled) {
+      return;
+    }
+    afterCommit(new RoomChange(nodeId, chatId, null, messageId, List.copyOf(attachments)));
+  }
+
+  /**
+   * <h5>방 버퍼 비우기</h5>
+   * <p>
+   * 버퍼의 메시지를 고쳐 넣을 수 없을 때(쓰기 지연 메시지 ID 재할당 등) 이 노드와 다른 노드의 방 버퍼를 비운다.
+   */
+  public void invalidateRoom(Long chatId) {
+    if (!enabled) {
+      return;
+    }
+    writeStamps.incrementAndGet(stripe(chatId));
+    rooms.invalidate(chatId);
+    publish(new RoomChange(nodeId, chatId, null, null, null));
+  }
+
+  /**
+   * 다른 노드에서 보낸 방 변경 수신 (JSON {@link RoomChange})
+   */
+  @Override
+  public void onMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+    String body = new String(message.getBody(), StandardCharsets.UTF_8);
+    RoomChange change;
+    try {
+      change = objectMapper.readValue(body, RoomChange.class);
+    } catch (JsonProcessingException e) {
+      log.warn("최근 메시지 캐시 변경 메시지 해석 실패: {}", body, e);
+      return;
+    }
+    if (nodeId.equals(change.nodeId())) {
+      return;
+    }
+    writeStamps.incrementAndGet(stripe(change.chatId()));
+    if (!apply(change)) {
+      rooms.invalidate(change.chatId());
+      log.debug("[chatId={}] 최근 메시지 캐시 무효화", change.chatId());
+    }
+  }
+
+  /* 방 버퍼에 변경 적용. 방 비우기이거나 첨부 변경 대상 메시지가 버퍼에 없으면 false */
+  private boolean apply(RoomChange change) {
+    if (change.message() == null && change.messageId() == null) {
+      return false;
+    }
+    boolean[] applied = {true};
+    rooms.asMap().computeIfPresent(change.chatId(), (id, buffer) -> {
+      if (change.message() != null) {
+        MessageResponse message = change.message();
+        boolean manager = buffer.managerUserIds().contains(message.getUserId());
+        return buffer.upsert(RoomBuffer.copyOf(message, manager), capacity);
+      }
+      applied[0] = buffer.contains(change.messageId());
+      return buffer.withAttachments(change.messageId(), change.attachments());
+    });
+    return applied[0];
+  }
+
+  /* 커밋 후: 쓰기 스탬프 증가 -> 로컬 버퍼 갱신 -> 다른 노드에 같은 변경 전파 */
+  private void afterCommit(RoomChange change) {
+    Runnable task = () -> {
+      writeStamps.incrementAndGet(stripe(change.chatId()));
+      apply(change);
+      publish(change);
+    };
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          task.run();
+        }
+      });
+    } else {
+      task.run();
+    }
+  }
+
+  private void publish(RoomChange change) {
+    try {
+      stringRedisTemplate.convertAndSend(CHANGE_CHANNEL, objectMapper.writeValueAsString(change));
+    } catch (Exception e) {
+      // 전파에 실패해도 다른 노드의 방 버퍼는 ttl 이후 다시 채워진다.
+      log.warn("[chatId={}] 최근 메시지 캐시 변경 전파 실패", change.chatId(), e);
+    }
+  }
+
+  private static int stripe(Long chatId) {
+    return Math.floorMod(Long.hashCode(chatId), STAMP_STRIPES);
+  }
+
+  private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("chat.recent_cache.requests")
+        .tag("result", result)
+        .description("채팅 첫 페이지 최근 메시지 캐시 조회 결과")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 노드 사이에 전파하는 방 변경. message가 있으면 저장된 메시지, messageId가 있으면 그 메시지의 첨부 목록 변경,
+   * 둘 다 없으면 방 비우기다.
+   */
+  record RoomChange(String nodeId, Long chatId, MessageResponse message, Long messageId,
+                    List<AttachmentResponse> attachments) {
+  }
+
+  /**
+   * 방 하나의 최신 메시지 (최신순, 불변)
+   *
+   * @param hasOlder 버퍼보다 오래된 메시지가 DB에 더 있는지
+   * @param weight   추정 크기(바이트)
+   */
+  record RoomBuffer(List<MessageResponse> messages, boolean hasOlder, Set<Long> managerUserIds, int weight) {
+
+    private static final int MESSAGE_OVERHEAD_BYTES = 256;
+
+    static RoomBuffer of(List<MessageResponse> messages, boolean hasOlder, Set<Long> managerUserIds) {
+      int weight = messages.stream().mapToInt(RoomBuffer::estimate).sum() + managerUserIds.size() * 32;
+      return new RoomBuffer(List.copyOf(messages), hasOlder, Set.copyOf(managerUserIds), weight);
+    }
+
+    /* 같은 ID가 있으면 바꾸고, 없으면 정렬 위치에 넣은 뒤 capacity를 넘는 오래된 메시지를 버린다 */
+    RoomBuffer upsert(MessageResponse response, int capacity) {
+      List<MessageResponse> next = new ArrayList<>(messages.size() + 1);
+      for (MessageResponse message : messages) {
+        if (!message.getMessageId().equals(response.getMessageId())) {
+          next.add(message);
+        }
+      }
+      int position = 0;
+      while (position < next.size() && NEWEST_FIRST.compare(next.get(position), response) < 0) {
+        position++;
+      }
+      if (position == next.size() && hasOlder && next.size() >= capacity) {
+        // 버퍼보다 오래된 위치라면 다음 페이지(DB)에 속한다.
+        return this;
+      }
+      next.add(position, response);
+      boolean older = hasOlder;
+      while (next.size() > capacity) {
+        next.remove(next.size() - 1);
+        older = true;
+      }
+      return of(next, older, managerUserIds);
+    }
+
+    boolean contains(Long messageId) {
+      return messages.stream().anyMatch(message -> message.getMessageId().equals(messageId));
+    }
+
+    RoomBuffer withAttachments(Long messageId, List<AttachmentResponse> attachments) {
+      List<MessageResponse> next = messages.stream()
+          .map(message -> {
+            boolean self = message.getMessageId().equals(messageId);
+            boolean child = message.getParent() != null && messageId.equals(message.getParent().getMessageId());
+            if (!self && !child) {
+              return message;
+            }
+            MessageResponse copy = copyOf(message, message.isManager());
+            if (self) {
+              copy.setAttachments(List.copyOf(attachments));
+            }
+            if (child) {
+              ParentMessageResponse parent = message.getParent();
+              copy.setParent(ParentMessageResponse.builder()
+                  .messageId(parent.getMessageId())
+                  .userName(parent.getUserName())
+                  .content(parent.getContent())
+                  .attachments(List.copyOf(attachments))
+                  .build());
+            }
+            return copy;
+          })
+          .toList();
+      return of(next, hasOlder, managerUserIds);
+    }
+
+    static MessageResponse copyOf(MessageResponse message, boolean manager) {
+      return MessageResponse.builder()
+          .messageId(message.getMessageId())
+          .chatId(message.getChatId())
+          .chatPartId(message.getChatPartId())
+          .userId(message.getUserId())
+          .userName(message.getUserName())
+          .content(message.getContent())
+          .attachments(message.getAttachments() != null ? List.copyOf(message.getAttachments()) : null)
+          .createdAt(message.getCreatedAt())
+          .isDeleted(message.isDeleted())
+          .parent(copyOf(message.getParent()))
+          .isManager(manager)
+          .build();
+    }
+
+    private static ParentMessageResponse copyOf(ParentMessageResponse parent) {
+      if (parent == null) {
+        return null;
+      }
+      return ParentMessageResponse.builder()
+          .messageId(parent.getMessageId())
+          .userName(parent.getUserName())
+          .content(parent.getContent())
+          .attachments(parent.getAttachments() != null ? List.copyOf(parent.getAttachments()) : null)
+          .build();
+    }
+
+    private static int estimate(MessageResponse message) {
+      int bytes = MESSAGE_OVERHEAD_BYTES + length(message.getContent()) * 2 + length(message.getUserName()) * 2;
+      bytes += attachmentBytes(message.getAttachments());
+      ParentMessageResponse parent = message.getParent();
+      if (parent != null) {
+        bytes += MESSAGE_OVERHEAD_BYTES + length(parent.getContent()) * 2 + attachmentBytes(parent.getAttachments());
+      }
+      return bytes;
+    }
+
+    private static int attachmentBytes(List<AttachmentResponse> attachments) {
+      if (attachments == null) {
+        return 0;
+      }
+      return attachments.stream().mapToInt(attachment -> 64 + length(attachment.getAttachmentUrl()) * 2).sum();
+    }
+
+    private static int length(String value) {
+      return value != null ? value.length() : 0;
+    }
+  }
+}
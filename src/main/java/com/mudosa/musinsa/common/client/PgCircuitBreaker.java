@@ -0,0 +1,124 @@
+package com.mudosa.musinsa.common.client;
+
+import java.time.Clock;
+
+/**
+ * PG사 단위의 서킷 브레이커.
+ *
+ * - CLOSED: 최근 windowSize건 중 실패율이 failureRateThreshold 이상이면 OPEN으로 전환한다.
+ * - OPEN: openDurationMs 동안 호출을 즉시 거절한 뒤 HALF_OPEN으로 전환한다.
+ * - HALF_OPEN: 시험 호출 1건만 통과시키고, 성공하면 CLOSED, 실패하면 다시 OPEN으로 전환한다.
+ */
+public class PgCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final Clock clock;
+
+    // 최근 호출 결과 (true = 실패) 링 버퍼
+    private final boolean[] window;
+    private int position;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public PgCircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDurationMs, Clock clock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * 호출 허용 여부. 허용되면 호출 후 반드시 onSuccess/onFailure 중 하나를 호출해야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAt < openDurationMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * 결과를 집계하지 않고 허가만 반납한다. (PG사 상태와 무관하게 호출이 끝난 경우)
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recorded == windowSize) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[position] = failed;
+        if (failed) {
+            failures++;
+        }
+        position = (position + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.millis();
+        trialInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        position = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,270 @@
+package com.mudosa.musinsa.common.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import com.mudosa.musinsa.exception.ExternalApiException;
+import com.mudosa.musinsa.payment.domain.model.PgProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquireTimeoutException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * reactor-netty 기반 논블로킹 PG 호출 클라이언트.
+ *
+ * - 요청 스레드를 점유하지 않고 CompletableFuture로 응답을 돌려준다. (완료 콜백은 네티 이벤트 루프에서 실행되므로 블로킹 작업 금지)
+ * - PG사 간 장애가 전파되지 않도록 PG사별로 동시 호출 수(bulkhead)와 서킷 브레이커를 따로 둔다.
+ * - 5xx, 408, 타임아웃, 연결/읽기 등 I/O 오류는 서킷 실패로 집계한다. 나머지 4xx는 PG사가 정상 응답한 것으로 본다.
+ * - 커넥션 풀 획득 대기 초과/대기열 초과는 이 서버 쪽 포화이므로 서킷 실패로 집계하지 않고 PAYMENT_PG_BUSY로 거절한다.
+ * - 예외는 RestTemplateClient와 같게 ExternalApiException으로 변환한다. (타임아웃은 REQUEST_TIMEOUT)
+ * - 메트릭: payment.pg.latency{provider, operation, outcome}, payment.pg.rejected{provider, reason}
+ */
+@Slf4j
+@Component
+public class PgHttpClient {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ConnectionProvider connectionProvider;
+    private final HttpClient httpClient;
+
+    private final Map<PgProvider, Semaphore> bulkheads = new EnumMap<>(PgProvider.class);
+    private final Map<PgProvider, PgCircuitBreaker> circuitBreakers = new EnumMap<>(PgProvider.class);
+
+    public PgHttpClient(ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${payment.pg.pool.max-connections:200}") int maxConnections,
+        @Value("${payment.pg.pool.pending-acquire-max-count:1000}") int pendingAcquireMaxCount,
+        @Value("${payment.pg.pool.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+        @Value("${payment.pg.pool.max-idle-time-ms:30000}") long maxIdleTimeMs,
+        @Value("${payment.pg.connect-timeout-ms:5000}") int connectTimeoutMs,
+        @Value("${payment.pg.response-timeout-ms:10000}") long responseTimeoutMs,
+        @Value("${payment.pg.bulkhead.max-concurrent-calls:100}") int maxConcurrentCalls,
+        @Value("${payment.pg.circuit-breaker.window-size:50}") int windowSize,
+        @Value("${payment.pg.circuit-breaker.minimum-calls:20}") int minimumCalls,
+        @Value("${payment.pg.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+        @Value("${payment.pg.circuit-breaker.open-duration-ms:10000}") long openDurationMs) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        // keep-alive 커넥션을 재사용하고, 유휴 커넥션은 PG사 LB가 끊기 전에 먼저 정리한다.
+        this.connectionProvider = ConnectionProvider.builder("pg")
+            .maxConnections(maxConnections)
+            .pendingAcquireMaxCount(pendingAcquireMaxCount)
+            .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+            .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+            .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+            .lifo()
+            .build();
+        this.httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+            .keepAlive(true);
+
+        for (PgProvider provider : PgProvider.values()) {
+            bulkheads.put(provider, new Semaphore(maxConcurrentCalls));
+            PgCircuitBreaker circuitBreaker = new PgCircuitBreaker(
+                windowSize, minimumCalls, failureRateThreshold, openDurationMs, Clock.systemUTC());
+            circuitBreakers.put(provider, circuitBreaker);
+            Gauge.builder("payment.pg.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .tag("provider", provider.name())
+                .description("PG 서킷 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+    }
+
+    /**
+     * PG API를 POST로 호출한다.
+     *
+     * @param operation 메트릭 태그용 작업 이름 (confirm, cancel)
+     * @param key       로그용 식별자 (주문번호, paymentKey)
+     */
+    public <T> CompletableFuture<T> post(
+            PgProvider provider,
+            String operation,
+            String url,
+            HttpHeaders headers,
+            Object body,
+            Class<T> responseType,
+            String key
+    ) {
+        PgCircuitBreaker circuitBreaker = circuitBreakers.get(provider);
+        if (!circuitBreaker.tryAcquire()) {
+            rejected(provider, "circuit_open");
+            log.warn("[PG] 서킷 OPEN으로 호출 거절 - provider: {}, key: {}", provider, key);
+            return CompletableFuture.failedFuture(new BusinessException(ErrorCode.PAYMENT_PG_UNAVAILABLE));
+        }
+        Semaphore bulkhead = bulkheads.get(provider);
+        if (!bulkhead.tryAcquire()) {
+            // 서킷 허가는 반납 (실패로 집계하지 않음)
+            circuitBreaker.release();
+            rejected(provider, "bulkhead");
+            log.warn("[PG] 동시 호출 한도 초과 - provider: {}, key: {}", provider, key);
+            return CompletableFuture.failedFuture(new BusinessException(ErrorCode.PAYMENT_PG_BUSY));
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            bulkhead.release();
+            circuitBreaker.release();
+            return CompletableFuture.failedFuture(new ExternalApiException("요청 직렬화 실패", e));
+        }
+
+        long start = System.nanoTime();
+        return httpClient
+            .headers(h -> headers.forEach((name, values) -> h.set(name, values)))
+            .post()
+            .uri(url)
+            .send(ByteBufFlux.fromString(Mono.just(payload)))
+            .responseSingle((response, content) -> content.asString()
+                .defaultIfEmpty("")
+                .map(responseBody -> new RawResponse(response.status().code(), responseBody)))
+            .toFuture()
+            .handle((raw, error) -> {
+                bulkhead.release();
+                if (error != null && isPoolRejection(error)) {
+                    circuitBreaker.release();
+                    rejected(provider, "pool");
+                    log.warn("[PG] 커넥션 풀 획득 실패 - provider: {}, key: {}", provider, key);
+                    throw new BusinessException(ErrorCode.PAYMENT_PG_BUSY);
+                }
+                try {
+                    T result = complete(raw, error, responseType, key);
+                    circuitBreaker.onSuccess();
+                    record(provider, operation, "success", start);
+                    return result;
+                } catch (ExternalApiException e) {
+                    if (isPgFault(e)) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                    record(provider, operation, outcome(e), start);
+                    throw e;
+                } catch (RuntimeException e) {
+                    circuitBreaker.release();
+                    record(provider, operation, "invalid_response", start);
+                    throw e;
+                }
+            });
+    }
+
+    public PgCircuitBreaker.State getCircuitState(PgProvider provider) {
+        return circuitBreakers.get(provider).getState();
+    }
+
+    private <T> T complete(RawResponse raw, Throwable error, Class<T> responseType, String key) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof ReadTimeoutException || cause instanceof TimeoutException) {
+                log.error("[PG] 타임아웃 - key: {}", key);
+                throw new ExternalApiException("API 타임아웃", HttpStatus.REQUEST_TIMEOUT, "요청 시간이 초과되었습니다", cause);
+            }
+            log.error("[PG] 네트워크 오류 - key: {}", key, cause);
+            throw new ExternalApiException("네트워크 오류", cause);
+        }
+
+        HttpStatus status = HttpStatus.resolve(raw.status());
+        if (status == null || !status.is2xxSuccessful()) {
+            log.error("[PG] HTTP 오류 - key: {}, status: {}, body: {}", key, raw.status(), raw.body());
+            throw new ExternalApiException(
+                "API 호출 실패",
+                status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR,
+                raw.body(),
+                null
+            );
+        }
+        if (raw.body().isEmpty()) {
+            log.error("[PG] 응답 body가 비어 있음 - key: {}", key);
+            throw new BusinessException(ErrorCode.PAYMENT_APPROVAL_FAILED);
+        }
+        try {
+            return objectMapper.readValue(raw.body(), responseType);
+        } catch (JsonProcessingException e) {
+            log.error("[PG] 응답 파싱 실패 - key: {}, body: {}", key, raw.body());
+            throw new BusinessException(ErrorCode.PAYMENT_APPROVAL_FAILED);
+        }
+    }
+
+    /**
+     * PG사 장애로 볼 호출 결과인지 판단한다. (응답 없음 = I/O 오류, 408 = 타임아웃, 5xx)
+     */
+    static boolean isPgFault(ExternalApiException e) {
+        HttpStatusCode status = e.getHttpStatus();
+        return status == null
+            || status.value() == HttpStatus.REQUEST_TIMEOUT.value()
+            || !status.is4xxClientError();
+    }
+
+    // 풀 획득 대기 초과는 TimeoutException을 상속하므로 PG 타임아웃보다 먼저 걸러낸다.
+    static boolean isPoolRejection(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PoolAcquireTimeoutException || cause instanceof PoolAcquirePendingLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String outcome(ExternalApiException e) {
+        if (e.getHttpStatus() == null) {
+            return "network_error";
+        }
+        if (e.getHttpStatus() == HttpStatus.REQUEST_TIMEOUT) {
+            return "timeout";
+        }
+        return e.getHttpStatus().is4xxClientError() ? "client_error" : "server_error";
+    }
+
+    private void record(PgProvider provider, String operation, String outcome, long startNanos) {
+        Timer.builder("payment.pg.latency")
+            .tags("provider", provider.name(), "operation", operation, "outcome", outcome)
+            .description("PG API 응답 시간")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private void rejected(PgProvider provider, String reason) {
+        Counter.builder("payment.pg.rejected")
+            .tags("provider", provider.name(), "reason", reason)
+            .description("bulkhead/서킷 브레이커로 거절된 PG 호출 수")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private record RawResponse(int status, String body) {
+    }
+}
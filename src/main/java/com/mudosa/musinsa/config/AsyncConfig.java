@@ -1,24 +1,71 @@
 package com.mudosa.musinsa.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * 비동기 실행기 설정.
+ *
+ * - spring.threads.virtual.enabled=true 이면 풀 대신 작업마다 가상 스레드를 만든다.
+ *   이때 동시 실행 수는 풀 모드의 수용량(max + queue)으로 제한하고, 초과하면 제출한 스레드가 대기한다.
+ * - 이름을 지정하지 않은 @Async는 taskExecutor에서 실행한다. (Spring 기본 실행기 이름)
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreads;
+
   @Bean(name = "chatFileExecutor")
   public Executor chatFileExecutor() {
+    return boundedExecutor(virtualThreads, "chatFile-", 4, 8, 100);
+  }
+
+  // 이름을 지정하지 않은 @Async 리스너용 (정산 생성 등)
+  @Bean(name = "taskExecutor")
+  public Executor taskExecutor(
+      @Value("${async.default.core-pool-size:8}") int corePoolSize,
+      @Value("${async.default.max-pool-size:32}") int maxPoolSize,
+      @Value("${async.default.queue-capacity:500}") int queueCapacity) {
+    return boundedExecutor(virtualThreads, "async-", corePoolSize, maxPoolSize, queueCapacity);
+  }
+
+  // PG 응답 이후 결제 승인 트랜잭션(TX2)/보상 처리용. 큐가 가득 차면 호출 스레드에서 실행한다.
+  @Bean(name = "paymentCallbackExecutor")
+  public Executor paymentCallbackExecutor(
+      @Value("${payment.pg.callback.core-pool-size:16}") int corePoolSize,
+      @Value("${payment.pg.callback.max-pool-size:64}") int maxPoolSize,
+      @Value("${payment.pg.callback.queue-capacity:1000}") int queueCapacity) {
+    return boundedExecutor(virtualThreads, "paymentCallback-", corePoolSize, maxPoolSize, queueCapacity);
+  }
+
+  /**
+   * 플랫폼 스레드 풀 또는 동시 실행 수를 제한한 가상 스레드 실행기를 만든다.
+   * 풀 모드에서 큐가 가득 차면 호출 스레드에서 실행한다.
+   */
+  static Executor boundedExecutor(boolean virtualThreads, String threadNamePrefix,
+      int corePoolSize, int maxPoolSize, int queueCapacity) {
+    if (virtualThreads) {
+      SimpleAsyncTaskExecutor ex = new SimpleAsyncTaskExecutor(threadNamePrefix);
+      ex.setVirtualThreads(true);
+      ex.setConcurrencyLimit(maxPoolSize + queueCapacity);
+      return ex;
+    }
     ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
-    ex.setCorePoolSize(4);
-    ex.setMaxPoolSize(8);
-    ex.setQueueCapacity(100);
-    ex.setThreadNamePrefix("chatFile-");
+    ex.setCorePoolSize(corePoolSize);
+    ex.setMaxPoolSize(maxPoolSize);
+    ex.setQueueCapacity(queueCapacity);
+    ex.setThreadNamePrefix(threadNamePrefix);
+    ex.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
     ex.initialize();
     return ex;
   }
-}
\ No newline at end of file
+}
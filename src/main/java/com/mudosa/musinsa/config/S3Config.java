@@ -4,7 +4,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
@@ -15,7 +14,6 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
 @Configuration
@@ -29,16 +27,13 @@ public class S3Config {
   private String region;
 
   // 1. S3 처리를 위한 전용 스레드 풀 생성
+  // 가상 스레드 모드에서는 작업마다 가상 스레드를 사용한다. (AsyncConfig 참고)
   @Bean(name = "s3AsyncExecutor")
-  public Executor s3AsyncExecutor() {
-    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-    executor.setCorePoolSize(10); // 기본 스레드 수
-    executor.setMaxPoolSize(50);  // 최대 스레드 수
-    executor.setQueueCapacity(100); // 대기열 크기
-    executor.setThreadNamePrefix("S3-Async-");
-    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
-    executor.initialize();
-    return executor;
+  public Executor s3AsyncExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    return AsyncConfig.boundedExecutor(virtualThreads, "S3-Async-",
+        10,   // 기본 스레드 수
+        50,   // 최대 스레드 수
+        100); // 대기열 크기
   }
 
   // 2. S3AsyncClient 생성 및 스레드 풀 주입
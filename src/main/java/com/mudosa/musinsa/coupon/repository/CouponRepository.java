@@ -4,6 +4,7 @@ import com.mudosa.musinsa.coupon.model.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
@@ -36,4 +37,12 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
             "LEFT JOIN FETCH c.couponProducts cp " +
             "WHERE c.id = :couponId")
     Optional<Coupon> findByIdWithProducts(@Param("couponId") Long couponId);
-}
\ No newline at end of file
+
+    /**
+     * 발급 수량 일괄 증가
+     * - Redis 스크립트 발급 모드에서 배치 writer가 반영한 건수만큼 증가
+     */
+    @Modifying
+    @Query("UPDATE Coupon c SET c.issuedQuantity = c.issuedQuantity + :count WHERE c.id = :couponId")
+    int increaseIssuedQuantity(@Param("couponId") Long couponId, @Param("count") int count);
+}
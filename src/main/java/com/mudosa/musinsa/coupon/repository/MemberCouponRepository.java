@@ -2,6 +2,8 @@ package com.mudosa.musinsa.coupon.repository;
 
 import com.mudosa.musinsa.coupon.model.MemberCoupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,6 +23,10 @@ public interface MemberCouponRepository extends JpaRepository<MemberCoupon, Long
 
     List<MemberCoupon> findAllByUserId(Long userId);
 
+    // 이미 발급된 사용자 ID 조회 (배치 발급 시 중복 insert 방지)
+    @Query("SELECT mc.userId FROM MemberCoupon mc WHERE mc.coupon.id = :couponId AND mc.userId IN :userIds")
+    List<Long> findIssuedUserIds(@Param("couponId") Long couponId, @Param("userIds") List<Long> userIds);
+
 
 
 }
@@ -9,6 +9,7 @@ import com.mudosa.musinsa.exception.BusinessException;
 import com.mudosa.musinsa.exception.ErrorCode;
 import lombok.RequiredArgsConstructor;
 import org.redisson.api.RLock;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
@@ -34,6 +35,11 @@ public class CouponIssuanceService {
     private final MemberCouponRepository memberCouponRepository;
     private final RedissonClient redissonClient;
     private final StringRedisTemplate redisTemplate;
+    private final RedisCouponIssuer redisCouponIssuer;
+
+    // lock: 분산락 + DB 비관적 락, script: Redis Lua 스크립트 + 배치 DB 반영
+    @Value("${coupon.issuance.mode:lock}")
+    private String issuanceMode;
 
     // redis에서 쿠폰발급 처리할 때 사용하는 중복 발급 방지용 redis set key prefix
     private static final String ISSUED_SET_PREFIX = "coupon:issued:";
@@ -69,6 +75,10 @@ public class CouponIssuanceService {
 
     public CouponIssuanceResDto issueCoupon(Long userId, Long couponId) {
 
+        if ("script".equals(issuanceMode)) {
+            return issueCouponWithScript(userId, couponId);
+        }
+
         // 1. Redis로 초고속 중복 체크
         String issueKey = ISSUED_SET_PREFIX + couponId;
         String userIdStr = userId.toString();
@@ -140,6 +150,31 @@ public class CouponIssuanceService {
 
     }
 
+    /*
+     * Redis Lua 스크립트 한 번으로 중복 체크/재고 차감/발급 기록을 확정한다.
+     * - 락과 DB 트랜잭션 없이 응답하고, MemberCoupon 저장은 CouponIssuanceWriter가 배치로 처리한다.
+     * - 신규 발급 응답의 memberCouponId는 DB 반영 전이므로 null이다.
+     */
+    private CouponIssuanceResDto issueCouponWithScript(Long userId, Long couponId) {
+        RedisCouponIssuer.IssueResult result = redisCouponIssuer.issue(userId, couponId);
+        RedisCouponIssuer.CouponMeta meta = redisCouponIssuer.getMeta(couponId);
+
+        return switch (result) {
+            case ISSUED -> CouponIssuanceResDto.issued(
+                    null, couponId, meta.memberCouponExpiredAt(), LocalDateTime.now());
+            case DUPLICATE -> {
+                log.info("중복 발급 감지 (스크립트) - userId: {}, couponId: {}", userId, couponId);
+                // 아직 DB에 반영되지 않았을 수 있다.
+                yield findIssuedCoupon(userId, couponId)
+                        .orElseGet(() -> CouponIssuanceResDto.duplicate(
+                                null, couponId, meta.memberCouponExpiredAt(), null));
+            }
+            case SOLD_OUT -> throw new BusinessException(ErrorCode.COUPON_OUT_OF_STOCK);
+            case NOT_INITIALIZED -> throw new BusinessException(
+                    ErrorCode.COUPON_APPLIED_FALIED, "쿠폰 발급 처리 중 오류가 발생했습니다");
+        };
+    }
+
     // 여기서 트랜잭션 시작 ( DB 커넥션 사용 ) 
     @Transactional
     public CouponIssuanceResDto issueCouponWithLock(Long userId, Long couponId, String issueKey, String userIdStr) {
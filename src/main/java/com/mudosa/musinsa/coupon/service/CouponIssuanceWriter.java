@@ -0,0 +1,220 @@
+package com.mudosa.musinsa.coupon.service;
+
+import com.mudosa.musinsa.coupon.model.CouponStatus;
+import com.mudosa.musinsa.coupon.repository.CouponRepository;
+import com.mudosa.musinsa.coupon.repository.MemberCouponRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 스크립트로 확정된 쿠폰 발급을 배치로 DB에 반영한다.
+ *
+ * - 대기열(coupon:issue:pending)에서 노드별 처리 목록으로 원자적으로 옮긴 뒤 반영하고,
+ *   커밋이 끝나면 처리 목록을 비운다.
+ * - 노드는 reclaim-interval-ms마다 생존 키(coupon:issue:node:{nodeId})를 갱신한다. 생존 키가 만료된 노드의
+ *   처리 목록은 다른 노드가 대기열로 되돌리므로, 재기동 때마다 바뀌는 노드 ID(파드 이름)여도 항목이 남지 않는다.
+ * - 이미 저장된 (user_id, coupon_id)는 건너뛰므로 재시도해도 중복 발급되지 않는다.
+ * - 최대 시도 횟수를 넘긴 항목은 Redis에서 이미 발급이 확정되었으므로 버리지 않고 데드레터 목록(coupon:issue:dead)에 남긴다.
+ *   원인을 해결한 뒤 데드레터 항목을 대기열로 옮기면 다시 반영된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "coupon.issuance.mode", havingValue = "script")
+@RequiredArgsConstructor
+public class CouponIssuanceWriter {
+
+    private static final String PROCESSING_PREFIX = "coupon:issue:processing:";
+    private static final String NODE_PREFIX = "coupon:issue:node:";
+    static final String DEAD_LETTER_KEY = "coupon:issue:dead";
+
+    // 생존 키는 갱신 주기의 세 배 동안 유지한다.
+    private static final int NODE_TTL_MULTIPLIER = 3;
+
+    // 대기열 앞에서 최대 ARGV[1]건을 꺼내 처리 목록으로 옮긴다.
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local items = redis.call('LRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1)
+            if #items > 0 then
+              redis.call('LTRIM', KEYS[1], #items, -1)
+              redis.call('RPUSH', KEYS[2], unpack(items))
+            end
+            return items
+            """, List.class);
+
+    private static final String INSERT_MEMBER_COUPON_SQL = """
+            INSERT INTO member_coupon (user_id, coupon_id, coupon_status, expired_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponRepository couponRepository;
+    private final MemberCouponRepository memberCouponRepository;
+    private final RedisCouponIssuer redisCouponIssuer;
+
+    @Value("${coupon.issuance.batch-size:500}")
+    private int batchSize;
+
+    @Value("${coupon.issuance.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${coupon.issuance.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    @Value("${coupon.issuance.reclaim-interval-ms:10000}")
+    private long reclaimIntervalMs;
+
+    static String encode(Long couponId, Long userId, int attempt) {
+        return couponId + ":" + userId + ":" + attempt;
+    }
+
+    // 이전 실행에서 처리하지 못한 항목을 대기열로 되돌리고 생존 키를 등록한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverProcessing() {
+        moveToPending(processingKey(), nodeId);
+        reclaimStaleNodes();
+    }
+
+    /**
+     * 생존 키를 갱신하고, 생존 키가 만료된 노드(죽었거나 ID가 바뀐 이전 파드)의 처리 목록을 대기열로 되돌린다.
+     * 살아 있는 노드의 목록을 잘못 회수하더라도 반영 시 이미 저장된 발급은 건너뛰므로 중복 발급되지 않는다.
+     */
+    @Scheduled(initialDelayString = "${coupon.issuance.reclaim-interval-ms:10000}",
+            fixedDelayString = "${coupon.issuance.reclaim-interval-ms:10000}")
+    public void reclaimStaleNodes() {
+        redisTemplate.opsForValue().set(NODE_PREFIX + nodeId, String.valueOf(System.currentTimeMillis()),
+                Duration.ofMillis(reclaimIntervalMs * NODE_TTL_MULTIPLIER));
+
+        List<String> processingKeys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(
+                ScanOptions.scanOptions().match(PROCESSING_PREFIX + "*").count(100).build())) {
+            cursor.forEachRemaining(processingKeys::add);
+        }
+
+        for (String processingKey : processingKeys) {
+            String owner = processingKey.substring(PROCESSING_PREFIX.length());
+            if (owner.equals(nodeId) || Boolean.TRUE.equals(redisTemplate.hasKey(NODE_PREFIX + owner))) {
+                continue;
+            }
+            moveToPending(processingKey, owner);
+        }
+    }
+
+    private void moveToPending(String processingKey, String owner) {
+        long recovered = 0;
+        while (redisTemplate.opsForList().rightPopAndLeftPush(processingKey, RedisCouponIssuer.PENDING_QUEUE_KEY) != null) {
+            recovered++;
+        }
+        if (recovered > 0) {
+            log.warn("미처리 쿠폰 발급 복구 - nodeId: {}, count: {}", owner, recovered);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.issuance.flush-interval-ms:100}")
+    public void flush() {
+        @SuppressWarnings("unchecked")
+        List<String> claimed = (List<String>) redisTemplate.execute(
+                CLAIM_SCRIPT,
+                List.of(RedisCouponIssuer.PENDING_QUEUE_KEY, processingKey()),
+                String.valueOf(batchSize)
+        );
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Entry>> byCoupon = new LinkedHashMap<>();
+        for (String raw : claimed) {
+            Entry entry = Entry.decode(raw);
+            byCoupon.computeIfAbsent(entry.couponId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        List<String> retries = new ArrayList<>();
+        List<String> deadLetters = new ArrayList<>();
+        byCoupon.forEach((couponId, entries) -> {
+            try {
+                int inserted = transactionTemplate.execute(status -> persist(couponId, entries));
+                log.debug("쿠폰 발급 배치 반영 - couponId: {}, requested: {}, inserted: {}", couponId, entries.size(), inserted);
+            } catch (Exception e) {
+                log.warn("쿠폰 발급 배치 반영 실패 - couponId: {}, count: {}", couponId, entries.size(), e);
+                for (Entry entry : entries) {
+                    if (entry.attempt() + 1 >= maxAttempts) {
+                        log.error("쿠폰 발급 반영 재시도 초과, 데드레터로 이동 - couponId: {}, userId: {}", couponId, entry.userId());
+                        deadLetters.add(encode(couponId, entry.userId(), entry.attempt() + 1));
+                    } else {
+                        retries.add(encode(couponId, entry.userId(), entry.attempt() + 1));
+                    }
+                }
+            }
+        });
+
+        if (!retries.isEmpty()) {
+            redisTemplate.opsForList().rightPushAll(RedisCouponIssuer.PENDING_QUEUE_KEY, retries);
+        }
+        if (!deadLetters.isEmpty()) {
+            redisTemplate.opsForList().rightPushAll(DEAD_LETTER_KEY, deadLetters);
+        }
+        redisTemplate.delete(processingKey());
+    }
+
+    private int persist(Long couponId, List<Entry> entries) {
+        List<Long> userIds = entries.stream().map(Entry::userId).distinct().toList();
+        Set<Long> alreadyIssued = new HashSet<>(memberCouponRepository.findIssuedUserIds(couponId, userIds));
+
+        List<Long> toInsert = userIds.stream().filter(userId -> !alreadyIssued.contains(userId)).toList();
+        if (toInsert.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp expiredAt = Timestamp.valueOf(redisCouponIssuer.getMeta(couponId).memberCouponExpiredAt());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // 기존 발급 경로와 경합해 유니크 키 위반이 나면 트랜잭션이 롤백되고, 재시도 시 중복이 걸러진다.
+        jdbcTemplate.batchUpdate(INSERT_MEMBER_COUPON_SQL, toInsert, toInsert.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setLong(2, couponId);
+            ps.setString(3, CouponStatus.AVAILABLE.name());
+            ps.setTimestamp(4, expiredAt);
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+
+        couponRepository.increaseIssuedQuantity(couponId, toInsert.size());
+        return toInsert.size();
+    }
+
+    private String processingKey() {
+        return PROCESSING_PREFIX + nodeId;
+    }
+
+    private record Entry(Long couponId, Long userId, int attempt) {
+
+        private static Entry decode(String raw) {
+            String[] parts = raw.split(":");
+            return new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                    parts.length > 2 ? Integer.parseInt(parts[2]) : 0);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.mudosa.musinsa.coupon.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.mudosa.musinsa.coupon.model.Coupon;
+import com.mudosa.musinsa.coupon.repository.CouponRepository;
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Lua 스크립트 한 번으로 쿠폰 발급을 확정한다.
+ *
+ * - 중복 체크(coupon:issued:{id}), 잔여 수량 차감(coupon:remaining:{id}),
+ *   발급 기록 추가와 DB 반영 대기열 적재를 원자적으로 처리한다.
+ * - MemberCoupon 저장과 Coupon.issuedQuantity 증가는 CouponIssuanceWriter가 배치로 처리한다.
+ * - 쿠폰 발급 기간/활성 여부는 meta-ttl-ms 동안 JVM에 보관한다. 애플리케이션에 쿠폰 수정 API가 없고
+ *   운영자가 DB에서 직접 바꾸므로, 변경은 TTL이 지나면 모든 노드에 반영된다.
+ */
+@Slf4j
+@Component
+public class RedisCouponIssuer {
+
+    static final String ISSUED_SET_PREFIX = "coupon:issued:";
+    static final String REMAINING_PREFIX = "coupon:remaining:";
+    static final String PENDING_QUEUE_KEY = "coupon:issue:pending";
+
+    // 무제한 쿠폰의 잔여 수량 표시값
+    private static final long UNLIMITED = -1L;
+
+    // 반환: 1=발급, 0=중복, -1=소진, -2=잔여 수량 미적재
+    private static final RedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+              return 0
+            end
+            local remaining = redis.call('GET', KEYS[2])
+            if not remaining then
+              return -2
+            end
+            remaining = tonumber(remaining)
+            if remaining ~= -1 then
+              if remaining <= 0 then
+                return -1
+              end
+              redis.call('DECR', KEYS[2])
+            end
+            redis.call('SADD', KEYS[1], ARGV[1])
+            if redis.call('TTL', KEYS[1]) == -1 then
+              local ttl = redis.call('TTL', KEYS[2])
+              if ttl > 0 then
+                redis.call('EXPIRE', KEYS[1], ttl)
+              end
+            end
+            redis.call('RPUSH', KEYS[3], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CouponRepository couponRepository;
+
+    // 쿠폰 발급 기간/활성 여부는 거의 바뀌지 않으므로 JVM에 보관해 요청마다 DB를 읽지 않는다.
+    private final LoadingCache<Long, CouponMeta> metaCache;
+
+    public RedisCouponIssuer(StringRedisTemplate redisTemplate,
+                             CouponRepository couponRepository,
+                             @Value("${coupon.issuance.meta-ttl-ms:30000}") long metaTtlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.couponRepository = couponRepository;
+        this.metaCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(metaTtlMillis))
+                .build(this::loadMeta);
+    }
+
+    public IssueResult issue(Long userId, Long couponId) {
+        CouponMeta meta = getMeta(couponId);
+        meta.validateIssuable(LocalDateTime.now());
+
+        IssueResult result = execute(userId, couponId);
+        if (result == IssueResult.NOT_INITIALIZED) {
+            initializeRemaining(couponId);
+            result = execute(userId, couponId);
+        }
+        return result;
+    }
+
+    public CouponMeta getMeta(Long couponId) {
+        return metaCache.get(couponId);
+    }
+
+    private CouponMeta loadMeta(Long couponId) {
+        return couponRepository.findById(couponId)
+                .map(CouponMeta::from)
+                .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
+    }
+
+    private IssueResult execute(Long userId, Long couponId) {
+        Long code = redisTemplate.execute(
+                ISSUE_SCRIPT,
+                List.of(ISSUED_SET_PREFIX + couponId, REMAINING_PREFIX + couponId, PENDING_QUEUE_KEY),
+                userId.toString(),
+                CouponIssuanceWriter.encode(couponId, userId, 0)
+        );
+        return IssueResult.of(code);
+    }
+
+    // DB 기준 잔여 수량으로 카운터를 적재한다. 다른 노드가 먼저 적재했다면 그 값을 유지한다.
+    private void initializeRemaining(Long couponId) {
+        Coupon coupon = couponRepository.findById(couponId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.COUPON_NOT_FOUND));
+
+        Integer remaining = coupon.getRemainingQuantity();
+        String key = REMAINING_PREFIX + couponId;
+        Boolean initialized = redisTemplate.opsForValue()
+                .setIfAbsent(key, String.valueOf(remaining != null ? remaining : UNLIMITED));
+
+        long daysUntilExpired = ChronoUnit.DAYS.between(LocalDateTime.now(), coupon.getEndDate()) + 1;
+        if (daysUntilExpired > 0) {
+            redisTemplate.expire(key, daysUntilExpired, TimeUnit.DAYS);
+        }
+
+        log.info("쿠폰 잔여 수량 적재 - couponId: {}, remaining: {}, initialized: {}",
+                couponId, remaining != null ? remaining : "무제한", initialized);
+    }
+
+    public enum IssueResult {
+        ISSUED, DUPLICATE, SOLD_OUT, NOT_INITIALIZED;
+
+        private static IssueResult of(Long code) {
+            if (code == null) {
+                throw new BusinessException(ErrorCode.COUPON_APPLIED_FALIED, "쿠폰 발급 처리 중 오류가 발생했습니다");
+            }
+            return switch (code.intValue()) {
+                case 1 -> ISSUED;
+                case 0 -> DUPLICATE;
+                case -1 -> SOLD_OUT;
+                default -> NOT_INITIALIZED;
+            };
+        }
+    }
+
+    /**
+     * 발급 검증에 필요한 쿠폰 정보
+     */
+    public record CouponMeta(Long couponId, boolean active, LocalDateTime startDate, LocalDateTime endDate) {
+
+        private static CouponMeta from(Coupon coupon) {
+            return new CouponMeta(coupon.getId(), Boolean.TRUE.equals(coupon.getIsActive()),
+                    coupon.getStartDate(), coupon.getEndDate());
+        }
+
+        // Coupon.validateIssuable과 같은 기준 (재고는 Redis 카운터로 검증)
+        void validateIssuable(LocalDateTime now) {
+            if (!active) {
+                throw new BusinessException(ErrorCode.COUPON_APPLIED_FALIED, "비활성화된 쿠폰입니다.");
+            }
+            if (now.isBefore(startDate) || now.isAfter(endDate)) {
+                throw new BusinessException(ErrorCode.COUPON_EXPIRED, "쿠폰 발급 가능 기간이 아닙니다");
+            }
+        }
+
+        public LocalDateTime memberCouponExpiredAt() {
+            return endDate.plusDays(30);
+        }
+    }
+}
@@ -6,8 +6,10 @@ import com.mudosa.musinsa.event.presentation.dto.req.EventCouponIssueReqDto;
 import com.mudosa.musinsa.event.presentation.dto.res.EventCouponInfoResDto;
 import com.mudosa.musinsa.event.presentation.dto.res.EventCouponIssueResDto;
 import com.mudosa.musinsa.event.presentation.dto.res.EventListResDto;
+import com.mudosa.musinsa.event.presentation.dto.res.EventQueueResDto;
 import com.mudosa.musinsa.event.service.EventCouponService;
 import com.mudosa.musinsa.event.service.EventService;
+import com.mudosa.musinsa.event.service.EventWaitingRoom;
 
 import com.mudosa.musinsa.security.CustomUserDetails;
 import jakarta.validation.Valid;
@@ -34,6 +36,7 @@ public class EventController {
 
     private final EventService eventService;
     private final EventCouponService eventCouponService;
+    private final EventWaitingRoom eventWaitingRoom;
 
 
 
@@ -65,6 +68,29 @@ public class EventController {
         return ResponseEntity.ok(EventCouponInfoResDto.from(result));
     }
 
+    /* 발급 대기열 참여
+    * 대기 순번을 받고, 입장 처리되면 발급 API를 호출할 수 있다.
+    * 잔여 수량을 넘는 참여는 DB 조회 없이 거절된다.
+    */
+    @PostMapping("/{eventId}/queue")
+    public ResponseEntity<EventQueueResDto> enterQueue(
+            @PathVariable Long eventId,
+            @AuthenticationPrincipal CustomUserDetails user
+    ) {
+        EventWaitingRoom.QueueStatus status = eventWaitingRoom.enter(eventId, user.getUserId());
+        return ResponseEntity.ok(EventQueueResDto.of(eventId, status));
+    }
+
+    // 대기 순번 조회 (폴링용)
+    @GetMapping("/{eventId}/queue")
+    public ResponseEntity<EventQueueResDto> getQueueStatus(
+            @PathVariable Long eventId,
+            @AuthenticationPrincipal CustomUserDetails user
+    ) {
+        EventWaitingRoom.QueueStatus status = eventWaitingRoom.getStatus(eventId, user.getUserId());
+        return ResponseEntity.ok(EventQueueResDto.of(eventId, status));
+    }
+
     @PostMapping("/{eventId}/coupons/issue")
     public ResponseEntity<EventCouponIssueResDto> issueCoupon(
             @PathVariable Long eventId,
@@ -76,6 +102,9 @@ public class EventController {
         log.info("쿠폰 발급 요청 - eventId: {}, userId: {}", eventId, user != null ? user.getUserId() : "null");
         log.info("Request body - productOptionId: {}", request.getProductOptionId());
 
+        // 대기열 사용 시 입장한 사용자만 발급 경로(DB)에 진입
+        eventWaitingRoom.validateAdmitted(eventId, user.getUserId());
+
 
         EventCouponService.EventCouponIssueResult result = eventCouponService.issueCoupon(
 
@@ -85,6 +114,9 @@ public class EventController {
                 //이벤트 id, 이벤트상품옵션 id, 사용자 id
         );
 
+        // 발급을 마친 사용자의 대기열 자리를 비운다.
+        eventWaitingRoom.complete(eventId, user.getUserId());
+
         EventCouponIssueResDto response = EventCouponIssueResDto.from(result);
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,31 @@
+package com.mudosa.musinsa.event.presentation.dto.res;
+
+import com.mudosa.musinsa.event.service.EventWaitingRoom;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class EventQueueResDto {
+
+    private final Long eventId;
+    private final EventWaitingRoom.QueueState state;
+    private final Long position; // 대기 중일 때만 값이 있음 (1부터 시작)
+    private final String message; // 클라이언트에 표시할 메시지
+
+    public static EventQueueResDto of(Long eventId, EventWaitingRoom.QueueStatus status) {
+        String message = switch (status.state()) {
+            case WAITING -> "대기 중입니다. 현재 순번: " + status.position();
+            case ADMITTED -> "입장했습니다. 쿠폰을 발급받을 수 있습니다.";
+            case SOLD_OUT -> "쿠폰이 모두 소진되었습니다.";
+            case NOT_ENTERED -> "대기열에 참여하지 않았거나 입장 시간이 만료되었습니다.";
+        };
+
+        return EventQueueResDto.builder()
+                .eventId(eventId)
+                .state(status.state())
+                .position(status.state() == EventWaitingRoom.QueueState.WAITING ? status.position() : null)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,332 @@
+package com.mudosa.musinsa.event.service;
+
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 선착순 이벤트 쿠폰 발급 대기열
+ *
+ * - 참여 요청은 Redis Sorted Set(event:queue:{eventId})에 도착 순서대로 쌓이고, 사용자는 순번을 조회하며 대기한다.
+ * - 스케줄러가 주기마다 정해진 인원만 입장 목록(event:admitted:{eventId})으로 옮긴다.
+ *   입장한 사용자만 발급 경로(EventCouponService.issueCoupon)에 진입할 수 있다.
+ * - 참여자 수가 쿠폰 잔여 수량을 넘으면 DB를 거치지 않고 즉시 거절한다.
+ *   참여자 목록(event:entered:{eventId})은 Sorted Set이며 점수는 자리를 점유하는 기한이다.
+ *   대기 중에는 기한이 없고, 입장하면 입장 유지 시간으로 바뀐다. 기한이 지난(발급하지 않고 떠난) 참여자는
+ *   진입 시 ZREMRANGEBYSCORE로 정리되어 자리가 다시 열린다.
+ *   발급을 마친 참여자는 목록에서 빠지고 정원도 1 줄어든다.
+ * - 비활성화(event.waiting-room.enabled=false)되어 있으면 Redis를 쓰지 않고 모든 요청을 입장 상태로 본다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EventWaitingRoom {
+
+    private static final String QUEUE_PREFIX = "event:queue:";
+    private static final String ADMITTED_PREFIX = "event:admitted:";
+    private static final String ENTERED_PREFIX = "event:entered:";
+    private static final String CAPACITY_PREFIX = "event:capacity:";
+    private static final String TICK_PREFIX = "event:admit:tick:";
+    private static final String ACTIVE_EVENTS_KEY = "event:queue:active";
+
+    // 잔여 수량 무제한 표시값
+    private static final long UNLIMITED = -1L;
+
+    // 반환: {1, 0}=입장, {0, 순번}=대기, {-1, 0}=수량 초과, {-2, 0}=정원 미적재
+    private static final RedisScript<List> ENTER_SCRIPT = new DefaultRedisScript<>("""
+            local admittedUntil = redis.call('ZSCORE', KEYS[2], ARGV[1])
+            if admittedUntil and tonumber(admittedUntil) >= tonumber(ARGV[2]) then
+              return {1, 0}
+            end
+            local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+            if rank then
+              return {0, rank + 1}
+            end
+            local capacity = redis.call('GET', KEYS[4])
+            if not capacity then
+              return {-2, 0}
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[3], '-inf', '(' .. ARGV[2])
+            if not redis.call('ZSCORE', KEYS[3], ARGV[1]) then
+              capacity = tonumber(capacity)
+              if capacity ~= -1 and redis.call('ZCARD', KEYS[3]) >= capacity then
+                return {-1, 0}
+              end
+              redis.call('ZADD', KEYS[3], '+inf', ARGV[1])
+              if redis.call('PTTL', KEYS[3]) == -1 and redis.call('PTTL', KEYS[4]) > 0 then
+                redis.call('PEXPIRE', KEYS[3], redis.call('PTTL', KEYS[4]))
+              end
+            end
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('SADD', KEYS[5], ARGV[3])
+            return {0, redis.call('ZRANK', KEYS[1], ARGV[1]) + 1}
+            """, List.class);
+
+    // 틱 키를 선점한 노드만 입장 처리해 노드 수와 무관하게 입장 속도를 유지한다.
+    private static final RedisScript<Long> ADMIT_SCRIPT = new DefaultRedisScript<>("""
+            if not redis.call('SET', KEYS[3], '1', 'NX', 'PX', ARGV[4]) then
+              return 0
+            end
+            local now = tonumber(ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now - 1)
+            local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+            for i = 1, #popped, 2 do
+              redis.call('ZADD', KEYS[2], now + tonumber(ARGV[3]), popped[i])
+              redis.call('ZADD', KEYS[5], 'XX', now + tonumber(ARGV[3]), popped[i])
+            end
+            if redis.call('ZCARD', KEYS[1]) == 0 and redis.call('ZCARD', KEYS[2]) == 0 then
+              redis.call('SREM', KEYS[4], ARGV[5])
+            end
+            return #popped / 2
+            """, Long.class);
+
+    // 발급을 마친 참여자를 참여자/입장 목록에서 빼고, 사용한 만큼 정원을 줄인다. (무제한 정원은 그대로)
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>("""
+            local removed = redis.call('ZREM', KEYS[1], ARGV[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            if removed == 1 then
+              local capacity = redis.call('GET', KEYS[3])
+              if capacity and tonumber(capacity) > 0 then
+                redis.call('DECR', KEYS[3])
+              end
+            end
+            return removed
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final EventCouponService eventCouponService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${event.waiting-room.enabled:false}")
+    private boolean enabled;
+
+    @Value("${event.waiting-room.admit-per-second:100}")
+    private int admitPerSecond;
+
+    @Value("${event.waiting-room.admit-interval-ms:200}")
+    private long admitIntervalMs;
+
+    @Value("${event.waiting-room.admission-ttl-ms:60000}")
+    private long admissionTtlMs;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private Counter admittedCounter;
+    private Counter soldOutRejectedCounter;
+    private Counter notAdmittedRejectedCounter;
+
+    @PostConstruct
+    void init() {
+        meterRegistry.gauge("event.waiting_room.queue.depth", queueDepth);
+        admittedCounter = Counter.builder("event.waiting_room.admitted")
+                .description("대기열에서 발급 경로로 입장한 사용자 수")
+                .register(meterRegistry);
+        soldOutRejectedCounter = Counter.builder("event.waiting_room.rejected")
+                .tag("reason", "sold_out")
+                .description("잔여 수량 초과로 대기열 진입이 거절된 요청 수")
+                .register(meterRegistry);
+        notAdmittedRejectedCounter = Counter.builder("event.waiting_room.rejected")
+                .tag("reason", "not_admitted")
+                .description("입장하지 않은 상태로 발급을 요청해 거절된 요청 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 대기열에 진입한다. 이미 대기 중이거나 입장한 사용자는 현재 상태를 그대로 돌려받는다.
+     * 참여자 수가 잔여 수량에 도달했다면 EVENT_STOCK_EMPTY로 거절한다.
+     */
+    public QueueStatus enter(Long eventId, Long userId) {
+        if (!enabled) {
+            return QueueStatus.admitted();
+        }
+        QueueStatus status = executeEnter(eventId, userId);
+        if (status == null) {
+            loadCapacity(eventId);
+            status = executeEnter(eventId, userId);
+        }
+        if (status == null) {
+            throw new BusinessException(ErrorCode.EVENT_ENTRY_CONFLICT, "대기열 초기화 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (status.state() == QueueState.SOLD_OUT) {
+            soldOutRejectedCounter.increment();
+            throw new BusinessException(ErrorCode.EVENT_STOCK_EMPTY);
+        }
+        return status;
+    }
+
+    /**
+     * 대기 순번을 조회한다. (Redis 읽기 두 번, DB 접근 없음)
+     */
+    public QueueStatus getStatus(Long eventId, Long userId) {
+        if (!enabled) {
+            return QueueStatus.admitted();
+        }
+        String member = userId.toString();
+        if (isAdmitted(eventId, member)) {
+            return QueueStatus.admitted();
+        }
+        Long rank = redisTemplate.opsForZSet().rank(QUEUE_PREFIX + eventId, member);
+        return rank != null ? QueueStatus.waiting(rank + 1) : QueueStatus.notEntered();
+    }
+
+    /**
+     * 발급 경로 진입 전에 입장 여부를 확인한다.
+     */
+    public void validateAdmitted(Long eventId, Long userId) {
+        if (!enabled) {
+            return;
+        }
+        if (!isAdmitted(eventId, userId.toString())) {
+            notAdmittedRejectedCounter.increment();
+            throw new BusinessException(ErrorCode.EVENT_ENTRY_CONFLICT, "대기열 입장 후 발급받을 수 있습니다.");
+        }
+    }
+
+    /**
+     * 발급을 마친 사용자의 자리를 정리한다. 발급된 수량만큼 정원이 줄어 이후 참여자 수 계산에 반영된다.
+     */
+    public void complete(Long eventId, Long userId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(
+                    COMPLETE_SCRIPT,
+                    List.of(ENTERED_PREFIX + eventId, ADMITTED_PREFIX + eventId, CAPACITY_PREFIX + eventId),
+                    userId.toString()
+            );
+        } catch (Exception e) {
+            // 정리하지 못한 자리는 입장 유지 시간이 지나면 풀린다.
+            log.warn("대기열 발급 완료 처리 실패 - eventId: {}, userId: {}", eventId, userId, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${event.waiting-room.admit-interval-ms:200}")
+    public void admit() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> activeEvents = redisTemplate.opsForSet().members(ACTIVE_EVENTS_KEY);
+        if (activeEvents == null || activeEvents.isEmpty()) {
+            queueDepth.set(0);
+            return;
+        }
+
+        long perTick = Math.max(1, admitPerSecond * admitIntervalMs / 1000);
+        long now = System.currentTimeMillis();
+        long depth = 0;
+        for (String eventId : activeEvents) {
+            try {
+                Long admitted = redisTemplate.execute(
+                        ADMIT_SCRIPT,
+                        List.of(QUEUE_PREFIX + eventId, ADMITTED_PREFIX + eventId, TICK_PREFIX + eventId, ACTIVE_EVENTS_KEY,
+                                ENTERED_PREFIX + eventId),
+                        String.valueOf(perTick),
+                        String.valueOf(now),
+                        String.valueOf(admissionTtlMs),
+                        String.valueOf(admitIntervalMs),
+                        eventId
+                );
+                if (admitted != null && admitted > 0) {
+                    admittedCounter.increment(admitted);
+                    log.debug("대기열 입장 처리 - eventId: {}, admitted: {}", eventId, admitted);
+                }
+                Long size = redisTemplate.opsForZSet().zCard(QUEUE_PREFIX + eventId);
+                depth += size != null ? size : 0;
+            } catch (Exception e) {
+                log.error("대기열 입장 처리 실패 - eventId: {}", eventId, e);
+            }
+        }
+        queueDepth.set(depth);
+    }
+
+    private boolean isAdmitted(Long eventId, String member) {
+        Double admittedUntil = redisTemplate.opsForZSet().score(ADMITTED_PREFIX + eventId, member);
+        return admittedUntil != null && admittedUntil >= System.currentTimeMillis();
+    }
+
+    @SuppressWarnings("unchecked")
+    private QueueStatus executeEnter(Long eventId, Long userId) {
+        List<Long> result = (List<Long>) redisTemplate.execute(
+                ENTER_SCRIPT,
+                List.of(QUEUE_PREFIX + eventId, ADMITTED_PREFIX + eventId, ENTERED_PREFIX + eventId,
+                        CAPACITY_PREFIX + eventId, ACTIVE_EVENTS_KEY),
+                userId.toString(),
+                String.valueOf(System.currentTimeMillis()),
+                eventId.toString()
+        );
+        if (result == null || result.size() < 2) {
+            throw new BusinessException(ErrorCode.EVENT_ENTRY_CONFLICT, "대기열 처리 중 오류가 발생했습니다.");
+        }
+        return switch (result.get(0).intValue()) {
+            case 1 -> QueueStatus.admitted();
+            case 0 -> QueueStatus.waiting(result.get(1));
+            case -1 -> QueueStatus.soldOut();
+            default -> null;
+        };
+    }
+
+    // 이벤트 쿠폰 잔여 수량을 대기열 정원으로 적재한다. 다른 노드가 먼저 적재했다면 그 값을 유지한다.
+    private void loadCapacity(Long eventId) {
+        EventCouponService.EventCouponInfoResult coupon = eventCouponService.getEventCoupon(eventId);
+        LocalDateTime now = LocalDateTime.now();
+        if (coupon.endedAt() != null && coupon.endedAt().isBefore(now)) {
+            throw new BusinessException(ErrorCode.EVENT_NOT_OPEN);
+        }
+
+        Integer remaining = coupon.remainingQuantity();
+        String key = CAPACITY_PREFIX + eventId;
+        redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(remaining != null ? remaining : UNLIMITED));
+
+        if (coupon.endedAt() != null) {
+            Duration ttl = Duration.between(now, coupon.endedAt()).plusDays(1);
+            redisTemplate.expire(key, ttl);
+        }
+        log.info("대기열 정원 적재 - eventId: {}, capacity: {}", eventId, remaining != null ? remaining : "무제한");
+    }
+
+    public enum QueueState {
+        WAITING, ADMITTED, SOLD_OUT, NOT_ENTERED
+    }
+
+    /**
+     * 대기열 상태 (position은 WAITING일 때만 1부터 시작하는 순번)
+     */
+    public record QueueStatus(QueueState state, long position) {
+
+        static QueueStatus waiting(long position) {
+            return new QueueStatus(QueueState.WAITING, position);
+        }
+
+        static QueueStatus admitted() {
+            return new QueueStatus(QueueState.ADMITTED, 0);
+        }
+
+        static QueueStatus soldOut() {
+            return new QueueStatus(QueueState.SOLD_OUT, 0);
+        }
+
+        static QueueStatus notEntered() {
+            return new QueueStatus(QueueState.NOT_ENTERED, 0);
+        }
+    }
+}
@@ -44,6 +44,8 @@ public enum ErrorCode {
   PAYMENT_FAILED_BEFORE_PG_CONFIRM("30013", "PG사 결제 승인 전 오류가 발생했습니다", HttpStatus.BAD_REQUEST),
   PAYMENT_CANCEL_TIMEOUT("30014", "PG사 결제 취소 타임아웃 오류가 발생했습니다.", HttpStatus.BAD_REQUEST),
   PAYMENT_CANCEL_FAILED("30015", "PG사 결제 취소 오류가 발생했습니다", HttpStatus.BAD_REQUEST),
+  PAYMENT_PG_BUSY("30016", "PG사 요청이 많아 잠시 후 다시 시도해주세요", HttpStatus.SERVICE_UNAVAILABLE),
+  PAYMENT_PG_UNAVAILABLE("30017", "PG사 연동이 일시적으로 중단되었습니다", HttpStatus.SERVICE_UNAVAILABLE),
 
   //order
   ORDER_NOT_FOUND("40001", "존재하지 않는 주문입니다", HttpStatus.NOT_FOUND),
@@ -58,6 +60,7 @@ public enum ErrorCode {
   ORDER_CREATE_FAIL("40010", "주문 생성에 실패했습니다", HttpStatus.BAD_REQUEST),
   INVALID_PRODUCT_ORDER("40011", "현재 판매 불가능한 상품이 포함되어 있습니다", HttpStatus.BAD_REQUEST),
   CANNOT_CANCEL_ORDER("40012", "취소할 수 없는 주문입니다", HttpStatus.BAD_REQUEST),
+  INVALID_ORDER_CURSOR("40013", "주문 목록 커서가 유효하지 않습니다", HttpStatus.BAD_REQUEST),
 
   //inventory
   INVENTORY_NOT_FOUND("50001", "재고 정보를 찾을 수 없습니다", HttpStatus.NOT_FOUND),
@@ -129,6 +132,7 @@ public enum ErrorCode {
   INVENTORY_INSUFFICIENT_STOCK("90003", "재고가 부족합니다.", HttpStatus.BAD_REQUEST),
   INVALID_INVENTORY_UPDATE_VALUE("90004", "재고 변경 값은 0이 될 수 없습니다.", HttpStatus.BAD_REQUEST),
   INVENTORY_STOCK_QUANTITY_INVALID("90005", "재고 수량이 유효하지 않습니다.", HttpStatus.BAD_REQUEST),
+  INVENTORY_UPDATE_TIMEOUT("90006", "재고 반영이 지연되고 있습니다. 잠시 후 다시 시도해주세요.", HttpStatus.SERVICE_UNAVAILABLE),
 
   //image
   IMAGE_REQUIRED("100001", "이미지는 필수입니다.", HttpStatus.BAD_REQUEST),
@@ -138,6 +142,7 @@ public enum ErrorCode {
 
   //settlement
   SETTLEMENT_NOT_FOUND("A0001", "정산 정보를 찾을 수 없습니다", HttpStatus.NOT_FOUND),
+  SETTLEMENT_EXPORT_BUSY("A0002", "정산 내보내기가 이미 진행 중입니다. 잠시 후 다시 시도해주세요", HttpStatus.TOO_MANY_REQUESTS),
 
   // cartitem
   CART_ITEM_USER_REQUIRED("B0001", "사용자는 필수입니다.", HttpStatus.BAD_REQUEST),
@@ -179,7 +184,11 @@ public enum ErrorCode {
   STOCK_QUANTITY_CANNOT_BE_NEGATIVE("F0003", "재고 수량은 음수가 될 수 없습니다.", HttpStatus.BAD_REQUEST),
   STOCK_QUANTITY_CANNOT_BE_NULL("F0004", "재고 수량은 null일 수 없습니다.", HttpStatus.BAD_REQUEST),
   STOCK_QUANTITY_OUT_OF_STOCK("F0005", "재고 수량이 부족합니다.", HttpStatus.BAD_REQUEST),
-  STOCK_QUANTITY_CANNOT_BE_LESS_THAN_ONE("F0006", "재고 감소 수량은 1 이상이어야 합니다.", HttpStatus.BAD_REQUEST);
+  STOCK_QUANTITY_CANNOT_BE_LESS_THAN_ONE("F0006", "재고 감소 수량은 1 이상이어야 합니다.", HttpStatus.BAD_REQUEST),
+
+  //search
+  REINDEX_ALREADY_RUNNING("G0001", "이미 전체 색인이 진행 중입니다.", HttpStatus.CONFLICT),
+  REINDEX_FAILED("G0002", "전체 색인에 실패했습니다. 다시 실행하면 중단된 지점부터 이어서 색인합니다.", HttpStatus.INTERNAL_SERVER_ERROR);
 
 
   private final String code;
@@ -3,6 +3,7 @@ package com.mudosa.musinsa.notification.service;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
+import com.google.firebase.ThreadManager;
 import com.google.firebase.messaging.*;
 import com.mudosa.musinsa.fbtoken.dto.FBTokenDTO;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +15,9 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 @Slf4j
 @Service
@@ -29,14 +33,20 @@ public class FcmService {
     @Value("${fcm.project-id}")
     private String projectId;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     @PostConstruct
     public void initialize() {
         if (FirebaseApp.getApps().isEmpty()) {
             try {
-                FirebaseOptions options = FirebaseOptions.builder()
+                FirebaseOptions.Builder builder = FirebaseOptions.builder()
                         .setCredentials(GoogleCredentials.fromStream(new ClassPathResource(serviceAccountFilePath).getInputStream()))
-                        .setProjectId(projectId)
-                        .build();
+                        .setProjectId(projectId);
+                if (virtualThreads) {
+                    builder.setThreadManager(new VirtualThreadManager());
+                }
+                FirebaseOptions options = builder.build();
 
                 FirebaseApp.initializeApp(options);
                 log.info("FirebaseApp has been initialized.");
@@ -87,4 +97,26 @@ public class FcmService {
             return false;
         }
     }
+
+    /**
+     * 토큰별 발송(sendEach*)을 가상 스레드에서 실행한다.
+     * 토큰 갱신 등 SDK 백그라운드 작업은 기존처럼 데몬 플랫폼 스레드를 사용한다.
+     */
+    private static class VirtualThreadManager extends ThreadManager {
+
+        @Override
+        protected ExecutorService getExecutor(FirebaseApp app) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("fcm-", 0).factory());
+        }
+
+        @Override
+        protected void releaseExecutor(FirebaseApp app, ExecutorService executor) {
+            executor.shutdownNow();
+        }
+
+        @Override
+        protected ThreadFactory getThreadFactory() {
+            return Thread.ofPlatform().name("firebase-", 0).daemon(true).factory();
+        }
+    }
 }
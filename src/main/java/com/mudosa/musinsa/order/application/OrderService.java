@@ -14,12 +14,15 @@ import com.mudosa.musinsa.order.domain.model.OrderProduct;
 import com.mudosa.musinsa.order.domain.repository.OrderRepository;
 import com.mudosa.musinsa.payment.domain.model.Payment;
 import com.mudosa.musinsa.payment.domain.repository.PaymentRepository;
+import com.mudosa.musinsa.product.application.StockReservationService;
 import com.mudosa.musinsa.product.domain.model.ProductOption;
 import com.mudosa.musinsa.product.domain.repository.CartItemRepository;
 import com.mudosa.musinsa.product.domain.repository.ProductOptionRepository;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxPublisher;
 import com.mudosa.musinsa.user.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,12 +36,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int DEFAULT_ORDER_PAGE_SIZE = 20;
+    private static final int MAX_ORDER_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductOptionRepository productOptionRepository;
     private final UserRepository userRepository;
     private final MemberCouponRepository memberCouponRepository;
     private final PaymentRepository paymentRepository;
+    private final StockReservationService stockReservationService;
+    private final ProductIndexOutboxPublisher productIndexOutboxPublisher;
+    private final OrderSummaryProjector orderSummaryProjector;
+
+    @Value("${order.summary.read-enabled:false}")
+    private boolean summaryReadEnabled;
 
     @Transactional
     public OrderCreateResponse createPendingOrder(OrderCreateRequest request, Long userId) {
@@ -91,31 +103,12 @@ public class OrderService {
         Order order = orderRepository.findByOrderNo(orderNo)
             .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND));
 
-        Map<Long, Integer> quantityMap = order.getOrderProducts().stream()
-                .collect(Collectors.toMap(
-                        OrderProduct::getProductOptionId,
-                        OrderProduct::getProductQuantity
-                ));
+        Map<Long, Integer> quantityMap = toQuantityMap(order);
 
         //재고 차감
-        List<Long> optionIds = new ArrayList<>(quantityMap.keySet());
-
-        List<ProductOption> productOptions = productOptionRepository.findByProductOptionIdInWithPessimisticLock(optionIds);
-
-        List<InsufficientStockItem> insufficientItems = new ArrayList<>();
-
-        productOptions.forEach(po -> {
-            Integer quantityToDeduct = quantityMap.get(po.getProductOptionId());
-            if (!po.hasEnoughStock(quantityToDeduct)) {
-                insufficientItems.add(new InsufficientStockItem(
-                        po.getProductOptionId(),
-                        quantityToDeduct,
-                        po.getStockQuantity()
-                ));
-            } else {
-                po.decreaseStock(quantityToDeduct);
-            }
-        });
+        List<InsufficientStockItem> insufficientItems = stockReservationService.isEnabled()
+                ? reserveStock(quantityMap)
+                : deductStockWithLock(quantityMap);
 
         if (!insufficientItems.isEmpty()) {
             throw new BusinessException(
@@ -127,6 +120,7 @@ public class OrderService {
         //주문 상태 변경
         order.complete();
         orderRepository.save(order);
+        orderSummaryProjector.project(order);
 
         return order.getId();
     }
@@ -152,6 +146,56 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND));
 
+        restoreStock(order);
+
+        order.rollbackStatus();
+        orderRepository.save(order);
+        orderSummaryProjector.remove(order);
+    }
+
+    // Redis 예약으로 재고를 차감한다. DB 재고는 커밋 후 일괄 반영된다.
+    private List<InsufficientStockItem> reserveStock(Map<Long, Integer> quantityMap) {
+        return stockReservationService.reserve(quantityMap).entrySet().stream()
+                .map(entry -> new InsufficientStockItem(
+                        entry.getKey(),
+                        quantityMap.get(entry.getKey()),
+                        entry.getValue()
+                ))
+                .toList();
+    }
+
+    // 옵션 행에 비관적 락을 걸고 재고를 차감한다.
+    private List<InsufficientStockItem> deductStockWithLock(Map<Long, Integer> quantityMap) {
+        List<Long> optionIds = new ArrayList<>(quantityMap.keySet());
+
+        List<ProductOption> productOptions = productOptionRepository.findByProductOptionIdInWithPessimisticLock(optionIds);
+
+        List<InsufficientStockItem> insufficientItems = new ArrayList<>();
+
+        productOptions.forEach(po -> {
+            Integer quantityToDeduct = quantityMap.get(po.getProductOptionId());
+            if (!po.hasEnoughStock(quantityToDeduct)) {
+                insufficientItems.add(new InsufficientStockItem(
+                        po.getProductOptionId(),
+                        quantityToDeduct,
+                        po.getStockQuantity()
+                ));
+            } else {
+                po.decreaseStock(quantityToDeduct);
+            }
+        });
+        productIndexOutboxPublisher.stockChanged(optionIds);
+
+        return insufficientItems;
+    }
+
+    // 주문 상품 수량만큼 재고를 복구한다.
+    private void restoreStock(Order order) {
+        if (stockReservationService.isEnabled()) {
+            stockReservationService.release(toQuantityMap(order));
+            return;
+        }
+
         for (OrderProduct orderProduct : order.getOrderProducts()) {
             ProductOption productOption = productOptionRepository.findById(
                     orderProduct.getProductOption().getProductOptionId()
@@ -159,9 +203,15 @@ public class OrderService {
 
             productOption.restoreStock(orderProduct.getProductQuantity());
         }
+        productIndexOutboxPublisher.stockChanged(toQuantityMap(order).keySet());
+    }
 
-        order.rollbackStatus();
-        orderRepository.save(order);
+    private Map<Long, Integer> toQuantityMap(Order order) {
+        return order.getOrderProducts().stream()
+                .collect(Collectors.toMap(
+                        OrderProduct::getProductOptionId,
+                        OrderProduct::getProductQuantity
+                ));
     }
 
 
@@ -226,6 +276,18 @@ public class OrderService {
         orderRepository.delete(order);
     }
 
+    /**
+     * 주문 목록을 조회한다. 읽기 모델을 켜면 order_summary에서 키셋 페이지네이션으로 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public OrderListResponse fetchOrderList(Long userId, String cursor, Integer size) {
+        if (!summaryReadEnabled) {
+            return fetchOrderList(userId);
+        }
+        int pageSize = size != null && size > 0 ? Math.min(size, MAX_ORDER_PAGE_SIZE) : DEFAULT_ORDER_PAGE_SIZE;
+        return orderSummaryProjector.fetch(userId, cursor, pageSize);
+    }
+
     @Transactional(readOnly = true)
     public OrderListResponse fetchOrderList(Long userId) {
 
@@ -311,31 +373,35 @@ public class OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND));
 
-        for (OrderProduct orderProduct : order.getOrderProducts()) {
-            ProductOption productOption = productOptionRepository.findById(
-                    orderProduct.getProductOption().getProductOptionId()
-            ).orElseThrow();
-
-            productOption.restoreStock(orderProduct.getProductQuantity());
-        }
+        restoreStock(order);
 
         order.cancel();
         orderRepository.save(order);
+        orderSummaryProjector.updateStatus(order);
     }
 
     public void rollbackOrderCancel(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND));
 
-        for (OrderProduct orderProduct : order.getOrderProducts()) {
-            ProductOption productOption = productOptionRepository.findById(
-                    orderProduct.getProductOption().getProductOptionId()
-            ).orElseThrow();
+        if (stockReservationService.isEnabled()) {
+            List<InsufficientStockItem> insufficientItems = reserveStock(toQuantityMap(order));
+            if (!insufficientItems.isEmpty()) {
+                throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK, insufficientItems);
+            }
+        } else {
+            for (OrderProduct orderProduct : order.getOrderProducts()) {
+                ProductOption productOption = productOptionRepository.findById(
+                        orderProduct.getProductOption().getProductOptionId()
+                ).orElseThrow();
 
-            productOption.decreaseStock(orderProduct.getProductQuantity());
+                productOption.decreaseStock(orderProduct.getProductQuantity());
+            }
+            productIndexOutboxPublisher.stockChanged(toQuantityMap(order).keySet());
         }
 
         order.rollbackToCompleted();
         orderRepository.save(order);
+        orderSummaryProjector.updateStatus(order);
     }
 }
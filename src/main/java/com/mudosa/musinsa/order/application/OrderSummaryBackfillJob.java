@@ -0,0 +1,77 @@
+package com.mudosa.musinsa.order.application;
+
+import com.mudosa.musinsa.order.domain.model.Order;
+import com.mudosa.musinsa.order.domain.model.OrderStatus;
+import com.mudosa.musinsa.order.domain.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 읽기 모델(order_summary) 도입 이전 주문을 백그라운드에서 채운다.
+ *
+ * - 주문 ID 키셋 순서로 한 주기에 한 배치씩 처리하고, 끝까지 훑으면 멈춘다. (재기동 시 처음부터 다시 훑는다.)
+ * - 배치마다 주문을 공유 잠금으로 읽고 같은 트랜잭션에서 없는 행만 넣으므로, 여러 노드에서 돌거나 다시 돌려도 중복 행이 생기지 않는다.
+ * - order.summary.write-enabled를 켠 상태에서 돌리고, 완료 로그를 확인한 뒤 read-enabled를 켠다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.summary.backfill.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrderSummaryBackfillJob {
+
+    private final OrderRepository orderRepository;
+    private final OrderSummaryProjector orderSummaryProjector;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.summary.write-enabled:false}")
+    private boolean writeEnabled;
+
+    @Value("${order.summary.backfill.batch-size:500}")
+    private int batchSize;
+
+    private long lastOrderId;
+    private long backfilledOrders;
+    private boolean done;
+
+    // 갱신을 끈 채 백필하면 백필 이후의 취소/롤백이 반영되지 않는다.
+    @PostConstruct
+    void validate() {
+        if (!writeEnabled) {
+            throw new IllegalStateException(
+                    "order.summary.backfill.enabled=true 이면 order.summary.write-enabled=true 여야 합니다.");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.summary.backfill.interval-ms:1000}")
+    public synchronized void backfillNextBatch() {
+        if (done) {
+            return;
+        }
+        Long nextOrderId = transactionTemplate.execute(status -> {
+            List<Order> orders = orderRepository.findForSummaryBackfill(
+                    lastOrderId, OrderStatus.PENDING, PageRequest.of(0, batchSize));
+            if (orders.isEmpty()) {
+                return null;
+            }
+            orderSummaryProjector.backfill(orders);
+            backfilledOrders += orders.size();
+            return orders.get(orders.size() - 1).getId();
+        });
+
+        if (nextOrderId == null) {
+            done = true;
+            log.info("주문 목록 읽기 모델 백필 완료 - orders: {}, lastOrderId: {}", backfilledOrders, lastOrderId);
+            return;
+        }
+        lastOrderId = nextOrderId;
+    }
+}
@@ -0,0 +1,221 @@
+package com.mudosa.musinsa.order.application;
+
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import com.mudosa.musinsa.order.application.dto.OrderFlatDto;
+import com.mudosa.musinsa.order.application.dto.OrderItem;
+import com.mudosa.musinsa.order.application.dto.response.OrderInfo;
+import com.mudosa.musinsa.order.application.dto.response.OrderListResponse;
+import com.mudosa.musinsa.order.domain.model.Order;
+import com.mudosa.musinsa.order.domain.model.OrderSummary;
+import com.mudosa.musinsa.order.domain.repository.OrderRepository;
+import com.mudosa.musinsa.order.domain.repository.OrderSummaryJdbcRepository;
+import com.mudosa.musinsa.order.domain.repository.OrderSummaryRepository;
+import com.mudosa.musinsa.order.domain.repository.OrderSummaryRepository.OrderKey;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 목록 읽기 모델(order_summary)을 갱신하고 조회한다.
+ *
+ * - 주문 완료 시 주문 상품별 행을 만들고, 취소/취소 롤백 시 상태만 바꾸며, 완료 롤백(결제 대기로 복귀) 시 삭제한다.
+ * - 갱신은 order.summary.write-enabled로 켠다. (order_summary 테이블을 만든 뒤 켜고, 읽기보다 먼저 켠다.)
+ * - 조회는 (registeredAt, orderId) 키셋 페이지네이션이다. 커서 형식: "{registeredAt}:{orderId}"
+ *   형식이 맞지 않는 커서는 첫 페이지로 대신하지 않고 400으로 거절한다.
+ * - 조회는 읽기 전용이다. 읽기 모델 도입 이전 주문은 {@link OrderSummaryBackfillJob}이 채우며, 백필이 끝난 뒤 읽기를 켠다.
+ * - 갱신 전에 주문 변경을 먼저 flush 해 주문 행 잠금을 잡는다. 백필은 같은 주문 행을 공유 잠금으로 읽으므로
+ *   둘이 겹치면 한쪽이 끝날 때까지 기다리고, 백필이 오래된 상태를 뒤늦게 넣는 일이 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryProjector {
+
+    private final OrderRepository orderRepository;
+    private final OrderSummaryRepository orderSummaryRepository;
+    private final OrderSummaryJdbcRepository orderSummaryJdbcRepository;
+
+    @Value("${order.summary.write-enabled:false}")
+    private boolean writeEnabled;
+
+    @Value("${order.summary.read-enabled:false}")
+    private boolean readEnabled;
+
+    // 갱신 없이 읽기만 켜면 취소/롤백 상태가 반영되지 않은 목록을 보여주게 된다.
+    @PostConstruct
+    void validate() {
+        if (readEnabled && !writeEnabled) {
+            throw new IllegalStateException(
+                    "order.summary.read-enabled=true 이면 order.summary.write-enabled=true 여야 합니다.");
+        }
+    }
+
+    /**
+     * 완료된 주문의 요약 행을 만든다. 이미 있는 행(백필 등)은 최신 값으로 덮어쓴다.
+     */
+    public void project(Order order) {
+        if (!writeEnabled) {
+            return;
+        }
+        orderRepository.flush();
+        List<OrderItem> items = orderRepository.findOrderItems(order.getOrderNo());
+        List<OrderSummary> rows = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            rows.add(OrderSummary.builder()
+                    .orderId(order.getId())
+                    .userId(order.getUserId())
+                    .orderNo(order.getOrderNo())
+                    .orderStatus(order.getStatus())
+                    .registeredAt(order.getRegisteredAt())
+                    .totalPrice(order.getTotalPrice() != null ? order.getTotalPrice().getAmount() : null)
+                    .productOptionId(item.getProductOptionId())
+                    .brandName(item.getBrandName())
+                    .productName(item.getProductOptionName())
+                    .itemAmount(item.getAmount())
+                    .quantity(item.getQuantity())
+                    .imageUrl(item.getImageUrl())
+                    .size(item.getSize())
+                    .color(item.getColor())
+                    .build());
+        }
+        orderSummaryJdbcRepository.upsertAll(rows);
+    }
+
+    public void updateStatus(Order order) {
+        if (!writeEnabled) {
+            return;
+        }
+        orderRepository.flush();
+        orderSummaryRepository.updateStatus(order.getId(), order.getStatus());
+    }
+
+    /**
+     * 결제 대기로 되돌아간 주문은 목록에서 제외한다.
+     */
+    public void remove(Order order) {
+        if (!writeEnabled) {
+            return;
+        }
+        orderRepository.flush();
+        orderSummaryRepository.deleteByOrderId(order.getId());
+    }
+
+    public OrderListResponse fetch(Long userId, String cursor, int size) {
+        OrderKey after = parseCursor(cursor);
+
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<OrderKey> keys = after == null
+                ? orderSummaryRepository.findFirstOrderKeys(userId, page)
+                : orderSummaryRepository.findOrderKeysAfter(userId, after.registeredAt(), after.orderId(), page);
+
+        boolean hasNext = keys.size() > size;
+        List<OrderKey> pageKeys = hasNext ? keys.subList(0, size) : keys;
+        if (pageKeys.isEmpty()) {
+            return new OrderListResponse(List.of(), null);
+        }
+
+        Map<Long, List<OrderSummary>> rowsByOrderId = new LinkedHashMap<>();
+        pageKeys.forEach(key -> rowsByOrderId.put(key.orderId(), new ArrayList<>()));
+        for (OrderSummary row : orderSummaryRepository.findByOrderIdIn(rowsByOrderId.keySet())) {
+            rowsByOrderId.get(row.getOrderId()).add(row);
+        }
+
+        List<OrderInfo> orders = new ArrayList<>(pageKeys.size());
+        rowsByOrderId.forEach((orderId, rows) -> {
+            if (!rows.isEmpty()) {
+                orders.add(toOrderInfo(rows));
+            }
+        });
+
+        OrderKey last = pageKeys.get(pageKeys.size() - 1);
+        String nextCursor = hasNext ? last.registeredAt() + ":" + last.orderId() : null;
+        return new OrderListResponse(orders, nextCursor);
+    }
+
+    /**
+     * 읽기 모델 도입 이전 주문의 요약 행을 기존 조인 쿼리로 채운다. 이미 있는 행은 건드리지 않는다.
+     * 호출자는 orders를 공유 잠금으로 읽은 트랜잭션 안에서 호출해야 한다.
+     *
+     * @return 채운 주문 상품 행 수 (이미 있던 행 포함)
+     */
+    public int backfill(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Long> userIdByOrderId = new HashMap<>();
+        orders.forEach(order -> userIdByOrderId.put(order.getId(), order.getUserId()));
+
+        List<OrderFlatDto> flatList = orderRepository.findFlatOrderDetailsByOrderIds(userIdByOrderId.keySet());
+        List<OrderSummary> rows = new ArrayList<>(flatList.size());
+        for (OrderFlatDto flat : flatList) {
+            rows.add(OrderSummary.builder()
+                    .orderId(flat.getOrderId())
+                    .userId(userIdByOrderId.get(flat.getOrderId()))
+                    .orderNo(flat.getOrderNo())
+                    .orderStatus(flat.getOrderStatus())
+                    .registeredAt(flat.getRegisteredAt())
+                    .totalPrice(flat.getTotalPrice())
+                    .productOptionId(flat.getProductOptionId())
+                    .brandName(flat.getBrandName())
+                    .productName(flat.getProductName())
+                    .itemAmount(flat.getItemAmount())
+                    .quantity(flat.getQuantity())
+                    .imageUrl(flat.getImageUrl())
+                    .size(flat.getSize())
+                    .color(flat.getColor())
+                    .build());
+        }
+        orderSummaryJdbcRepository.insertMissing(rows);
+        return rows.size();
+    }
+
+    private OrderInfo toOrderInfo(List<OrderSummary> rows) {
+        OrderSummary first = rows.get(0);
+        List<OrderItem> items = rows.stream()
+                .map(row -> new OrderItem(
+                        row.getProductOptionId(),
+                        row.getBrandName(),
+                        row.getProductName(),
+                        row.getItemAmount(),
+                        row.getQuantity(),
+                        row.getImageUrl(),
+                        row.getSize(),
+                        row.getColor()
+                ))
+                .toList();
+        return new OrderInfo(
+                first.getOrderNo(),
+                first.getOrderStatus(),
+                first.getRegisteredAt(),
+                first.getTotalPrice(),
+                items
+        );
+    }
+
+    private OrderKey parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separator = cursor.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new BusinessException(ErrorCode.INVALID_ORDER_CURSOR);
+        }
+        try {
+            LocalDateTime registeredAt = LocalDateTime.parse(cursor.substring(0, separator));
+            Long orderId = Long.parseLong(cursor.substring(separator + 1));
+            return new OrderKey(orderId, registeredAt);
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new BusinessException(ErrorCode.INVALID_ORDER_CURSOR);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Getter
 public class OrderFlatDto {
+    private Long orderId;
     private String orderNo;
     private OrderStatus orderStatus;
     private LocalDateTime registeredAt;
@@ -25,9 +26,10 @@ public class OrderFlatDto {
 
     @QueryProjection
     public OrderFlatDto(
-            String orderNo, OrderStatus orderStatus, LocalDateTime registeredAt, BigDecimal totalPrice,
+            Long orderId, String orderNo, OrderStatus orderStatus, LocalDateTime registeredAt, BigDecimal totalPrice,
             Long productOptionId, String brandName, String productName, BigDecimal itemAmount,
             Integer quantity, String imageUrl, String size, String color) {
+        this.orderId = orderId;
         this.orderNo = orderNo;
         this.orderStatus = orderStatus;
         this.registeredAt = registeredAt;
@@ -9,4 +9,10 @@ import java.util.List;
 @AllArgsConstructor
 public class OrderListResponse {
     private List<OrderInfo> orders;
+    // 다음 페이지 커서 (마지막 페이지이거나 페이지네이션을 쓰지 않으면 null)
+    private String nextCursor;
+
+    public OrderListResponse(List<OrderInfo> orders) {
+        this(orders, null);
+    }
 }
@@ -72,10 +72,12 @@ public class OrderController {
     )
     @GetMapping
     public ResponseEntity<ApiResponse<OrderListResponse>> fetchOrderList(
-            @AuthenticationPrincipal CustomUserDetails userDetails
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
     ){
         Long userId = userDetails.getUserId();
-        OrderListResponse response = orderService.fetchOrderList(userId);
+        OrderListResponse response = orderService.fetchOrderList(userId, cursor, size);
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
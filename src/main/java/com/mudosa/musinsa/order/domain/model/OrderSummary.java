@@ -0,0 +1,91 @@
+package com.mudosa.musinsa.order.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록 조회용 비정규화 읽기 모델 (주문 상품 1건당 1행).
+ * 브랜드명/상품명/썸네일/사이즈/색상을 주문 완료 시점에 미리 풀어 저장하고,
+ * 주문 상태 변경(취소/롤백) 시 함께 갱신한다.
+ * (order_id, product_option_id)가 유니크이므로 같은 주문 상품 행은 하나만 존재한다. (기존 중복 행을 정리한 뒤 키를 추가한다.)
+ */
+@Entity
+@Table(name = "order_summary",
+        uniqueConstraints = @UniqueConstraint(name = "uk_order_summary_order_option", columnNames = {"order_id", "product_option_id"}),
+        indexes = @Index(name = "idx_order_summary_user_registered", columnList = "user_id, registered_at, order_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "order_summary_id")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_no", nullable = false)
+    private String orderNo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false)
+    private OrderStatus orderStatus;
+
+    @Column(name = "registered_at", nullable = false)
+    private LocalDateTime registeredAt;
+
+    @Column(name = "total_price")
+    private BigDecimal totalPrice;
+
+    @Column(name = "product_option_id", nullable = false)
+    private Long productOptionId;
+
+    @Column(name = "brand_name")
+    private String brandName;
+
+    @Column(name = "product_name")
+    private String productName;
+
+    @Column(name = "item_amount")
+    private BigDecimal itemAmount;
+
+    private Integer quantity;
+
+    @Column(name = "image_url")
+    private String imageUrl;
+
+    private String size;
+
+    private String color;
+
+    @Builder
+    private OrderSummary(Long orderId, Long userId, String orderNo, OrderStatus orderStatus,
+                         LocalDateTime registeredAt, BigDecimal totalPrice, Long productOptionId,
+                         String brandName, String productName, BigDecimal itemAmount, Integer quantity,
+                         String imageUrl, String size, String color) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.orderNo = orderNo;
+        this.orderStatus = orderStatus;
+        this.registeredAt = registeredAt;
+        this.totalPrice = totalPrice;
+        this.productOptionId = productOptionId;
+        this.brandName = brandName;
+        this.productName = productName;
+        this.itemAmount = itemAmount;
+        this.quantity = quantity;
+        this.imageUrl = imageUrl;
+        this.size = size;
+        this.color = color;
+    }
+}
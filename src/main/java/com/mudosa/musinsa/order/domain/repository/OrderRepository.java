@@ -1,8 +1,13 @@
 package com.mudosa.musinsa.order.domain.repository;
 
 import com.mudosa.musinsa.order.domain.model.Order;
+import com.mudosa.musinsa.order.domain.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -35,4 +40,20 @@ public interface OrderRepository extends JpaRepository<Order, Long>, OrderReposi
     Optional<Order> findByIdWithProductsAndBrand(Long orderId);
 
     List<Order> findAllByUserId(Long userId);
+
+    /**
+     * 주문 ID 키셋 순서로 결제 대기가 아닌 주문을 공유 잠금(FOR SHARE)으로 조회한다. (order_summary 백필용)
+     * 잠금을 잡은 동안 주문 상태 변경이 기다리므로 백필이 읽은 상태가 뒤늦게 덮어써지지 않는다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("""
+        SELECT o
+        FROM Order o
+        WHERE o.id > :afterId
+          AND o.status <> :excluded
+        ORDER BY o.id
+    """)
+    List<Order> findForSummaryBackfill(@Param("afterId") Long afterId,
+                                       @Param("excluded") OrderStatus excluded,
+                                       Pageable pageable);
 }
@@ -4,9 +4,11 @@ import com.mudosa.musinsa.order.application.dto.OrderFlatDto;
 import com.mudosa.musinsa.order.application.dto.OrderItem;
 import com.mudosa.musinsa.order.application.dto.response.OrderInfo;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderRepositoryCustom {
     List<OrderItem> findOrderItems(String orderNo);
     List<OrderFlatDto> findFlatOrderListWithDetails(Long userId);
+    List<OrderFlatDto> findFlatOrderDetailsByOrderIds(Collection<Long> orderIds);
 }
@@ -6,6 +6,7 @@ import com.mudosa.musinsa.order.application.dto.QOrderFlatDto;
 import com.mudosa.musinsa.order.application.dto.QOrderItem;
 import com.mudosa.musinsa.order.domain.model.OrderStatus;
 import com.mudosa.musinsa.product.domain.model.ValueName;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.StringExpression;
 import com.querydsl.jpa.JPAExpressions;
@@ -14,6 +15,7 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import static com.mudosa.musinsa.brand.domain.model.QBrand.brand;
@@ -55,12 +57,22 @@ public class OrderRepositoryImpl implements OrderRepositoryCustom{
 
     @Override
     public List<OrderFlatDto> findFlatOrderListWithDetails(Long userId) {
+        return findFlatOrders(order.userId.eq(userId).and(order.status.ne(OrderStatus.PENDING)));
+    }
+
+    @Override
+    public List<OrderFlatDto> findFlatOrderDetailsByOrderIds(Collection<Long> orderIds) {
+        return findFlatOrders(order.id.in(orderIds));
+    }
+
+    private List<OrderFlatDto> findFlatOrders(Predicate condition) {
         StringExpression sizeValue = createSizeValueExpression();
         StringExpression colorValue = createColorValueExpression();
         JPQLQuery<String> imageOne = createThumbnailImageSubquery();
 
         return queryFactory
                 .select(new QOrderFlatDto(
+                        order.id,
                         order.orderNo,
                         order.status,
                         order.registeredAt,
@@ -81,9 +93,9 @@ public class OrderRepositoryImpl implements OrderRepositoryCustom{
                 .join(product.brand, brand)
                 .leftJoin(productOption.productOptionValues, productOptionValue)
                 .leftJoin(productOptionValue.optionValue, optionValue1)
-                .where(order.userId.eq(userId).and(order.status.ne(OrderStatus.PENDING)))
+                .where(condition)
                 .groupBy(
-                        order.orderNo, order.status, order.registeredAt, order.totalPrice.amount,
+                        order.id, order.orderNo, order.status, order.registeredAt, order.totalPrice.amount,
                         productOption.productOptionId, brand.nameKo, product.productName,
                         productOption.productPrice.amount, orderProduct.productQuantity
                 )
@@ -0,0 +1,91 @@
+package com.mudosa.musinsa.order.domain.repository;
+
+import com.mudosa.musinsa.order.domain.model.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * order_summary UPSERT.
+ * order_summary의 유니크 키는 (order_id, product_option_id) 하나뿐이므로 ON DUPLICATE KEY UPDATE가 같은 주문 상품 행에만 걸린다.
+ *
+ * - upsertAll: 주문 완료 시 사용. 이미 있는 행은 최신 값으로 덮어쓴다.
+ * - insertMissing: 백필 시 사용. 이미 있는 행은 주문 흐름이 갱신한 값이므로 건드리지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderSummaryJdbcRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO order_summary
+            (order_id, user_id, order_no, order_status, registered_at, total_price, product_option_id,
+             brand_name, product_name, item_amount, quantity, image_url, size, color)
+        VALUES
+            (:orderId, :userId, :orderNo, :orderStatus, :registeredAt, :totalPrice, :productOptionId,
+             :brandName, :productName, :itemAmount, :quantity, :imageUrl, :size, :color)
+        """;
+
+    private static final String UPSERT_SQL = INSERT_SQL + """
+        ON DUPLICATE KEY UPDATE
+            user_id = VALUES(user_id),
+            order_no = VALUES(order_no),
+            order_status = VALUES(order_status),
+            registered_at = VALUES(registered_at),
+            total_price = VALUES(total_price),
+            brand_name = VALUES(brand_name),
+            product_name = VALUES(product_name),
+            item_amount = VALUES(item_amount),
+            quantity = VALUES(quantity),
+            image_url = VALUES(image_url),
+            size = VALUES(size),
+            color = VALUES(color)
+        """;
+
+    // INSERT IGNORE는 키 중복 외의 오류도 경고로 바꾸므로 쓰지 않는다.
+    private static final String INSERT_MISSING_SQL = INSERT_SQL + """
+        ON DUPLICATE KEY UPDATE order_id = order_id
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void upsertAll(List<OrderSummary> rows) {
+        batchUpdate(UPSERT_SQL, rows);
+    }
+
+    public void insertMissing(List<OrderSummary> rows) {
+        batchUpdate(INSERT_MISSING_SQL, rows);
+    }
+
+    private void batchUpdate(String sql, List<OrderSummary> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] params = rows.stream()
+            .map(this::toParams)
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(sql, params);
+    }
+
+    private SqlParameterSource toParams(OrderSummary row) {
+        return new MapSqlParameterSource()
+            .addValue("orderId", row.getOrderId())
+            .addValue("userId", row.getUserId())
+            .addValue("orderNo", row.getOrderNo())
+            .addValue("orderStatus", row.getOrderStatus().name())
+            .addValue("registeredAt", Timestamp.valueOf(row.getRegisteredAt()))
+            .addValue("totalPrice", row.getTotalPrice())
+            .addValue("productOptionId", row.getProductOptionId())
+            .addValue("brandName", row.getBrandName())
+            .addValue("productName", row.getProductName())
+            .addValue("itemAmount", row.getItemAmount())
+            .addValue("quantity", row.getQuantity())
+            .addValue("imageUrl", row.getImageUrl())
+            .addValue("size", row.getSize())
+            .addValue("color", row.getColor());
+    }
+}
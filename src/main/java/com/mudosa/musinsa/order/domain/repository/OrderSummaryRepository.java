@@ -0,0 +1,58 @@
+package com.mudosa.musinsa.order.domain.repository;
+
+import com.mudosa.musinsa.order.domain.model.OrderStatus;
+import com.mudosa.musinsa.order.domain.model.OrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    /**
+     * 최신 주문부터 한 페이지 분량의 주문 키를 조회한다. (user_id, registered_at, order_id) 인덱스 범위 스캔
+     */
+    @Query("""
+        SELECT DISTINCT new com.mudosa.musinsa.order.domain.repository.OrderSummaryRepository$OrderKey(s.orderId, s.registeredAt)
+        FROM OrderSummary s
+        WHERE s.userId = :userId
+        ORDER BY s.registeredAt DESC, s.orderId DESC
+    """)
+    List<OrderKey> findFirstOrderKeys(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 커서(registeredAt, orderId) 이후의 주문 키를 조회한다.
+     */
+    @Query("""
+        SELECT DISTINCT new com.mudosa.musinsa.order.domain.repository.OrderSummaryRepository$OrderKey(s.orderId, s.registeredAt)
+        FROM OrderSummary s
+        WHERE s.userId = :userId
+          AND (s.registeredAt < :registeredAt
+               OR (s.registeredAt = :registeredAt AND s.orderId < :orderId))
+        ORDER BY s.registeredAt DESC, s.orderId DESC
+    """)
+    List<OrderKey> findOrderKeysAfter(@Param("userId") Long userId,
+                                      @Param("registeredAt") LocalDateTime registeredAt,
+                                      @Param("orderId") Long orderId,
+                                      Pageable pageable);
+
+    List<OrderSummary> findByOrderIdIn(Collection<Long> orderIds);
+
+    @Modifying
+    @Query("UPDATE OrderSummary s SET s.orderStatus = :status WHERE s.orderId = :orderId")
+    int updateStatus(@Param("orderId") Long orderId, @Param("status") OrderStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OrderSummary s WHERE s.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") Long orderId);
+
+    record OrderKey(Long orderId, LocalDateTime registeredAt) {
+    }
+}
@@ -9,6 +9,7 @@ import com.mudosa.musinsa.payment.application.dto.PaymentResponseDto;
 import com.mudosa.musinsa.payment.domain.model.Payment;
 import com.mudosa.musinsa.payment.domain.model.PaymentEventType;
 import com.mudosa.musinsa.payment.domain.repository.PaymentRepository;
+import com.mudosa.musinsa.settlement.outbox.SettlementOutboxPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,7 @@ public class PaymentConfirmService {
 
     private final OrderService orderService;
     private final PaymentRepository paymentRepository;
+    private final SettlementOutboxPublisher settlementOutboxPublisher;
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     protected PaymentCreationResult createPaymentTransaction(PaymentCreateDto request, Long userId) {
@@ -64,6 +66,9 @@ public class PaymentConfirmService {
         payment.approve(pgTransactionId, userId, paymentResponseDto.getApprovedAt(), paymentResponseDto.getMethod());
 
         paymentRepository.save(payment);
+
+        //정산 아웃박스 적재 (결제 승인과 같은 트랜잭션)
+        settlementOutboxPublisher.paymentApproved(paymentId, pgTransactionId);
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class PaymentProcessor {
@@ -27,4 +29,19 @@ public class PaymentProcessor {
         PaymentStrategy strategy = strategyFactory.getStrategy(context);
         return strategy.cancelPayment(request);
     }
+
+    /**
+     * processPayment의 논블로킹 버전. PG 응답을 기다리는 동안 호출 스레드를 점유하지 않는다.
+     */
+    public CompletableFuture<PaymentResponseDto> processPaymentAsync(PaymentConfirmRequest request) {
+        PaymentContext context = PaymentContext.from(request);
+        PaymentStrategy strategy = strategyFactory.getStrategy(context);
+        return strategy.confirmPaymentAsync(request);
+    }
+
+    public CompletableFuture<PaymentCancelResponseDto> processCancelPaymentAsync(PaymentCancelRequest request) {
+        PaymentContext context = PaymentContext.forCancel(request);
+        PaymentStrategy strategy = strategyFactory.getStrategy(context);
+        return strategy.cancelPaymentAsync(request);
+    }
 }
@@ -14,8 +14,8 @@ import com.mudosa.musinsa.payment.domain.model.PaymentEventType;
 import com.mudosa.musinsa.payment.domain.model.PgProvider;
 import com.mudosa.musinsa.payment.domain.repository.PaymentRepository;
 import com.mudosa.musinsa.payment.application.event.PaymentApprovedEvent;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
@@ -24,17 +24,30 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static com.mudosa.musinsa.exception.ErrorCode.PAYMENT_APPROVAL_FAILED;
+import static com.mudosa.musinsa.exception.ErrorCode.PAYMENT_PG_BUSY;
+import static com.mudosa.musinsa.exception.ErrorCode.PAYMENT_PG_UNAVAILABLE;
 import static com.mudosa.musinsa.exception.ErrorCode.PAYMENT_TIMEOUT;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PaymentService {
 
     private final PaymentProcessor paymentProcessor;
     private final PaymentConfirmService paymentConfirmService;
+    private final Executor paymentCallbackExecutor;
+
+    public PaymentService(PaymentProcessor paymentProcessor,
+                          PaymentConfirmService paymentConfirmService,
+                          @Qualifier("paymentCallbackExecutor") Executor paymentCallbackExecutor) {
+        this.paymentProcessor = paymentProcessor;
+        this.paymentConfirmService = paymentConfirmService;
+        this.paymentCallbackExecutor = paymentCallbackExecutor;
+    }
 
     public PaymentConfirmResponse confirmPaymentAndCompleteOrder(PaymentConfirmRequest request, Long userId) {
         Long paymentId = null;
@@ -60,36 +73,109 @@ public class PaymentService {
                     .build();
 
         }catch(BusinessException e){
-            //결제 생성 전 오류 -> 롤백이 되기 때문에 보상할게 없음
-            if(paymentId == null){
-                if(e.getErrorCode() == ErrorCode.INSUFFICIENT_STOCK){
-                    throw e;
+            throw handleConfirmFailure(e, paymentId, orderId, pgApproved, userId);
+        }
+    }
+
+    /**
+     * confirmPaymentAndCompleteOrder의 논블로킹 버전.
+     *
+     * - TX1은 호출 스레드에서 실행하고, PG 승인은 요청 스레드를 점유하지 않고 기다린다.
+     * - PG 응답 이후의 TX2/보상 처리는 네티 이벤트 루프가 아닌 paymentCallbackExecutor에서 실행한다.
+     * - 실패 시 보상 처리는 동기 버전과 같다.
+     * - PG 재시도 전체가 payment.pg.retry-deadline-ms 안에 끝나므로, 반환한 future는 MVC 비동기 타임아웃 전에 완료된다.
+     */
+    public CompletableFuture<PaymentConfirmResponse> confirmPaymentAndCompleteOrderAsync(PaymentConfirmRequest request, Long userId) {
+        Long paymentId;
+        Long orderId;
+        CompletableFuture<PaymentResponseDto> pgFuture;
+        try{
+            //TX1: 결제 생성
+            PaymentCreationResult creationResult = paymentConfirmService.createPaymentTransaction(request.toPaymentCreateRequest(), userId);
+            paymentId = creationResult.getPaymentId();
+            orderId = creationResult.getOrderId();
+        }catch(BusinessException e){
+            return CompletableFuture.failedFuture(handleConfirmFailure(e, null, null, false, userId));
+        }
+
+        try{
+            //트랜잭션 아님: PG 승인 요청
+            pgFuture = paymentProcessor.processPaymentAsync(request);
+        }catch(BusinessException e){
+            return CompletableFuture.failedFuture(handleConfirmFailure(e, paymentId, orderId, false, userId));
+        }
+
+        // 예외를 CompletionException으로 감싸지 않고 그대로 전달한다. (ExceptionHandler에서 처리)
+        CompletableFuture<PaymentConfirmResponse> result = new CompletableFuture<>();
+        pgFuture.whenCompleteAsync((pgResponse, error) -> {
+            boolean pgApproved = error == null;
+            try{
+                if(!pgApproved){
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if(cause instanceof BusinessException e){
+                        throw e;
+                    }
+                    result.completeExceptionally(cause);
+                    return;
                 }
 
-                throw new BusinessException(ErrorCode.PAYMENT_FAILED_BEFORE_PG_CONFIRM, e.getMessage());
-            }
+                //TX2: 결제 승인
+                paymentConfirmService.approvePayment(paymentId, userId, pgResponse, orderId);
 
-            //PG사에 의한 오류 처리
-            if(!pgApproved && isPgRelatedError(e.getErrorCode())){
-                paymentConfirmService.failPayment(paymentId, e.getMessage(), userId, orderId);
-                throw e;
+                result.complete(PaymentConfirmResponse.builder()
+                        .orderNo(request.getOrderNo())
+                        .build());
+            }catch(BusinessException e){
+                completeWithFailure(result, e, paymentId, orderId, pgApproved, userId);
+            }catch(RuntimeException e){
+                result.completeExceptionally(e);
             }
+        }, paymentCallbackExecutor);
+        return result;
+    }
+
+    private void completeWithFailure(CompletableFuture<?> result, BusinessException e,
+                                     Long paymentId, Long orderId, boolean pgApproved, Long userId) {
+        try{
+            result.completeExceptionally(handleConfirmFailure(e, paymentId, orderId, pgApproved, userId));
+        }catch(RuntimeException compensationError){
+            result.completeExceptionally(compensationError);
+        }
+    }
 
-            if(pgApproved){
-                paymentConfirmService.manualPaymentCheck(paymentId, userId);
-                throw new BusinessException(
-                        ErrorCode.PAYMENT_SYSTEM_ERROR,
-                        "결제는 승인되었으나 후속 처리 중 오류가 발생했습니다. 고객센터로 문의해주세요."
-                );
+    // 승인 실패 시 단계별 보상 처리 후 호출자에게 던질 예외를 돌려준다.
+    private BusinessException handleConfirmFailure(BusinessException e, Long paymentId, Long orderId, boolean pgApproved, Long userId) {
+        //결제 생성 전 오류 -> 롤백이 되기 때문에 보상할게 없음
+        if(paymentId == null){
+            if(e.getErrorCode() == ErrorCode.INSUFFICIENT_STOCK){
+                return e;
             }
 
-            throw e;
+            return new BusinessException(ErrorCode.PAYMENT_FAILED_BEFORE_PG_CONFIRM, e.getMessage());
+        }
+
+        //PG사에 의한 오류 처리
+        if(!pgApproved && isPgRelatedError(e.getErrorCode())){
+            paymentConfirmService.failPayment(paymentId, e.getMessage(), userId, orderId);
+            return e;
         }
+
+        if(pgApproved){
+            paymentConfirmService.manualPaymentCheck(paymentId, userId);
+            return new BusinessException(
+                    ErrorCode.PAYMENT_SYSTEM_ERROR,
+                    "결제는 승인되었으나 후속 처리 중 오류가 발생했습니다. 고객센터로 문의해주세요."
+            );
+        }
+
+        return e;
     }
 
     private boolean isPgRelatedError(ErrorCode errorCode) {
         return errorCode == PAYMENT_APPROVAL_FAILED
-                || errorCode == PAYMENT_TIMEOUT;
+                || errorCode == PAYMENT_TIMEOUT
+                || errorCode == PAYMENT_PG_BUSY
+                || errorCode == PAYMENT_PG_UNAVAILABLE;
     }
 
     public PaymentCancelResponse cancelPayment(PaymentCancelRequest request, Long userId, LocalDateTime cancelledAt) {
@@ -6,8 +6,21 @@ import com.mudosa.musinsa.payment.application.dto.request.PaymentConfirmRequest;
 import com.mudosa.musinsa.payment.application.dto.PaymentResponseDto;
 import com.mudosa.musinsa.payment.domain.model.PgProvider;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface PaymentStrategy {
     PaymentResponseDto confirmPayment(PaymentConfirmRequest request);
     boolean supports(PaymentContext context);
     PaymentCancelResponseDto cancelPayment(PaymentCancelRequest request);
+
+    /**
+     * 논블로킹 승인. 논블로킹 클라이언트가 없는 PG사는 동기 호출 결과를 그대로 감싼다.
+     */
+    default CompletableFuture<PaymentResponseDto> confirmPaymentAsync(PaymentConfirmRequest request) {
+        return CompletableFuture.completedFuture(confirmPayment(request));
+    }
+
+    default CompletableFuture<PaymentCancelResponseDto> cancelPaymentAsync(PaymentCancelRequest request) {
+        return CompletableFuture.completedFuture(cancelPayment(request));
+    }
 }
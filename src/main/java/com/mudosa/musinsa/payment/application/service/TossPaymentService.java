@@ -1,5 +1,6 @@
 package com.mudosa.musinsa.payment.application.service;
 
+import com.mudosa.musinsa.common.client.PgHttpClient;
 import com.mudosa.musinsa.common.client.RestTemplateClient;
 import com.mudosa.musinsa.exception.BusinessException;
 import com.mudosa.musinsa.exception.ErrorCode;
@@ -8,6 +9,8 @@ import com.mudosa.musinsa.payment.application.dto.request.TossPaymentCancelReque
 import com.mudosa.musinsa.payment.application.dto.request.TossPaymentConfirmRequest;
 import com.mudosa.musinsa.payment.application.dto.response.TossPaymentCancelResponse;
 import com.mudosa.musinsa.payment.application.dto.response.TossPaymentConfirmResponse;
+import com.mudosa.musinsa.payment.domain.model.PgProvider;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -22,8 +25,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RequiredArgsConstructor
 @Service
@@ -39,7 +47,37 @@ public class TossPaymentService {
     @Value("${tosspayments.secret-key}")
     private String tossPaymentsSecretKey;
 
+    // @Retryable과 같은 재시도 정책 (비동기 호출용)
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final double BACKOFF_MULTIPLIER = 2.0;
+    private static final long MAX_BACKOFF_MS = 10000;
+
     private final RestTemplateClient restTemplateClient;
+    private final PgHttpClient pgHttpClient;
+
+    // 비동기 재시도 전체(호출 + 대기) 상한. 요청 스레드를 반환한 뒤의 MVC 비동기 타임아웃보다 짧아야 한다.
+    @Value("${payment.pg.retry-deadline-ms:25000}")
+    private long retryDeadlineMs;
+
+    @Value("${spring.mvc.async.request-timeout:30s}")
+    private Duration asyncRequestTimeout;
+
+    // 한 번의 호출이 걸릴 수 있는 최대 시간 (연결 + 응답 대기)
+    @Value("${payment.pg.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${payment.pg.response-timeout-ms:10000}")
+    private long responseTimeoutMs;
+
+    // 재시도 상한이 비동기 타임아웃을 넘으면 PG 결과를 받기 전에 요청이 끊겨 TX2/보상 처리 결과를 돌려주지 못한다.
+    @PostConstruct
+    void validateRetryDeadline() {
+        if (retryDeadlineMs >= asyncRequestTimeout.toMillis()) {
+            throw new IllegalStateException(
+                    "payment.pg.retry-deadline-ms는 spring.mvc.async.request-timeout보다 짧아야 합니다.");
+        }
+    }
 
     @Retryable(
             retryFor = ExternalApiException.class,
@@ -110,6 +148,97 @@ public class TossPaymentService {
     }
 
 
+    /**
+     * callTossApi의 논블로킹 버전. 재시도/타임아웃/최종 실패 처리는 동기 버전과 같다.
+     */
+    public CompletableFuture<TossPaymentConfirmResponse> callTossApiAsync(TossPaymentConfirmRequest request) {
+        HttpHeaders headers = createBasicAuthHeaders(tossPaymentsSecretKey);
+
+        return retryAsync(() -> pgHttpClient.post(
+                PgProvider.TOSS,
+                "confirm",
+                tossPaymentsConfirmUrl,
+                headers,
+                request,
+                TossPaymentConfirmResponse.class,
+                request.getOrderId()
+        ), 1, INITIAL_BACKOFF_MS, retryDeadline()).exceptionally(error -> {
+            Throwable cause = unwrap(error);
+            if (cause instanceof ExternalApiException e) {
+                if (e.getHttpStatus() == HttpStatus.REQUEST_TIMEOUT) {
+                    log.error("[Toss] 타임아웃 발생 - orderNo: {}", request.getOrderId());
+                    throw new BusinessException(ErrorCode.PAYMENT_TIMEOUT, "결제 처리 시간이 초과되었습니다");
+                }
+                recover(e, request);
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    /**
+     * callTossCancelApi의 논블로킹 버전.
+     */
+    public CompletableFuture<TossPaymentCancelResponse> callTossCancelApiAsync(TossPaymentCancelRequest request) {
+        HttpHeaders headers = createBasicAuthHeaders(tossPaymentsSecretKey);
+        String fullCancelUrl = UriComponentsBuilder.fromHttpUrl(tossPaymentsBaseCancelUrl)
+                .path("/{paymentKey}/cancel")
+                .buildAndExpand(request.getPaymentKey())
+                .toUriString();
+
+        return retryAsync(() -> pgHttpClient.post(
+                PgProvider.TOSS,
+                "cancel",
+                fullCancelUrl,
+                headers,
+                request,
+                TossPaymentCancelResponse.class,
+                request.getPaymentKey()
+        ), 1, INITIAL_BACKOFF_MS, retryDeadline()).exceptionally(error -> {
+            Throwable cause = unwrap(error);
+            if (cause instanceof ExternalApiException e) {
+                if (e.getHttpStatus() == HttpStatus.REQUEST_TIMEOUT) {
+                    log.error("[Toss] 취소 타임아웃 - paymentKey: {}", request.getPaymentKey());
+                    throw new BusinessException(ErrorCode.PAYMENT_CANCEL_TIMEOUT, "결제 취소 처리 시간이 초과되었습니다");
+                }
+                recoverCancel(e, request);
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    private long retryDeadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDeadlineMs);
+    }
+
+    // ExternalApiException(타임아웃 제외)만 지수 백오프로 재시도한다. 대기는 스레드를 점유하지 않는다.
+    // 대기 후 한 번 더 호출해도 deadlineNanos 안에 끝나는 경우에만 재시도해, 전체 소요 시간이 재시도 상한을 넘지 않는다.
+    private <T> CompletableFuture<T> retryAsync(Supplier<CompletableFuture<T>> call, int attempt, long backoffMs,
+                                                long deadlineNanos) {
+        return call.get()
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    Throwable cause = unwrap(error);
+                    boolean retryable = cause instanceof ExternalApiException e
+                            && e.getHttpStatus() != HttpStatus.REQUEST_TIMEOUT;
+                    long nextAttemptMs = backoffMs + connectTimeoutMs + responseTimeoutMs;
+                    boolean withinDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(nextAttemptMs) <= deadlineNanos;
+                    if (!retryable || attempt >= MAX_ATTEMPTS || !withinDeadline) {
+                        return CompletableFuture.<T>failedFuture(cause);
+                    }
+                    long nextBackoffMs = Math.min((long) (backoffMs * BACKOFF_MULTIPLIER), MAX_BACKOFF_MS);
+                    return CompletableFuture.supplyAsync(() -> null,
+                                    CompletableFuture.delayedExecutor(backoffMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> retryAsync(call, attempt + 1, nextBackoffMs, deadlineNanos));
+                })
+                .thenCompose(future -> future);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
     @Recover
     public TossPaymentConfirmResponse recover(
             ExternalApiException e,
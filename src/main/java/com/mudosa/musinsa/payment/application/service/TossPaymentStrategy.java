@@ -9,6 +9,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -35,4 +37,18 @@ public class TossPaymentStrategy implements PaymentStrategy {
 		TossPaymentCancelResponse tossResponse = tossPaymentService.callTossCancelApi(tossRequest);
 		return PaymentCancelResponseDto.from(tossResponse);
 	}
+
+	@Override
+	public CompletableFuture<PaymentResponseDto> confirmPaymentAsync(PaymentConfirmRequest request) {
+		TossPaymentConfirmRequest tossRequest = request.toTossRequest();
+		return tossPaymentService.callTossApiAsync(tossRequest)
+			.thenApply(PaymentResponseDto::from);
+	}
+
+	@Override
+	public CompletableFuture<PaymentCancelResponseDto> cancelPaymentAsync(PaymentCancelRequest request) {
+		TossPaymentCancelRequest tossRequest = TossPaymentCancelRequest.toTossCancelRequest(request);
+		return tossPaymentService.callTossCancelApiAsync(tossRequest)
+			.thenApply(PaymentCancelResponseDto::from);
+	}
 }
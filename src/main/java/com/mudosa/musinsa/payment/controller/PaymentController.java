@@ -12,11 +12,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Tag(name = "Payment", description = "결제 API")
@@ -27,19 +29,28 @@ public class PaymentController {
 
 	private final PaymentService paymentService;
 
+	// true: PG 승인을 논블로킹 클라이언트로 호출하고 요청 스레드를 바로 반환
+	@Value("${payment.pg.async.enabled:false}")
+	private boolean asyncConfirmEnabled;
+
 	@Operation(
 			summary = "결제 승인",
 			description = "결제 승인 요청")
 	@PostMapping("/confirm")
-	public ResponseEntity<ApiResponse<PaymentConfirmResponse>> confirmPayment(
+	public CompletableFuture<ResponseEntity<ApiResponse<PaymentConfirmResponse>>> confirmPayment(
 			@AuthenticationPrincipal CustomUserDetails userDetails,
 			@Valid @RequestBody PaymentConfirmRequest request) {
 
 		Long userId = userDetails.getUserId();
 
+		if (asyncConfirmEnabled) {
+			return paymentService.confirmPaymentAndCompleteOrderAsync(request, userId)
+					.thenApply(response -> ResponseEntity.ok(ApiResponse.success(response)));
+		}
+
 		PaymentConfirmResponse response = paymentService.confirmPaymentAndCompleteOrder(request, userId);
 
-		return ResponseEntity.ok(ApiResponse.success(response));
+		return CompletableFuture.completedFuture(ResponseEntity.ok(ApiResponse.success(response)));
 	}
 
 	@Operation(
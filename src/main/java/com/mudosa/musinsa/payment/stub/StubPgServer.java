@@ -0,0 +1,123 @@
+package com.mudosa.musinsa.payment.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 부하 테스트용 로컬 PG 스텁 서버 (토스페이먼츠 승인/취소 API 모사).
+ *
+ * - POST /v1/payments/confirm, POST /v1/payments/{paymentKey}/cancel 에 응답한다.
+ * - 응답 지연(latency-ms + 0~jitter-ms)과 5xx 비율(failure-rate)을 설정해 PG 지연/장애 상황을 재현한다.
+ * - 지연은 delayElement로 처리하므로 스텁 자체가 스레드를 점유하지 않는다.
+ * - pgstub 프로필로 실행하면 tosspayments URL이 이 서버를 가리킨다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payment.pg.stub.enabled", havingValue = "true")
+public class StubPgServer {
+
+    private static final DateTimeFormatter APPROVED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+    private static final ZoneOffset KST = ZoneOffset.ofHours(9);
+
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double failureRate;
+
+    private DisposableServer server;
+
+    public StubPgServer(ObjectMapper objectMapper,
+        @Value("${payment.pg.stub.port:18090}") int port,
+        @Value("${payment.pg.stub.latency-ms:300}") long latencyMs,
+        @Value("${payment.pg.stub.jitter-ms:200}") long jitterMs,
+        @Value("${payment.pg.stub.failure-rate:0.0}") double failureRate) {
+        this.objectMapper = objectMapper;
+        this.port = port;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.failureRate = failureRate;
+    }
+
+    @PostConstruct
+    void start() {
+        server = HttpServer.create()
+            .port(port)
+            .route(routes -> routes
+                .post("/v1/payments/confirm", (request, response) -> handle(request, response, this::confirmBody))
+                .post("/v1/payments/{paymentKey}/cancel", (request, response) -> handle(request, response,
+                    json -> cancelBody(request.param("paymentKey")))))
+            .bindNow();
+        log.info("PG 스텁 서버 시작 - port: {}, latency: {}ms(+{}ms), failureRate: {}", port, latencyMs, jitterMs, failureRate);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response,
+        Function<JsonNode, Map<String, Object>> bodyFactory) {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        boolean fail = failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+
+        return request.receive().aggregate().asString().defaultIfEmpty("{}")
+            .delayElement(Duration.ofMillis(delay))
+            .flatMap(raw -> {
+                String body;
+                try {
+                    body = fail
+                        ? "{\"code\":\"PROVIDER_ERROR\",\"message\":\"stub failure\"}"
+                        : objectMapper.writeValueAsString(bodyFactory.apply(objectMapper.readTree(raw)));
+                } catch (Exception e) {
+                    return response.status(400).send().then();
+                }
+                return response.status(fail ? 500 : 200)
+                    .header("Content-Type", "application/json")
+                    .sendString(Mono.just(body))
+                    .then();
+            });
+    }
+
+    private Map<String, Object> confirmBody(JsonNode request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("paymentKey", request.path("paymentKey").asText());
+        body.put("orderId", request.path("orderId").asText());
+        body.put("status", "DONE");
+        body.put("lastTransactionKey", "stub-" + System.nanoTime());
+        body.put("method", "카드");
+        body.put("totalAmount", request.path("amount").asLong());
+        body.put("approvedAt", OffsetDateTime.now(KST).format(APPROVED_AT_FORMAT));
+        return body;
+    }
+
+    private Map<String, Object> cancelBody(String paymentKey) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("paymentKey", paymentKey);
+        body.put("status", "CANCELED");
+        body.put("approvedAt", OffsetDateTime.now(KST).format(APPROVED_AT_FORMAT));
+        return body;
+    }
+}
@@ -25,6 +25,7 @@ import com.mudosa.musinsa.product.domain.repository.ImageRepository;
 import com.mudosa.musinsa.product.domain.repository.ProductRepository;
 import com.mudosa.musinsa.product.domain.repository.ProductOptionRepository;
 import com.mudosa.musinsa.product.domain.vo.StockQuantity;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxPublisher;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -55,6 +56,7 @@ public class ProductCommandService {
 	private final BrandMemberRepository brandMemberRepository;
 	private final ProductOptionRepository productOptionRepository;
 	private final ImageRepository imageRepository;
+	private final ProductIndexOutboxPublisher productIndexOutboxPublisher;
 
 	/**
 	 * 커맨드 객체를 받아 상품과 하위 옵션을 생성한다.
@@ -140,6 +142,7 @@ public class ProductCommandService {
 
 		// 12. 상품 저장 및 ID 반환
 		Product saved = productRepository.save(product);
+		productIndexOutboxPublisher.productChanged(saved.getProductId());
 		return saved.getProductId();
 	}
 
@@ -196,7 +199,8 @@ public class ProductCommandService {
 			throw new BusinessException(ErrorCode.PRODUCT_NO_CHANGES_DETECTED);
 		}
 
-		// 8. 결과 상세 정보 반환
+		// 8. 검색 색인 갱신 요청 후 결과 상세 정보 반환
+		productIndexOutboxPublisher.productChanged(product.getProductId());
 		return ProductCommandMapper.toProductDetail(product);
 	}
 
@@ -237,10 +241,19 @@ public class ProductCommandService {
 		);
 		
 		// 6. 상품에 옵션 추가 및 대표 가격 갱신
+		BigDecimal previousDefaultPrice = product.getDefaultPrice();
 		product.addProductOption(productOption);
 		if (request.getProductPrice() != null) {
 			product.applyLowerDefaultPrice(request.getProductPrice());
 		}
+
+		// 7. 대표 가격이 바뀌면 모든 옵션 도큐먼트를, 아니면 추가된 옵션 도큐먼트만 색인 요청
+		if (!Objects.equals(previousDefaultPrice, product.getDefaultPrice())) {
+			productIndexOutboxPublisher.productChanged(product.getProductId());
+		} else {
+			productOptionRepository.save(productOption);
+			productIndexOutboxPublisher.optionChanged(productOption.getProductOptionId());
+		}
 		return ProductCommandMapper.toOptionDetail(productOption);
 	}
 	
@@ -12,14 +12,21 @@ import com.mudosa.musinsa.product.domain.model.ProductOption;
 import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
 import com.mudosa.musinsa.product.domain.repository.ProductOptionRepository;
 import com.mudosa.musinsa.product.domain.repository.ProductRepository;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxPublisher;
+import com.mudosa.musinsa.product.infrastructure.stock.InventoryGroupCommitter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +42,12 @@ public class ProductInventoryService {
     private final ProductOptionRepository productOptionRepository;
     private final InventoryRepository inventoryRepository;
     private final BrandMemberRepository brandMemberRepository;
+    private final InventoryGroupCommitter inventoryGroupCommitter;
+    private final ProductIndexOutboxPublisher productIndexOutboxPublisher;
+    private final StockReservationService stockReservationService;
+
+    @Value("${inventory.group-commit.await-timeout-ms:3000}")
+    private long groupCommitAwaitTimeoutMs;
 
     /**
      * 브랜드 관리자가 특정 상품의 모든 옵션 재고 현황을 조회한다.
@@ -65,7 +78,11 @@ public class ProductInventoryService {
         // 2. 상품 옵션 검증 및 로드
         ProductOption productOption = loadProductOptionForProduct(product, productId, request.getProductOptionId());
 
-        // 3. 재고 증가 처리
+        // 3. 재고 증가 처리 (그룹 커밋 모드에서는 배치 커밋 결과를 기다린다)
+        if (inventoryGroupCommitter.isEnabled()) {
+            Integer stockQuantity = adjustStockGrouped(productOption.getProductOptionId(), request.getQuantity(), true);
+            return ProductCommandMapper.toOptionStockResponse(productOption, stockQuantity);
+        }
         Inventory updatedInventory = adjustStock(productOption.getProductOptionId(), request.getQuantity(), true);
 
         // 4. 결과 매핑 후 반환
@@ -86,7 +103,11 @@ public class ProductInventoryService {
         // 2. 상품 옵션 검증 및 로드
         ProductOption productOption = loadProductOptionForProduct(product, productId, request.getProductOptionId());
 
-        // 3. 재고 감소 처리
+        // 3. 재고 감소 처리 (그룹 커밋 모드에서는 배치 커밋 결과를 기다린다)
+        if (inventoryGroupCommitter.isEnabled()) {
+            Integer stockQuantity = adjustStockGrouped(productOption.getProductOptionId(), request.getQuantity(), false);
+            return ProductCommandMapper.toOptionStockResponse(productOption, stockQuantity);
+        }
         Inventory updatedInventory = adjustStock(productOption.getProductOptionId(), request.getQuantity(), false);
 
         // 4. 결과 매핑 후 반환
@@ -100,7 +121,7 @@ public class ProductInventoryService {
     public Inventory adjustStock(Long productOptionId, Integer quantity, boolean isIncrease) {
         // 로그 출력
         String operation = isIncrease ? "추가" : "차감";
-        log.info("재고 {} 시작 - productOptionId: {}, quantity: {}", operation, productOptionId, quantity);
+        log.debug("재고 {} 시작 - productOptionId: {}, quantity: {}", operation, productOptionId, quantity);
 
         // 유효성 검사
         if (quantity == null || quantity <= 0) {
@@ -129,15 +150,47 @@ public class ProductInventoryService {
 
         // 변경된 재고 저장
         inventoryRepository.save(inventory);
+        productIndexOutboxPublisher.stockChanged(List.of(productOptionId));
+        // Redis 예약을 쓰는 경우 커밋 후 가용 재고에도 같은 양을 더한다.
+        stockReservationService.adjustAfterCommit(productOptionId, isIncrease ? quantity : -quantity);
 
         // 완료 로그 출력
-        log.info("재고 {} 완료 - productOptionId: {}, {} 수량: {}, 현재 재고: {}", 
+        log.debug("재고 {} 완료 - productOptionId: {}, {} 수량: {}, 현재 재고: {}", 
             operation, productOptionId, operation, quantity, inventory.getStockQuantity());
         
         // 결과 반환
         return inventory;
     }
 
+    /**
+     * 재고 조정을 그룹 커밋 큐에 등록하고 배치가 커밋될 때까지 기다린다.
+     * 같은 옵션에 대한 동시 요청은 하나의 UPDATE로 합쳐진다.
+     */
+    public Integer adjustStockGrouped(Long productOptionId, Integer quantity, boolean isIncrease) {
+        // 유효성 검사
+        if (quantity == null || quantity <= 0) {
+            throw new BusinessException(ErrorCode.INVALID_INVENTORY_UPDATE_VALUE);
+        }
+
+        int delta = isIncrease ? quantity : -quantity;
+        CompletableFuture<Integer> future = inventoryGroupCommitter.submit(productOptionId, delta);
+        // 응답 대기가 시간 초과되더라도 커밋되면 Redis 가용 재고에 반영한다.
+        future.thenRun(() -> stockReservationService.adjustCommitted(productOptionId, delta));
+        try {
+            return future.get(groupCommitAwaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof BusinessException businessException) {
+                throw businessException;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR, ex.getCause().getMessage());
+        } catch (TimeoutException ex) {
+            throw new BusinessException(ErrorCode.INVENTORY_UPDATE_TIMEOUT);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INVENTORY_UPDATE_TIMEOUT);
+        }
+    }
+
     // 재고를 락을 걸고 로드한다.
     private Inventory loadInventoryWithLock(Long productOptionId) {
         return inventoryRepository.findByProductOptionIdWithLock(productOptionId)
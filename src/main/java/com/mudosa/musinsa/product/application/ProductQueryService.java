@@ -16,6 +16,7 @@ import com.mudosa.musinsa.product.domain.repository.ProductRepository;
 import com.mudosa.musinsa.product.domain.repository.ProductRepositoryCustom;
 import com.mudosa.musinsa.product.infrastructure.cache.CategoryCache;
 import com.mudosa.musinsa.product.infrastructure.cache.OptionValueCache;
+import com.mudosa.musinsa.product.infrastructure.cache.SearchResultCache;
 import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexSearchQueryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,7 +43,7 @@ public class ProductQueryService {
 	private final CategoryCache categoryCache;
 	private final ProductRepository productRepository;
 	private final OptionValueCache optionValueCache;
-	private final ProductIndexSearchQueryRepository productIndexSearchQueryRepository;
+	private final SearchResultCache searchResultCache;
 
 	/**
 	 * 검색 조건에 맞는 상품을 조회해 페이지 형태로 반환한다.
@@ -53,11 +54,9 @@ public class ProductQueryService {
 
 		// 2. 키워드 유무에 따라 적절한 검색 메서드 호출 (요약 DTO)
 		if (params.keyword != null && !params.keyword.isBlank()) {
-			ProductIndexSearchQueryRepository.SearchResult esResult = productIndexSearchQueryRepository
-					.searchByKeywordWithFilters(
-							toCondition(params), tokenize(params.keyword), params.page);
-			String nextCursor = esResult.hasNext() ? String.valueOf(params.page + 1) : null;
-			return ProductQueryMapper.toSearchResponse(esResult.products(), nextCursor, esResult.hasNext(),
+			ProductIndexSearchQueryRepository.SearchResult esResult = searchResultCache
+					.search(toCondition(params), tokenize(params.keyword));
+			return ProductQueryMapper.toSearchResponse(esResult.products(), esResult.nextCursor(), esResult.hasNext(),
 					esResult.totalCount());
 		}
 
@@ -176,8 +175,7 @@ public class ProductQueryService {
 				safeCondition.getPriceSort(),
 				cursor,
 				safeCondition.getCursor(),
-				limit,
-				parsePageIndex(safeCondition.getCursor()));
+				limit);
 	}
 
 	// 검색 파라미터에 따라 적절한 상품 조회 메서드를 호출한다.
@@ -241,12 +239,11 @@ public class ProductQueryService {
 		private final ProductRepositoryCustom.Cursor cursor;
 		private final String rawCursor;
 		private final int limit;
-		private final int page;
 
 		private SearchParams(String keyword, List<String> categoryPaths,
 				com.mudosa.musinsa.product.domain.model.ProductGenderType gender, Long brandId,
 				ProductSearchCondition.PriceSort priceSort, ProductRepositoryCustom.Cursor cursor,
-				String rawCursor, int limit, int page) {
+				String rawCursor, int limit) {
 			this.keyword = keyword;
 			this.categoryPaths = categoryPaths;
 			this.gender = gender;
@@ -255,7 +252,6 @@ public class ProductQueryService {
 			this.cursor = cursor;
 			this.rawCursor = rawCursor;
 			this.limit = limit;
-			this.page = page;
 		}
 	}
 
@@ -268,16 +264,4 @@ public class ProductQueryService {
 				.map(String::trim)
 				.collect(Collectors.toList());
 	}
-
-	private int parsePageIndex(String cursor) {
-		if (cursor == null || cursor.isBlank()) {
-			return 0;
-		}
-		try {
-			int page = Integer.parseInt(cursor);
-			return page >= 0 ? page : 0;
-		} catch (NumberFormatException ex) {
-			return 0;
-		}
-	}
 }
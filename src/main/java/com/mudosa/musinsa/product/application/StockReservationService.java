@@ -0,0 +1,147 @@
+package com.mudosa.musinsa.product.application;
+
+import com.mudosa.musinsa.product.application.dto.OptionStockSnapshot;
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import com.mudosa.musinsa.product.infrastructure.stock.StockReservationStore;
+import com.mudosa.musinsa.product.infrastructure.stock.StockReservationStore.ReserveResult;
+import com.mudosa.musinsa.product.infrastructure.stock.StockReservationStore.Status;
+import com.mudosa.musinsa.product.infrastructure.stock.StockWriteBehindBuffer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 재고를 Redis 예약으로 처리하는 서비스.
+ *
+ * - 예약은 Lua 스크립트로 주문의 모든 옵션을 한 번에 차감한다. (all-or-nothing)
+ * - 변화량은 주문 트랜잭션 안에서 아웃박스에 적재되고, 쓰기 지연 버퍼가 DB 재고에 일괄 반영한다.
+ * - 트랜잭션이 롤백되면 예약한 수량을 즉시 되돌린다.
+ * - 관리자 재고 조정도 커밋 후 Redis 가용 재고에 더해 예약 기준과 DB가 어긋나지 않게 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+	private final StockReservationStore stockReservationStore;
+	private final StockWriteBehindBuffer stockWriteBehindBuffer;
+	private final InventoryRepository inventoryRepository;
+
+	@Value("${stock.reservation.enabled:false}")
+	private boolean enabled;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 주문 옵션 수량을 예약한다. 재고가 부족하면 옵션별 가용 수량을 담아 반환하고 아무것도 차감하지 않는다.
+	 *
+	 * @return 재고가 부족한 옵션의 가용 수량 (비어 있으면 예약 성공)
+	 */
+	public Map<Long, Integer> reserve(Map<Long, Integer> quantities) {
+		ReserveResult result = stockReservationStore.reserve(quantities);
+
+		// 아직 적재되지 않은 옵션이 있으면 DB 기준으로 적재한 뒤 한 번 더 시도한다.
+		if (result.status() == Status.NOT_LOADED) {
+			loadMissing(result.available());
+			result = stockReservationStore.reserve(quantities);
+		}
+
+		if (result.status() != Status.RESERVED) {
+			Map<Long, Integer> insufficient = new LinkedHashMap<>();
+			result.available().forEach((productOptionId, available) -> {
+				if (available < quantities.get(productOptionId)) {
+					insufficient.put(productOptionId, (int) Math.max(available, 0));
+				}
+			});
+			return insufficient;
+		}
+
+		stockWriteBehindBuffer.add(negate(quantities));
+		runAfterCompletion(() -> {}, () -> stockReservationStore.release(quantities));
+		return Map.of();
+	}
+
+	/**
+	 * 예약했던 주문 수량을 되돌린다. Redis에는 트랜잭션 커밋 이후에만 반영된다.
+	 */
+	public void release(Map<Long, Integer> quantities) {
+		stockWriteBehindBuffer.add(quantities);
+		runAfterCompletion(() -> stockReservationStore.release(quantities), () -> {});
+	}
+
+	/**
+	 * 관리자 재고 조정을 현재 트랜잭션 커밋 후 Redis 가용 재고에 반영한다.
+	 */
+	public void adjustAfterCommit(Long productOptionId, int delta) {
+		if (enabled && delta != 0) {
+			runAfterCompletion(() -> stockReservationStore.adjust(Map.of(productOptionId, (long) delta)), () -> {});
+		}
+	}
+
+	/**
+	 * 이미 커밋된 관리자 재고 조정(그룹 커밋)을 Redis 가용 재고에 바로 반영한다.
+	 */
+	public void adjustCommitted(Long productOptionId, int delta) {
+		if (!enabled || delta == 0) {
+			return;
+		}
+		try {
+			stockReservationStore.adjust(Map.of(productOptionId, (long) delta));
+		} catch (Exception e) {
+			// 반영하지 못한 조정은 대사 작업으로 보정된다.
+			log.error("재고 조정 Redis 반영 실패 - productOptionId: {}, delta: {}", productOptionId, delta, e);
+		}
+	}
+
+	private void loadMissing(Map<Long, Long> available) {
+		List<Long> missingIds = available.entrySet().stream()
+			.filter(entry -> entry.getValue() < 0)
+			.map(Map.Entry::getKey)
+			.toList();
+
+		Map<Long, Long> initial = new HashMap<>();
+		for (OptionStockSnapshot snapshot : inventoryRepository.findAvailableSnapshots(missingIds)) {
+			initial.put(snapshot.productOptionId(), (long) snapshot.stockQuantity());
+		}
+		stockReservationStore.loadIfAbsent(initial);
+	}
+
+	// 트랜잭션이 있으면 결과에 따라 실행하고, 없으면 커밋된 것으로 보고 바로 실행한다.
+	private void runAfterCompletion(Runnable onCommit, Runnable onRollback) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			onCommit.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				try {
+					if (status == STATUS_COMMITTED) {
+						onCommit.run();
+					} else {
+						onRollback.run();
+					}
+				} catch (Exception e) {
+					// 커밋 이후 실패는 대사 작업으로 보정된다.
+					log.error("재고 예약 후처리 실패 - status: {}", status, e);
+				}
+			}
+		});
+	}
+
+	private Map<Long, Integer> negate(Map<Long, Integer> quantities) {
+		Map<Long, Integer> negated = new HashMap<>();
+		quantities.forEach((productOptionId, quantity) -> negated.put(productOptionId, -quantity));
+		return negated;
+	}
+}
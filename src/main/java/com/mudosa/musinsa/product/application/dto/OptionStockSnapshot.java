@@ -0,0 +1,6 @@
+package com.mudosa.musinsa.product.application.dto;
+
+/**
+ * 상품 옵션 ID와 DB 기준 재고 수량 스냅샷.
+ */
+public record OptionStockSnapshot(Long productOptionId, Integer stockQuantity) {}
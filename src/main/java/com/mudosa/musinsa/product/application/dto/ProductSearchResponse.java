@@ -19,7 +19,7 @@ public class ProductSearchResponse {
     private List<ProductSummary> products;
     private String nextCursor;
     private boolean hasNext;
-    private Long totalCount; // 무한스크롤에서는 기본 null (선택적)
+    private Long totalCount; // 첫 페이지에만 채운다 (상품 수, cardinality 집계)
 
     // 조회된 상품 요약 목록을 NULL 안전하게 반환한다.
     public List<ProductSummary> getProducts() {
@@ -77,13 +77,18 @@ public final class ProductCommandMapper {
                                                                    Inventory inventory) {
         Inventory effectiveInventory = inventory != null ? inventory : productOption.getInventory();
         Integer stockQuantity = null;
-        boolean hasStock = false;
 
         if (effectiveInventory != null && effectiveInventory.getStockQuantity() != null) {
             stockQuantity = effectiveInventory.getStockQuantity().getValue();
-            hasStock = stockQuantity > 0;
         }
 
+        return toOptionStockResponse(productOption, stockQuantity);
+    }
+
+    public static ProductOptionStockResponse toOptionStockResponse(ProductOption productOption,
+                                                                   Integer stockQuantity) {
+        boolean hasStock = stockQuantity != null && stockQuantity > 0;
+
         java.math.BigDecimal productPrice = productOption.getProductPrice() != null
             ? productOption.getProductPrice().getAmount()
             : null;
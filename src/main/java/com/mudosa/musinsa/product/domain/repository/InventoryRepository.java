@@ -1,14 +1,18 @@
 package com.mudosa.musinsa.product.domain.repository;
 
+import com.mudosa.musinsa.product.application.dto.OptionStockSnapshot;
 import com.mudosa.musinsa.product.domain.model.Inventory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +24,28 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long>{
 
 	@Query("select i from ProductOption po join po.inventory i where po.productOptionId = :productOptionId")
 	Optional<Inventory> findByProductOptionId(@Param("productOptionId") Long productOptionId);
+
+	@Query("select new com.mudosa.musinsa.product.application.dto.OptionStockSnapshot(po.productOptionId, i.stockQuantity.value) " +
+		"from ProductOption po join po.inventory i where po.productOptionId in :productOptionIds")
+	List<OptionStockSnapshot> findStockSnapshots(@Param("productOptionIds") List<Long> productOptionIds);
+
+	// 가용 재고 = DB 재고 + 아직 반영되지 않은 변화량(stock_delta_outbox). 한 문장으로 읽어 반영 전후 어느 쪽도 중복 계산하지 않는다.
+	// 옵션 ID 기준 키셋으로 페이지 단위 조회한다. (Redis 재고 대사용)
+	@Query("select new com.mudosa.musinsa.product.application.dto.OptionStockSnapshot(po.productOptionId, " +
+		"cast(i.stockQuantity.value + coalesce((select sum(d.delta) from StockDelta d where d.productOptionId = po.productOptionId), 0) as Integer)) " +
+		"from ProductOption po join po.inventory i " +
+		"where po.productOptionId > :lastProductOptionId order by po.productOptionId")
+	List<OptionStockSnapshot> findAvailableSnapshotsAfter(@Param("lastProductOptionId") Long lastProductOptionId, Pageable pageable);
+
+	@Query("select new com.mudosa.musinsa.product.application.dto.OptionStockSnapshot(po.productOptionId, " +
+		"cast(i.stockQuantity.value + coalesce((select sum(d.delta) from StockDelta d where d.productOptionId = po.productOptionId), 0) as Integer)) " +
+		"from ProductOption po join po.inventory i where po.productOptionId in :productOptionIds")
+	List<OptionStockSnapshot> findAvailableSnapshots(@Param("productOptionIds") List<Long> productOptionIds);
+
+	// 엔티티 로드 없이 재고를 증감한다. 결과가 음수가 되는 경우 갱신하지 않는다.
+	@Modifying
+	@Query("update Inventory i set i.stockQuantity.value = i.stockQuantity.value + :delta " +
+		"where i.inventoryId = (select po.inventory.inventoryId from ProductOption po where po.productOptionId = :productOptionId) " +
+		"and i.stockQuantity.value + :delta >= 0")
+	int applyStockDelta(@Param("productOptionId") Long productOptionId, @Param("delta") int delta);
 }
@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -27,6 +28,7 @@ public class CacheInitializer {
 	private final OptionValueRepository optionValueRepository;
 	private final CategoryCache categoryCache;
 	private final OptionValueCache optionValueCache;
+	private final OptionValueDictionary optionValueDictionary;
 
 	@EventListener(ApplicationReadyEvent.class)
 	public void preloadCaches() {
@@ -36,10 +38,21 @@ public class CacheInitializer {
 
 	private void preloadOptionValues() {
 		List<OptionValue> allOptionValues = optionValueRepository.findAll();
-		optionValueCache.saveAll(allOptionValues);
+		optionValueCache.preloadAll(allOptionValues);
+		optionValueDictionary.rebuild(allOptionValues);
 		log.info("Preloaded option values into Redis cache. count={}", allOptionValues.size());
 	}
 
+	// 다른 노드나 관리 작업으로 바뀐 옵션 값을 메모리 사전에 주기적으로 반영한다.
+	@Scheduled(initialDelayString = "${cache.option-value-dictionary.refresh-interval-ms:600000}",
+		fixedDelayString = "${cache.option-value-dictionary.refresh-interval-ms:600000}")
+	public void refreshOptionValueDictionary() {
+		List<OptionValue> allOptionValues = optionValueRepository.findAll();
+		optionValueDictionary.rebuild(allOptionValues);
+		log.debug("Refreshed option value dictionary. count={}, version={}",
+			optionValueDictionary.size(), optionValueDictionary.getVersion());
+	}
+
 	private void preloadCategories() {
 		CategoryTreeResponse tree = productQueryService.getCategoryTree();
 		categoryCache.saveTree(tree);
@@ -1,32 +1,50 @@
 package com.mudosa.musinsa.product.infrastructure.cache;
 
 import com.mudosa.musinsa.product.application.dto.CategoryTreeResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
  * 카테고리 정보를 Redis에 캐싱한다.
+ * 조회는 L1(NearCache)을 먼저 확인하고, 저장 시 모든 노드의 L1을 무효화한다.
  */
 @Component
-@RequiredArgsConstructor
 public class CategoryCache {
 
+	static final String TREE_CACHE_NAME = "category.tree";
+	static final String NODE_CACHE_NAME = "category.node";
 	private static final String TREE_KEY = "category:tree";
 	private static final String CATEGORY_KEY_PREFIX = "category:id:";
 
 	private final RedisTemplate<String, Object> redisTemplate;
+	private final NearCacheManager nearCacheManager;
+	private final NearCache<String, CategoryTreeResponse> treeNearCache;
+	private final NearCache<Long, CategoryTreeResponse.CategoryNode> nodeNearCache;
+
+	public CategoryCache(RedisTemplate<String, Object> redisTemplate, NearCacheManager nearCacheManager) {
+		this.redisTemplate = redisTemplate;
+		this.nearCacheManager = nearCacheManager;
+		this.treeNearCache = nearCacheManager.getCache(TREE_CACHE_NAME);
+		this.nodeNearCache = nearCacheManager.getCache(NODE_CACHE_NAME);
+	}
 
 	public void saveTree(CategoryTreeResponse tree) {
 		redisTemplate.opsForValue().set(TREE_KEY, tree);
+		nearCacheManager.invalidate(TREE_CACHE_NAME);
 	}
 
 	public CategoryTreeResponse getTree() {
-		Object cached = redisTemplate.opsForValue().get(TREE_KEY);
+		return treeNearCache.get(TREE_KEY, this::loadTreeFromRedis);
+	}
+
+	private CategoryTreeResponse loadTreeFromRedis(String key) {
+		Object cached = redisTemplate.opsForValue().get(key);
 		return cached instanceof CategoryTreeResponse ? (CategoryTreeResponse) cached : null;
 	}
 
@@ -39,6 +57,7 @@ public class CategoryCache {
 			.collect(Collectors.toMap(entry -> buildKey(entry.getKey()), Map.Entry::getValue));
 		if (!bulk.isEmpty()) {
 			redisTemplate.opsForValue().multiSet(bulk);
+			nearCacheManager.invalidate(NODE_CACHE_NAME);
 		}
 	}
 
@@ -46,14 +65,23 @@ public class CategoryCache {
 		if (categoryId == null) {
 			return null;
 		}
-		Object cached = redisTemplate.opsForValue().get(buildKey(categoryId));
-		return cached instanceof CategoryTreeResponse.CategoryNode ? (CategoryTreeResponse.CategoryNode) cached : null;
+		return nodeNearCache.get(categoryId, this::loadFromRedis);
 	}
 
 	public Map<Long, CategoryTreeResponse.CategoryNode> getAll(Collection<Long> ids) {
 		if (ids == null || ids.isEmpty()) {
 			return Map.of();
 		}
+		List<Long> nonNullIds = ids.stream().filter(Objects::nonNull).toList();
+		return nodeNearCache.getAll(nonNullIds, this::loadAllFromRedis);
+	}
+
+	private CategoryTreeResponse.CategoryNode loadFromRedis(Long categoryId) {
+		Object cached = redisTemplate.opsForValue().get(buildKey(categoryId));
+		return cached instanceof CategoryTreeResponse.CategoryNode ? (CategoryTreeResponse.CategoryNode) cached : null;
+	}
+
+	private Map<Long, CategoryTreeResponse.CategoryNode> loadAllFromRedis(Collection<Long> ids) {
 		var keyList = ids.stream()
 			.filter(id -> id != null)
 			.map(id -> Map.entry(id, buildKey(id)))
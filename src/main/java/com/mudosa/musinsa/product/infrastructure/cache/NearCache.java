@@ -0,0 +1,137 @@
+package com.mudosa.musinsa.product.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Redis(L2) 앞단의 프로세스 내 캐시(L1).
+ *
+ * - L1에 없는 키만 L2 로더로 조회하고, L2에서 찾은 값만 L1에 채운다. (없는 값은 캐싱하지 않음)
+ * - L1 적중률은 Caffeine 통계로, L2 적중률은 로더 결과로 집계한다.
+ * - L1이 비활성화되면 항상 L2를 조회한다.
+ * - L2 조회는 Caffeine compute(내부 synchronized) 밖에서 실행한다. 가상 스레드가 Redis 응답을 기다리는 동안
+ *   캐리어 스레드에 고정되지 않도록 하기 위함이며, 같은 키의 동시 미스는 진행 중인 조회 하나를 함께 기다린다.
+ * - 조회 도중 무효화되면 그 결과는 L1에 넣지 않는다. 무효화마다 세대(generation)를 올리고, 조회를 시작한 세대와
+ *   넣는 시점의 세대가 다르면 버린다. (넣은 직후 무효화와 겹치면 넣은 값을 되돌린다.)
+ */
+public class NearCache<K, V> {
+
+	private final String name;
+	private final Cache<K, V> local;
+	private final Counter l2Hits;
+	private final Counter l2Misses;
+	// 무효화할 때마다 증가한다.
+	private final AtomicLong generation = new AtomicLong();
+	// 단건 미스 조회 병합용: 키별로 진행 중인 L2 조회
+	private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	NearCache(String name, Cache<K, V> local, Counter l2Hits, Counter l2Misses) {
+		this.name = name;
+		this.local = local;
+		this.l2Hits = l2Hits;
+		this.l2Misses = l2Misses;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public V get(K key, Function<K, V> l2Loader) {
+		if (local == null) {
+			return loadFromL2(key, l2Loader);
+		}
+		V cached = local.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		CompletableFuture<V> loading = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, loading);
+		if (existing != null) {
+			try {
+				return existing.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+		try {
+			long loadingGeneration = generation.get();
+			V loaded = loadFromL2(key, l2Loader);
+			if (loaded != null) {
+				putIfCurrent(key, loaded, loadingGeneration);
+			}
+			loading.complete(loaded);
+			return loaded;
+		} catch (RuntimeException e) {
+			loading.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, loading);
+		}
+	}
+
+	public Map<K, V> getAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> l2Loader) {
+		if (local == null) {
+			return loadAllFromL2(keys, l2Loader);
+		}
+		Map<K, V> result = new HashMap<>(local.getAllPresent(keys));
+		List<K> missing = keys.stream()
+			.filter(key -> !result.containsKey(key))
+			.distinct()
+			.toList();
+		if (missing.isEmpty()) {
+			return result;
+		}
+		long loadingGeneration = generation.get();
+		Map<K, V> loaded = loadAllFromL2(missing, l2Loader);
+		loaded.forEach((key, value) -> {
+			if (value != null) {
+				putIfCurrent(key, value, loadingGeneration);
+			}
+		});
+		result.putAll(loaded);
+		return result;
+	}
+
+	public void invalidateAll() {
+		if (local != null) {
+			generation.incrementAndGet();
+			local.invalidateAll();
+		}
+	}
+
+	private void putIfCurrent(K key, V value, long loadingGeneration) {
+		if (generation.get() != loadingGeneration) {
+			return;
+		}
+		local.put(key, value);
+		if (generation.get() != loadingGeneration) {
+			local.asMap().remove(key, value);
+		}
+	}
+
+	private V loadFromL2(K key, Function<K, V> l2Loader) {
+		V value = l2Loader.apply(key);
+		(value != null ? l2Hits : l2Misses).increment();
+		return value;
+	}
+
+	private Map<K, V> loadAllFromL2(Collection<? extends K> keys, Function<Collection<K>, Map<K, V>> l2Loader) {
+		@SuppressWarnings("unchecked")
+		Map<K, V> loaded = l2Loader.apply((Collection<K>) keys);
+		int hits = loaded != null ? loaded.size() : 0;
+		l2Hits.increment(hits);
+		l2Misses.increment(Math.max(0, keys.size() - hits));
+		return loaded != null ? loaded : Map.of();
+	}
+}
@@ -0,0 +1,131 @@
+package com.mudosa.musinsa.product.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * L1 캐시(NearCache)를 생성하고 Redis pub/sub으로 클러스터 전체에 무효화를 전파한다.
+ *
+ * - 무효화 메시지는 캐시 이름 단위이며, 발행한 노드를 포함한 모든 노드가 해당 L1을 비운다.
+ * - 메트릭: cache.gets{cache, tier=l1|l2, result=hit|miss}
+ */
+@Slf4j
+@Component
+public class NearCacheManager implements MessageListener {
+
+	public static final String INVALIDATION_CHANNEL = "cache:near:invalidate";
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final long maximumSize;
+	private final Duration expireAfterWrite;
+
+	private final Map<String, NearCache<?, ?>> caches = new ConcurrentHashMap<>();
+	// NearCache가 아닌 로컬 캐시의 무효화 콜백 (예: 검색 결과 캐시)
+	private final Map<String, Runnable> localInvalidators = new ConcurrentHashMap<>();
+
+	public NearCacheManager(StringRedisTemplate stringRedisTemplate,
+		RedisMessageListenerContainer listenerContainer,
+		MeterRegistry meterRegistry,
+		@Value("${cache.near.enabled:true}") boolean enabled,
+		@Value("${cache.near.maximum-size:10000}") long maximumSize,
+		@Value("${cache.near.expire-after-write-ms:600000}") long expireAfterWriteMs) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.listenerContainer = listenerContainer;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.maximumSize = maximumSize;
+		this.expireAfterWrite = Duration.ofMillis(expireAfterWriteMs);
+	}
+
+	@PostConstruct
+	void subscribe() {
+		if (enabled) {
+			listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public <K, V> NearCache<K, V> getCache(String name) {
+		return (NearCache<K, V>) caches.computeIfAbsent(name, this::create);
+	}
+
+	/**
+	 * 직접 만든 로컬 캐시를 같은 무효화 채널에 등록한다.
+	 */
+	public void registerLocalInvalidator(String name, Runnable invalidator) {
+		localInvalidators.put(name, invalidator);
+	}
+
+	/**
+	 * 로컬 L1을 비우고 다른 노드에도 무효화를 전파한다.
+	 */
+	public void invalidate(String name) {
+		invalidateLocal(name);
+		try {
+			stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, name);
+		} catch (Exception e) {
+			// 전파에 실패해도 다른 노드의 L1은 expire-after-write 이후 갱신된다.
+			log.warn("L1 캐시 무효화 전파 실패 - cache: {}", name, e);
+		}
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String name = new String(message.getBody(), StandardCharsets.UTF_8);
+		invalidateLocal(name);
+		log.debug("L1 캐시 무효화 수신 - cache: {}", name);
+	}
+
+	private void invalidateLocal(String name) {
+		NearCache<?, ?> cache = caches.get(name);
+		if (cache != null) {
+			cache.invalidateAll();
+		}
+		Runnable invalidator = localInvalidators.get(name);
+		if (invalidator != null) {
+			invalidator.run();
+		}
+	}
+
+	private NearCache<?, ?> create(String name) {
+		Cache<Object, Object> local = null;
+		if (enabled) {
+			local = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+			CaffeineCacheMetrics.monitor(meterRegistry, local, name, "tier", "l1");
+		}
+		Counter l2Hits = l2Counter(name, "hit");
+		Counter l2Misses = l2Counter(name, "miss");
+		return new NearCache<>(name, local, l2Hits, l2Misses);
+	}
+
+	private Counter l2Counter(String name, String result) {
+		return Counter.builder("cache.gets")
+			.tags("cache", name, "tier", "l2", "result", result)
+			.description("L1 미스로 Redis(L2)를 조회한 결과")
+			.register(meterRegistry);
+	}
+}
@@ -1,26 +1,45 @@
 package com.mudosa.musinsa.product.infrastructure.cache;
 
 import com.mudosa.musinsa.product.domain.model.OptionValue;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * 옵션 값 ID에 대한 이름/값을 Redis에 캐싱한다.
+ * 조회는 메모리 사전(OptionValueDictionary) → L1(NearCache) → Redis 순으로 확인하고,
+ * 저장 시 모든 노드의 L1과 메모리 사전을 함께 무효화한다.
+ * 기동 시 일괄 적재(preloadAll)는 각 노드가 같은 DB 값을 적재하므로 무효화를 전파하지 않는다.
+ * (전파하면 다른 노드가 방금 다시 만든 사전까지 비워진다.)
  */
 @Component
-@RequiredArgsConstructor
 public class OptionValueCache {
 
+	static final String CACHE_NAME = "optionValue";
 	private static final String KEY_PREFIX = "optionValue:";
 
 	private final RedisTemplate<String, Object> redisTemplate;
+	private final NearCacheManager nearCacheManager;
+	private final NearCache<Long, Value> nearCache;
+	private final OptionValueDictionary dictionary;
 
-	public void saveAll(Collection<OptionValue> optionValues) {
+	public OptionValueCache(RedisTemplate<String, Object> redisTemplate, NearCacheManager nearCacheManager,
+		OptionValueDictionary dictionary) {
+		this.redisTemplate = redisTemplate;
+		this.nearCacheManager = nearCacheManager;
+		this.nearCache = nearCacheManager.getCache(CACHE_NAME);
+		this.dictionary = dictionary;
+		// 사전이 L1보다 먼저 조회되므로 L1과 같은 무효화 경로에서 비운다.
+		nearCacheManager.registerLocalInvalidator(CACHE_NAME, dictionary::clear);
+	}
+
+	public void preloadAll(Collection<OptionValue> optionValues) {
 		if (optionValues == null || optionValues.isEmpty()) {
 			return;
 		}
@@ -39,20 +58,50 @@ public class OptionValueCache {
 		}
 		Value value = new Value(optionValue.getOptionName(), optionValue.getOptionValue());
 		redisTemplate.opsForValue().set(buildKey(optionValue.getOptionValueId()), value);
+		nearCacheManager.invalidate(CACHE_NAME);
 	}
 
 	public Value get(Long optionValueId) {
 		if (optionValueId == null) {
 			return null;
 		}
-		Object cached = redisTemplate.opsForValue().get(buildKey(optionValueId));
-		return cached instanceof Value ? (Value) cached : null;
+		Value value = dictionary.get(optionValueId);
+		return value != null ? value : nearCache.get(optionValueId, this::loadFromRedis);
 	}
 
 	public Map<Long, Value> getAll(Collection<Long> ids) {
 		if (ids == null || ids.isEmpty()) {
 			return Map.of();
 		}
+		Map<Long, Value> result = new HashMap<>(ids.size() * 2);
+		List<Long> misses = null;
+		for (Long id : ids) {
+			if (id == null) {
+				continue;
+			}
+			Value value = dictionary.get(id);
+			if (value != null) {
+				result.put(id, value);
+			} else {
+				if (misses == null) {
+					misses = new ArrayList<>();
+				}
+				misses.add(id);
+			}
+		}
+		// 사전 적재 이후 추가된 옵션 값만 L1/Redis에서 조회한다.
+		if (misses != null) {
+			result.putAll(nearCache.getAll(misses, this::loadAllFromRedis));
+		}
+		return result;
+	}
+
+	private Value loadFromRedis(Long optionValueId) {
+		Object cached = redisTemplate.opsForValue().get(buildKey(optionValueId));
+		return cached instanceof Value ? (Value) cached : null;
+	}
+
+	private Map<Long, Value> loadAllFromRedis(Collection<Long> ids) {
 		var keyList = ids.stream()
 			.filter(id -> id != null)
 			.map(id -> Map.entry(id, buildKey(id)))
@@ -61,7 +110,7 @@ public class OptionValueCache {
 		var values = redisTemplate.opsForValue().multiGet(
 			keyList.stream().map(Map.Entry::getValue).toList());
 
-		Map<Long, Value> result = new java.util.HashMap<>();
+		Map<Long, Value> result = new HashMap<>();
 		for (int i = 0; i < keyList.size(); i++) {
 			Object raw = values != null && i < values.size() ? values.get(i) : null;
 			if (raw instanceof Value value) {
@@ -0,0 +1,120 @@
+package com.mudosa.musinsa.product.infrastructure.cache;
+
+import com.mudosa.musinsa.product.domain.model.OptionValue;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 옵션 값 ID → 이름/값을 조회하는 불변 메모리 사전.
+ *
+ * - CacheInitializer가 전체 옵션 값으로 스냅샷을 만들고 교체한다. 조회 중인 스레드는 이전 스냅샷을 그대로 사용한다.
+ * - 옵션 값 캐시가 무효화되면(저장 또는 다른 노드의 무효화 메시지) 사전을 비워 L1/Redis 조회로 넘기고,
+ *   다음 재적재 때 다시 채운다.
+ * - long 키를 박싱하지 않는 open addressing(선형 탐사) 테이블이며, 조회 시 객체를 새로 만들지 않는다.
+ * - 같은 이름/값 문자열과 Value 객체는 스냅샷 안에서 하나만 유지한다.
+ */
+@Component
+public class OptionValueDictionary {
+
+	private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+	/**
+	 * 전체 옵션 값으로 새 스냅샷을 만들어 교체한다.
+	 */
+	public void rebuild(Collection<OptionValue> optionValues) {
+		Snapshot previous = current.get();
+		current.set(Snapshot.build(optionValues, previous.version() + 1));
+	}
+
+	/**
+	 * 사전을 비운다. 다음 rebuild 전까지 조회는 모두 미스가 된다.
+	 */
+	public void clear() {
+		Snapshot previous = current.get();
+		current.set(Snapshot.empty(previous.version() + 1));
+	}
+
+	public OptionValueCache.Value get(long optionValueId) {
+		return current.get().get(optionValueId);
+	}
+
+	public long getVersion() {
+		return current.get().version();
+	}
+
+	public int size() {
+		return current.get().size();
+	}
+
+	/**
+	 * 불변 스냅샷. keys[slot]에 옵션 값 ID를, values[slot]에 Value를 둔다. (values[slot] == null이면 빈 슬롯)
+	 */
+	private record Snapshot(long[] keys, OptionValueCache.Value[] values, int mask, int size, long version) {
+
+		private static final Snapshot EMPTY = new Snapshot(new long[1], new OptionValueCache.Value[1], 0, 0, 0);
+
+		private static Snapshot empty(long version) {
+			return new Snapshot(EMPTY.keys(), EMPTY.values(), 0, 0, version);
+		}
+
+		private static Snapshot build(Collection<OptionValue> optionValues, long version) {
+			int capacity = tableSizeFor(Math.max(1, optionValues.size()) * 2);
+			long[] keys = new long[capacity];
+			OptionValueCache.Value[] values = new OptionValueCache.Value[capacity];
+			int mask = capacity - 1;
+
+			Map<String, String> strings = new HashMap<>();
+			Map<OptionValueCache.Value, OptionValueCache.Value> dedup = new HashMap<>();
+			int size = 0;
+			for (OptionValue optionValue : optionValues) {
+				if (optionValue == null || optionValue.getOptionValueId() == null) {
+					continue;
+				}
+				OptionValueCache.Value value = dedup.computeIfAbsent(
+					new OptionValueCache.Value(intern(strings, optionValue.getOptionName()), intern(strings, optionValue.getOptionValue())),
+					v -> v);
+
+				long key = optionValue.getOptionValueId();
+				int slot = slot(key, mask);
+				while (values[slot] != null && keys[slot] != key) {
+					slot = (slot + 1) & mask;
+				}
+				if (values[slot] == null) {
+					size++;
+				}
+				keys[slot] = key;
+				values[slot] = value;
+			}
+			return new Snapshot(keys, values, mask, size, version);
+		}
+
+		private OptionValueCache.Value get(long key) {
+			int slot = slot(key, mask);
+			OptionValueCache.Value value;
+			while ((value = values[slot]) != null) {
+				if (keys[slot] == key) {
+					return value;
+				}
+				slot = (slot + 1) & mask;
+			}
+			return null;
+		}
+
+		private static int slot(long key, int mask) {
+			long hash = key * 0x9E3779B97F4A7C15L;
+			return (int) (hash ^ (hash >>> 32)) & mask;
+		}
+
+		private static int tableSizeFor(int minimum) {
+			return Integer.highestOneBit(minimum - 1) << 1;
+		}
+
+		private static String intern(Map<String, String> strings, String value) {
+			return value == null ? null : strings.computeIfAbsent(value, v -> v);
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package com.mudosa.musinsa.product.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.mudosa.musinsa.product.application.dto.ProductSearchCondition;
+import com.mudosa.musinsa.product.domain.model.ProductGenderType;
+import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexSearchQueryRepository;
+import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexSearchQueryRepository.SearchResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 키워드 검색 결과를 정규화한 쿼리 시그니처 단위로 캐싱한다.
+ *
+ * - 시그니처: 소문자/중복 제거/정렬한 토큰, 정렬한 카테고리 경로, 브랜드, 성별, 가격 정렬, 커서, limit
+ * - 같은 시그니처의 동시 미스는 한 번만 ES를 조회한다. 조회는 Caffeine compute(내부 synchronized) 밖에서
+ *   실행해 가상 스레드가 ES 응답을 기다리는 동안 캐리어 스레드에 고정되지 않게 한다.
+ * - refresh-after 이후 요청은 기존 결과를 바로 반환하고 백그라운드에서 갱신한다. (stale-while-revalidate)
+ * - ttl 이후에는 만료되며, 증분 색인이 상품/옵션 변경을 반영하거나 전체 색인 후 별칭이 바뀌면 모든 노드에서 비운다.
+ *   재고 변경만으로는 비우지 않으므로 품절 여부는 refresh-after/ttl 안에 반영된다.
+ *   비우기 전에 시작한 조회 결과는 세대(generation)가 바뀌었으므로 캐시에 넣지 않는다.
+ * - 메트릭: search.result_cache.requests{result=hit|stale|miss}, 시그니처별 적중 현황은 topSignatures로 조회한다.
+ */
+@Component
+public class SearchResultCache {
+
+	public static final String CACHE_NAME = "search.result";
+
+	private final ProductIndexSearchQueryRepository productIndexSearchQueryRepository;
+	private final boolean enabled;
+	private final long refreshAfterMillis;
+	private final LoadingCache<Signature, Entry> results;
+	private final Cache<Signature, SignatureStats> stats;
+	// 미스 조회 병합용: 시그니처별로 진행 중인 ES 조회
+	private final Map<Signature, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+	// 무효화할 때마다 증가한다.
+	private final AtomicLong generation = new AtomicLong();
+	private final Counter hits;
+	private final Counter staleHits;
+	private final Counter misses;
+
+	public SearchResultCache(ProductIndexSearchQueryRepository productIndexSearchQueryRepository,
+		NearCacheManager nearCacheManager,
+		MeterRegistry meterRegistry,
+		@Value("${search.result-cache.enabled:false}") boolean enabled,
+		@Value("${search.result-cache.maximum-size:10000}") long maximumSize,
+		@Value("${search.result-cache.ttl-ms:60000}") long ttlMillis,
+		@Value("${search.result-cache.refresh-after-ms:10000}") long refreshAfterMillis,
+		@Value("${search.result-cache.stats-size:1000}") long statsSize) {
+		this.productIndexSearchQueryRepository = productIndexSearchQueryRepository;
+		this.enabled = enabled;
+		this.refreshAfterMillis = refreshAfterMillis;
+		this.results = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(Duration.ofMillis(ttlMillis))
+			.refreshAfterWrite(Duration.ofMillis(refreshAfterMillis))
+			.recordStats()
+			.build(this::load);
+		this.stats = Caffeine.newBuilder()
+			.maximumSize(statsSize)
+			.build();
+		this.hits = requestCounter(meterRegistry, "hit");
+		this.staleHits = requestCounter(meterRegistry, "stale");
+		this.misses = requestCounter(meterRegistry, "miss");
+		CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+		nearCacheManager.registerLocalInvalidator(CACHE_NAME, this::invalidateAll);
+	}
+
+	/**
+	 * 캐시를 거쳐 키워드 검색을 실행한다. 비활성화되어 있으면 바로 ES를 조회한다.
+	 */
+	public SearchResult search(ProductSearchCondition condition, List<String> tokens) {
+		if (!enabled) {
+			return productIndexSearchQueryRepository.searchByKeywordWithFilters(condition, tokens);
+		}
+		Signature signature = Signature.of(condition, tokens);
+		SignatureStats signatureStats = stats.get(signature, key -> new SignatureStats());
+
+		Entry cached = results.getIfPresent(signature);
+		if (cached == null) {
+			misses.increment();
+			signatureStats.misses.increment();
+			return loadCoalesced(signature).result();
+		}
+		if (System.currentTimeMillis() - cached.loadedAt() >= refreshAfterMillis) {
+			staleHits.increment();
+		} else {
+			hits.increment();
+		}
+		signatureStats.hits.increment();
+		return cached.result();
+	}
+
+	/**
+	 * 요청이 많은 시그니처 순으로 적중 현황을 반환한다.
+	 */
+	public List<SignatureSummary> topSignatures(int limit) {
+		return stats.asMap().entrySet().stream()
+			.map(entry -> new SignatureSummary(entry.getKey().describe(),
+				entry.getValue().hits.sum(), entry.getValue().misses.sum()))
+			.sorted(Comparator.comparingLong((SignatureSummary summary) -> summary.hits() + summary.misses()).reversed())
+			.limit(limit)
+			.toList();
+	}
+
+	private Entry loadCoalesced(Signature signature) {
+		CompletableFuture<Entry> loading = new CompletableFuture<>();
+		CompletableFuture<Entry> existing = inFlight.putIfAbsent(signature, loading);
+		if (existing != null) {
+			try {
+				return existing.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+		try {
+			long loadingGeneration = generation.get();
+			Entry entry = load(signature);
+			if (generation.get() == loadingGeneration) {
+				results.put(signature, entry);
+			}
+			loading.complete(entry);
+			return entry;
+		} catch (RuntimeException e) {
+			loading.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(signature, loading);
+		}
+	}
+
+	private void invalidateAll() {
+		generation.incrementAndGet();
+		results.invalidateAll();
+	}
+
+	private Entry load(Signature signature) {
+		SearchResult result = productIndexSearchQueryRepository.searchByKeywordWithFilters(
+			signature.toCondition(), signature.tokens());
+		return new Entry(result, System.currentTimeMillis());
+	}
+
+	private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("search.result_cache.requests")
+			.tag("result", result)
+			.description("검색 결과 캐시 조회 결과")
+			.register(meterRegistry);
+	}
+
+	private record Entry(SearchResult result, long loadedAt) {
+	}
+
+	private static final class SignatureStats {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+	}
+
+	public record SignatureSummary(String signature, long hits, long misses) {
+	}
+
+	/**
+	 * 정규화한 검색 조건. 결과에 영향을 주는 값만 담으며, 캐시 키이자 ES 조회 조건이다.
+	 */
+	record Signature(List<String> tokens,
+					 List<String> categoryPaths,
+					 Long brandId,
+					 ProductGenderType gender,
+					 ProductSearchCondition.PriceSort priceSort,
+					 String cursor,
+					 int limit) {
+
+		static Signature of(ProductSearchCondition condition, List<String> tokens) {
+			List<String> normalizedTokens = (tokens != null ? tokens : List.<String>of()).stream()
+				.filter(Objects::nonNull)
+				.map(token -> token.trim().toLowerCase(Locale.ROOT))
+				.filter(token -> !token.isEmpty())
+				.distinct()
+				.sorted()
+				.toList();
+			List<String> normalizedCategoryPaths = condition.getCategoryPaths().stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.sorted()
+				.toList();
+			String cursor = condition.getCursor() != null && !condition.getCursor().isBlank()
+				? condition.getCursor()
+				: null;
+			return new Signature(normalizedTokens, normalizedCategoryPaths, condition.getBrandId(),
+				condition.getGender(), condition.getPriceSort(), cursor, condition.getLimit());
+		}
+
+		ProductSearchCondition toCondition() {
+			return ProductSearchCondition.builder()
+				.keyword(String.join(" ", tokens))
+				.categoryPaths(categoryPaths)
+				.brandId(brandId)
+				.gender(gender)
+				.priceSort(priceSort)
+				.cursor(cursor)
+				.limit(limit)
+				.build();
+		}
+
+		String describe() {
+			return "q=" + String.join(" ", tokens)
+				+ "&category=" + String.join(",", categoryPaths)
+				+ "&brand=" + (brandId != null ? brandId : "")
+				+ "&gender=" + (gender != null ? gender : "")
+				+ "&sort=" + (priceSort != null ? priceSort : "score")
+				+ "&cursor=" + (cursor != null ? cursor : "")
+				+ "&limit=" + limit;
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package com.mudosa.musinsa.product.infrastructure.search.dto;
+
+/**
+ * 상품 옵션 ID의 [min, max] 구간.
+ */
+public record ProductOptionIdRange(long minOptionId, long maxOptionId) {
+}
@@ -0,0 +1,13 @@
+package com.mudosa.musinsa.product.infrastructure.search.dto;
+
+/**
+ * 전체 색인 실행 결과.
+ *
+ * @param indexName     새로 만든(또는 이어서 색인한) 인덱스 이름
+ * @param resumed       이전 실패 실행을 이어서 진행했는지 여부
+ * @param documents     이번 실행에서 색인한 도큐먼트 수
+ * @param elapsedMillis 소요 시간
+ * @param docsPerSecond 초당 색인 도큐먼트 수
+ */
+public record ReindexResult(String indexName, boolean resumed, long documents, long elapsedMillis, double docsPerSecond) {
+}
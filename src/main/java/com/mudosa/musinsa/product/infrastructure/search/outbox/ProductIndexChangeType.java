@@ -0,0 +1,10 @@
+package com.mudosa.musinsa.product.infrastructure.search.outbox;
+
+/**
+ * 색인 변경 이벤트 종류와 대상 ID의 의미.
+ */
+public enum ProductIndexChangeType {
+    PRODUCT,    // 상품 단위 변경 (대상: product_id) → 상품의 모든 옵션 도큐먼트 재생성
+    OPTION,     // 옵션 단위 변경 (대상: product_option_id) → 해당 옵션 도큐먼트 재생성
+    STOCK       // 재고 변경 (대상: product_option_id) → hasStock 필드만 부분 갱신
+}
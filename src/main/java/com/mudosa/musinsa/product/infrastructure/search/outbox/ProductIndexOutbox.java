@@ -0,0 +1,49 @@
+package com.mudosa.musinsa.product.infrastructure.search.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ES 색인 변경 이벤트 아웃박스.
+ * 상품/재고 변경과 같은 트랜잭션에서 적재되고, ProductIncrementalIndexer가 읽어 색인 후 삭제한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "product_index_outbox")
+public class ProductIndexOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ProductIndexChangeType changeType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static ProductIndexOutbox of(ProductIndexChangeType changeType, Long targetId) {
+        ProductIndexOutbox outbox = new ProductIndexOutbox();
+        outbox.changeType = changeType;
+        outbox.targetId = targetId;
+        outbox.createdAt = LocalDateTime.now();
+        return outbox;
+    }
+}
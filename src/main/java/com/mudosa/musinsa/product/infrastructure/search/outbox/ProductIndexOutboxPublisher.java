@@ -0,0 +1,48 @@
+package com.mudosa.musinsa.product.infrastructure.search.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * 색인 변경 이벤트를 아웃박스에 적재한다.
+ * 호출한 쪽의 트랜잭션에 참여하므로 변경이 롤백되면 이벤트도 함께 사라진다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductIndexOutboxPublisher {
+
+    private final ProductIndexOutboxRepository productIndexOutboxRepository;
+
+    @Value("${search.incremental-index.enabled:false}")
+    private boolean enabled;
+
+    public void productChanged(Long productId) {
+        publish(ProductIndexChangeType.PRODUCT, productId);
+    }
+
+    public void optionChanged(Long productOptionId) {
+        publish(ProductIndexChangeType.OPTION, productOptionId);
+    }
+
+    public void stockChanged(Collection<Long> productOptionIds) {
+        if (!enabled || productOptionIds == null || productOptionIds.isEmpty()) {
+            return;
+        }
+        productIndexOutboxRepository.saveAll(productOptionIds.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(id -> ProductIndexOutbox.of(ProductIndexChangeType.STOCK, id))
+            .toList());
+    }
+
+    private void publish(ProductIndexChangeType changeType, Long targetId) {
+        if (!enabled || targetId == null) {
+            return;
+        }
+        productIndexOutboxRepository.save(ProductIndexOutbox.of(changeType, targetId));
+    }
+}
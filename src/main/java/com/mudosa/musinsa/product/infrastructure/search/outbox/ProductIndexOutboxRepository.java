@@ -0,0 +1,23 @@
+package com.mudosa.musinsa.product.infrastructure.search.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProductIndexOutboxRepository extends JpaRepository<ProductIndexOutbox, Long> {
+
+    // 다른 노드가 처리 중인 행은 건너뛰고 오래된 순으로 가져온다.
+    @Query(value = """
+        SELECT * FROM product_index_outbox
+         ORDER BY outbox_id
+         LIMIT :limit
+           FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<ProductIndexOutbox> claimBatch(@Param("limit") int limit);
+
+    @Query("select min(o.createdAt) from ProductIndexOutbox o")
+    LocalDateTime findOldestCreatedAt();
+}
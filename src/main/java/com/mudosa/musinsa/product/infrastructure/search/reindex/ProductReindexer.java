@@ -0,0 +1,511 @@
+package com.mudosa.musinsa.product.infrastructure.search.reindex;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import com.mudosa.musinsa.product.infrastructure.cache.NearCacheManager;
+import com.mudosa.musinsa.product.infrastructure.cache.SearchResultCache;
+import com.mudosa.musinsa.product.infrastructure.search.document.ProductDocument;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ProductIndexDto;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ProductOptionIdRange;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ReindexResult;
+import com.mudosa.musinsa.product.infrastructure.search.mapper.ProductDocumentMapper;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutbox;
+import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexQueryRepository;
+import com.mudosa.musinsa.product.infrastructure.search.service.ProductIndexChangeApplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.AliasData;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품 옵션 전체를 새 인덱스에 병렬로 색인한 뒤 product 별칭을 원자적으로 교체한다.
+ *
+ * - 옵션 ID 구간을 나눠 여러 스레드가 동시에 읽고, 읽기 → 도큐먼트 변환 → bulk 색인을 크기가 제한된 큐로 연결한다.
+ *   (뒤 단계가 밀리면 앞 단계가 큐에서 대기하므로 메모리가 일정하게 유지된다.)
+ * - 새 인덱스는 refresh 비활성화 + 레플리카 0으로 만들고, 색인을 마친 뒤 원래 설정으로 되돌린다.
+ * - 구간별로 빈틈 없이 색인을 마친 지점까지 체크포인트를 남기며, 실패 후 다시 실행하면 같은 인덱스에 이어서 색인한다.
+ * - 색인 중 증분 색인이 처리한 변경은 기존 인덱스에만 반영되므로, 체크포인트 저장소에 남은 변경 대상을
+ *   별칭 교체 직전에 새 인덱스에 다시 반영하고, 교체 직전까지 쌓인 나머지는 교체 직후에 한 번 더 반영한다.
+ */
+@Slf4j
+@Component
+public class ProductReindexer {
+
+    public static final String ALIAS = "product";
+
+    private static final DateTimeFormatter INDEX_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final long QUEUE_POLL_MILLIS = 200;
+
+    private final ProductIndexQueryRepository productIndexQueryRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ReindexCheckpointStore checkpointStore;
+    private final NearCacheManager nearCacheManager;
+    private final ProductIndexChangeApplier productIndexChangeApplier;
+
+    private final int partitions;
+    private final int readerThreads;
+    private final int mapperThreads;
+    private final int writerThreads;
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public ProductReindexer(ProductIndexQueryRepository productIndexQueryRepository,
+                            ElasticsearchOperations elasticsearchOperations,
+                            ElasticsearchClient elasticsearchClient,
+                            ReindexCheckpointStore checkpointStore,
+                            NearCacheManager nearCacheManager,
+                            ProductIndexChangeApplier productIndexChangeApplier,
+                            @Value("${search.reindex.partitions:16}") int partitions,
+                            @Value("${search.reindex.reader-threads:4}") int readerThreads,
+                            @Value("${search.reindex.mapper-threads:2}") int mapperThreads,
+                            @Value("${search.reindex.writer-threads:4}") int writerThreads,
+                            @Value("${search.reindex.chunk-size:1000}") int chunkSize,
+                            @Value("${search.reindex.queue-capacity:8}") int queueCapacity) {
+        this.productIndexQueryRepository = productIndexQueryRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.checkpointStore = checkpointStore;
+        this.nearCacheManager = nearCacheManager;
+        this.productIndexChangeApplier = productIndexChangeApplier;
+        this.partitions = partitions;
+        this.readerThreads = readerThreads;
+        this.mapperThreads = mapperThreads;
+        this.writerThreads = writerThreads;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 전체 색인을 실행한다. 이전 실행이 실패로 남아 있으면 그 인덱스에 이어서 색인한다.
+     */
+    public ReindexResult reindex() {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.REINDEX_ALREADY_RUNNING);
+        }
+        try {
+            Optional<ReindexCheckpointStore.State> previous = checkpointStore.load()
+                .filter(state -> indexOps(state.indexName()).exists());
+            ReindexCheckpointStore.State state = previous.orElseGet(this::prepareNewIndex);
+            if (state == null) {
+                log.info("색인할 상품 옵션이 없습니다.");
+                return new ReindexResult(null, false, 0, 0, 0);
+            }
+            if (previous.isPresent()) {
+                log.info("이전 전체 색인을 이어서 진행 - index: {}", state.indexName());
+            }
+
+            long startedAt = System.currentTimeMillis();
+            long documents = runPipeline(state);
+            long elapsed = Math.max(1, System.currentTimeMillis() - startedAt);
+            double docsPerSecond = documents * 1000.0 / elapsed;
+
+            finishIndex(state.indexName());
+            long replayed = replayChanges(state.indexName());
+            swapAlias(state.indexName());
+            // 교체 전에 기존 인덱스에만 반영된 변경 (교체 후 변경은 증분 색인이 새 인덱스에 쓴다)
+            replayed += replayChanges(state.indexName());
+            checkpointStore.clear();
+            // 별칭이 새 인덱스를 가리키므로 모든 노드의 검색 결과 캐시를 비운다.
+            nearCacheManager.invalidate(SearchResultCache.CACHE_NAME);
+
+            log.info("전체 색인 완료 - index: {}, docs: {}, replayedChanges: {}, elapsed: {}ms, throughput: {} docs/sec",
+                state.indexName(), documents, replayed, elapsed, String.format("%.1f", docsPerSecond));
+            return new ReindexResult(state.indexName(), previous.isPresent(), documents, elapsed, docsPerSecond);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // ================= 인덱스 준비/마무리 =================
+
+    private ReindexCheckpointStore.State prepareNewIndex() {
+        ProductOptionIdRange idRange = productIndexQueryRepository.findOptionIdRange();
+        if (idRange == null) {
+            return null;
+        }
+
+        String indexName = ALIAS + "_" + LocalDateTime.now().format(INDEX_SUFFIX);
+        IndexOperations productOps = elasticsearchOperations.indexOps(ProductDocument.class);
+        Settings settings = productOps.createSettings().flatten();
+        removeSetting(settings, "refresh_interval");
+        removeSetting(settings, "number_of_replicas");
+        settings.put("index.refresh_interval", "-1");
+        settings.put("index.number_of_replicas", 0);
+        indexOps(indexName).create(settings, productOps.createMapping());
+
+        List<ReindexRange> ranges = split(idRange);
+        checkpointStore.start(indexName, ranges);
+        log.info("전체 색인 시작 - index: {}, optionId: [{}, {}], ranges: {}",
+            indexName, idRange.minOptionId(), idRange.maxOptionId(), ranges.size());
+        return new ReindexCheckpointStore.State(indexName, ranges);
+    }
+
+    private List<ReindexRange> split(ProductOptionIdRange idRange) {
+        long min = idRange.minOptionId();
+        long max = idRange.maxOptionId();
+        long span = max - min + 1;
+        int count = (int) Math.max(1, Math.min(partitions, span));
+        long step = (span + count - 1) / count;
+
+        List<ReindexRange> ranges = new ArrayList<>(count);
+        long startAfter = min - 1;
+        for (int no = 0; no < count && startAfter < max; no++) {
+            long end = Math.min(max, startAfter + step);
+            ranges.add(new ReindexRange(no, startAfter, end, null, false));
+            startAfter = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * refresh 주기/레플리카를 매핑 설정(settings.json) 값으로 되돌리고 refresh 한다.
+     */
+    private void finishIndex(String indexName) {
+        Settings settings = elasticsearchOperations.indexOps(ProductDocument.class).createSettings().flatten();
+        String refreshInterval = String.valueOf(findSetting(settings, "refresh_interval", "1s"));
+        String replicas = String.valueOf(findSetting(settings, "number_of_replicas", "1"));
+        try {
+            elasticsearchClient.indices().putSettings(request -> request
+                .index(indexName)
+                .settings(s -> s
+                    .refreshInterval(t -> t.time(refreshInterval))
+                    .numberOfReplicas(replicas)));
+        } catch (Exception e) {
+            throw new IllegalStateException("인덱스 설정 복구 실패 - index: " + indexName, e);
+        }
+        indexOps(indexName).refresh();
+    }
+
+    /**
+     * 색인 중 증분 색인이 처리한 변경 대상을 DB에서 다시 읽어 새 인덱스에 반영한다.
+     * 반영을 마친 대상만 지우므로 중간에 실패해도 다음 실행에서 다시 반영된다.
+     */
+    private long replayChanges(String indexName) {
+        IndexCoordinates target = IndexCoordinates.of(indexName);
+        long replayed = 0;
+        List<ProductIndexOutbox> changes;
+        while (!(changes = checkpointStore.pendingChanges(chunkSize)).isEmpty()) {
+            productIndexChangeApplier.apply(changes, target);
+            checkpointStore.removeChanges(changes);
+            replayed += changes.size();
+        }
+        if (replayed > 0) {
+            indexOps(indexName).refresh();
+        }
+        return replayed;
+    }
+
+    /**
+     * product 별칭을 새 인덱스로 옮기고 이전 인덱스를 삭제한다.
+     * 별칭 대신 같은 이름의 실제 인덱스가 있으면(최초 전환) 같은 요청에서 그 인덱스를 삭제한다.
+     */
+    private void swapAlias(String indexName) {
+        IndexOperations aliasOps = indexOps(ALIAS);
+        List<AliasAction> actions = new ArrayList<>();
+        List<String> oldIndices = new ArrayList<>();
+
+        if (aliasOps.exists()) {
+            Map<String, Set<AliasData>> current = aliasOps.getAliases(ALIAS);
+            if (current == null || current.isEmpty()) {
+                actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder()
+                    .withIndices(ALIAS)
+                    .build()));
+            } else {
+                for (String oldIndex : current.keySet()) {
+                    if (oldIndex.equals(indexName)) {
+                        continue;
+                    }
+                    actions.add(new AliasAction.Remove(AliasActionParameters.builder()
+                        .withIndices(oldIndex)
+                        .withAliases(ALIAS)
+                        .build()));
+                    oldIndices.add(oldIndex);
+                }
+            }
+        }
+        actions.add(new AliasAction.Add(AliasActionParameters.builder()
+            .withIndices(indexName)
+            .withAliases(ALIAS)
+            .build()));
+        aliasOps.alias(new AliasActions(actions.toArray(AliasAction[]::new)));
+        log.info("별칭 교체 완료 - {} -> {}", ALIAS, indexName);
+
+        for (String oldIndex : oldIndices) {
+            try {
+                indexOps(oldIndex).delete();
+            } catch (Exception e) {
+                log.warn("이전 인덱스 삭제 실패 - index: {}", oldIndex, e);
+            }
+        }
+    }
+
+    private IndexOperations indexOps(String indexName) {
+        return elasticsearchOperations.indexOps(IndexCoordinates.of(indexName));
+    }
+
+    private static void removeSetting(Settings settings, String name) {
+        settings.remove(name);
+        settings.remove("index." + name);
+    }
+
+    private static Object findSetting(Settings settings, String name, Object defaultValue) {
+        Object value = settings.get("index." + name);
+        if (value == null) {
+            value = settings.get(name);
+        }
+        return value != null ? value : defaultValue;
+    }
+
+    // ================= 파이프라인 =================
+
+    /**
+     * 읽기(구간별) → 변환 → bulk 색인 파이프라인을 실행하고 색인한 도큐먼트 수를 반환한다.
+     * 한 단계라도 실패하면 나머지 단계를 멈추고 예외를 던진다. (체크포인트는 유지)
+     */
+    private long runPipeline(ReindexCheckpointStore.State state) {
+        IndexCoordinates target = IndexCoordinates.of(state.indexName());
+        BlockingQueue<Batch<ProductIndexDto>> readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Batch<ProductDocument>> writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong indexed = new AtomicLong();
+
+        ExecutorService readers = Executors.newFixedThreadPool(readerThreads);
+        ExecutorService mappers = Executors.newFixedThreadPool(mapperThreads);
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads);
+        try {
+            List<Future<?>> readerTasks = new ArrayList<>();
+            for (ReindexRange range : state.ranges()) {
+                if (range.done()) {
+                    continue;
+                }
+                RangeProgress progress = new RangeProgress(range.no());
+                readerTasks.add(readers.submit(() -> read(range, progress, readQueue, failure)));
+            }
+            List<Future<?>> mapperTasks = new ArrayList<>();
+            for (int i = 0; i < mapperThreads; i++) {
+                mapperTasks.add(mappers.submit(() -> map(readQueue, writeQueue, failure)));
+            }
+            List<Future<?>> writerTasks = new ArrayList<>();
+            for (int i = 0; i < writerThreads; i++) {
+                writerTasks.add(writers.submit(() -> write(writeQueue, target, indexed, failure)));
+            }
+
+            await(readerTasks, failure);
+            for (int i = 0; i < mapperThreads; i++) {
+                put(readQueue, Batch.end(), failure);
+            }
+            await(mapperTasks, failure);
+            for (int i = 0; i < writerThreads; i++) {
+                put(writeQueue, Batch.end(), failure);
+            }
+            await(writerTasks, failure);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } finally {
+            readers.shutdownNow();
+            mappers.shutdownNow();
+            writers.shutdownNow();
+        }
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            log.error("전체 색인 실패 - index: {}, indexed: {}", state.indexName(), indexed.get(), cause);
+            throw new BusinessException(ErrorCode.REINDEX_FAILED);
+        }
+        return indexed.get();
+    }
+
+    private void read(ReindexRange range, RangeProgress progress,
+                      BlockingQueue<Batch<ProductIndexDto>> readQueue, AtomicReference<Throwable> failure) {
+        try {
+            long cursor = range.resumeAfter();
+            long seq = 0;
+            while (cursor < range.endInclusive()) {
+                if (failure.get() != null) {
+                    // 중단된 구간은 완료 표시를 남기지 않는다.
+                    return;
+                }
+                List<ProductIndexDto> chunk = productIndexQueryRepository.findChunk(cursor, range.endInclusive(), chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                cursor = chunk.get(chunk.size() - 1).getProductOptionId();
+                put(readQueue, new Batch<>(progress, seq++, cursor, chunk), failure);
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+            progress.end(seq);
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private void map(BlockingQueue<Batch<ProductIndexDto>> readQueue,
+                     BlockingQueue<Batch<ProductDocument>> writeQueue, AtomicReference<Throwable> failure) {
+        try {
+            Batch<ProductIndexDto> batch;
+            while ((batch = take(readQueue, failure)) != null && !batch.isEnd()) {
+                List<ProductDocument> documents = new ArrayList<>(batch.items().size());
+                for (ProductIndexDto dto : batch.items()) {
+                    documents.add(ProductDocumentMapper.toDocument(dto));
+                }
+                put(writeQueue, new Batch<>(batch.progress(), batch.seq(), batch.lastOptionId(), documents), failure);
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private void write(BlockingQueue<Batch<ProductDocument>> writeQueue, IndexCoordinates target,
+                       AtomicLong indexed, AtomicReference<Throwable> failure) {
+        try {
+            Batch<ProductDocument> batch;
+            while ((batch = take(writeQueue, failure)) != null && !batch.isEnd()) {
+                List<IndexQuery> queries = new ArrayList<>(batch.items().size());
+                for (ProductDocument doc : batch.items()) {
+                    queries.add(new IndexQueryBuilder()
+                        .withId(doc.getProductOptionId().toString())
+                        .withObject(doc)
+                        .build());
+                }
+                elasticsearchOperations.bulkIndex(queries, target);
+                indexed.addAndGet(queries.size());
+                batch.progress().complete(batch.seq(), batch.lastOptionId());
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * 큐가 비워질 때까지 대기한다. 다른 단계가 실패하면 더 이상 기다리지 않는다.
+     */
+    private static <T> void put(BlockingQueue<T> queue, T item, AtomicReference<Throwable> failure) throws InterruptedException {
+        while (failure.get() == null) {
+            if (queue.offer(item, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private static <T> T take(BlockingQueue<T> queue, AtomicReference<Throwable> failure) throws InterruptedException {
+        while (failure.get() == null) {
+            T item = queue.poll(QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private static void await(List<Future<?>> tasks, AtomicReference<Throwable> failure) {
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                failure.compareAndSet(null, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    /**
+     * 구간 하나의 chunk 처리 순서를 추적한다.
+     * 색인은 여러 스레드에서 순서 없이 끝나므로, 앞선 chunk가 모두 끝난 지점까지만 체크포인트를 전진시킨다.
+     * 잠금 안에서 Redis에 쓰므로 synchronized 대신 ReentrantLock을 사용한다. (가상 스레드 고정 방지)
+     */
+    private final class RangeProgress {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int rangeNo;
+        private final TreeMap<Long, Long> completed = new TreeMap<>();
+        private long nextSeq = 0;
+        private long endSeq = -1;
+
+        private RangeProgress(int rangeNo) {
+            this.rangeNo = rangeNo;
+        }
+
+        void complete(long seq, long lastOptionId) {
+            lock.lock();
+            try {
+                completed.put(seq, lastOptionId);
+                Long checkpoint = null;
+                while (completed.containsKey(nextSeq)) {
+                    checkpoint = completed.remove(nextSeq);
+                    nextSeq++;
+                }
+                if (checkpoint != null) {
+                    checkpointStore.checkpoint(rangeNo, checkpoint);
+                }
+                markDoneIfFinished();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void end(long seqCount) {
+            lock.lock();
+            try {
+                endSeq = seqCount;
+                markDoneIfFinished();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void markDoneIfFinished() {
+            if (endSeq >= 0 && nextSeq == endSeq) {
+                checkpointStore.markDone(rangeNo);
+            }
+        }
+    }
+
+    private record Batch<T>(RangeProgress progress, long seq, long lastOptionId, List<T> items) {
+
+        static <T> Batch<T> end() {
+            return new Batch<>(null, -1, -1, null);
+        }
+
+        boolean isEnd() {
+            return items == null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.mudosa.musinsa.product.infrastructure.search.reindex;
+
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexChangeType;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 전체 색인 진행 상황을 Redis 해시에 기록한다. 실패한 실행을 같은 인덱스/구간으로 이어서 진행하는 데 사용한다.
+ *
+ * - index: 색인 중인 인덱스 이름
+ * - range:{no}: "startAfter:endInclusive"
+ * - checkpoint:{no}: 색인을 마친 마지막 옵션 ID (구간 내에서 빈틈 없이 끝난 지점까지만 기록)
+ * - done:{no}: 구간 완료 표시
+ *
+ * 색인 중 증분 색인이 처리한 변경 대상("PRODUCT:10")은 별도 Set에 모아 두고, 별칭 교체 전후로 새 인덱스에 다시 반영한다.
+ * (증분 색인은 별칭이 가리키는 기존 인덱스에만 쓰고 아웃박스 행을 지우므로 따로 남겨야 한다.)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReindexCheckpointStore {
+
+    private static final String KEY = "search:reindex:state";
+    private static final String FIELD_INDEX = "index";
+    private static final String RANGE_PREFIX = "range:";
+    private static final String CHECKPOINT_PREFIX = "checkpoint:";
+    private static final String DONE_PREFIX = "done:";
+    private static final String CHANGES_KEY = "search:reindex:changes";
+
+    // 색인 진행 상태가 있을 때만 변경 대상을 남긴다. (확인과 기록 사이에 색인이 끝나 키가 남는 일을 막는다.)
+    private static final RedisScript<Long> RECORD_CHANGES_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+              return 0
+            end
+            return redis.call('SADD', KEYS[2], unpack(ARGV))
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public Optional<State> load() {
+        Map<String, String> fields = hash().entries(KEY);
+        String indexName = fields.get(FIELD_INDEX);
+        if (indexName == null) {
+            return Optional.empty();
+        }
+
+        List<ReindexRange> ranges = new ArrayList<>();
+        fields.forEach((field, value) -> {
+            if (!field.startsWith(RANGE_PREFIX)) {
+                return;
+            }
+            int no = Integer.parseInt(field.substring(RANGE_PREFIX.length()));
+            String[] bounds = value.split(":");
+            String checkpoint = fields.get(CHECKPOINT_PREFIX + no);
+            ranges.add(new ReindexRange(no,
+                Long.parseLong(bounds[0]),
+                Long.parseLong(bounds[1]),
+                checkpoint != null ? Long.valueOf(checkpoint) : null,
+                fields.containsKey(DONE_PREFIX + no)));
+        });
+        ranges.sort(Comparator.comparingInt(ReindexRange::no));
+        return Optional.of(new State(indexName, ranges));
+    }
+
+    public void start(String indexName, List<ReindexRange> ranges) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_INDEX, indexName);
+        for (ReindexRange range : ranges) {
+            fields.put(RANGE_PREFIX + range.no(), range.startAfter() + ":" + range.endInclusive());
+        }
+        // 시작 전 변경은 새 인덱스가 DB에서 직접 읽는다.
+        redisTemplate.delete(List.of(KEY, CHANGES_KEY));
+        hash().putAll(KEY, fields);
+    }
+
+    public void checkpoint(int rangeNo, long lastOptionId) {
+        hash().put(KEY, CHECKPOINT_PREFIX + rangeNo, String.valueOf(lastOptionId));
+    }
+
+    public void markDone(int rangeNo) {
+        hash().put(KEY, DONE_PREFIX + rangeNo, "1");
+    }
+
+    public void clear() {
+        redisTemplate.delete(List.of(KEY, CHANGES_KEY));
+    }
+
+    /**
+     * 전체 색인이 진행 중이면 증분 색인이 처리한 변경 대상을 남긴다.
+     */
+    public void recordChanges(Collection<ProductIndexOutbox> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Object[] members = events.stream()
+            .map(ReindexCheckpointStore::member)
+            .distinct()
+            .toArray();
+        redisTemplate.execute(RECORD_CHANGES_SCRIPT, List.of(KEY, CHANGES_KEY), members);
+    }
+
+    /**
+     * 아직 새 인덱스에 반영하지 않은 변경 대상을 최대 count개 읽는다. 반영 후 removeChanges로 지운다.
+     */
+    public List<ProductIndexOutbox> pendingChanges(int count) {
+        Set<String> members = redisTemplate.opsForSet().distinctRandomMembers(CHANGES_KEY, count);
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        List<ProductIndexOutbox> changes = new ArrayList<>(members.size());
+        for (String member : members) {
+            int separator = member.indexOf(':');
+            changes.add(ProductIndexOutbox.of(
+                ProductIndexChangeType.valueOf(member.substring(0, separator)),
+                Long.valueOf(member.substring(separator + 1))));
+        }
+        return changes;
+    }
+
+    public void removeChanges(Collection<ProductIndexOutbox> changes) {
+        redisTemplate.opsForSet().remove(CHANGES_KEY, changes.stream()
+            .map(ReindexCheckpointStore::member)
+            .toArray());
+    }
+
+    private static String member(ProductIndexOutbox change) {
+        return change.getChangeType().name() + ":" + change.getTargetId();
+    }
+
+    private HashOperations<String, String, String> hash() {
+        return redisTemplate.opsForHash();
+    }
+
+    public record State(String indexName, List<ReindexRange> ranges) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.mudosa.musinsa.product.infrastructure.search.reindex;
+
+/**
+ * 병렬 전체 색인의 읽기 단위. (startAfter, endInclusive] 구간의 옵션을 읽는다.
+ *
+ * @param no           구간 번호
+ * @param startAfter   구간 시작 직전 옵션 ID (이 값은 포함하지 않음)
+ * @param endInclusive 구간의 마지막 옵션 ID
+ * @param checkpoint   이전 실행에서 색인을 마친 마지막 옵션 ID (없으면 null)
+ * @param done         구간 색인 완료 여부
+ */
+public record ReindexRange(int no, long startAfter, long endInclusive, Long checkpoint, boolean done) {
+
+    /**
+     * 이어서 읽을 커서. 체크포인트가 있으면 그 다음부터 읽는다.
+     */
+    public long resumeAfter() {
+        return checkpoint != null ? checkpoint : startAfter;
+    }
+}
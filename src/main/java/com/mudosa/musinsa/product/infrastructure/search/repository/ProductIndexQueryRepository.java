@@ -1,7 +1,9 @@
 package com.mudosa.musinsa.product.infrastructure.search.repository;
 
 import com.mudosa.musinsa.product.infrastructure.search.dto.ProductIndexDto;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ProductOptionIdRange;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,4 +20,24 @@ public interface ProductIndexQueryRepository {
      * @return ProductOptionIndexDto 목록
      */
     List<ProductIndexDto> findChunk(Long lastOptionId, int pageSize);
+
+    /**
+     * (lastOptionId, maxOptionId] 구간의 상품 옵션을 커서 기반으로 chunk 조회한다. (병렬 전체 색인용)
+     */
+    List<ProductIndexDto> findChunk(Long lastOptionId, long maxOptionId, int pageSize);
+
+    /**
+     * 상품 옵션 ID의 최소/최대값을 조회한다. 옵션이 없으면 null.
+     */
+    ProductOptionIdRange findOptionIdRange();
+
+    /**
+     * 지정한 상품들의 모든 옵션을 조회한다. (증분 색인용)
+     */
+    List<ProductIndexDto> findByProductIds(Collection<Long> productIds);
+
+    /**
+     * 지정한 옵션들을 조회한다. (증분 색인용)
+     */
+    List<ProductIndexDto> findByProductOptionIds(Collection<Long> productOptionIds);
 }
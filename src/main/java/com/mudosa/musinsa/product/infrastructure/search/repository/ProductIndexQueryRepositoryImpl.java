@@ -2,6 +2,7 @@ package com.mudosa.musinsa.product.infrastructure.search.repository;
 
 import com.mudosa.musinsa.product.infrastructure.cache.OptionValueCache;
 import com.mudosa.musinsa.product.infrastructure.search.dto.ProductIndexDto;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ProductOptionIdRange;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -26,6 +28,25 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductIndexQueryRepositoryImpl implements ProductIndexQueryRepository {
 
+    private static final String SELECT_INDEX_ROWS = """
+        SELECT po.product_option_id,
+               p.product_id,
+               p.brand_id,
+               p.product_name,
+               p.brand_name      AS kr_brand_name,
+               b.name_en         AS en_brand_name,
+               p.category_path,
+               p.product_gender_type AS gender,
+               p.is_available,
+               p.default_price   AS default_price,
+               p.thumbnail_image AS thumbnail_url,
+               inv.stock_quantity AS stock_quantity
+          FROM product_option po
+          JOIN product p ON po.product_id = p.product_id
+          JOIN brand b ON p.brand_id = b.brand_id
+          LEFT JOIN inventory inv ON po.inventory_id = inv.inventory_id
+        """;
+
     private final EntityManager em;
     private final OptionValueCache optionValueCache;
 
@@ -33,32 +54,66 @@ public class ProductIndexQueryRepositoryImpl implements ProductIndexQueryReposit
     public List<ProductIndexDto> findChunk(Long lastOptionId, int pageSize) {
         // TODO: 스키마에 맞게 쿼리를 보완하세요.
         // 현재는 최소한의 형태로 옵션/상품/브랜드/카테고리/가격/썸네일/재고만 가져오는 예시입니다.
-        String sql = """
-            SELECT po.product_option_id,
-                   p.product_id,
-                   p.brand_id,
-                   p.product_name,
-                   p.brand_name      AS kr_brand_name,
-                   b.name_en         AS en_brand_name,
-                   p.category_path,
-                   p.product_gender_type AS gender,
-                   p.is_available,
-                   p.default_price   AS default_price,
-                   p.thumbnail_image AS thumbnail_url,
-                   inv.stock_quantity AS stock_quantity
-              FROM product_option po
-              JOIN product p ON po.product_id = p.product_id
-              JOIN brand b ON p.brand_id = b.brand_id
-              LEFT JOIN inventory inv ON po.inventory_id = inv.inventory_id
+        String sql = SELECT_INDEX_ROWS + """
+             WHERE (:lastId IS NULL OR po.product_option_id > :lastId)
+             ORDER BY po.product_option_id
+             LIMIT :limit
+            """;
+
+        Query query = em.createNativeQuery(sql)
+            .setParameter("lastId", lastOptionId)
+            .setParameter("limit", pageSize);
+        return toIndexDtos(query);
+    }
+
+    @Override
+    public List<ProductIndexDto> findChunk(Long lastOptionId, long maxOptionId, int pageSize) {
+        String sql = SELECT_INDEX_ROWS + """
              WHERE (:lastId IS NULL OR po.product_option_id > :lastId)
+               AND po.product_option_id <= :maxId
              ORDER BY po.product_option_id
              LIMIT :limit
             """;
 
         Query query = em.createNativeQuery(sql)
             .setParameter("lastId", lastOptionId)
+            .setParameter("maxId", maxOptionId)
             .setParameter("limit", pageSize);
+        return toIndexDtos(query);
+    }
+
+    @Override
+    public ProductOptionIdRange findOptionIdRange() {
+        Object[] row = (Object[]) em.createNativeQuery(
+                "SELECT MIN(product_option_id), MAX(product_option_id) FROM product_option")
+            .getSingleResult();
+        if (row == null || row[0] == null) {
+            return null;
+        }
+        return new ProductOptionIdRange(toLong(row[0]), toLong(row[1]));
+    }
+
+    @Override
+    public List<ProductIndexDto> findByProductIds(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
+        Query query = em.createNativeQuery(SELECT_INDEX_ROWS + " WHERE p.product_id IN (:ids)")
+            .setParameter("ids", productIds);
+        return toIndexDtos(query);
+    }
+
+    @Override
+    public List<ProductIndexDto> findByProductOptionIds(Collection<Long> productOptionIds) {
+        if (productOptionIds == null || productOptionIds.isEmpty()) {
+            return List.of();
+        }
+        Query query = em.createNativeQuery(SELECT_INDEX_ROWS + " WHERE po.product_option_id IN (:ids)")
+            .setParameter("ids", productOptionIds);
+        return toIndexDtos(query);
+    }
 
+    private List<ProductIndexDto> toIndexDtos(Query query) {
         @SuppressWarnings("unchecked")
         List<Object[]> rows = query.getResultList();
         List<ProductIndexDto> result = new ArrayList<>(rows.size());
@@ -11,12 +11,16 @@ import java.util.List;
  */
 public interface ProductIndexSearchQueryRepository {
 
-    SearchResult searchByKeywordWithFilters(ProductSearchCondition condition, List<String> tokens, int page);
+    /**
+     * 키워드 + 필터로 검색한다. condition.cursor에는 이전 응답의 nextCursor(search_after 커서)를 넘긴다.
+     */
+    SearchResult searchByKeywordWithFilters(ProductSearchCondition condition, List<String> tokens);
 
     SearchResult findAllByFiltersWithCursor(ProductSearchCondition condition);
 
     record SearchResult(List<ProductSearchResponse.ProductSummary> products,
                         boolean hasNext,
-                        Long totalCount) {
+                        Long totalCount,
+                        String nextCursor) {
     }
 }
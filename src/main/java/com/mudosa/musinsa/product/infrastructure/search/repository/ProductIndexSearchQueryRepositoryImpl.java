@@ -9,35 +9,45 @@ import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.TermQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.TermsQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.TermsQueryField;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch.core.search.FieldCollapse;
 import com.mudosa.musinsa.product.application.dto.ProductSearchCondition;
 import com.mudosa.musinsa.product.application.dto.ProductSearchResponse;
 import com.mudosa.musinsa.product.infrastructure.search.document.ProductDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
 import co.elastic.clients.elasticsearch._types.query_dsl.PrefixQuery;
-import co.elastic.clients.elasticsearch.core.search.FieldCollapse;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class ProductIndexSearchQueryRepositoryImpl implements ProductIndexSearchQueryRepository {
 
+    private static final IndexCoordinates INDEX = IndexCoordinates.of("product");
     private static final String FIELD_PRODUCT_ID = "productId";
+    private static final String FIELD_PRODUCT_OPTION_ID = "productOptionId";
     private static final String FIELD_PRODUCT_NAME = "productName";
     private static final String FIELD_KR_BRAND_TEXT = "krBrandName.text";
     private static final String FIELD_EN_BRAND_TEXT = "enBrandName";
@@ -48,11 +58,25 @@ public class ProductIndexSearchQueryRepositoryImpl implements ProductIndexSearch
     private static final String FIELD_PRICE = "defaultPrice";
     private static final Set<String> ROOT_CATEGORIES = Set.of(
             "상의", "아우터", "바지", "원피스", "스커트", "가방", "패션소품", "속옷", "홈웨어");
+    // 상품 단위 중복 제거로 줄어드는 만큼 옵션 히트를 더 읽는다.
+    private static final int OVERFETCH_FACTOR = 3;
+    private static final int MAX_FETCH_ROUNDS = 3;
+    // from + size 상한 (index.max_result_window 기본값)
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final String AGG_PRODUCT_COUNT = "productCount";
+    // 이 값 이하의 상품 수는 cardinality가 사실상 정확하다. (ES 최대값)
+    private static final int PRODUCT_COUNT_PRECISION = 40_000;
 
     private final ElasticsearchOperations elasticsearchOperations;
 
+    @Value("${search.cursor.point-in-time.enabled:false}")
+    private boolean pointInTimeEnabled;
+
+    @Value("${search.cursor.point-in-time.keep-alive-seconds:60}")
+    private long pointInTimeKeepAliveSeconds;
+
     @Override
-    public SearchResult searchByKeywordWithFilters(ProductSearchCondition condition, List<String> tokens, int page) {
+    public SearchResult searchByKeywordWithFilters(ProductSearchCondition condition, List<String> tokens) {
         Query base = baseFilter(condition);
         String rawQuery = condition.getKeyword();
         List<String> safeTokens = tokens != null ? tokens : Collections.emptyList();
@@ -141,20 +165,114 @@ public class ProductIndexSearchQueryRepositoryImpl implements ProductIndexSearch
                 .minimumShouldMatch("1"))._toQuery();
     }
 
-    // elastic으로 전송해서 조건 실행
+    /**
+     * 다음 페이지를 조회한다.
+     *
+     * - 가격 정렬은 search_after로 읽는다. from+size 대신 마지막 히트의 정렬 값 이후부터 읽으므로 깊은 페이지도
+     *   샤드별 정렬 비용이 일정하다. 가격과 productId가 상품 단위 값이라 같은 상품의 옵션이 연속으로 나오므로,
+     *   옵션 단위로 읽고 커서의 마지막 productId와 같은 히트를 건너뛰면 페이지 경계의 중복도 제거된다.
+     * - 점수 정렬은 옵션마다 점수가 달라 같은 상품이 여러 페이지에 흩어진다. field collapse는 search_after와
+     *   함께 쓸 수 없으므로(정렬 필드가 collapse 필드와 같아야 함) productId로 collapse하고 상품 단위 오프셋으로 읽는다.
+     * - 첫 페이지는 productId cardinality 집계로 전체 상품 수를 함께 돌려준다.
+     * - PIT 모드에서는 첫 페이지에서 연 PIT를 커서에 담아 스크롤 동안 같은 스냅샷을 본다.
+     */
     private SearchResult execute(ProductSearchCondition condition, Query query) {
         List<SortOptions> sorts = buildSorts(condition.getPriceSort());
         int limit = condition.getLimit();
-        int page = parsePage(condition.getCursor());
         boolean isScoreSort = condition.getPriceSort() == null;
+        SearchAfterCursor cursor = SearchAfterCursor.decode(condition.getCursor());
+        if (isScoreSort) {
+            return executeCollapsed(query, sorts, limit, cursor);
+        }
+
+        List<Object> searchAfter = cursor != null ? cursor.sortValues() : null;
+        String pointInTimeId = resolvePointInTime(cursor);
+        int fetchSize = limit * OVERFETCH_FACTOR;
+
+        Set<Long> seenProductIds = new HashSet<>();
+        if (cursor != null && cursor.lastProductId() != null) {
+            seenProductIds.add(cursor.lastProductId());
+        }
+        List<ProductSearchResponse.ProductSummary> products = new ArrayList<>(limit);
+        List<Object> lastSortValues = searchAfter;
+        Long totalCount = null;
 
+        for (int round = 0; round < MAX_FETCH_ROUNDS && products.size() < limit; round++) {
+            boolean countProducts = cursor == null && round == 0;
+            NativeQuery nativeQuery = buildQuery(query, sorts, false, fetchSize, lastSortValues, pointInTimeId,
+                    countProducts);
+            SearchHits<ProductDocument> hits = search(nativeQuery, pointInTimeId != null);
+            if (hits.getPointInTimeId() != null) {
+                pointInTimeId = hits.getPointInTimeId();
+            }
+            if (countProducts) {
+                totalCount = productCount(hits);
+            }
+
+            for (SearchHit<ProductDocument> hit : hits.getSearchHits()) {
+                lastSortValues = hit.getSortValues();
+                ProductDocument doc = hit.getContent();
+                if (seenProductIds.add(doc.getProductId())) {
+                    products.add(toSummary(doc));
+                    if (products.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            if (hits.getSearchHits().size() < fetchSize) {
+                break;
+            }
+        }
+
+        boolean hasNext = products.size() >= limit && lastSortValues != null;
+        String nextCursor = hasNext ? new SearchAfterCursor(lastSortValues, pointInTimeId).encode() : null;
+        return new SearchResult(products, hasNext, totalCount, nextCursor);
+    }
+
+    // productId로 collapse해 상품당 최고 점수 옵션 하나만 받는다. 다음 페이지 여부를 알기 위해 한 건 더 읽는다.
+    private SearchResult executeCollapsed(Query query, List<SortOptions> sorts, int limit, SearchAfterCursor cursor) {
+        int offset = cursor != null && cursor.offset() != null ? cursor.offset() : 0;
+        if (offset + limit > MAX_RESULT_WINDOW) {
+            return new SearchResult(List.of(), false, null, null);
+        }
+        String pointInTimeId = resolvePointInTime(cursor);
+
+        NativeQuery nativeQuery = buildQuery(query, sorts, true, limit + 1, null, pointInTimeId, cursor == null);
+        nativeQuery.setPageable(new OffsetPageRequest(offset, limit + 1));
+        SearchHits<ProductDocument> hits = search(nativeQuery, pointInTimeId != null);
+        if (hits.getPointInTimeId() != null) {
+            pointInTimeId = hits.getPointInTimeId();
+        }
+
+        List<ProductSearchResponse.ProductSummary> products = hits.getSearchHits().stream()
+                .limit(limit)
+                .map(hit -> toSummary(hit.getContent()))
+                .toList();
+        int nextOffset = offset + products.size();
+        boolean hasNext = hits.getSearchHits().size() > limit && nextOffset + limit <= MAX_RESULT_WINDOW;
+        String nextCursor = hasNext ? SearchAfterCursor.ofOffset(nextOffset, pointInTimeId).encode() : null;
+        Long totalCount = cursor == null ? productCount(hits) : null;
+        return new SearchResult(products, hasNext, totalCount, nextCursor);
+    }
+
+    private Long productCount(SearchHits<ProductDocument> hits) {
+        if (hits.getAggregations() instanceof ElasticsearchAggregations aggregations) {
+            ElasticsearchAggregation aggregation = aggregations.get(AGG_PRODUCT_COUNT);
+            if (aggregation != null) {
+                return aggregation.aggregation().getAggregate().cardinality().value();
+            }
+        }
+        return null;
+    }
+
+    private NativeQuery buildQuery(Query query, List<SortOptions> sorts, boolean isScoreSort, int size,
+                                   List<Object> searchAfter, String pointInTimeId, boolean countProducts) {
         NativeQueryBuilder builder = NativeQuery.builder()
                 .withQuery(query)
                 .withSort(sorts)
-                .withPageable(PageRequest.of(page, limit))
+                .withMaxResults(size)
                 // 가격 정렬일 땐 점수 계산을 생략해 CPU 부담을 줄인다
                 .withTrackScores(isScoreSort)
-                .withFieldCollapse(FieldCollapse.of(c -> c.field(FIELD_PRODUCT_ID)))
                 .withSourceFilter(new FetchSourceFilterBuilder()
                         .withIncludes(
                                 "productOptionId",
@@ -166,53 +284,77 @@ public class ProductIndexSearchQueryRepositoryImpl implements ProductIndexSearch
                                 "thumbnailUrl")
                         .build())
                 .withTrackTotalHits(false);
-
-        NativeQuery nativeQuery = builder.build();
-        return executeQuery(nativeQuery, limit);
+        if (isScoreSort) {
+            builder.withFieldCollapse(FieldCollapse.of(c -> c.field(FIELD_PRODUCT_ID)));
+        }
+        if (countProducts) {
+            builder.withAggregation(AGG_PRODUCT_COUNT, Aggregation.of(a -> a
+                    .cardinality(c -> c.field(FIELD_PRODUCT_ID).precisionThreshold(PRODUCT_COUNT_PRECISION))));
+        }
+        if (searchAfter != null) {
+            builder.withSearchAfter(searchAfter);
+        }
+        if (pointInTimeId != null) {
+            builder.withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(
+                    pointInTimeId, pointInTimeKeepAlive()));
+        }
+        return builder.build();
     }
 
-    // 쿼리 실행 및 결과 매핑
-    private SearchResult executeQuery(NativeQuery query, int limit) {
-        SearchHits<ProductDocument> hits = elasticsearchOperations.search(query, ProductDocument.class);
+    private SearchHits<ProductDocument> search(NativeQuery query, boolean withPointInTime) {
+        try {
+            return elasticsearchOperations.search(query, ProductDocument.class);
+        } catch (RuntimeException e) {
+            if (!withPointInTime) {
+                throw e;
+            }
+            // PIT가 만료된 경우: 새 PIT로 같은 위치부터 이어서 조회한다. (이전 스냅샷과의 일관성은 보장되지 않음)
+            log.info("PIT 조회 실패 - 새 PIT로 재시도: {}", e.getMessage());
+            query.setPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(
+                    openPointInTime(), pointInTimeKeepAlive()));
+            return elasticsearchOperations.search(query, ProductDocument.class);
+        }
+    }
 
-        List<ProductSearchResponse.ProductSummary> products = hits.getSearchHits().stream()
-                .map(hit -> toSummary(hit.getContent()))
-                .collect(Collectors.toList());
+    // PIT 모드일 때 커서의 PIT를 이어 쓰고, 첫 페이지면 새로 연다.
+    private String resolvePointInTime(SearchAfterCursor cursor) {
+        if (!pointInTimeEnabled) {
+            return null;
+        }
+        if (cursor != null && cursor.pointInTimeId() != null) {
+            return cursor.pointInTimeId();
+        }
+        return openPointInTime();
+    }
 
-        boolean hasNext = products.size() >= limit;
-        Long total = hits.getTotalHits();
+    // PIT는 닫지 않고 keep-alive 만료로 정리한다. (커서 API는 스크롤 종료 시점을 알 수 없음)
+    private String openPointInTime() {
+        return elasticsearchOperations.openPointInTime(INDEX, pointInTimeKeepAlive());
+    }
 
-        return new SearchResult(products, hasNext, total);
+    private Duration pointInTimeKeepAlive() {
+        return Duration.ofSeconds(pointInTimeKeepAliveSeconds);
     }
 
-    // 정렬 옵션 빌드
+    // 정렬 옵션 빌드 (search_after가 항상 한 위치를 가리키도록 productOptionId를 마지막 기준으로 둔다)
     private List<SortOptions> buildSorts(ProductSearchCondition.PriceSort sort) {
         List<SortOptions> sorts = new ArrayList<>();
         if (sort == ProductSearchCondition.PriceSort.LOWEST) {
             sorts.add(SortOptions.of(s -> s.field(f -> f.field(FIELD_PRICE).order(SortOrder.Asc))));
             sorts.add(SortOptions.of(s -> s.field(f -> f.field(FIELD_PRODUCT_ID).order(SortOrder.Asc))));
+            sorts.add(SortOptions.of(s -> s.field(f -> f.field(FIELD_PRODUCT_OPTION_ID).order(SortOrder.Asc))));
         } else if (sort == ProductSearchCondition.PriceSort.HIGHEST) {
             sorts.add(SortOptions.of(s -> s.field(f -> f.field(FIELD_PRICE).order(SortOrder.Desc))));
             sorts.add(SortOptions.of(s -> s.field(f -> f.field(FIELD_PRODUCT_ID).order(SortOrder.Desc))));
+            sorts.add(SortOptions.of(s -> s.field(f -> f.field(FIELD_PRODUCT_OPTION_ID).order(SortOrder.Desc))));
         } else {
             sorts.add(SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))));
             sorts.add(SortOptions.of(s -> s.field(f -> f.field(FIELD_PRODUCT_ID).order(SortOrder.Desc))));
+            sorts.add(SortOptions.of(s -> s.field(f -> f.field(FIELD_PRODUCT_OPTION_ID).order(SortOrder.Desc))));
         }
         return sorts;
     }
 
-    private int parsePage(String cursor) {
-        if (cursor == null || cursor.isBlank()) {
-            return 0;
-        }
-        try {
-            int page = Integer.parseInt(cursor);
-            return page >= 0 ? page : 0;
-        } catch (NumberFormatException ex) {
-            return 0;
-        }
-    }
-
     // ProductDocument를 ProductSummary로 매핑
     private ProductSearchResponse.ProductSummary toSummary(ProductDocument doc) {
         BigDecimal price = doc.getDefaultPrice() != null ? BigDecimal.valueOf(doc.getDefaultPrice()) : null;
@@ -231,4 +373,20 @@ public class ProductIndexSearchQueryRepositoryImpl implements ProductIndexSearch
                 .categoryPath(null)
                 .build();
     }
+
+    // PageRequest는 페이지 번호 단위 오프셋만 표현하므로, 상품 단위 오프셋을 그대로 from으로 넘긴다.
+    private static final class OffsetPageRequest extends PageRequest {
+
+        private final long offset;
+
+        private OffsetPageRequest(long offset, int size) {
+            super(0, size, Sort.unsorted());
+            this.offset = offset;
+        }
+
+        @Override
+        public long getOffset() {
+            return offset;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package com.mudosa.musinsa.product.infrastructure.search.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * ES 페이지 커서. 마지막 히트의 정렬 값(점수/가격, productId, productOptionId) 또는 상품 단위 오프셋과 PIT ID를
+ * 불투명한 문자열로 인코딩한다. (오프셋은 productId collapse로 읽는 점수 정렬에서 쓴다.)
+ *
+ * 형식: base64url(("v1,v2,v3" | "@offset") + ["|" + pitId])
+ */
+record SearchAfterCursor(List<Object> sortValues, String pointInTimeId, Integer offset) {
+
+    SearchAfterCursor(List<Object> sortValues, String pointInTimeId) {
+        this(sortValues, pointInTimeId, null);
+    }
+
+    static SearchAfterCursor ofOffset(int offset, String pointInTimeId) {
+        return new SearchAfterCursor(List.of(), pointInTimeId, offset);
+    }
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // 정렬 값 중 productId 위치 (점수/가격 다음)
+    private static final int PRODUCT_ID_INDEX = 1;
+
+    String encode() {
+        StringBuilder sb = new StringBuilder();
+        if (offset != null) {
+            sb.append('@').append(offset);
+        }
+        for (int i = 0; i < sortValues.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(sortValues.get(i));
+        }
+        if (pointInTimeId != null) {
+            sb.append('|').append(pointInTimeId);
+        }
+        return ENCODER.encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서를 해석한다. 비어 있거나 형식이 맞지 않으면 null (첫 페이지).
+     */
+    static SearchAfterCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int pitSeparator = raw.indexOf('|');
+            String values = pitSeparator >= 0 ? raw.substring(0, pitSeparator) : raw;
+            String pointInTimeId = pitSeparator >= 0 ? raw.substring(pitSeparator + 1) : null;
+            if (values.startsWith("@")) {
+                int offset = Integer.parseInt(values.substring(1));
+                return offset >= 0 ? ofOffset(offset, pointInTimeId) : null;
+            }
+
+            List<Object> sortValues = new ArrayList<>();
+            for (String value : values.split(",")) {
+                sortValues.add(parseNumber(value));
+            }
+            if (sortValues.size() <= PRODUCT_ID_INDEX) {
+                return null;
+            }
+            return new SearchAfterCursor(sortValues, pointInTimeId);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    Long lastProductId() {
+        if (sortValues.size() <= PRODUCT_ID_INDEX) {
+            return null;
+        }
+        Object value = sortValues.get(PRODUCT_ID_INDEX);
+        return value instanceof Number n ? n.longValue() : null;
+    }
+
+    private static Object parseNumber(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return Double.parseDouble(value);
+        }
+    }
+}
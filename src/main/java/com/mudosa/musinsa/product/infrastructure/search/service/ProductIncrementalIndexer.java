@@ -0,0 +1,128 @@
+package com.mudosa.musinsa.product.infrastructure.search.service;
+
+import com.mudosa.musinsa.product.infrastructure.cache.NearCacheManager;
+import com.mudosa.musinsa.product.infrastructure.cache.SearchResultCache;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexChangeType;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutbox;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxRepository;
+import com.mudosa.musinsa.product.infrastructure.search.reindex.ProductReindexer;
+import com.mudosa.musinsa.product.infrastructure.search.reindex.ReindexCheckpointStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 색인 아웃박스를 읽어 변경된 옵션만 ES에 반영한다. (반영 방식은 ProductIndexChangeApplier 참고)
+ *
+ * - 전체 색인이 진행 중이면 처리한 변경 대상을 ReindexCheckpointStore에 남겨, 별칭 교체 전에 새 인덱스에도 반영되게 한다.
+ * - 상품/옵션 변경을 반영한 주기가 끝나면 인덱스를 refresh 하고 모든 노드의 검색 결과 캐시를 비운다.
+ *   재고 변경(hasStock 부분 갱신)만 있던 주기는 캐시를 비우지 않고 검색 결과 캐시의 refresh-after/ttl로 반영되게 둔다.
+ *   (주문마다 재고 이벤트가 생기므로 매 주기 전체 캐시를 비우면 캐시가 사실상 동작하지 않는다.)
+ * - 색인에 실패하면 트랜잭션이 롤백되어 다음 주기에 다시 처리된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "search.incremental-index.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ProductIncrementalIndexer {
+
+    private static final IndexCoordinates INDEX = IndexCoordinates.of(ProductReindexer.ALIAS);
+
+    private final ProductIndexOutboxRepository productIndexOutboxRepository;
+    private final ProductIndexChangeApplier productIndexChangeApplier;
+    private final ReindexCheckpointStore reindexCheckpointStore;
+    private final ProductIndexingService productIndexingService;
+    private final NearCacheManager nearCacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${search.incremental-index.batch-size:500}")
+    private int batchSize;
+
+    // 가장 오래된 미처리 이벤트의 대기 시간(초)
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private Timer indexLatency;
+
+    @PostConstruct
+    void init() {
+        meterRegistry.gauge("search.incremental_index.lag.seconds", lagSeconds);
+        indexLatency = Timer.builder("search.incremental_index.latency")
+            .description("변경 이벤트 적재부터 ES 반영까지 걸린 시간")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${search.incremental-index.poll-interval-ms:1000}")
+    public void poll() {
+        boolean contentChanged = false;
+        try {
+            Batch batch;
+            do {
+                batch = transactionTemplate.execute(status -> processBatch());
+                contentChanged |= batch != null && batch.contentChanged();
+            } while (batch != null && batch.size() >= batchSize);
+        } catch (Exception e) {
+            log.error("증분 색인 실패 - 다음 주기에 재시도", e);
+        } finally {
+            if (contentChanged) {
+                invalidateSearchResults();
+            }
+            updateLag();
+        }
+    }
+
+    /**
+     * 반영한 변경이 검색에 보인 뒤 캐시를 비워야 이전 결과가 다시 캐싱되지 않는다.
+     */
+    private void invalidateSearchResults() {
+        try {
+            productIndexingService.refresh(INDEX);
+            nearCacheManager.invalidate(SearchResultCache.CACHE_NAME);
+        } catch (Exception e) {
+            log.warn("검색 결과 캐시 무효화 실패", e);
+        }
+    }
+
+    private Batch processBatch() {
+        List<ProductIndexOutbox> events = productIndexOutboxRepository.claimBatch(batchSize);
+        if (events.isEmpty()) {
+            return new Batch(0, false);
+        }
+
+        // 전체 색인 중이면 새 인덱스에도 다시 반영되도록 변경 대상을 먼저 남긴다.
+        reindexCheckpointStore.recordChanges(events);
+        productIndexChangeApplier.apply(events, INDEX);
+        productIndexOutboxRepository.deleteAllInBatch(events);
+
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> indexLatency.record(Duration.between(event.getCreatedAt(), now)));
+        log.debug("증분 색인 완료 - events: {}", events.size());
+        boolean contentChanged = events.stream()
+            .anyMatch(event -> event.getChangeType() != ProductIndexChangeType.STOCK);
+        return new Batch(events.size(), contentChanged);
+    }
+
+    private void updateLag() {
+        try {
+            LocalDateTime oldest = productIndexOutboxRepository.findOldestCreatedAt();
+            lagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0);
+        } catch (Exception e) {
+            log.warn("색인 지연 측정 실패", e);
+        }
+    }
+
+    private record Batch(int size, boolean contentChanged) {}
+}
@@ -0,0 +1,86 @@
+package com.mudosa.musinsa.product.infrastructure.search.service;
+
+import com.mudosa.musinsa.product.application.dto.OptionStockSnapshot;
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ProductIndexDto;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutbox;
+import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexQueryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 색인 변경 이벤트를 DB 최신 상태로 다시 읽어 지정한 인덱스에 반영한다.
+ * 증분 색인(ProductIncrementalIndexer)과 재색인 중 변경 재반영(ProductReindexer)이 함께 사용한다.
+ *
+ * - 같은 옵션/상품에 대한 반복 변경은 한 번으로 합친다.
+ * - 상품/옵션 변경은 도큐먼트를 다시 만들고, 재고 변경은 hasStock 필드만 부분 갱신한다.
+ *   (도큐먼트를 다시 만드는 옵션의 재고 변경은 생략)
+ * - 삭제도 같은 이벤트로 반영한다. 상품 이벤트는 DB에 남은 옵션 외의 도큐먼트를, 옵션 이벤트는 DB에서 사라진
+ *   옵션의 도큐먼트를 지운다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductIndexChangeApplier {
+
+    private final ProductIndexQueryRepository productIndexQueryRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ProductIndexingService productIndexingService;
+
+    public void apply(Collection<ProductIndexOutbox> events, IndexCoordinates index) {
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> optionIds = new HashSet<>();
+        Set<Long> stockOptionIds = new HashSet<>();
+        for (ProductIndexOutbox event : events) {
+            switch (event.getChangeType()) {
+                case PRODUCT -> productIds.add(event.getTargetId());
+                case OPTION -> optionIds.add(event.getTargetId());
+                case STOCK -> stockOptionIds.add(event.getTargetId());
+            }
+        }
+
+        // 1. 도큐먼트 재생성 (상품 단위 + 옵션 단위)
+        List<ProductIndexDto> rebuilt = new ArrayList<>(productIndexQueryRepository.findByProductIds(productIds));
+        Set<Long> rebuiltOptionIds = new HashSet<>();
+        rebuilt.forEach(dto -> rebuiltOptionIds.add(dto.getProductOptionId()));
+        Set<Long> productOptionIds = new HashSet<>(rebuiltOptionIds);
+        optionIds.removeAll(rebuiltOptionIds);
+        for (ProductIndexDto dto : productIndexQueryRepository.findByProductOptionIds(optionIds)) {
+            rebuilt.add(dto);
+            rebuiltOptionIds.add(dto.getProductOptionId());
+        }
+        if (!rebuilt.isEmpty()) {
+            productIndexingService.indexAll(rebuilt, index);
+            stockOptionIds.removeAll(rebuiltOptionIds);
+        }
+
+        // 2. 삭제 반영 (상품 이벤트: 남은 옵션 외 도큐먼트, 옵션 이벤트: 조회되지 않은 옵션 도큐먼트)
+        productIndexingService.deleteMissingOptions(productIds, productOptionIds, index);
+        optionIds.removeAll(rebuiltOptionIds);
+        productIndexingService.deleteOptions(optionIds, index);
+        stockOptionIds.removeAll(optionIds);
+
+        // 3. 재고 여부만 부분 갱신
+        if (!stockOptionIds.isEmpty()) {
+            Map<Long, Boolean> hasStock = new HashMap<>();
+            for (OptionStockSnapshot snapshot : inventoryRepository.findStockSnapshots(new ArrayList<>(stockOptionIds))) {
+                hasStock.put(snapshot.productOptionId(),
+                    snapshot.stockQuantity() != null && snapshot.stockQuantity() != 0);
+            }
+            productIndexingService.updateHasStock(hasStock, index);
+        }
+
+        log.debug("색인 변경 반영 - index: {}, events: {}, rebuilt: {}, deletedOptions: {}, stockUpdated: {}",
+            index.getIndexName(), events.size(), rebuilt.size(), optionIds.size(), stockOptionIds.size());
+    }
+}
@@ -1,76 +1,115 @@
 package com.mudosa.musinsa.product.infrastructure.search.service;
 
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.IdsQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TermsQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TermsQueryField;
 import com.mudosa.musinsa.product.infrastructure.search.document.ProductDocument;
 import com.mudosa.musinsa.product.infrastructure.search.dto.ProductIndexDto;
 import com.mudosa.musinsa.product.infrastructure.search.mapper.ProductDocumentMapper;
-import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexQueryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
-import org.springframework.data.elasticsearch.core.IndexOperations;
 import org.springframework.data.elasticsearch.core.IndexedObjectInformation;
+import org.springframework.data.elasticsearch.core.document.Document;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.DeleteQuery;
 import org.springframework.data.elasticsearch.core.query.IndexQuery;
 import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
- * DB 데이터를 읽어 ES에 색인하는 서비스. 대량 색인을 위해 chunk + bulk를 사용한다.
+ * 변경된 옵션을 ES에 bulk 색인하는 서비스. 전체 색인은 ProductReindexer가 담당한다.
+ * 대상 인덱스는 호출한 쪽이 정한다. (증분 색인: product 별칭, 재색인 중 변경 재반영: 새 인덱스)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductIndexingService {
 
-    private static final int DEFAULT_PAGE_SIZE = 1000;
-    private static final IndexCoordinates INDEX = IndexCoordinates.of("product");
-
-    private final ProductIndexQueryRepository productIndexQueryRepository;
     private final ElasticsearchOperations elasticsearchOperations;
 
     /**
-     * 전체 상품 옵션을 읽어 색인한다. (dev/임시용)
+     * 옵션 도큐먼트를 통째로 다시 색인한다. (증분 색인용)
      */
-    @Transactional(readOnly = true)
-    public void reindexAll() {
-        reindexAll(DEFAULT_PAGE_SIZE);
+    public void indexAll(List<ProductIndexDto> dtos, IndexCoordinates index) {
+        bulkIndex(dtos.stream()
+            .map(ProductDocumentMapper::toDocument)
+            .collect(Collectors.toList()), index);
     }
 
-    @Transactional(readOnly = true)
-    public void reindexAll(int pageSize) {
-        Long cursor = null;
-        int batch = 0;
-        while (true) {
-            List<ProductIndexDto> chunk = productIndexQueryRepository.findChunk(cursor, pageSize);
-            if (chunk.isEmpty()) {
-                break;
-            }
-            List<ProductDocument> documents = chunk.stream()
-                .map(ProductDocumentMapper::toDocument)
-                .collect(Collectors.toList());
-
-            bulkIndex(documents);
+    /**
+     * 재고 여부(hasStock) 필드만 부분 갱신한다. 도큐먼트 전체를 다시 만들지 않는다.
+     */
+    public void updateHasStock(Map<Long, Boolean> hasStockByOptionId, IndexCoordinates index) {
+        if (hasStockByOptionId == null || hasStockByOptionId.isEmpty()) {
+            return;
+        }
+        List<UpdateQuery> queries = new ArrayList<>(hasStockByOptionId.size());
+        hasStockByOptionId.forEach((productOptionId, hasStock) -> {
+            Document partial = Document.create();
+            partial.put("hasStock", hasStock);
+            queries.add(UpdateQuery.builder(productOptionId.toString())
+                .withDocument(partial)
+                .build());
+        });
+        elasticsearchOperations.bulkUpdate(queries, index);
+    }
 
-            cursor = chunk.get(chunk.size() - 1).getProductOptionId();
-            batch++;
-            log.info("Indexed batch {} (last optionId={})", batch, cursor);
+    /**
+     * 상품의 옵션 도큐먼트 중 DB에 남아 있는 옵션(existingOptionIds)이 아닌 것을 지운다. (상품/옵션 삭제 반영)
+     */
+    public void deleteMissingOptions(Collection<Long> productIds, Collection<Long> existingOptionIds,
+                                     IndexCoordinates index) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        BoolQuery.Builder bool = new BoolQuery.Builder()
+            .filter(TermsQuery.of(t -> t.field("productId")
+                .terms(TermsQueryField.of(f -> f.value(productIds.stream().map(FieldValue::of).toList()))))._toQuery());
+        if (existingOptionIds != null && !existingOptionIds.isEmpty()) {
+            bool.mustNot(IdsQuery.of(i -> i.values(toIds(existingOptionIds)))._toQuery());
+        }
+        deleteByQuery(NativeQuery.builder().withQuery(bool.build()._toQuery()).build(), index);
+    }
 
-            if (chunk.size() < pageSize) {
-                break;
-            }
+    /**
+     * 옵션 도큐먼트를 ID로 지운다. (DB에서 사라진 옵션)
+     */
+    public void deleteOptions(Collection<Long> productOptionIds, IndexCoordinates index) {
+        if (productOptionIds == null || productOptionIds.isEmpty()) {
+            return;
         }
-        // 색인 완료 후 refresh
-        IndexOperations indexOps = elasticsearchOperations.indexOps(ProductDocument.class);
-        indexOps.refresh();
-        log.info("Reindexing completed");
+        deleteByQuery(NativeQuery.builder()
+            .withQuery(IdsQuery.of(i -> i.values(toIds(productOptionIds)))._toQuery())
+            .build(), index);
+    }
+
+    /**
+     * 반영한 변경이 검색에 보이도록 인덱스를 refresh 한다.
+     */
+    public void refresh(IndexCoordinates index) {
+        elasticsearchOperations.indexOps(index).refresh();
+    }
+
+    private void deleteByQuery(NativeQuery query, IndexCoordinates index) {
+        elasticsearchOperations.delete(DeleteQuery.builder(query).build(), ProductDocument.class, index);
+    }
+
+    private List<String> toIds(Collection<Long> productOptionIds) {
+        return productOptionIds.stream().map(String::valueOf).toList();
     }
 
-    private void bulkIndex(List<ProductDocument> documents) {
+    private void bulkIndex(List<ProductDocument> documents, IndexCoordinates index) {
         if (documents == null || documents.isEmpty()) {
             return;
         }
@@ -81,7 +120,7 @@ public class ProductIndexingService {
                 .withObject(doc)
                 .build());
         }
-        List<IndexedObjectInformation> results = elasticsearchOperations.bulkIndex(queries, INDEX);
+        List<IndexedObjectInformation> results = elasticsearchOperations.bulkIndex(queries, index);
         if (results == null || results.isEmpty()) {
             log.warn("Bulk index returned empty result for {} documents", documents.size());
         }
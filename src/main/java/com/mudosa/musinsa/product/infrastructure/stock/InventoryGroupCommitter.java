@@ -0,0 +1,194 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import com.mudosa.musinsa.product.domain.model.ProductOption;
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import com.mudosa.musinsa.product.domain.repository.ProductOptionRepository;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 조정 요청을 모아 그룹 커밋한다.
+ *
+ * - 플러시 주기 동안 들어온 요청을 옵션별로 묶어 옵션당 한 번의 UPDATE로 반영한다.
+ * - 옵션 행을 잠근 뒤 도착 순서대로 요청을 적용해 음수가 되는 요청만 개별 거절한다.
+ * - 각 요청의 Future는 배치 트랜잭션이 커밋된 뒤 반영 후 재고 수량으로 완료된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryGroupCommitter {
+
+	private final ProductOptionRepository productOptionRepository;
+	private final InventoryRepository inventoryRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ProductIndexOutboxPublisher productIndexOutboxPublisher;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${inventory.group-commit.enabled:false}")
+	private boolean enabled;
+
+	@Value("${inventory.group-commit.flush-interval-ms:10}")
+	private long flushIntervalMs;
+
+	@Value("${inventory.group-commit.max-batch-size:500}")
+	private int maxBatchSize;
+
+	private final LinkedBlockingQueue<Adjustment> queue = new LinkedBlockingQueue<>();
+
+	private ScheduledExecutorService flusher;
+	private DistributionSummary batchSize;
+	private Timer flushLatency;
+	private Counter rejected;
+
+	@PostConstruct
+	void init() {
+		batchSize = DistributionSummary.builder("inventory.group_commit.batch.size")
+			.description("그룹 커밋 한 번에 반영된 재고 조정 요청 수")
+			.register(meterRegistry);
+		flushLatency = Timer.builder("inventory.group_commit.flush.latency")
+			.description("그룹 커밋 배치 트랜잭션 소요 시간")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		rejected = Counter.builder("inventory.group_commit.rejected")
+			.description("재고 부족 등으로 거절된 재고 조정 요청 수")
+			.register(meterRegistry);
+		meterRegistry.gauge("inventory.group_commit.queue.size", queue, LinkedBlockingQueue::size);
+
+		if (enabled) {
+			flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "inventory-group-commit");
+				thread.setDaemon(true);
+				return thread;
+			});
+			flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		if (flusher != null) {
+			flusher.shutdown();
+		}
+		while (!queue.isEmpty()) {
+			flush();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 재고 조정 요청을 등록한다. (증가는 양수, 감소는 음수)
+	 *
+	 * @return 배치 커밋 후 반영된 재고 수량으로 완료되는 Future
+	 */
+	public CompletableFuture<Integer> submit(Long productOptionId, int delta) {
+		Adjustment adjustment = new Adjustment(productOptionId, delta, new CompletableFuture<>());
+		queue.add(adjustment);
+		return adjustment.future();
+	}
+
+	private void flushSafely() {
+		try {
+			while (!queue.isEmpty()) {
+				flush();
+			}
+		} catch (Exception e) {
+			log.error("재고 그룹 커밋 플러시 실패", e);
+		}
+	}
+
+	// 큐에서 최대 배치 크기만큼 꺼내 한 트랜잭션으로 반영한다.
+	void flush() {
+		List<Adjustment> batch = new ArrayList<>();
+		queue.drainTo(batch, maxBatchSize);
+		if (batch.isEmpty()) {
+			return;
+		}
+
+		Map<Long, List<Adjustment>> byOption = batch.stream()
+			.collect(Collectors.groupingBy(Adjustment::productOptionId, LinkedHashMap::new, Collectors.toList()));
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			List<Runnable> completions = transactionTemplate.execute(status -> commit(byOption));
+			// 커밋 이후에만 호출자에게 결과를 알린다.
+			if (completions != null) {
+				completions.forEach(Runnable::run);
+			}
+		} catch (Exception e) {
+			log.warn("재고 그룹 커밋 실패 - requests: {}, options: {}", batch.size(), byOption.size(), e);
+			batch.forEach(adjustment -> adjustment.future().completeExceptionally(e));
+		} finally {
+			sample.stop(flushLatency);
+			batchSize.record(batch.size());
+		}
+	}
+
+	private List<Runnable> commit(Map<Long, List<Adjustment>> byOption) {
+		Map<Long, Integer> currentStocks = productOptionRepository
+			.findByProductOptionIdInWithPessimisticLock(new ArrayList<>(byOption.keySet())).stream()
+			.collect(Collectors.toMap(ProductOption::getProductOptionId, ProductOption::getStockQuantity));
+
+		List<Runnable> completions = new ArrayList<>();
+		List<Long> changedOptionIds = new ArrayList<>();
+		byOption.forEach((productOptionId, adjustments) -> {
+			Integer stock = currentStocks.get(productOptionId);
+			if (stock == null) {
+				adjustments.forEach(adjustment -> completions.add(() ->
+					adjustment.future().completeExceptionally(new BusinessException(ErrorCode.INVENTORY_NOT_FOUND))));
+				return;
+			}
+
+			int running = stock;
+			int net = 0;
+			for (Adjustment adjustment : adjustments) {
+				if (running + adjustment.delta() < 0) {
+					rejected.increment();
+					int available = running;
+					completions.add(() -> adjustment.future().completeExceptionally(
+						new BusinessException(ErrorCode.INSUFFICIENT_STOCK, ErrorCode.STOCK_QUANTITY_OUT_OF_STOCK.getMessage()
+							+ " (현재 재고: " + available + ")")));
+					continue;
+				}
+				running += adjustment.delta();
+				net += adjustment.delta();
+				int result = running;
+				completions.add(() -> adjustment.future().complete(result));
+			}
+
+			if (net != 0) {
+				inventoryRepository.applyStockDelta(productOptionId, net);
+				changedOptionIds.add(productOptionId);
+			}
+		});
+		productIndexOutboxPublisher.stockChanged(changedOptionIds);
+		return completions;
+	}
+
+	record Adjustment(Long productOptionId, int delta, CompletableFuture<Integer> future) {}
+}
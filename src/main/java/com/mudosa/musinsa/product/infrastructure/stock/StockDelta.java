@@ -0,0 +1,55 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Redis 예약/해제로 생긴 재고 변화량 아웃박스.
+ * 주문과 같은 트랜잭션에서 적재되고, StockWriteBehindBuffer가 옵션별로 합쳐 DB 재고에 반영한 뒤 삭제한다.
+ * DB 재고가 음수가 되어 반영되지 않은 행은 rejected로 표시되어 대사 주기마다 다시 시도된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "stock_delta_outbox", indexes = {
+	@Index(name = "idx_stock_delta_outbox_rejected", columnList = "rejected, delta_id"),
+	@Index(name = "idx_stock_delta_outbox_option", columnList = "product_option_id")
+})
+public class StockDelta {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "delta_id")
+	private Long id;
+
+	@Column(name = "product_option_id", nullable = false)
+	private Long productOptionId;
+
+	@Column(name = "delta", nullable = false)
+	private Integer delta;
+
+	@Column(name = "rejected", nullable = false)
+	private boolean rejected;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	public static StockDelta of(Long productOptionId, int delta) {
+		StockDelta stockDelta = new StockDelta();
+		stockDelta.productOptionId = productOptionId;
+		stockDelta.delta = delta;
+		stockDelta.rejected = false;
+		stockDelta.createdAt = LocalDateTime.now();
+		return stockDelta;
+	}
+}
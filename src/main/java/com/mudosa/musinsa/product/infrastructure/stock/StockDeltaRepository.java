@@ -0,0 +1,26 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StockDeltaRepository extends JpaRepository<StockDelta, Long> {
+
+	// 다른 노드가 반영 중인 행은 건너뛰고 오래된 순으로 가져온다.
+	@Query(value = """
+		SELECT * FROM stock_delta_outbox
+		 WHERE rejected = :rejected
+		 ORDER BY delta_id
+		 LIMIT :limit
+		   FOR UPDATE SKIP LOCKED
+		""", nativeQuery = true)
+	List<StockDelta> claimBatch(@Param("rejected") boolean rejected, @Param("limit") int limit);
+
+	@Modifying
+	@Query("update StockDelta d set d.rejected = true where d.id in :ids")
+	int markRejected(@Param("ids") Collection<Long> ids);
+}
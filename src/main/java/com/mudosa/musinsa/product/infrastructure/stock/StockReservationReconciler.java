@@ -0,0 +1,166 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import com.mudosa.musinsa.product.application.dto.OptionStockSnapshot;
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 가용 재고를 Inventory.stockQuantity와 대사한다.
+ *
+ * - 기동 시와 주기적으로 옵션 ID 키셋 순서로 전체 재고를 훑는다.
+ * - Redis에 없는 옵션은 (DB 재고 + 아웃박스의 미반영 변화량)으로 적재한다.
+ * - 먼저 DB 반영이 거절되어 보관 중인 변화량을 다시 반영한다.
+ * - 미반영 변화량은 DB 아웃박스에 있으므로 어느 노드에서 돌아도 같은 기대값을 얻는다.
+ *   다만 보정이 중복되지 않도록 Redis 잠금을 잡은 한 노드만 대사한다.
+ * - 이미 적재된 값은 결제 진행 중인 예약이 있을 수 있어 바로 덮어쓰지 않는다.
+ *   같은 옵션이 두 주기 연속 같은 차이로 어긋나면 진행 중인 예약이 아닌 실제 불일치로 보고 차이만큼 더해 보정한다.
+ *   (잠금을 놓친 주기가 있으면 직전 차이를 버려, 연속 두 주기를 같은 노드가 본 경우에만 보정한다.)
+ *
+ * 메트릭: stock.reconcile.drift (발견한 불일치 수), stock.reconcile.repaired (보정한 옵션 수),
+ * stock.reconcile.drifted.options (직전 주기의 불일치 옵션 수)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stock.reservation.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class StockReservationReconciler {
+
+	private final InventoryRepository inventoryRepository;
+	private final StockReservationStore stockReservationStore;
+	private final StockWriteBehindBuffer stockWriteBehindBuffer;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${stock.reservation.reconcile-page-size:1000}")
+	private int pageSize;
+
+	@Value("${stock.reservation.repair-drift:true}")
+	private boolean repairDrift;
+
+	@Value("${stock.reservation.reconcile-lock-ttl-ms:300000}")
+	private long lockTtlMs;
+
+	private final String lockOwner = UUID.randomUUID().toString();
+
+	// 직전 주기에 발견한 옵션별 차이 (Redis - 기대값)
+	private final Map<Long, Long> previousDrift = new ConcurrentHashMap<>();
+	private final AtomicLong lastDrifted = new AtomicLong();
+
+	private Counter driftCounter;
+	private Counter repairedCounter;
+
+	@PostConstruct
+	void init() {
+		driftCounter = Counter.builder("stock.reconcile.drift")
+			.description("Redis 가용 재고와 DB 기준 기대값이 어긋난 옵션 수 (주기마다 누적)")
+			.register(meterRegistry);
+		repairedCounter = Counter.builder("stock.reconcile.repaired")
+			.description("대사 작업이 보정한 옵션 수")
+			.register(meterRegistry);
+		meterRegistry.gauge("stock.reconcile.drifted.options", lastDrifted, AtomicLong::get);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconcileOnStartup() {
+		reconcile();
+	}
+
+	@Scheduled(initialDelayString = "${stock.reservation.reconcile-interval-ms:60000}",
+		fixedDelayString = "${stock.reservation.reconcile-interval-ms:60000}")
+	public void reconcile() {
+		if (!stockReservationStore.tryLockReconcile(lockOwner, Duration.ofMillis(lockTtlMs))) {
+			previousDrift.clear();
+			log.debug("다른 노드가 재고 대사 중 - 이번 주기 건너뜀");
+			return;
+		}
+		try {
+			reconcileLocked();
+		} finally {
+			stockReservationStore.unlockReconcile(lockOwner);
+		}
+	}
+
+	private void reconcileLocked() {
+		int retried = stockWriteBehindBuffer.retryRejected();
+
+		long lastProductOptionId = 0L;
+		long loaded = 0;
+		long drifted = 0;
+		long repaired = 0;
+		long scanned = 0;
+		Map<Long, Long> currentDrift = new HashMap<>();
+
+		while (true) {
+			List<OptionStockSnapshot> page = inventoryRepository.findAvailableSnapshotsAfter(
+				lastProductOptionId, PageRequest.of(0, pageSize));
+			if (page.isEmpty()) {
+				break;
+			}
+
+			Map<Long, Long> expected = toExpectedAvailable(page);
+			Map<Long, Long> cached = stockReservationStore.getAll(expected.keySet());
+
+			Map<Long, Long> missing = new HashMap<>();
+			Map<Long, Long> corrections = new HashMap<>();
+			for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+				Long current = cached.get(entry.getKey());
+				if (current == null) {
+					missing.put(entry.getKey(), entry.getValue());
+				} else if (!current.equals(entry.getValue())) {
+					long drift = current - entry.getValue();
+					drifted++;
+					currentDrift.put(entry.getKey(), drift);
+					log.debug("재고 불일치 - productOptionId: {}, redis: {}, expected: {}",
+						entry.getKey(), current, entry.getValue());
+					if (repairDrift && Long.valueOf(drift).equals(previousDrift.get(entry.getKey()))) {
+						corrections.put(entry.getKey(), -drift);
+					}
+				}
+			}
+			loaded += stockReservationStore.loadIfAbsent(missing);
+			if (!corrections.isEmpty()) {
+				repaired += stockReservationStore.adjust(corrections);
+				corrections.keySet().forEach(currentDrift::remove);
+				log.warn("재고 불일치 보정 - corrections: {}", corrections);
+			}
+
+			scanned += page.size();
+			lastProductOptionId = page.get(page.size() - 1).productOptionId();
+		}
+
+		previousDrift.clear();
+		previousDrift.putAll(currentDrift);
+		lastDrifted.set(drifted);
+		driftCounter.increment(drifted);
+		repairedCounter.increment(repaired);
+
+		log.info("Redis 재고 대사 완료 - scanned: {}, loaded: {}, drifted: {}, repaired: {}, retried: {}",
+			scanned, loaded, drifted, repaired, retried);
+	}
+
+	private Map<Long, Long> toExpectedAvailable(List<OptionStockSnapshot> snapshots) {
+		Map<Long, Long> expected = new HashMap<>();
+		for (OptionStockSnapshot snapshot : snapshots) {
+			expected.put(snapshot.productOptionId(), (long) snapshot.stockQuantity());
+		}
+		return expected;
+	}
+}
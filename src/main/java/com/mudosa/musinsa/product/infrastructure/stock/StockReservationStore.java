@@ -0,0 +1,200 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 옵션별 가용 재고를 Redis에 보관하고 Lua 스크립트로 원자적으로 예약/해제한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockReservationStore {
+
+	private static final String KEY_PREFIX = "stock:available:";
+	private static final String RECONCILE_LOCK_KEY = "stock:reconcile:lock";
+
+	// 모든 키를 먼저 검사한 뒤 전부 충분할 때만 차감한다. (all-or-nothing)
+	// 반환: [상태, 가용수량1, 가용수량2, ...] / 상태 1=예약, 0=재고 부족, -1=키 없음
+	private static final RedisScript<List> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+		local result = {1}
+		for i = 1, #KEYS do
+		  local current = redis.call('GET', KEYS[i])
+		  if not current then
+		    result[1] = -1
+		    result[i + 1] = -1
+		  else
+		    current = tonumber(current)
+		    result[i + 1] = current
+		    if result[1] == 1 and current < tonumber(ARGV[i]) then
+		      result[1] = 0
+		    end
+		  end
+		end
+		if result[1] ~= 1 then
+		  return result
+		end
+		for i = 1, #KEYS do
+		  redis.call('DECRBY', KEYS[i], ARGV[i])
+		end
+		return result
+		""", List.class);
+
+	// 적재된 키에 대해서만 수량을 더한다. 없는 키는 다음 적재 시 DB 기준으로 채워진다.
+	// (예약 해제와 대사 보정에 함께 쓴다. 보정량은 음수일 수 있다.)
+	private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+		local released = 0
+		for i = 1, #KEYS do
+		  if redis.call('EXISTS', KEYS[i]) == 1 then
+		    redis.call('INCRBY', KEYS[i], ARGV[i])
+		    released = released + 1
+		  end
+		end
+		return released
+		""", Long.class);
+
+	// MSETNX는 하나라도 존재하면 전체를 건너뛰므로 키마다 SETNX 한다.
+	private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+		local loaded = 0
+		for i = 1, #KEYS do
+		  loaded = loaded + redis.call('SETNX', KEYS[i], ARGV[i])
+		end
+		return loaded
+		""", Long.class);
+
+	// 자신이 잡은 잠금일 때만 해제한다.
+	private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+		if redis.call('GET', KEYS[1]) == ARGV[1] then
+		  return redis.call('DEL', KEYS[1])
+		end
+		return 0
+		""", Long.class);
+
+	private final StringRedisTemplate redisTemplate;
+
+	/**
+	 * 요청한 옵션 수량을 한 번에 예약한다. 하나라도 부족하거나 적재되지 않았다면 아무것도 차감하지 않는다.
+	 */
+	@SuppressWarnings("unchecked")
+	public ReserveResult reserve(Map<Long, Integer> quantities) {
+		List<Long> optionIds = new ArrayList<>(quantities.keySet());
+		List<String> keys = optionIds.stream().map(this::buildKey).toList();
+		Object[] args = optionIds.stream().map(id -> String.valueOf(quantities.get(id))).toArray();
+
+		List<Long> raw = (List<Long>) redisTemplate.execute(RESERVE_SCRIPT, keys, args);
+
+		Map<Long, Long> available = new LinkedHashMap<>();
+		for (int i = 0; i < optionIds.size(); i++) {
+			available.put(optionIds.get(i), raw.get(i + 1));
+		}
+		return new ReserveResult(Status.of(raw.get(0)), available);
+	}
+
+	/**
+	 * 예약했던 수량을 돌려준다.
+	 */
+	public void release(Map<Long, Integer> quantities) {
+		List<Long> optionIds = new ArrayList<>(quantities.keySet());
+		List<String> keys = optionIds.stream().map(this::buildKey).toList();
+		Object[] args = optionIds.stream().map(id -> String.valueOf(quantities.get(id))).toArray();
+
+		redisTemplate.execute(RELEASE_SCRIPT, keys, args);
+	}
+
+	/**
+	 * 아직 적재되지 않은 옵션만 초기 가용 수량을 채운다. 이미 있는 키는 덮어쓰지 않는다.
+	 */
+	public long loadIfAbsent(Map<Long, Long> availableByOptionId) {
+		if (availableByOptionId == null || availableByOptionId.isEmpty()) {
+			return 0;
+		}
+		List<String> keys = new ArrayList<>(availableByOptionId.size());
+		List<String> args = new ArrayList<>(availableByOptionId.size());
+		availableByOptionId.forEach((id, available) -> {
+			keys.add(buildKey(id));
+			args.add(String.valueOf(Math.max(available, 0)));
+		});
+		Long loaded = redisTemplate.execute(LOAD_SCRIPT, keys, args.toArray());
+		return loaded != null ? loaded : 0;
+	}
+
+	/**
+	 * 적재된 옵션의 가용 수량에 보정량을 더한다. (대사 작업의 불일치 보정용)
+	 * 덮어쓰지 않고 더하므로 조회 이후 들어온 예약/해제는 그대로 유지된다.
+	 */
+	public long adjust(Map<Long, Long> correctionByOptionId) {
+		if (correctionByOptionId == null || correctionByOptionId.isEmpty()) {
+			return 0;
+		}
+		List<String> keys = new ArrayList<>(correctionByOptionId.size());
+		List<String> args = new ArrayList<>(correctionByOptionId.size());
+		correctionByOptionId.forEach((id, correction) -> {
+			keys.add(buildKey(id));
+			args.add(String.valueOf(correction));
+		});
+		Long adjusted = redisTemplate.execute(RELEASE_SCRIPT, keys, args.toArray());
+		return adjusted != null ? adjusted : 0;
+	}
+
+	/**
+	 * 현재 Redis에 적재된 가용 수량을 조회한다. 적재되지 않은 옵션은 결과에서 빠진다.
+	 */
+	public Map<Long, Long> getAll(Collection<Long> optionIds) {
+		if (optionIds == null || optionIds.isEmpty()) {
+			return Map.of();
+		}
+		List<Long> idList = new ArrayList<>(optionIds);
+		List<String> values = redisTemplate.opsForValue().multiGet(idList.stream().map(this::buildKey).toList());
+
+		Map<Long, Long> result = new HashMap<>();
+		for (int i = 0; i < idList.size(); i++) {
+			String raw = values != null && i < values.size() ? values.get(i) : null;
+			if (raw != null) {
+				result.put(idList.get(i), Long.parseLong(raw));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 대사 작업 잠금을 잡는다. 여러 노드 중 한 노드만 대사/보정을 수행한다.
+	 * 노드가 죽어도 ttl이 지나면 다른 노드가 이어받는다.
+	 */
+	public boolean tryLockReconcile(String owner, Duration ttl) {
+		return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, owner, ttl));
+	}
+
+	public void unlockReconcile(String owner) {
+		redisTemplate.execute(UNLOCK_SCRIPT, List.of(RECONCILE_LOCK_KEY), owner);
+	}
+
+	private String buildKey(Long productOptionId) {
+		return KEY_PREFIX + productOptionId;
+	}
+
+	public enum Status {
+		RESERVED, INSUFFICIENT, NOT_LOADED;
+
+		private static Status of(Long code) {
+			if (code == null || code < 0) {
+				return NOT_LOADED;
+			}
+			return code == 1 ? RESERVED : INSUFFICIENT;
+		}
+	}
+
+	/**
+	 * 예약 결과와 스크립트 실행 시점의 옵션별 가용 수량. (적재되지 않은 옵션은 -1)
+	 */
+	public record ReserveResult(Status status, Map<Long, Long> available) {}
+}
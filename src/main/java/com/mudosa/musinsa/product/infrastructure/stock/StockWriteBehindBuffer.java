@@ -0,0 +1,145 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis에서 예약/해제된 재고 변화량을 아웃박스(stock_delta_outbox)에 남겼다가 주기적으로 DB 재고에 반영한다.
+ * 같은 옵션에 대한 여러 주문의 변화량은 한 번의 UPDATE로 합쳐진다.
+ *
+ * - 변화량은 주문과 같은 트랜잭션에서 적재되므로 노드가 죽어도 사라지지 않고 모든 노드가 같은 값을 본다.
+ * - 반영은 SKIP LOCKED로 행을 나눠 가져가므로 여러 노드가 함께 돌아도 같은 변화량을 두 번 반영하지 않는다.
+ * - DB 재고가 음수가 되어 반영되지 않은 변화량은 rejected로 표시해 두고 대사 주기마다 다시 시도한다.
+ * - 반영 전 변화량은 아웃박스에 남아 있으므로 대사 작업은 (DB 재고 + 아웃박스 합계)를 기대값으로 본다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockWriteBehindBuffer {
+
+	private final StockDeltaRepository stockDeltaRepository;
+	private final InventoryRepository inventoryRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ProductIndexOutboxPublisher productIndexOutboxPublisher;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${stock.reservation.flush-batch-size:1000}")
+	private int batchSize;
+
+	// 직전 반영에서 거절된 옵션 수
+	private final AtomicLong rejectedOptions = new AtomicLong();
+
+	private Counter rejected;
+
+	@PostConstruct
+	void init() {
+		rejected = Counter.builder("stock.write_behind.rejected")
+			.description("DB 재고가 음수가 되어 반영되지 않고 보관된 변화량 수")
+			.register(meterRegistry);
+		meterRegistry.gauge("stock.write_behind.rejected.options", rejectedOptions, AtomicLong::get);
+	}
+
+	/**
+	 * 재고 변화량을 아웃박스에 적재한다. (차감은 음수, 복구는 양수)
+	 * 호출자의 트랜잭션에 참여하므로 주문이 롤백되면 변화량도 함께 사라진다.
+	 */
+	public void add(Map<Long, Integer> deltas) {
+		List<StockDelta> rows = new ArrayList<>();
+		deltas.forEach((productOptionId, delta) -> {
+			if (delta != 0) {
+				rows.add(StockDelta.of(productOptionId, delta));
+			}
+		});
+		if (!rows.isEmpty()) {
+			stockDeltaRepository.saveAll(rows);
+		}
+	}
+
+	/**
+	 * 거절되어 보관 중인 변화량을 다시 반영한다. 그 사이 재고가 입고되었다면 반영되고, 여전히 음수가 되면 계속 보관한다.
+	 *
+	 * @return 반영에 성공한 옵션 수
+	 */
+	public int retryRejected() {
+		return apply(true);
+	}
+
+	@Scheduled(fixedDelayString = "${stock.reservation.flush-interval-ms:200}")
+	public void flush() {
+		apply(false);
+	}
+
+	// 아웃박스 행을 가져와 옵션별로 합쳐 반영하고, 반영된 행은 같은 트랜잭션에서 삭제한다.
+	private int apply(boolean retrying) {
+		try {
+			Integer applied = transactionTemplate.execute(status -> {
+				List<StockDelta> claimed = stockDeltaRepository.claimBatch(retrying, batchSize);
+				if (claimed.isEmpty()) {
+					return 0;
+				}
+
+				// 옵션 ID 순으로 갱신해 노드 간 행 잠금 순서를 맞춘다.
+				Map<Long, List<StockDelta>> byOption = new TreeMap<>();
+				claimed.forEach(row -> byOption.computeIfAbsent(row.getProductOptionId(), id -> new ArrayList<>()).add(row));
+
+				List<Long> doneIds = new ArrayList<>();
+				List<Long> rejectedIds = new ArrayList<>();
+				List<Long> changedOptionIds = new ArrayList<>();
+				long stillRejected = 0;
+				for (Map.Entry<Long, List<StockDelta>> entry : byOption.entrySet()) {
+					List<Long> ids = entry.getValue().stream().map(StockDelta::getId).toList();
+					int delta = entry.getValue().stream().mapToInt(StockDelta::getDelta).sum();
+					if (delta == 0) {
+						doneIds.addAll(ids);
+					} else if (inventoryRepository.applyStockDelta(entry.getKey(), delta) == 1) {
+						doneIds.addAll(ids);
+						changedOptionIds.add(entry.getKey());
+					} else {
+						// 음수 재고가 되는 변화량은 버리지 않고 보관해 대사 주기에 다시 시도한다.
+						stillRejected++;
+						if (!retrying) {
+							log.error("재고 반영 거절 (음수 또는 재고 없음), 보관 후 재시도 - productOptionId: {}, delta: {}",
+								entry.getKey(), delta);
+							rejectedIds.addAll(ids);
+							rejected.increment();
+						}
+					}
+				}
+
+				if (!doneIds.isEmpty()) {
+					stockDeltaRepository.deleteAllByIdInBatch(doneIds);
+				}
+				if (!rejectedIds.isEmpty()) {
+					stockDeltaRepository.markRejected(rejectedIds);
+				}
+				productIndexOutboxPublisher.stockChanged(changedOptionIds);
+				if (retrying) {
+					rejectedOptions.set(stillRejected);
+				} else {
+					rejectedOptions.addAndGet(stillRejected);
+				}
+				return changedOptionIds.size();
+			});
+			return applied != null ? applied : 0;
+		} catch (Exception e) {
+			// 롤백되면 행이 아웃박스에 그대로 남아 다음 주기에 다시 시도된다.
+			log.warn("재고 일괄 반영 실패, 재시도 예정 - rejected: {}", retrying, e);
+			return 0;
+		}
+	}
+}
@@ -1,12 +1,18 @@
 package com.mudosa.musinsa.product.presentation.controller;
 
-import com.mudosa.musinsa.product.infrastructure.search.service.ProductIndexingService;
+import com.mudosa.musinsa.product.infrastructure.cache.SearchResultCache;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ReindexResult;
+import com.mudosa.musinsa.product.infrastructure.search.reindex.ProductReindexer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * ES 색인 실행용 임시 엔드포인트 (dev/관리자용).
  */
@@ -15,11 +21,23 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class ProductIndexController {
 
-    private final ProductIndexingService productIndexingService;
+    private final ProductReindexer productReindexer;
+    private final SearchResultCache searchResultCache;
 
+    /**
+     * 새 인덱스에 전체 색인 후 product 별칭을 교체한다. 이전 실행이 실패했다면 중단된 지점부터 이어서 색인한다.
+     */
     @PostMapping("/reindex")
-    public ResponseEntity<Void> reindex() {
-        productIndexingService.reindexAll();
-        return ResponseEntity.accepted().build();
+    public ResponseEntity<ReindexResult> reindex() {
+        return ResponseEntity.ok(productReindexer.reindex());
+    }
+
+    /**
+     * 검색 결과 캐시의 시그니처별 적중 현황 (요청 수 상위 순).
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<List<SearchResultCache.SignatureSummary>> cacheStats(
+        @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(searchResultCache.topSignatures(limit));
     }
 }
@@ -0,0 +1,205 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.mudosa.musinsa.brand.domain.event.BrandChangedEvent;
+import com.mudosa.musinsa.brand.domain.model.Brand;
+import com.mudosa.musinsa.brand.domain.repository.BrandRepository;
+import com.mudosa.musinsa.product.infrastructure.cache.NearCacheManager;
+import com.mudosa.musinsa.settlement.domain.vo.CommissionRate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 정산용 브랜드 디렉터리 (브랜드 ID → 이름, 수수료율).
+ *
+ * - 처음 조회할 때 전체 브랜드를 한 번에 적재하고, refresh-interval-ms마다 다시 적재한다.
+ * - 조회는 불변 스냅샷에서 읽으므로 락이 없다. 스냅샷에 없는 브랜드만 한 번의 IN 조회로 채운다.
+ * - BrandService에서 브랜드가 바뀌면(BrandChangedEvent) 커밋 후 NearCacheManager 무효화 채널로 전파해
+ *   모든 노드가 스냅샷을 버리고 다음 조회 때 다시 적재한다.
+ *   무효화 전에 시작한 적재 결과는 세대가 바뀌었으므로 스냅샷에 넣지 않는다.
+ * - 메트릭: settlement.brand_directory.lookups{result=hit|miss}, settlement.brand_directory.size
+ */
+@Slf4j
+@Component
+public class BrandDirectory {
+
+    public static final String CACHE_NAME = "settlement.brand-directory";
+
+    private final BrandRepository brandRepository;
+    private final NearCacheManager nearCacheManager;
+    private final Counter hits;
+    private final Counter misses;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // 무효화할 때마다 올린다. 적재 전에 읽은 값과 다르면 그 사이 무효화된 것이다.
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Map<Long, BrandEntry> snapshot;
+
+    public BrandDirectory(BrandRepository brandRepository, NearCacheManager nearCacheManager,
+        MeterRegistry meterRegistry) {
+        this.brandRepository = brandRepository;
+        this.nearCacheManager = nearCacheManager;
+        this.hits = Counter.builder("settlement.brand_directory.lookups")
+            .tag("result", "hit")
+            .description("브랜드 디렉터리 조회 수")
+            .register(meterRegistry);
+        this.misses = Counter.builder("settlement.brand_directory.lookups")
+            .tag("result", "miss")
+            .description("브랜드 디렉터리 조회 수")
+            .register(meterRegistry);
+        Gauge.builder("settlement.brand_directory.size", this, directory -> {
+                Map<Long, BrandEntry> current = directory.snapshot;
+                return current != null ? current.size() : 0;
+            })
+            .description("브랜드 디렉터리에 적재된 브랜드 수")
+            .register(meterRegistry);
+        nearCacheManager.registerLocalInvalidator(CACHE_NAME, this::invalidateLocal);
+    }
+
+    /**
+     * 브랜드 정보를 한 번에 조회한다. 없는 브랜드는 결과에서 빠진다.
+     */
+    public Map<Long, BrandEntry> getAll(Collection<Long> brandIds) {
+        Map<Long, BrandEntry> current = current();
+        Map<Long, BrandEntry> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long brandId : brandIds) {
+            if (brandId == null) {
+                continue;
+            }
+            BrandEntry entry = current.get(brandId);
+            if (entry != null) {
+                result.put(brandId, entry);
+            } else {
+                missing.add(brandId);
+            }
+        }
+        hits.increment(result.size());
+        if (!missing.isEmpty()) {
+            misses.increment(missing.size());
+            result.putAll(loadMissing(missing));
+        }
+        return result;
+    }
+
+    public BrandEntry get(Long brandId) {
+        return getAll(List.of(brandId)).get(brandId);
+    }
+
+    /* 브랜드가 없으면 기본 수수료율 */
+    public Map<Long, BigDecimal> getCommissionRates(Collection<Long> brandIds) {
+        Map<Long, BrandEntry> entries = getAll(brandIds);
+        Map<Long, BigDecimal> rates = new HashMap<>();
+        for (Long brandId : brandIds) {
+            BrandEntry entry = entries.get(brandId);
+            rates.put(brandId, entry != null ? entry.commissionRate() : CommissionRate.getDefaultRate());
+        }
+        return rates;
+    }
+
+    public BigDecimal getCommissionRate(Long brandId) {
+        return getCommissionRates(List.of(brandId)).get(brandId);
+    }
+
+    @Scheduled(fixedDelayString = "${settlement.brand-directory.refresh-interval-ms:300000}")
+    public void refreshAll() {
+        // 아직 한 번도 조회되지 않았으면 첫 조회 때 적재한다.
+        if (snapshot == null) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("브랜드 디렉터리 갱신 실패 - 기존 스냅샷 유지", e);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBrandChanged(BrandChangedEvent event) {
+        nearCacheManager.invalidate(CACHE_NAME);
+    }
+
+    /* 무효화 수신 (발행한 노드 포함). 구독 스레드에서 호출되므로 DB를 읽지 않고 스냅샷만 버린다. */
+    private void invalidateLocal() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Map<Long, BrandEntry> current() {
+        Map<Long, BrandEntry> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            current = snapshot;
+            return current != null ? current : reload();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /* 적재 도중 무효화되면 이번 조회에만 쓰고 스냅샷에는 넣지 않는다. */
+    private Map<Long, BrandEntry> reload() {
+        long loadedGeneration = generation.get();
+        Map<Long, BrandEntry> loaded = brandRepository.findAll().stream()
+            .collect(Collectors.toUnmodifiableMap(Brand::getBrandId, BrandEntry::from));
+        if (generation.get() == loadedGeneration) {
+            snapshot = loaded;
+        }
+        log.info("브랜드 디렉터리 적재 완료: {}개", loaded.size());
+        return loaded;
+    }
+
+    private Map<Long, BrandEntry> loadMissing(Set<Long> brandIds) {
+        long loadedGeneration = generation.get();
+        Map<Long, BrandEntry> loaded = brandRepository.findAllById(new ArrayList<>(brandIds)).stream()
+            .collect(Collectors.toMap(Brand::getBrandId, BrandEntry::from));
+        if (!loaded.isEmpty()) {
+            merge(loaded, loadedGeneration);
+        }
+        return loaded;
+    }
+
+    /* 스냅샷을 복사해 바꾼 뒤 교체한다 (copy-on-write). 그 사이 무효화됐으면 버린다. */
+    private void merge(Map<Long, BrandEntry> entries, long loadedGeneration) {
+        loadLock.lock();
+        try {
+            Map<Long, BrandEntry> current = snapshot;
+            if (current == null || generation.get() != loadedGeneration) {
+                return;
+            }
+            Map<Long, BrandEntry> next = new HashMap<>(current);
+            next.putAll(entries);
+            snapshot = Map.copyOf(next);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public record BrandEntry(Long brandId, String nameKo, BigDecimal commissionRate) {
+        static BrandEntry from(Brand brand) {
+            return new BrandEntry(brand.getBrandId(), brand.getNameKo(), brand.getCommissionRate());
+        }
+    }
+}
@@ -10,6 +10,9 @@ import com.mudosa.musinsa.settlement.domain.model.SettlementWeekly;
 import com.mudosa.musinsa.settlement.domain.model.SettlementYearly;
 import com.mudosa.musinsa.settlement.domain.repository.*;
 import com.mudosa.musinsa.settlement.domain.service.SettlementNumberGenerator;
+import com.mudosa.musinsa.common.vo.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -32,6 +35,10 @@ import java.util.Optional;
  * 3. 일일 → 월간 집계 (SettlementDaily → SettlementMonthly)
  * 4. 월간 → 연간 집계 (SettlementMonthly → SettlementYearly)
  *
+ * 이미 있는 버킷은 새로 만들지 않고 재계산 값으로 갱신하므로 여러 번 실행해도 결과가 같다.
+ * 정산 롤업(SettlementRollupService)을 켠 경우 버킷은 거래 시점에 이미 채워져 있고,
+ * 이 집계는 롤업 값을 검증하고 어긋난 버킷을 바로잡는 용도로 동작한다.
+ *
  * 호출 위치:
  * - DailySettlementAggregationJob (일일 배치)
  * - WeeklySettlementAggregationJob (주간 배치)
@@ -52,6 +59,7 @@ public class SettlementAggregationService {
     private final SettlementMonthlyMapper monthlyMapper;
     private final SettlementYearlyRepository yearlyRepository;
     private final SettlementNumberGenerator settlementNumberGenerator;
+    private final MeterRegistry meterRegistry;
 
     /**
      * 거래별 정산 데이터 -> 일일 정산으로 집계
@@ -80,19 +88,21 @@ public class SettlementAggregationService {
         List<SettlementDaily> dailySettlements = new ArrayList<>();
 
         for (DailyAggregationDto dto : aggregations) {
-            String settlementNumber = settlementNumberGenerator.generateDailyNumber(
-                dto.getSettlementDate()
-            );
-
-            SettlementDaily daily = SettlementDaily.create(
-                dto.getBrandId(),
-                dto.getSettlementDate(),
-                settlementNumber,
-                "Asia/Seoul"
-            );
+            SettlementDaily daily = dailyRepository.findByBrandIdAndSettlementDate(
+                    dto.getBrandId(), dto.getSettlementDate())
+                .orElseGet(() -> SettlementDaily.create(
+                    dto.getBrandId(),
+                    dto.getSettlementDate(),
+                    settlementNumberGenerator.generateDailyNumber(dto.getSettlementDate()),
+                    "Asia/Seoul"
+                ));
+            Totals before = Totals.of(daily.getId(), daily.getTotalOrderCount(),
+                daily.getTotalSalesAmount(), daily.getFinalSettlementAmount());
 
             //TODO: 과연 분리하는게 맞을까
             setDailyAggregationData(daily, dto);
+            verifyRollup("daily", dto.getBrandId(), dto.getSettlementDate(), before, Totals.of(daily.getId(),
+                daily.getTotalOrderCount(), daily.getTotalSalesAmount(), daily.getFinalSettlementAmount()));
 
             daily.startProcessing();
             daily.complete();
@@ -135,21 +145,23 @@ public class SettlementAggregationService {
         List<SettlementWeekly> weeklySettlements = new ArrayList<>();
 
         for (WeeklyAggregationDto dto : aggregations) {
-            String settlementNumber = settlementNumberGenerator.generateWeeklyNumber(
-                dto.getYear(), dto.getWeekOfMonth()
-            );
-
-            SettlementWeekly weekly = SettlementWeekly.create(
-                dto.getBrandId(),
-                dto.getYear(),
-                dto.getWeekOfMonth(),
-                dto.getWeekStartDate(),
-                dto.getWeekEndDate(),
-                settlementNumber,
-                "Asia/Seoul"
-            );
+            SettlementWeekly weekly = weeklyRepository.findByBrandIdAndWeekStartDate(
+                    dto.getBrandId(), dto.getWeekStartDate())
+                .orElseGet(() -> SettlementWeekly.create(
+                    dto.getBrandId(),
+                    dto.getYear(),
+                    dto.getWeekOfMonth(),
+                    dto.getWeekStartDate(),
+                    dto.getWeekEndDate(),
+                    settlementNumberGenerator.generateWeeklyNumber(dto.getYear(), dto.getWeekOfMonth()),
+                    "Asia/Seoul"
+                ));
+            Totals before = Totals.of(weekly.getId(), weekly.getTotalOrderCount(),
+                weekly.getTotalSalesAmount(), weekly.getFinalSettlementAmount());
 
             setWeeklyAggregationData(weekly, dto);
+            verifyRollup("weekly", dto.getBrandId(), dto.getWeekStartDate(), before, Totals.of(weekly.getId(),
+                weekly.getTotalOrderCount(), weekly.getTotalSalesAmount(), weekly.getFinalSettlementAmount()));
 
             weekly.startProcessing();
             weekly.complete();
@@ -190,19 +202,21 @@ public class SettlementAggregationService {
         List<SettlementMonthly> monthlySettlements = new ArrayList<>();
 
         for (MonthlyAggregationDto dto : aggregations) {
-            String settlementNumber = settlementNumberGenerator.generateMonthlyNumber(
-                dto.getYear(), dto.getMonth()
-            );
-
-            SettlementMonthly monthly = SettlementMonthly.create(
-                dto.getBrandId(),
-                dto.getYear(),
-                dto.getMonth(),
-                settlementNumber,
-                "Asia/Seoul"
-            );
+            SettlementMonthly monthly = monthlyRepository.findByBrandIdAndSettlementYearAndSettlementMonth(
+                    dto.getBrandId(), dto.getYear(), dto.getMonth())
+                .orElseGet(() -> SettlementMonthly.create(
+                    dto.getBrandId(),
+                    dto.getYear(),
+                    dto.getMonth(),
+                    settlementNumberGenerator.generateMonthlyNumber(dto.getYear(), dto.getMonth()),
+                    "Asia/Seoul"
+                ));
+            Totals before = Totals.of(monthly.getId(), monthly.getTotalOrderCount(),
+                monthly.getTotalSalesAmount(), monthly.getFinalSettlementAmount());
 
             setMonthlyAggregationData(monthly, dto);
+            verifyRollup("monthly", dto.getBrandId(), monthly.getMonthStartDate(), before, Totals.of(monthly.getId(),
+                monthly.getTotalOrderCount(), monthly.getTotalSalesAmount(), monthly.getFinalSettlementAmount()));
 
             monthly.startProcessing();
             monthly.complete();
@@ -242,16 +256,19 @@ public class SettlementAggregationService {
 
         YearlyAggregationDto dto = aggregations.get(0);
 
-        String settlementNumber = settlementNumberGenerator.generateYearlyNumber(dto.getYear());
-
-        SettlementYearly yearly = SettlementYearly.create(
-            dto.getBrandId(),
-            dto.getYear(),
-            settlementNumber,
-            "Asia/Seoul"
-        );
+        SettlementYearly yearly = yearlyRepository.findByBrandIdAndSettlementYear(dto.getBrandId(), dto.getYear())
+            .orElseGet(() -> SettlementYearly.create(
+                dto.getBrandId(),
+                dto.getYear(),
+                settlementNumberGenerator.generateYearlyNumber(dto.getYear()),
+                "Asia/Seoul"
+            ));
+        Totals before = Totals.of(yearly.getId(), yearly.getTotalOrderCount(),
+            yearly.getTotalSalesAmount(), yearly.getFinalSettlementAmount());
 
         setYearlyAggregationData(yearly, dto);
+        verifyRollup("yearly", dto.getBrandId(), yearly.getYearStartDate(), before, Totals.of(yearly.getId(),
+            yearly.getTotalOrderCount(), yearly.getTotalSalesAmount(), yearly.getFinalSettlementAmount()));
 
         yearly.startProcessing();
         yearly.complete();
@@ -264,6 +281,30 @@ public class SettlementAggregationService {
         return Optional.of(saved);
     }
 
+    /*
+     * 롤업으로 쌓인 버킷 값과 원천 데이터로 다시 계산한 값을 비교한다.
+     * 다르면 재계산 값으로 덮어쓰므로 로그와 settlement.rollup.repaired 메트릭으로 남긴다.
+     */
+    private void verifyRollup(String tier, Long brandId, LocalDate periodStart, Totals before, Totals after) {
+        if (before == null || before.equals(after)) {
+            return;
+        }
+        log.warn("정산 롤업 불일치 보정: tier={}, brandId={}, 기간={}, 롤업={}, 재계산={}",
+            tier, brandId, periodStart, before, after);
+        Counter.builder("settlement.rollup.repaired")
+            .tag("tier", tier)
+            .description("기간 배치 검증에서 보정한 롤업 버킷 수")
+            .register(meterRegistry)
+            .increment();
+    }
+
+    /* 롤업 검증용 버킷 값 (저장 전 버킷이면 null) */
+    private record Totals(int orderCount, Money salesAmount, Money finalSettlementAmount) {
+        static Totals of(Long id, int orderCount, Money salesAmount, Money finalSettlementAmount) {
+            return id == null ? null : new Totals(orderCount, salesAmount, finalSettlementAmount);
+        }
+    }
+
     /* DailyAggregationDto 데이터를 SettlementDaily에 설정 */
     private void setDailyAggregationData(SettlementDaily daily, DailyAggregationDto dto) {
         daily.setAggregatedData(
@@ -25,6 +25,7 @@ import java.util.List;
 public class SettlementApplicationService {
 
     private final SettlementPerTransactionRepository settlementPerTransactionRepository;
+    private final SettlementRollupService settlementRollupService;
 
     /**
      * 결제 완료 시 정산 거래 생성
@@ -64,6 +65,7 @@ public class SettlementApplicationService {
         );
 
         SettlementPerTransaction saved = settlementPerTransactionRepository.save(settlement);
+        settlementRollupService.apply(List.of(saved));
 
         log.info("Settlement transaction created: id={}, final_amount={}",
             saved.getId(), saved.calculateFinalSettlementAmount());
@@ -0,0 +1,270 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import com.mudosa.musinsa.settlement.batch.dto.SettlementExportDto;
+import com.mudosa.musinsa.settlement.domain.model.SettlementExportFormat;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementPerTransactionMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 거래별 정산 내보내기 (CSV / NDJSON, gzip)
+ *
+ * 기간의 settlements_per_transaction을 MyBatis 스트리밍 조회 한 번으로 읽어 응답 스트림에 바로 쓴다.
+ * 페이지(COUNT + OFFSET) 없이 행을 받는 대로 쓰므로 건수와 관계없이 메모리가 일정하다.
+ *
+ * - 내보내기는 끝날 때까지 DB 커넥션을 하나 잡고 있으므로 동시 실행 수를 max-concurrent로 제한한다.
+ * - 메트릭: settlement.export.rows, settlement.export.bytes (gzip 후 전송 바이트), settlement.export.duration{format}
+ *   rows/sec, bytes/sec는 이 카운터의 rate로 본다.
+ */
+@Slf4j
+@Service
+public class SettlementExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "settlement_transaction_id,brand_id,payment_id,pg_transaction_id,"
+        + "transaction_date,transaction_date_local,transaction_type,transaction_amount,commission_rate,"
+        + "commission_amount,tax_amount,pg_fee_amount,final_settlement_amount,timezone_offset";
+
+    private final SettlementPerTransactionMapper perTransactionMapper;
+    private final ObjectWriter ndjsonWriter;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    private final int maxRangeDays;
+    private final Counter exportedRows;
+    private final Counter exportedBytes;
+
+    public SettlementExportService(SettlementPerTransactionMapper perTransactionMapper,
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${settlement.export.max-concurrent:2}") int maxConcurrent,
+        @Value("${settlement.export.max-range-days:366}") int maxRangeDays) {
+        this.perTransactionMapper = perTransactionMapper;
+        this.ndjsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxRangeDays = maxRangeDays;
+        this.exportedRows = Counter.builder("settlement.export.rows")
+            .description("내보낸 거래별 정산 행 수")
+            .register(meterRegistry);
+        this.exportedBytes = Counter.builder("settlement.export.bytes")
+            .description("내보내기로 전송한 바이트 수 (gzip 후)")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 요청을 검증하고 실행 슬롯을 잡는다. 응답 헤더를 쓰기 전에 호출해야 오류를 일반 API 오류로 돌려줄 수 있다.
+     *
+     * @param brandId 브랜드 ID (null이면 전체 브랜드)
+     */
+    public Export open(Long brandId, LocalDate startDate, LocalDate endDate, SettlementExportFormat format) {
+        if (startDate.isAfter(endDate) || ChronoUnit.DAYS.between(startDate, endDate) >= maxRangeDays) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER);
+        }
+        if (!permits.tryAcquire()) {
+            throw new BusinessException(ErrorCode.SETTLEMENT_EXPORT_BUSY);
+        }
+        return new Export(brandId, startDate, endDate, format);
+    }
+
+    public final class Export implements AutoCloseable {
+        private final Long brandId;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final SettlementExportFormat format;
+        private boolean closed;
+
+        private Export(Long brandId, LocalDate startDate, LocalDate endDate, SettlementExportFormat format) {
+            this.brandId = brandId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.format = format;
+        }
+
+        public String getFileName() {
+            return "settlements_%s_%s.%s".formatted(startDate, endDate, format.getExtension());
+        }
+
+        /* gzip으로 압축해 out에 쓴다. out은 닫지 않는다. */
+        public void writeTo(OutputStream out) throws IOException {
+            long startedAt = System.nanoTime();
+            CountingOutputStream counted = new CountingOutputStream(out);
+            GZIPOutputStream gzip = new GZIPOutputStream(counted, BUFFER_SIZE);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+            RowWriter rowWriter = format == SettlementExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+            long[] rows = {0};
+            try {
+                perTransactionMapper.streamForExport(startDate, endDate, brandId, context -> {
+                    try {
+                        rowWriter.write(context.getResultObject());
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                rowWriter.finish();
+                writer.flush();
+                gzip.finish();
+                counted.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                record(rows[0], counted.count, System.nanoTime() - startedAt);
+            }
+        }
+
+        private void record(long rows, long bytes, long elapsedNanos) {
+            exportedRows.increment(rows);
+            exportedBytes.increment(bytes);
+            Timer.builder("settlement.export.duration")
+                .tag("format", format.name())
+                .description("정산 내보내기 소요 시간")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+            double seconds = Math.max(elapsedNanos / 1_000_000_000.0, 0.001);
+            log.info("정산 내보내기 - 기간: {} ~ {}, brandId: {}, 형식: {}, {}행 / {}바이트, {}초 ({} rows/s, {} bytes/s)",
+                startDate, endDate, brandId, format, rows, bytes, String.format("%.1f", seconds),
+                Math.round(rows / seconds), Math.round(bytes / seconds));
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                permits.release();
+            }
+        }
+    }
+
+    private interface RowWriter {
+        void write(SettlementExportDto row) throws IOException;
+
+        default void finish() throws IOException {
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(SettlementExportDto row) throws IOException {
+            writer.write(String.valueOf(row.getSettlementTransactionId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getBrandId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getPaymentId()));
+            writer.write(',');
+            writeText(row.getPgTransactionId());
+            writer.write(',');
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.getTransactionDate()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getTransactionDateLocal()));
+            writer.write(',');
+            writeText(row.getTransactionType());
+            writer.write(',');
+            writer.write(row.getTransactionAmount().toPlainString());
+            writer.write(',');
+            writer.write(row.getCommissionRate().toPlainString());
+            writer.write(',');
+            writer.write(row.getCommissionAmount().toPlainString());
+            writer.write(',');
+            writer.write(row.getTaxAmount().toPlainString());
+            writer.write(',');
+            writer.write(row.getPgFeeAmount().toPlainString());
+            writer.write(',');
+            writer.write(row.getFinalSettlementAmount().toPlainString());
+            writer.write(',');
+            writeText(row.getTimezoneOffset());
+            writer.write('\n');
+        }
+
+        /* 쉼표, 따옴표, 줄바꿈이 있으면 큰따옴표로 감싼다 (RFC 4180) */
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = ndjsonWriter.createGenerator(writer);
+            // 행 사이 구분자는 기본 공백 대신 줄바꿈만 쓴다
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(SettlementExportDto row) throws IOException {
+            ndjsonWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /* gzip 후 실제로 응답에 쓴 바이트 수 */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.mudosa.musinsa.common.vo.Money;
+import com.mudosa.musinsa.settlement.domain.model.SettlementPerTransaction;
+import com.mudosa.musinsa.settlement.domain.model.TransactionType;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementPerTransactionJdbcRepository;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementPerTransactionJdbcRepository.SettlementSource;
+import com.mudosa.musinsa.settlement.domain.service.PgFeeCalculator;
+import com.mudosa.musinsa.settlement.outbox.SettlementOutbox;
+import com.mudosa.musinsa.settlement.outbox.SettlementOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 정산 아웃박스를 배치로 읽어 여러 결제의 정산 거래를 한 번에 만든다.
+ *
+ * - 아웃박스 행 잠금(SKIP LOCKED) → 정산 거래 INSERT → 아웃박스 삭제를 한 트랜잭션에서 처리하므로
+ *   결제당 정산 거래는 정확히 한 번만 만들어진다. (이미 정산된 결제는 건너뛰고 아웃박스만 삭제)
+ * - 정산 롤업이 켜져 있으면 같은 트랜잭션에서 일/주/월/연 버킷에도 증분을 더한다.
+ * - 주문 상품 라인은 결제 묶음 단위로 한 번에 조회하고, 수수료율은 BrandDirectory에서 가져온다.
+ * - 배치가 실패하면 결제별로 나눠 다시 처리하고, 실패한 결제만 attempts를 늘린다.
+ *   max-attempts에 도달한 행은 더 이상 가져오지 않으며 settlement.outbox.dead로 집계된다.
+ * - 메트릭: settlement.outbox.latency, settlement.outbox.lag.seconds, settlement.outbox.dead, settlement.outbox.created
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "settlement.outbox.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SettlementOutboxRelay {
+
+    private static final String TIMEZONE = "Asia/Seoul";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SettlementOutboxRepository settlementOutboxRepository;
+    private final SettlementPerTransactionJdbcRepository settlementPerTransactionJdbcRepository;
+    private final BrandDirectory brandDirectory;
+    private final SettlementRollupService settlementRollupService;
+    private final PgFeeCalculator pgFeeCalculator;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${settlement.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${settlement.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final AtomicLong deadCount = new AtomicLong();
+    private Timer latency;
+    private Counter created;
+
+    @PostConstruct
+    void init() {
+        meterRegistry.gauge("settlement.outbox.lag.seconds", lagSeconds);
+        meterRegistry.gauge("settlement.outbox.dead", deadCount);
+        latency = Timer.builder("settlement.outbox.latency")
+            .description("결제 승인부터 정산 거래 생성까지 걸린 시간")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        created = Counter.builder("settlement.outbox.created")
+            .description("아웃박스로 생성한 정산 거래 수")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${settlement.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            int claimed;
+            do {
+                claimed = relayBatch();
+            } while (claimed >= batchSize);
+        } catch (Exception e) {
+            log.error("정산 아웃박스 처리 실패 - 다음 주기에 재시도", e);
+        } finally {
+            updateGauges();
+        }
+    }
+
+    private int relayBatch() {
+        List<Long> claimedIds = new ArrayList<>();
+        try {
+            Integer processed = transactionTemplate.execute(status -> {
+                List<SettlementOutbox> events = settlementOutboxRepository.claimBatch(batchSize, maxAttempts);
+                events.forEach(event -> claimedIds.add(event.getId()));
+                process(events);
+                return events.size();
+            });
+            return processed != null ? processed : 0;
+        } catch (RuntimeException e) {
+            if (claimedIds.isEmpty()) {
+                throw e;
+            }
+            log.warn("정산 아웃박스 배치 실패 - 결제별로 재처리, size: {}", claimedIds.size(), e);
+            claimedIds.forEach(this::relayOne);
+            return claimedIds.size();
+        }
+    }
+
+    private void relayOne(Long outboxId) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                settlementOutboxRepository.claimOne(outboxId).ifPresent(event -> process(List.of(event))));
+        } catch (RuntimeException e) {
+            log.error("정산 생성 실패 - outboxId: {}", outboxId, e);
+            String message = String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> settlementOutboxRepository.recordFailure(
+                outboxId, message.substring(0, Math.min(message.length(), MAX_ERROR_LENGTH))));
+        }
+    }
+
+    private void process(List<SettlementOutbox> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<Long, SettlementOutbox> byPaymentId = new LinkedHashMap<>();
+        events.forEach(event -> byPaymentId.put(event.getPaymentId(), event));
+
+        // 이미 정산된 결제는 아웃박스만 삭제한다.
+        Set<Long> settled = settlementPerTransactionJdbcRepository.findSettledPaymentIds(byPaymentId.keySet());
+        List<Long> targets = byPaymentId.keySet().stream().filter(id -> !settled.contains(id)).toList();
+        if (!settled.isEmpty()) {
+            log.warn("이미 정산된 결제 건너뜀 - paymentIds: {}", settled);
+        }
+
+        List<SettlementSource> sources = settlementPerTransactionJdbcRepository.findSources(targets);
+        Map<Long, BigDecimal> commissionRates = brandDirectory.getCommissionRates(
+            sources.stream().map(SettlementSource::brandId).distinct().toList());
+
+        List<SettlementPerTransaction> settlements = new ArrayList<>(sources.size());
+        for (SettlementSource source : sources) {
+            Money transactionAmount = Money.of(source.productPrice()).multiply(source.productQuantity());
+            settlements.add(SettlementPerTransaction.create(
+                source.brandId(),
+                source.paymentId(),
+                byPaymentId.get(source.paymentId()).getPgTransactionId(),
+                transactionAmount,
+                commissionRates.get(source.brandId()),
+                pgFeeCalculator.calculate(source.paymentMethod(), transactionAmount),
+                TransactionType.ORDER,
+                TIMEZONE
+            ));
+        }
+        settlementPerTransactionJdbcRepository.insertAll(settlements);
+        settlementRollupService.apply(settlements);
+        settlementOutboxRepository.deleteAllInBatch(events);
+
+        created.increment(settlements.size());
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> latency.record(Duration.between(event.getCreatedAt(), now)));
+        log.debug("정산 아웃박스 처리 완료 - payments: {}, settlements: {}", targets.size(), settlements.size());
+    }
+
+    private void updateGauges() {
+        try {
+            LocalDateTime oldest = settlementOutboxRepository.findOldestCreatedAt(maxAttempts);
+            lagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).toSeconds() : 0);
+            deadCount.set(settlementOutboxRepository.countByAttemptsGreaterThanEqual(maxAttempts));
+        } catch (Exception e) {
+            log.warn("정산 아웃박스 지연 측정 실패", e);
+        }
+    }
+}
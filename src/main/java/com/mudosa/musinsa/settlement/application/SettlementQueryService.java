@@ -1,15 +1,16 @@
 package com.mudosa.musinsa.settlement.application;
 
-import com.mudosa.musinsa.brand.domain.model.Brand;
-import com.mudosa.musinsa.brand.domain.repository.BrandRepository;
 import com.mudosa.musinsa.common.vo.Money;
 import com.mudosa.musinsa.exception.BusinessException;
 import com.mudosa.musinsa.exception.ErrorCode;
+import com.mudosa.musinsa.settlement.application.BrandDirectory.BrandEntry;
 import com.mudosa.musinsa.settlement.domain.model.SettlementDaily;
 import com.mudosa.musinsa.settlement.domain.model.SettlementMonthly;
 import com.mudosa.musinsa.settlement.domain.model.SettlementWeekly;
 import com.mudosa.musinsa.settlement.domain.model.SettlementYearly;
 import com.mudosa.musinsa.settlement.domain.model.SettlementPerTransaction;
+import com.mudosa.musinsa.settlement.domain.model.StatisticsBucket;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementDailyMapper;
 import com.mudosa.musinsa.settlement.domain.repository.SettlementDailyRepository;
 import com.mudosa.musinsa.settlement.domain.repository.SettlementMonthlyRepository;
 import com.mudosa.musinsa.settlement.domain.repository.SettlementPerTransactionRepository;
@@ -26,9 +27,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +44,7 @@ import java.util.stream.Collectors;
  *
  * - @Transactional(readOnly = true)
  * - 페이징
+ * - 브랜드명은 BrandDirectory에서 페이지당 한 번에 조회한다.
  */
 @Slf4j
 @Service
@@ -48,13 +54,16 @@ public class SettlementQueryService {
 
     private static final int WEEK_LOOKUP_DAYS = 7;
     private static final int STATISTICS_PAGE_SIZE = 1;
+    private static final int MAX_STATISTICS_SERIES_DAYS = 1096;
 
     private final SettlementDailyRepository dailyRepository;
     private final SettlementWeeklyRepository weeklyRepository;
     private final SettlementMonthlyRepository monthlyRepository;
     private final SettlementYearlyRepository yearlyRepository;
     private final SettlementPerTransactionRepository perTransactionRepository;
-    private final BrandRepository brandRepository;
+    private final BrandDirectory brandDirectory;
+    private final SettlementStatisticsStore statisticsStore;
+    private final SettlementDailyMapper dailyMapper;
 
     /* 일일 정산 목록 조회 (페이징) */
     public Page<SettlementDailyResponse> getDailySettlements(Long brandId, Pageable pageable) {
@@ -69,10 +78,12 @@ public class SettlementQueryService {
             settlements = dailyRepository.findByBrandIdOrderBySettlementDateDesc(brandId, pageable);
         }
 
-        return settlements.map(settlement -> {
-            String brandName = getBrandName(settlement.getBrandId());
-            return SettlementDailyResponse.from(settlement, brandName);
-        });
+        Map<Long, BrandEntry> brands = getBrands(settlements.getContent().stream()
+            .map(SettlementDaily::getBrandId)
+            .toList());
+
+        return settlements.map(settlement ->
+            SettlementDailyResponse.from(settlement, getBrandName(brands, settlement.getBrandId())));
     }
 
     /* 일일 정산 상세 조회 */
@@ -123,10 +134,12 @@ public class SettlementQueryService {
             settlements = monthlyRepository.findByBrandIdOrderBySettlementYearDescSettlementMonthDesc(brandId, pageable);
         }
 
-        return settlements.map(settlement -> {
-            String brandName = getBrandName(settlement.getBrandId());
-            return SettlementMonthlyResponse.from(settlement, brandName);
-        });
+        Map<Long, BrandEntry> brands = getBrands(settlements.getContent().stream()
+            .map(SettlementMonthly::getBrandId)
+            .toList());
+
+        return settlements.map(settlement ->
+            SettlementMonthlyResponse.from(settlement, getBrandName(brands, settlement.getBrandId())));
     }
 
     /* 월간 정산 상세 조회 */
@@ -234,6 +247,53 @@ public class SettlementQueryService {
         );
     }
 
+    /**
+     * 정산 통계 시계열 조회 - 브랜드 목록, 기간, 버킷(일/주/월)
+     *
+     * 통계 저장소(메모리)에서 답하고, 저장소가 꺼져 있거나 범위 밖이면 settlements_daily를 한 번 스트리밍 조회해 계산한다.
+     *
+     * @param brandIds 브랜드 ID 목록 (비어 있으면 전체 브랜드)
+     */
+    public SettlementStatisticsSeriesResponse getStatisticsSeries(
+        List<Long> brandIds,
+        LocalDate startDate,
+        LocalDate endDate,
+        StatisticsBucket bucket
+    ) {
+        log.info("정산 통계 시계열 조회 - brandIds: {}, startDate: {}, endDate: {}, bucket: {}",
+            brandIds, startDate, endDate, bucket);
+
+        if (startDate.isAfter(endDate)
+            || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_STATISTICS_SERIES_DAYS) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER);
+        }
+        List<Long> targets = (brandIds == null || brandIds.isEmpty()) ? null : brandIds.stream().distinct().toList();
+
+        SettlementStatisticsSeries statistics = statisticsStore.query(targets, startDate, endDate, bucket)
+            .orElseGet(() -> loadStatisticsSeries(targets, startDate, endDate, bucket));
+
+        Map<Long, BrandEntry> brands = getBrands(new ArrayList<>(statistics.getSeries().keySet()));
+        Map<Long, String> brandNames = new HashMap<>();
+        brands.forEach((id, brand) -> brandNames.put(id, brand.nameKo()));
+
+        return SettlementStatisticsSeriesResponse.of(statistics, startDate, endDate, brandNames);
+    }
+
+    /* 저장소로 답할 수 없을 때 DB에서 계산 */
+    private SettlementStatisticsSeries loadStatisticsSeries(
+        List<Long> brandIds,
+        LocalDate startDate,
+        LocalDate endDate,
+        StatisticsBucket bucket
+    ) {
+        SettlementStatisticsSeries.Builder builder = SettlementStatisticsSeries.builder(startDate, endDate, bucket);
+        if (brandIds != null) {
+            brandIds.forEach(builder::brand);
+        }
+        dailyMapper.streamDailyStatistics(startDate, endDate, brandIds, context -> builder.add(context.getResultObject()));
+        return builder.build();
+    }
+
     /* 오늘 통계 조회 */
     private SettlementStatistics getTodayStatistics(Long brandId, LocalDate today) {
         if (brandId == null) {
@@ -403,11 +463,25 @@ public class SettlementQueryService {
         }
     }
 
+    /* 페이지에 나온 브랜드를 한 번에 조회 */
+    private Map<Long, BrandEntry> getBrands(List<Long> brandIds) {
+        return brandDirectory.getAll(brandIds.stream().distinct().toList());
+    }
+
+    private String getBrandName(Map<Long, BrandEntry> brands, Long brandId) {
+        BrandEntry brand = brands.get(brandId);
+        if (brand == null) {
+            throw new BusinessException(ErrorCode.BRAND_NOT_FOUND);
+        }
+        return brand.nameKo();
+    }
+
     /* 브랜드명 조회 */
     private String getBrandName(Long brandId) {
-        Brand brand = brandRepository.findById(brandId)
-            .orElseThrow(() -> new BusinessException(ErrorCode.BRAND_NOT_FOUND));
-
-        return brand.getNameKo();
+        BrandEntry brand = brandDirectory.get(brandId);
+        if (brand == null) {
+            throw new BusinessException(ErrorCode.BRAND_NOT_FOUND);
+        }
+        return brand.nameKo();
     }
 }
\ No newline at end of file
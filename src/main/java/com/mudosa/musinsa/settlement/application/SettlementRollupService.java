@@ -0,0 +1,126 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.mudosa.musinsa.settlement.domain.model.SettlementPerTransaction;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementRollupJdbcRepository;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementRollupJdbcRepository.RollupDelta;
+import com.mudosa.musinsa.settlement.domain.service.SettlementNumberGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * 정산 롤업 서비스
+ *
+ * 새 정산 거래를 일/주/월/연 버킷에 증분으로 바로 더해 대시보드가 배치를 기다리지 않고 최신 값을 보게 한다.
+ * 정산 거래 INSERT와 같은 트랜잭션에서 호출해야 거래와 버킷 값이 함께 커밋/롤백된다.
+ * 같은 버킷의 거래는 메모리에서 먼저 합쳐 버킷당 한 번만 UPSERT 한다. 정산 번호는 버킷 행을 새로 만들 때만 발급한다.
+ * 버킷의 settlement_timezone은 거래의 오프셋이 아니라 기간 배치와 같은 정산 타임존으로 기록한다.
+ *
+ * 기간 배치(SettlementAggregationService)는 원천 데이터로 다시 계산해 버킷 값을 검증하고, 다르면 바로잡는다.
+ */
+@Slf4j
+@Service
+public class SettlementRollupService {
+
+    private static final String SETTLEMENT_TIMEZONE = "Asia/Seoul";
+
+    private final SettlementRollupJdbcRepository rollupRepository;
+    private final SettlementNumberGenerator settlementNumberGenerator;
+    private final boolean enabled;
+    private final Counter applied;
+
+    public SettlementRollupService(SettlementRollupJdbcRepository rollupRepository,
+        SettlementNumberGenerator settlementNumberGenerator,
+        MeterRegistry meterRegistry,
+        @Value("${settlement.rollup.enabled:false}") boolean enabled) {
+        this.rollupRepository = rollupRepository;
+        this.settlementNumberGenerator = settlementNumberGenerator;
+        this.enabled = enabled;
+        this.applied = Counter.builder("settlement.rollup.applied")
+            .description("롤업 버킷에 반영한 정산 거래 수")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(List<SettlementPerTransaction> settlements) {
+        if (!enabled || settlements.isEmpty()) {
+            return;
+        }
+
+        rollupRepository.addDaily(collect(settlements, UnaryOperator.identity()),
+            settlementNumberGenerator::generateDailyNumber);
+        rollupRepository.addWeekly(collect(settlements, date -> date.with(DayOfWeek.MONDAY)),
+            monday -> settlementNumberGenerator.generateWeeklyNumber(
+                monday.get(WeekFields.ISO.weekBasedYear()), monday.get(WeekFields.ISO.weekOfWeekBasedYear())));
+        rollupRepository.addMonthly(collect(settlements, date -> date.withDayOfMonth(1)),
+            first -> settlementNumberGenerator.generateMonthlyNumber(first.getYear(), first.getMonthValue()));
+        rollupRepository.addYearly(collect(settlements, date -> date.withDayOfYear(1)),
+            first -> settlementNumberGenerator.generateYearlyNumber(first.getYear()));
+
+        applied.increment(settlements.size());
+        log.debug("정산 롤업 반영 완료: {}건", settlements.size());
+    }
+
+    /* 거래를 (브랜드, 기간 시작일) 버킷별로 합친다 */
+    private List<RollupDelta> collect(
+        List<SettlementPerTransaction> settlements,
+        UnaryOperator<LocalDate> periodStart
+    ) {
+        Map<BucketKey, Totals> buckets = new LinkedHashMap<>();
+        for (SettlementPerTransaction settlement : settlements) {
+            BucketKey key = new BucketKey(settlement.getBrandId(),
+                periodStart.apply(settlement.getTransactionDateLocal()));
+            buckets.computeIfAbsent(key, k -> new Totals()).add(settlement);
+        }
+
+        List<RollupDelta> deltas = new ArrayList<>(buckets.size());
+        buckets.forEach((key, totals) -> deltas.add(new RollupDelta(
+            key.brandId(),
+            key.periodStart(),
+            SETTLEMENT_TIMEZONE,
+            totals.orderCount,
+            totals.salesAmount,
+            totals.commissionAmount,
+            totals.taxAmount,
+            totals.pgFeeAmount
+        )));
+        return deltas;
+    }
+
+    private record BucketKey(Long brandId, LocalDate periodStart) {
+    }
+
+    private static class Totals {
+        private int orderCount;
+        private BigDecimal salesAmount = BigDecimal.ZERO;
+        private BigDecimal commissionAmount = BigDecimal.ZERO;
+        private BigDecimal taxAmount = BigDecimal.ZERO;
+        private BigDecimal pgFeeAmount = BigDecimal.ZERO;
+
+        private void add(SettlementPerTransaction settlement) {
+            orderCount++;
+            salesAmount = salesAmount.add(settlement.getTransactionAmount().getAmount());
+            commissionAmount = commissionAmount.add(settlement.getCommissionAmount().getAmount());
+            taxAmount = taxAmount.add(settlement.getTaxAmount().getAmount());
+            pgFeeAmount = pgFeeAmount.add(settlement.getPgFeeAmount().getAmount());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.mudosa.musinsa.settlement.batch.dto.DailyStatisticsDto;
+import com.mudosa.musinsa.settlement.domain.model.StatisticsBucket;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 브랜드별 정산 통계 시계열 (열 단위)
+ *
+ * 버킷 i의 값은 모든 브랜드에서 배열의 i번째 칸에 있다. 금액은 원 단위 ×100 정수다.
+ * 첫/마지막 버킷은 조회 기간에 걸친 날만 합산한다.
+ */
+@Getter
+public class SettlementStatisticsSeries {
+
+    private final StatisticsBucket bucket;
+    private final List<LocalDate> bucketStarts;
+    private final Map<Long, Columns> series;
+
+    private SettlementStatisticsSeries(StatisticsBucket bucket, List<LocalDate> bucketStarts, Map<Long, Columns> series) {
+        this.bucket = bucket;
+        this.bucketStarts = bucketStarts;
+        this.series = series;
+    }
+
+    public static Builder builder(LocalDate startDate, LocalDate endDate, StatisticsBucket bucket) {
+        return new Builder(startDate, endDate, bucket);
+    }
+
+    public record Columns(long[] orderCounts, long[] salesAmounts, long[] finalSettlementAmounts) {
+        private Columns(int size) {
+            this(new long[size], new long[size], new long[size]);
+        }
+    }
+
+    public static final class Builder {
+        private final StatisticsBucket bucket;
+        private final LocalDate firstBucketStart;
+        private final List<LocalDate> bucketStarts = new ArrayList<>();
+        private final Map<Long, Columns> series = new LinkedHashMap<>();
+
+        private Builder(LocalDate startDate, LocalDate endDate, StatisticsBucket bucket) {
+            this.bucket = bucket;
+            this.firstBucketStart = bucket.startOf(startDate);
+            for (LocalDate start = firstBucketStart; !start.isAfter(endDate); start = bucket.next(start)) {
+                bucketStarts.add(start);
+            }
+        }
+
+        /* 값이 없어도 결과에 포함할 브랜드 */
+        public Builder brand(Long brandId) {
+            series.computeIfAbsent(brandId, id -> new Columns(bucketStarts.size()));
+            return this;
+        }
+
+        public Builder add(Long brandId, LocalDate date, long orderCount, long salesAmount, long finalSettlementAmount) {
+            Columns columns = series.computeIfAbsent(brandId, id -> new Columns(bucketStarts.size()));
+            int index = bucket.indexOf(firstBucketStart, date);
+            columns.orderCounts()[index] += orderCount;
+            columns.salesAmounts()[index] += salesAmount;
+            columns.finalSettlementAmounts()[index] += finalSettlementAmount;
+            return this;
+        }
+
+        public Builder add(DailyStatisticsDto row) {
+            return add(row.getBrandId(), row.getSettlementDate(), row.getTotalOrderCount(),
+                row.getTotalSalesAmount(), row.getFinalSettlementAmount());
+        }
+
+        public SettlementStatisticsSeries build() {
+            return new SettlementStatisticsSeries(bucket, List.copyOf(bucketStarts), Collections.unmodifiableMap(series));
+        }
+    }
+}
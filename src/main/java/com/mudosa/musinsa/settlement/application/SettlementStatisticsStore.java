@@ -0,0 +1,306 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.mudosa.musinsa.settlement.batch.dto.DailyStatisticsDto;
+import com.mudosa.musinsa.settlement.domain.model.StatisticsBucket;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementDailyMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 정산 통계 저장소 (메모리)
+ *
+ * 최근 retention-days일의 settlements_daily 값을 브랜드별 원시 배열(주문 수, 매출액, 최종 정산액)로 들고 있다가
+ * 기간/브랜드 범위 통계를 DB 조회 없이 일/주/월 버킷으로 합산해 돌려준다.
+ *
+ * - 배열은 epochDay % retention-days 칸을 쓰는 링 버퍼이고, 칸마다 어느 날의 값인지 기록해 두어
+ *   날짜가 넘어가도 배열을 옮기거나 지우지 않는다.
+ * - 크기: 브랜드당 retention-days × 24바이트, 브랜드는 max-brands까지만 담는다.
+ *   넘친 브랜드가 걸린 조회와 보관 기간 밖 조회는 empty를 돌려주고, 호출 측이 DB에서 계산한다.
+ * - 갱신: 첫 주기에 전체를 적재하고, 이후 주기마다 최근 recent-days일을, 일일 집계 배치가 끝나면 배치 기간을 다시 읽는다.
+ *   갱신은 브랜드 배열을 복사해 바꾼 뒤 교체하므로 조회는 락 없이 일관된 값을 본다.
+ * - 메트릭: settlement.statistics_store.queries{result=hit|miss}, settlement.statistics_store.brands,
+ *   settlement.statistics_store.rejected
+ */
+@Slf4j
+@Component
+public class SettlementStatisticsStore {
+
+    private final SettlementDailyMapper dailyMapper;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int recentDays;
+    private final int maxBrands;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Map<Long, DailyColumns> brands = new ConcurrentHashMap<>();
+    private final Set<Long> rejectedBrands = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    public SettlementStatisticsStore(SettlementDailyMapper dailyMapper,
+        MeterRegistry meterRegistry,
+        @Value("${settlement.statistics-store.enabled:false}") boolean enabled,
+        @Value("${settlement.statistics-store.retention-days:400}") int retentionDays,
+        @Value("${settlement.statistics-store.recent-days:2}") int recentDays,
+        @Value("${settlement.statistics-store.max-brands:5000}") int maxBrands) {
+        this.dailyMapper = dailyMapper;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.recentDays = recentDays;
+        this.maxBrands = maxBrands;
+        this.hits = Counter.builder("settlement.statistics_store.queries")
+            .tag("result", "hit")
+            .description("정산 통계 저장소 조회 수")
+            .register(meterRegistry);
+        this.misses = Counter.builder("settlement.statistics_store.queries")
+            .tag("result", "miss")
+            .description("정산 통계 저장소 조회 수")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("settlement.statistics_store.rejected")
+            .description("max-brands를 넘어 저장소에 담지 못한 브랜드 수")
+            .register(meterRegistry);
+        Gauge.builder("settlement.statistics_store.brands", brands, Map::size)
+            .description("정산 통계 저장소에 담긴 브랜드 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 저장소에서 통계를 계산한다. 저장소로 답할 수 없으면 empty.
+     *
+     * @param brandIds 브랜드 ID 목록 (null이면 저장소의 전체 브랜드)
+     */
+    public Optional<SettlementStatisticsSeries> query(
+        Collection<Long> brandIds,
+        LocalDate startDate,
+        LocalDate endDate,
+        StatisticsBucket bucket
+    ) {
+        LocalDate today = LocalDate.now();
+        if (!covers(brandIds, startDate, today)) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        SettlementStatisticsSeries.Builder builder = SettlementStatisticsSeries.builder(startDate, endDate, bucket);
+        Collection<Long> targets = brandIds != null ? brandIds : brands.keySet().stream().sorted().toList();
+        LocalDate lastDay = endDate.isAfter(today) ? today : endDate;
+        for (Long brandId : targets) {
+            builder.brand(brandId);
+            DailyColumns columns = brands.get(brandId);
+            if (columns != null) {
+                columns.addTo(builder, brandId, startDate, lastDay);
+            }
+        }
+        hits.increment();
+        return Optional.of(builder.build());
+    }
+
+    @Scheduled(fixedDelayString = "${settlement.statistics-store.refresh-interval-ms:60000}")
+    public void refreshRecent() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        try {
+            if (!loaded) {
+                refresh(firstDay(today), today);
+                loaded = true;
+                log.info("정산 통계 저장소 적재 완료: 브랜드 {}개, {}일", brands.size(), retentionDays);
+            } else {
+                refresh(today.minusDays(recentDays - 1L), today);
+            }
+        } catch (Exception e) {
+            log.warn("정산 통계 저장소 갱신 실패 - 기존 값 유지", e);
+        }
+    }
+
+    /**
+     * 기간의 일일 값을 DB에서 다시 읽어 바꾼다. (일일 집계 배치 종료 후 호출)
+     */
+    public void refresh(LocalDate startDate, LocalDate endDate) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate firstDay = firstDay(LocalDate.now());
+        LocalDate from = startDate.isBefore(firstDay) ? firstDay : startDate;
+        if (from.isAfter(endDate)) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            RangeLoader loader = new RangeLoader(from, endDate);
+            dailyMapper.streamDailyStatistics(from, endDate, null, context -> loader.accept(context.getResultObject()));
+            loader.finish();
+            log.debug("정산 통계 저장소 갱신: {} ~ {}, 브랜드 {}개", from, endDate, loader.touched.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean covers(Collection<Long> brandIds, LocalDate startDate, LocalDate today) {
+        if (!enabled || !loaded || startDate.isBefore(firstDay(today))) {
+            return false;
+        }
+        if (brandIds == null) {
+            return rejectedBrands.isEmpty();
+        }
+        return brandIds.stream().noneMatch(rejectedBrands::contains);
+    }
+
+    private LocalDate firstDay(LocalDate today) {
+        return today.minusDays(retentionDays - 1L);
+    }
+
+    /* brand_id 순으로 오는 행을 브랜드 단위로 모아 복사본에 반영한 뒤 교체한다 */
+    private final class RangeLoader {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Set<Long> touched = new HashSet<>();
+        private Long currentBrandId;
+        private DailyColumns current;
+
+        private RangeLoader(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        private void accept(DailyStatisticsDto row) {
+            if (!row.getBrandId().equals(currentBrandId)) {
+                flush();
+                start(row.getBrandId());
+            }
+            if (current != null) {
+                current.set(row.getSettlementDate(), row.getTotalOrderCount(),
+                    row.getTotalSalesAmount(), row.getFinalSettlementAmount());
+            }
+        }
+
+        private void start(Long brandId) {
+            currentBrandId = brandId;
+            touched.add(brandId);
+            DailyColumns existing = brands.get(brandId);
+            if (existing == null && brands.size() >= maxBrands) {
+                if (rejectedBrands.add(brandId)) {
+                    rejected.increment();
+                    log.warn("정산 통계 저장소 브랜드 수 초과({}) - brandId {}는 DB에서 조회", maxBrands, brandId);
+                }
+                current = null;
+                return;
+            }
+            current = existing != null ? existing.copy() : new DailyColumns(retentionDays);
+            current.clear(from, to);
+        }
+
+        private void flush() {
+            if (current != null) {
+                brands.put(currentBrandId, current);
+            }
+            current = null;
+        }
+
+        /* 이번 기간에 행이 없어진 브랜드는 해당 날짜 값을 지운다 */
+        private void finish() {
+            flush();
+            brands.forEach((brandId, columns) -> {
+                if (!touched.contains(brandId) && columns.hasAny(from, to)) {
+                    DailyColumns cleared = columns.copy();
+                    cleared.clear(from, to);
+                    brands.put(brandId, cleared);
+                }
+            });
+        }
+    }
+
+    /**
+     * 브랜드 하나의 일일 값 링 버퍼. 칸의 값은 days[칸] == 그 날의 epochDay일 때만 유효하다.
+     */
+    private static final class DailyColumns {
+        private static final int EMPTY = Integer.MIN_VALUE;
+
+        private final int[] days;
+        private final int[] orderCounts;
+        private final long[] salesAmounts;
+        private final long[] finalSettlementAmounts;
+
+        private DailyColumns(int capacity) {
+            this.days = new int[capacity];
+            this.orderCounts = new int[capacity];
+            this.salesAmounts = new long[capacity];
+            this.finalSettlementAmounts = new long[capacity];
+            Arrays.fill(days, EMPTY);
+        }
+
+        private DailyColumns(DailyColumns source) {
+            this.days = source.days.clone();
+            this.orderCounts = source.orderCounts.clone();
+            this.salesAmounts = source.salesAmounts.clone();
+            this.finalSettlementAmounts = source.finalSettlementAmounts.clone();
+        }
+
+        private DailyColumns copy() {
+            return new DailyColumns(this);
+        }
+
+        private int slot(long epochDay) {
+            return (int) Math.floorMod(epochDay, (long) days.length);
+        }
+
+        private void set(LocalDate date, int orderCount, long salesAmount, long finalSettlementAmount) {
+            long epochDay = date.toEpochDay();
+            int slot = slot(epochDay);
+            days[slot] = (int) epochDay;
+            orderCounts[slot] = orderCount;
+            salesAmounts[slot] = salesAmount;
+            finalSettlementAmounts[slot] = finalSettlementAmount;
+        }
+
+        private void clear(LocalDate from, LocalDate to) {
+            for (long epochDay = from.toEpochDay(); epochDay <= to.toEpochDay(); epochDay++) {
+                int slot = slot(epochDay);
+                if (days[slot] == epochDay) {
+                    days[slot] = EMPTY;
+                    orderCounts[slot] = 0;
+                    salesAmounts[slot] = 0;
+                    finalSettlementAmounts[slot] = 0;
+                }
+            }
+        }
+
+        private boolean hasAny(LocalDate from, LocalDate to) {
+            for (long epochDay = from.toEpochDay(); epochDay <= to.toEpochDay(); epochDay++) {
+                if (days[slot(epochDay)] == epochDay) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void addTo(SettlementStatisticsSeries.Builder builder, Long brandId, LocalDate from, LocalDate to) {
+            for (long epochDay = from.toEpochDay(); epochDay <= to.toEpochDay(); epochDay++) {
+                int slot = slot(epochDay);
+                if (days[slot] == epochDay) {
+                    builder.add(brandId, LocalDate.ofEpochDay(epochDay), orderCounts[slot],
+                        salesAmounts[slot], finalSettlementAmounts[slot]);
+                }
+            }
+        }
+    }
+}
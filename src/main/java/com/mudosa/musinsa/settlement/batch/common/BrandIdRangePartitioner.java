@@ -0,0 +1,52 @@
+package com.mudosa.musinsa.settlement.batch.common;
+
+import com.mudosa.musinsa.settlement.batch.dto.BrandIdRangeDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 브랜드 ID 범위를 gridSize개의 연속 구간으로 나누는 Partitioner
+ *
+ * 각 파티션의 ExecutionContext에 minBrandId, maxBrandId(inclusive)를 담는다.
+ * 파티션 이름이 구간마다 고정되므로 재시작하면 실패한 구간만 다시 실행된다.
+ */
+@Slf4j
+public class BrandIdRangePartitioner implements Partitioner {
+
+    public static final String MIN_BRAND_ID = "minBrandId";
+    public static final String MAX_BRAND_ID = "maxBrandId";
+
+    private final BrandIdRangeDto range;
+
+    public BrandIdRangePartitioner(BrandIdRangeDto range) {
+        this.range = range;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        if (range == null || range.getMinBrandId() == null || range.getMaxBrandId() == null) {
+            log.info("집계 대상 거래가 없습니다");
+            return partitions;
+        }
+
+        long min = range.getMinBrandId();
+        long max = range.getMaxBrandId();
+        long size = Math.max(1, (max - min + 1 + gridSize - 1) / gridSize);
+
+        int index = 0;
+        for (long start = min; start <= max; start += size) {
+            ExecutionContext context = new ExecutionContext();
+            context.putLong(MIN_BRAND_ID, start);
+            context.putLong(MAX_BRAND_ID, Math.min(max, start + size - 1));
+            partitions.put("partition" + index++, context);
+        }
+
+        log.info("브랜드 ID {} ~ {} 를 {}개 파티션으로 분할", min, max, partitions.size());
+        return partitions;
+    }
+}
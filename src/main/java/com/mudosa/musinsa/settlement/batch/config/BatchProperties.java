@@ -12,13 +12,21 @@ public class BatchProperties {
 
     private final int chunkSize;
     private final int maxSkipCount;
+    // 일일 집계 파티션 수 (= 동시 실행 워커 수)
+    private final int gridSize;
+    // 일일 집계 청크 크기 (집계 행 단위, 배치 UPSERT 한 번에 쓰는 행 수)
+    private final int aggregationChunkSize;
 
     @ConstructorBinding
     public BatchProperties(
         @DefaultValue("10") int chunkSize,
-        @DefaultValue("100") int maxSkipCount
+        @DefaultValue("100") int maxSkipCount,
+        @DefaultValue("8") int gridSize,
+        @DefaultValue("1000") int aggregationChunkSize
     ) {
         this.chunkSize = chunkSize;
         this.maxSkipCount = maxSkipCount;
+        this.gridSize = gridSize;
+        this.aggregationChunkSize = aggregationChunkSize;
     }
 }
\ No newline at end of file
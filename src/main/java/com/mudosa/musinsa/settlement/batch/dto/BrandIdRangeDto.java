@@ -0,0 +1,18 @@
+package com.mudosa.musinsa.settlement.batch.dto;
+
+import lombok.Getter;
+
+/**
+ * 브랜드 ID 범위 DTO (파티션 분할용)
+ */
+@Getter
+public class BrandIdRangeDto {
+
+    private Long minBrandId;
+    private Long maxBrandId;
+
+    public BrandIdRangeDto(Long minBrandId, Long maxBrandId) {
+        this.minBrandId = minBrandId;
+        this.maxBrandId = maxBrandId;
+    }
+}
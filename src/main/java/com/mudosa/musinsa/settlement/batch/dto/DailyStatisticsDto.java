@@ -0,0 +1,46 @@
+package com.mudosa.musinsa.settlement.batch.dto;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * 일일 정산 통계 DTO (settlements_daily 한 행)
+ *
+ * 통계 저장소에 넣기 쉽도록 금액은 원 단위 ×100 정수(소수 2자리)로 바꿔 둔다.
+ */
+@Getter
+public class DailyStatisticsDto {
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private Long brandId;
+    private LocalDate settlementDate;
+    private int totalOrderCount;
+    private long totalSalesAmount;
+    private long finalSettlementAmount;
+
+    public DailyStatisticsDto(
+        Long brandId,
+        LocalDate settlementDate,
+        Integer totalOrderCount,
+        BigDecimal totalSalesAmount,
+        BigDecimal finalSettlementAmount
+    ) {
+        this.brandId = brandId;
+        this.settlementDate = settlementDate;
+        this.totalOrderCount = totalOrderCount;
+        this.totalSalesAmount = toScaledLong(totalSalesAmount);
+        this.finalSettlementAmount = toScaledLong(finalSettlementAmount);
+    }
+
+    public static long toScaledLong(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromScaledLong(long amount) {
+        return BigDecimal.valueOf(amount, AMOUNT_SCALE);
+    }
+}
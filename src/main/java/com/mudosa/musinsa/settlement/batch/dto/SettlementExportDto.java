@@ -0,0 +1,61 @@
+package com.mudosa.musinsa.settlement.batch.dto;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 거래별 정산 내보내기 DTO (settlements_per_transaction 한 행)
+ */
+@Getter
+public class SettlementExportDto {
+
+    private Long settlementTransactionId;
+    private Long brandId;
+    private Long paymentId;
+    private String pgTransactionId;
+    private LocalDateTime transactionDate;
+    private LocalDate transactionDateLocal;
+    private String transactionType;
+    private BigDecimal transactionAmount;
+    private BigDecimal commissionRate;
+    private BigDecimal commissionAmount;
+    private BigDecimal taxAmount;
+    private BigDecimal pgFeeAmount;
+    private BigDecimal finalSettlementAmount;
+    private String timezoneOffset;
+
+    public SettlementExportDto(
+        Long settlementTransactionId,
+        Long brandId,
+        Long paymentId,
+        String pgTransactionId,
+        LocalDateTime transactionDate,
+        LocalDate transactionDateLocal,
+        String transactionType,
+        BigDecimal transactionAmount,
+        BigDecimal commissionRate,
+        BigDecimal commissionAmount,
+        BigDecimal taxAmount,
+        BigDecimal pgFeeAmount,
+        BigDecimal finalSettlementAmount,
+        String timezoneOffset
+    ) {
+        this.settlementTransactionId = settlementTransactionId;
+        this.brandId = brandId;
+        this.paymentId = paymentId;
+        this.pgTransactionId = pgTransactionId;
+        this.transactionDate = transactionDate;
+        this.transactionDateLocal = transactionDateLocal;
+        this.transactionType = transactionType;
+        this.transactionAmount = transactionAmount;
+        this.commissionRate = commissionRate;
+        this.commissionAmount = commissionAmount;
+        this.taxAmount = taxAmount;
+        this.pgFeeAmount = pgFeeAmount;
+        this.finalSettlementAmount = finalSettlementAmount;
+        this.timezoneOffset = timezoneOffset;
+    }
+}
@@ -1,12 +1,24 @@
 package com.mudosa.musinsa.settlement.batch.job;
 
-import com.mudosa.musinsa.settlement.application.SettlementAggregationService;
-import com.mudosa.musinsa.settlement.batch.common.BrandIdReader;
+import com.mudosa.musinsa.settlement.application.SettlementStatisticsStore;
+import com.mudosa.musinsa.settlement.batch.common.BrandIdRangePartitioner;
 import com.mudosa.musinsa.settlement.batch.common.DateRangeCalculator;
 import com.mudosa.musinsa.settlement.batch.config.BatchProperties;
+import com.mudosa.musinsa.settlement.batch.dto.DailyAggregationDto;
+import com.mudosa.musinsa.settlement.domain.model.SettlementDaily;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementDailyJdbcRepository;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementPerTransactionMapper;
+import com.mudosa.musinsa.settlement.domain.service.SettlementNumberGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.batch.MyBatisCursorItemReader;
+import org.mybatis.spring.batch.builder.MyBatisCursorItemReaderBuilder;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
@@ -18,10 +30,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * 일일 정산 집계 배치 Job
@@ -30,12 +44,16 @@ import java.time.LocalDate;
  * 매일 자정 자동 실행
  *
  * 처리 흐름:
- * 모든 브랜드 ID 조회 (BrandIdReader)
- * -> 브랜드별로 어제 날짜의 거래별 정산 데이터 집계
- * -> SettlementPerTransaction → SettlementDaily 변환 및 저장
+ * 기간 내 거래가 있는 브랜드 ID 범위를 gridSize개 구간으로 분할 (BrandIdRangePartitioner)
+ * -> 구간별 워커가 GROUP BY brand_id, transaction_date_local 한 번으로 집계 결과를 스트리밍 조회
+ * -> SettlementDaily 변환 후 청크 단위 배치 UPSERT
+ *
+ * 쿼리 수가 브랜드 수가 아니라 파티션 수에 비례하고, 재시작하면 실패한 파티션만 이어서 처리한다.
+ * 완료되면 정산 통계 저장소가 집계 기간을 다시 읽는다.
  *
  * JobParameter:
- * - targetDate (Optional): 미지정 시 어제
+ * - startDate, endDate (Optional): 집계 기간
+ * - targetDate (Optional): 하루만 집계할 때. 모두 미지정 시 어제
  */
 @Slf4j
 @Configuration
@@ -44,10 +62,14 @@ import java.time.LocalDate;
 public class DailySettlementAggregationJob {
 
     private static final String JOB_NAME = "일일 정산 집계";
+    private static final String TIMEZONE = "Asia/Seoul";
 
-    private final SettlementAggregationService settlementService;
-    private final BrandIdReader brandIdReader;
+    private final SettlementPerTransactionMapper perTransactionMapper;
+    private final SettlementDailyJdbcRepository dailyJdbcRepository;
+    private final SettlementNumberGenerator settlementNumberGenerator;
+    private final SqlSessionFactory sqlSessionFactory;
     private final BatchProperties batchProperties;
+    private final SettlementStatisticsStore statisticsStore;
 
     @Bean
     public Job dailySettlementJob(
@@ -55,15 +77,43 @@ public class DailySettlementAggregationJob {
         PlatformTransactionManager transactionManager
     ) {
         return new JobBuilder("dailySettlementJob", jobRepository)
-            .start(buildStep(jobRepository, transactionManager))
+            .start(buildPartitionStep(jobRepository, transactionManager))
+            .listener(buildStatisticsRefreshListener())
             .build();
     }
 
-    private Step buildStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+    private JobExecutionListener buildStatisticsRefreshListener() {
+        return new JobExecutionListener() {
+            @Override
+            public void afterJob(JobExecution jobExecution) {
+                if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+                    return;
+                }
+                JobParameters params = jobExecution.getJobParameters();
+                statisticsStore.refresh(
+                    resolveDate(params.getString("startDate"), params.getString("targetDate")),
+                    resolveDate(params.getString("endDate"), params.getString("targetDate")));
+            }
+        };
+    }
+
+    private Step buildPartitionStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("dailySettlement-");
+        taskExecutor.setConcurrencyLimit(batchProperties.getGridSize());
+
         return new StepBuilder("dailySettlementStep", jobRepository)
-            .<Long, Long>chunk(batchProperties.getChunkSize(), transactionManager)
-            .reader(brandIdReader.createReader(JOB_NAME))
-            .processor(buildProcessor(null))
+            .partitioner("dailySettlementWorkerStep", dailySettlementPartitioner(null, null, null))
+            .step(buildWorkerStep(jobRepository, transactionManager))
+            .gridSize(batchProperties.getGridSize())
+            .taskExecutor(taskExecutor)
+            .build();
+    }
+
+    private Step buildWorkerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        return new StepBuilder("dailySettlementWorkerStep", jobRepository)
+            .<DailyAggregationDto, SettlementDaily>chunk(batchProperties.getAggregationChunkSize(), transactionManager)
+            .reader(dailyAggregationReader(null, null, null, null, null))
+            .processor(buildProcessor())
             .writer(buildWriter())
             .faultTolerant()
             .skip(DataAccessException.class)
@@ -73,28 +123,79 @@ public class DailySettlementAggregationJob {
 
     @Bean
     @StepScope
-    public ItemProcessor<Long, Long> buildProcessor(
+    public BrandIdRangePartitioner dailySettlementPartitioner(
+            @Value("#{jobParameters['startDate']}") String startDateStr,
+            @Value("#{jobParameters['endDate']}") String endDateStr,
             @Value("#{jobParameters['targetDate']}") String targetDateStr
     ) {
-        return brandId -> {
-            // JobParameters에서 targetDate 가져오기 (없으면 어제 기본값)
-            LocalDate targetDate;
-            if (targetDateStr != null && !targetDateStr.isEmpty()) {
-                targetDate = LocalDate.parse(targetDateStr);
-                log.info("📅 JobParameters로 전달받은 targetDate 사용: {}", targetDate);
-            } else {
-                targetDate = DateRangeCalculator.getYesterday();
-                log.info("📅 기본값 사용 (어제): {}", targetDate);
-            }
+        LocalDate startDate = resolveDate(startDateStr, targetDateStr);
+        LocalDate endDate = resolveDate(endDateStr, targetDateStr);
+        log.info("=== {} 배치 시작 === 기간: {} ~ {}", JOB_NAME, startDate, endDate);
+
+        return new BrandIdRangePartitioner(perTransactionMapper.findBrandIdRange(startDate, endDate));
+    }
+
+    @Bean
+    @StepScope
+    public MyBatisCursorItemReader<DailyAggregationDto> dailyAggregationReader(
+            @Value("#{stepExecutionContext['minBrandId']}") Long minBrandId,
+            @Value("#{stepExecutionContext['maxBrandId']}") Long maxBrandId,
+            @Value("#{jobParameters['startDate']}") String startDateStr,
+            @Value("#{jobParameters['endDate']}") String endDateStr,
+            @Value("#{jobParameters['targetDate']}") String targetDateStr
+    ) {
+        LocalDate startDate = resolveDate(startDateStr, targetDateStr);
+        LocalDate endDate = resolveDate(endDateStr, targetDateStr);
+        log.info("{} 파티션 시작: brandId {} ~ {}, 기간 {} ~ {}", JOB_NAME, minBrandId, maxBrandId, startDate, endDate);
 
-            settlementService.aggregateToDaily(brandId, targetDate, targetDate);
+        return new MyBatisCursorItemReaderBuilder<DailyAggregationDto>()
+            .sqlSessionFactory(sqlSessionFactory)
+            .queryId(SettlementPerTransactionMapper.class.getName() + ".aggregateDailyByBrandRange")
+            .parameterValues(Map.of(
+                "minBrandId", minBrandId,
+                "maxBrandId", maxBrandId,
+                "startDate", startDate,
+                "endDate", endDate))
+            .saveState(true)
+            .build();
+    }
+
+    private ItemProcessor<DailyAggregationDto, SettlementDaily> buildProcessor() {
+        return dto -> {
+            SettlementDaily daily = SettlementDaily.create(
+                dto.getBrandId(),
+                dto.getSettlementDate(),
+                settlementNumberGenerator.generateDailyNumber(dto.getSettlementDate()),
+                TIMEZONE
+            );
+            daily.setAggregatedData(
+                dto.getTotalOrderCount().intValue(),
+                dto.getTotalSalesAmount(),
+                dto.getTotalCommissionAmount(),
+                dto.getTotalTaxAmount(),
+                dto.getTotalPgFeeAmount()
+            );
+            daily.startProcessing();
+            daily.complete();
+            return daily;
+        };
+    }
 
-            log.debug("브랜드 {} 일일 정산 집계 완료 (targetDate={})", brandId, targetDate);
-            return brandId;
+    private ItemWriter<SettlementDaily> buildWriter() {
+        return chunk -> {
+            dailyJdbcRepository.upsertAll(chunk.getItems());
+            log.debug("{} 청크 처리 완료: {} 건", JOB_NAME, chunk.size());
         };
     }
 
-    private ItemWriter<Long> buildWriter() {
-        return chunk -> log.info("{} 청크 처리 완료: {} 개 브랜드", JOB_NAME, chunk.size());
+    /* 기간 파라미터가 없으면 targetDate, 그것도 없으면 어제 */
+    private static LocalDate resolveDate(String dateStr, String targetDateStr) {
+        if (dateStr != null && !dateStr.isEmpty()) {
+            return LocalDate.parse(dateStr);
+        }
+        if (targetDateStr != null && !targetDateStr.isEmpty()) {
+            return LocalDate.parse(targetDateStr);
+        }
+        return DateRangeCalculator.getYesterday();
     }
-}
\ No newline at end of file
+}
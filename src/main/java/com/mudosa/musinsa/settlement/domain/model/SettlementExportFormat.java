@@ -0,0 +1,21 @@
+package com.mudosa.musinsa.settlement.domain.model;
+
+import lombok.Getter;
+
+/**
+ * 정산 내보내기 형식
+ */
+@Getter
+public enum SettlementExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    SettlementExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+}
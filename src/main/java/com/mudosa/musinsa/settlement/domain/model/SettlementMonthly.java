@@ -21,7 +21,8 @@ import java.time.ZoneId;
 @Table(
     name = "settlements_monthly",
     uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"settlement_number"})
+        @UniqueConstraint(columnNames = {"settlement_number"}),
+        @UniqueConstraint(columnNames = {"brand_id", "settlement_year", "settlement_month"})
     },
     indexes = {
         @Index(name = "idx_year_month", columnList = "settlement_year, settlement_month"),
@@ -0,0 +1,27 @@
+package com.mudosa.musinsa.settlement.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 정산 번호 시퀀스 (정산 유형별 1행).
+ * next_value는 아직 어느 노드에도 예약되지 않은 첫 번호이며, SettlementSequenceAllocator가 블록 단위로 올린다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "settlement_sequence")
+public class SettlementSequence {
+
+    @Id
+    @Column(name = "sequence_name", length = 50)
+    private String sequenceName;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -17,7 +17,8 @@ import java.time.ZoneId;
 @Table(
     name = "settlements_weekly",
     uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"settlement_number"})
+        @UniqueConstraint(columnNames = {"settlement_number"}),
+        @UniqueConstraint(columnNames = {"brand_id", "week_start_date"})
     },
     indexes = {
         @Index(name = "idx_brand_year_month_week", columnList = "brand_id, settlement_year, settlement_month, week_of_month"),
@@ -0,0 +1,52 @@
+package com.mudosa.musinsa.settlement.domain.model;
+
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 정산 통계 시계열의 버킷 단위
+ *
+ * 주는 정산 롤업과 같은 월요일 시작(ISO 주차) 기준이다.
+ */
+@Getter
+public enum StatisticsBucket {
+
+    DAY("일"),
+    WEEK("주"),
+    MONTH("월");
+
+    private final String description;
+
+    StatisticsBucket(String description) {
+        this.description = description;
+    }
+
+    /* date가 속한 버킷의 시작일 */
+    public LocalDate startOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    /* firstBucketStart부터 센 date의 버킷 위치 */
+    public int indexOf(LocalDate firstBucketStart, LocalDate date) {
+        return switch (this) {
+            case DAY -> (int) (date.toEpochDay() - firstBucketStart.toEpochDay());
+            case WEEK -> (int) ((date.toEpochDay() - firstBucketStart.toEpochDay()) / 7);
+            case MONTH -> (int) ChronoUnit.MONTHS.between(firstBucketStart, date.withDayOfMonth(1));
+        };
+    }
+}
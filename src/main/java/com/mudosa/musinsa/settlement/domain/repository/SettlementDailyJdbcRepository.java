@@ -0,0 +1,100 @@
+package com.mudosa.musinsa.settlement.domain.repository;
+
+import com.mudosa.musinsa.settlement.domain.model.SettlementDaily;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일일 정산 배치 UPSERT.
+ * (brand_id, settlement_date) 행이 이미 있으면 집계 값만 덮어쓰고 정산 번호는 유지하므로 재실행해도 결과가 같다.
+ *
+ * ON DUPLICATE KEY UPDATE는 settlement_number 유니크 키 충돌에도 걸려 다른 브랜드의 행을 덮어쓸 수 있으므로 쓰지 않는다.
+ * (brand_id, settlement_date)로 먼저 UPDATE 하고, 갱신된 행이 없는 것만 일반 INSERT 한다.
+ * 정산 번호가 겹치거나 다른 실행이 같은 행을 먼저 넣었으면 INSERT가 키 중복으로 실패해 청크가 롤백된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementDailyJdbcRepository {
+
+    private static final String UPDATE_SQL = """
+        UPDATE settlements_daily
+           SET total_order_count = :totalOrderCount,
+               total_sales_amount = :totalSalesAmount,
+               total_commission_amount = :totalCommissionAmount,
+               total_tax_amount = :totalTaxAmount,
+               total_pg_fee_amount = :totalPgFeeAmount,
+               final_settlement_amount = :finalSettlementAmount,
+               settlement_status = :settlementStatus,
+               aggregated_at = :aggregatedAt,
+               completed_at = :completedAt,
+               updated_at = :now
+         WHERE brand_id = :brandId
+           AND settlement_date = :settlementDate
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO settlements_daily
+            (settlement_number, brand_id, settlement_date, settlement_timezone, total_order_count,
+             total_sales_amount, total_commission_amount, total_tax_amount, total_pg_fee_amount, final_settlement_amount,
+             settlement_status, aggregated_at, completed_at, created_at, updated_at)
+        VALUES
+            (:settlementNumber, :brandId, :settlementDate, :settlementTimezone, :totalOrderCount,
+             :totalSalesAmount, :totalCommissionAmount, :totalTaxAmount, :totalPgFeeAmount, :finalSettlementAmount,
+             :settlementStatus, :aggregatedAt, :completedAt, :now, :now)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void upsertAll(List<? extends SettlementDaily> settlements) {
+        if (settlements.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] params = settlements.stream()
+            .map(daily -> toParams(daily, now))
+            .toArray(SqlParameterSource[]::new);
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, params);
+        List<SqlParameterSource> missing = new ArrayList<>();
+        for (int i = 0; i < params.length; i++) {
+            // 드라이버가 건수를 알려주지 않는 경우(SUCCESS_NO_INFO)는 갱신된 것으로 본다.
+            if (updated[i] == 0) {
+                missing.add(params[i]);
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private SqlParameterSource toParams(SettlementDaily daily, Timestamp now) {
+        return new MapSqlParameterSource()
+            .addValue("settlementNumber", daily.getSettlementNumber())
+            .addValue("brandId", daily.getBrandId())
+            .addValue("settlementDate", Date.valueOf(daily.getSettlementDate()))
+            .addValue("settlementTimezone", daily.getSettlementTimezone())
+            .addValue("totalOrderCount", daily.getTotalOrderCount())
+            .addValue("totalSalesAmount", daily.getTotalSalesAmount().getAmount())
+            .addValue("totalCommissionAmount", daily.getTotalCommissionAmount().getAmount())
+            .addValue("totalTaxAmount", daily.getTotalTaxAmount().getAmount())
+            .addValue("totalPgFeeAmount", daily.getTotalPgFeeAmount().getAmount())
+            .addValue("finalSettlementAmount", daily.getFinalSettlementAmount().getAmount())
+            .addValue("settlementStatus", daily.getSettlementStatus().name())
+            .addValue("aggregatedAt", toTimestamp(daily.getAggregatedAt()))
+            .addValue("completedAt", toTimestamp(daily.getCompletedAt()))
+            .addValue("now", now);
+    }
+
+    private Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
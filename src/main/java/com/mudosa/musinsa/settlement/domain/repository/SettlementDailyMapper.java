@@ -1,16 +1,19 @@
 package com.mudosa.musinsa.settlement.domain.repository;
 
+import com.mudosa.musinsa.settlement.batch.dto.DailyStatisticsDto;
 import com.mudosa.musinsa.settlement.batch.dto.MonthlyAggregationDto;
 import com.mudosa.musinsa.settlement.batch.dto.WeeklyAggregationDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * SettlementDaily MyBatis Mapper
- * 일일 정산 데이터를 주간/월간으로 집계
+ * 일일 정산 데이터를 주간/월간으로 집계하고, 통계 저장소에 일일 값을 공급
  */
 @Mapper
 public interface SettlementDailyMapper {
@@ -42,4 +45,19 @@ public interface SettlementDailyMapper {
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
+
+    /**
+     * 일일 정산 통계 스트리밍 조회 (brand_id, settlement_date 순)
+     *
+     * @param startDate 조회 시작일 (inclusive)
+     * @param endDate 조회 종료일 (inclusive)
+     * @param brandIds 브랜드 ID 목록 (null이면 전체 브랜드)
+     * @param handler 행 단위로 받을 핸들러
+     */
+    void streamDailyStatistics(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("brandIds") Collection<Long> brandIds,
+        ResultHandler<DailyStatisticsDto> handler
+    );
 }
@@ -0,0 +1,106 @@
+package com.mudosa.musinsa.settlement.domain.repository;
+
+import com.mudosa.musinsa.settlement.domain.model.SettlementPerTransaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 여러 결제의 정산 거래를 한 번에 만들기 위한 JDBC 조회/배치 INSERT.
+ * (rewriteBatchedStatements=true 이면 MySQL 드라이버가 multi-row INSERT로 묶는다)
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementPerTransactionJdbcRepository {
+
+    private static final String FIND_SOURCES_SQL = """
+        SELECT p.payment_id, p.method, pr.brand_id, op.product_price, op.product_quantity
+          FROM payment p
+          JOIN order_product op ON op.order_id = p.order_id
+          JOIN product_option po ON po.product_option_id = op.product_option_id
+          JOIN product pr ON pr.product_id = po.product_id
+         WHERE p.payment_id IN (:paymentIds)
+         ORDER BY p.payment_id, op.order_product_id
+        """;
+
+    private static final String FIND_SETTLED_PAYMENT_IDS_SQL = """
+        SELECT DISTINCT payment_id FROM settlements_per_transaction WHERE payment_id IN (:paymentIds)
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO settlements_per_transaction
+            (brand_id, payment_id, pg_transaction_id, transaction_date, transaction_date_local, transaction_type,
+             transaction_amount, commission_rate, commission_amount, tax_amount, pg_fee_amount, timezone_offset, created_at)
+        VALUES
+            (:brandId, :paymentId, :pgTransactionId, :transactionDate, :transactionDateLocal, :transactionType,
+             :transactionAmount, :commissionRate, :commissionAmount, :taxAmount, :pgFeeAmount, :timezoneOffset, :createdAt)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 결제별 주문 상품 라인(브랜드, 단가, 수량)을 조회한다.
+     */
+    public List<SettlementSource> findSources(Collection<Long> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_SOURCES_SQL, new MapSqlParameterSource("paymentIds", paymentIds),
+            (rs, rowNum) -> new SettlementSource(
+                rs.getLong("payment_id"),
+                rs.getString("method"),
+                rs.getLong("brand_id"),
+                rs.getBigDecimal("product_price"),
+                rs.getInt("product_quantity")));
+    }
+
+    /**
+     * 이미 정산 거래가 만들어진 결제 ID
+     */
+    public Set<Long> findSettledPaymentIds(Collection<Long> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(FIND_SETTLED_PAYMENT_IDS_SQL,
+            new MapSqlParameterSource("paymentIds", paymentIds), Long.class));
+    }
+
+    public void insertAll(List<SettlementPerTransaction> settlements) {
+        if (settlements.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SqlParameterSource[] params = settlements.stream()
+            .map(settlement -> new MapSqlParameterSource()
+                .addValue("brandId", settlement.getBrandId())
+                .addValue("paymentId", settlement.getPaymentId())
+                .addValue("pgTransactionId", settlement.getPgTransactionId())
+                .addValue("transactionDate", Timestamp.valueOf(settlement.getTransactionDate()))
+                .addValue("transactionDateLocal", Date.valueOf(settlement.getTransactionDateLocal()))
+                .addValue("transactionType", settlement.getTransactionType().name())
+                .addValue("transactionAmount", settlement.getTransactionAmount().getAmount())
+                .addValue("commissionRate", settlement.getCommissionRate())
+                .addValue("commissionAmount", settlement.getCommissionAmount().getAmount())
+                .addValue("taxAmount", settlement.getTaxAmount().getAmount())
+                .addValue("pgFeeAmount", settlement.getPgFeeAmount().getAmount())
+                .addValue("timezoneOffset", settlement.getTimezoneOffset())
+                .addValue("createdAt", now))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, params);
+    }
+
+    public record SettlementSource(Long paymentId, String paymentMethod, Long brandId,
+                                   BigDecimal productPrice, int productQuantity) {
+    }
+}
@@ -1,15 +1,18 @@
 package com.mudosa.musinsa.settlement.domain.repository;
 
+import com.mudosa.musinsa.settlement.batch.dto.BrandIdRangeDto;
 import com.mudosa.musinsa.settlement.batch.dto.DailyAggregationDto;
+import com.mudosa.musinsa.settlement.batch.dto.SettlementExportDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDate;
 import java.util.List;
 
 /**
  * SettlementPerTransaction MyBatis Mapper
- * 거래별 정산 데이터를 일일로 집계
+ * 거래별 정산 데이터를 일일로 집계하고, 내보내기용으로 스트리밍 조회
  */
 @Mapper
 public interface SettlementPerTransactionMapper {
@@ -27,4 +30,43 @@ public interface SettlementPerTransactionMapper {
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
+
+    /**
+     * 브랜드 ID 구간 일일 집계 쿼리 (결과를 스트리밍으로 읽는다)
+     *
+     * @param minBrandId 브랜드 ID 하한 (inclusive)
+     * @param maxBrandId 브랜드 ID 상한 (inclusive)
+     * @param startDate 집계 시작일 (inclusive)
+     * @param endDate 집계 종료일 (inclusive)
+     * @return 브랜드·일별 집계 결과 (brand_id, 일자 순)
+     */
+    List<DailyAggregationDto> aggregateDailyByBrandRange(
+        @Param("minBrandId") Long minBrandId,
+        @Param("maxBrandId") Long maxBrandId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 기간 내 거래가 있는 브랜드 ID 범위 (거래가 없으면 null)
+     */
+    BrandIdRangeDto findBrandIdRange(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * 거래별 정산 내보내기 스트리밍 조회 (OFFSET 없이 한 번의 쿼리로 행 단위 전달)
+     *
+     * @param startDate 조회 시작일 (inclusive, transaction_date_local)
+     * @param endDate 조회 종료일 (inclusive, transaction_date_local)
+     * @param brandId 브랜드 ID (null이면 전체 브랜드)
+     * @param handler 행 단위로 받을 핸들러
+     */
+    void streamForExport(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("brandId") Long brandId,
+        ResultHandler<SettlementExportDto> handler
+    );
 }
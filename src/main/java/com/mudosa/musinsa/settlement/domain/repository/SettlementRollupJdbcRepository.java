@@ -0,0 +1,215 @@
+package com.mudosa.musinsa.settlement.domain.repository;
+
+import com.mudosa.musinsa.settlement.domain.model.SettlementStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.WeekFields;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * 일/주/월/연 정산 버킷에 거래 증분을 더하는 배치 UPSERT.
+ *
+ * (brand_id, 기간)으로 먼저 total_x = total_x + ? 를 원자적으로 실행하고, 갱신된 행이 없는 버킷만 증분 값으로 INSERT 한다.
+ * ON DUPLICATE KEY UPDATE는 settlement_number 유니크 키 충돌에도 걸려 다른 브랜드의 버킷에 증분을 더할 수 있으므로 쓰지 않는다.
+ * 정산 번호는 버킷 행을 새로 만들 때만 발급하므로, 기존 버킷은 처음 발급된 번호를 그대로 쓴다.
+ * 다른 트랜잭션이 같은 버킷을 먼저 만들어 INSERT가 키 중복으로 실패하면 다시 UPDATE 하고,
+ * 버킷이 없는데 키 중복이면(정산 번호 충돌) 다른 버킷을 건드리지 않고 예외를 던진다.
+ * 이미 정산 완료(COMPLETED)된 버킷에는 더하지 않는다.
+ * 여러 트랜잭션이 같은 버킷을 갱신할 때 교착 상태가 생기지 않도록 (brand_id, 기간 시작일) 순으로 쓴다.
+ * 주간 버킷은 월요일 시작 주(ISO 주차) 기준이다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementRollupJdbcRepository {
+
+    /* 기간 배치가 확정(COMPLETED)한 버킷은 건드리지 않는다. 늦게 들어온 거래는 배치를 다시 돌리면 원천에서 다시 계산된다. */
+    private static final String ADD_TOTALS = """
+            total_order_count = IF(settlement_status = 'COMPLETED',
+                total_order_count, total_order_count + :orderCount),
+            total_sales_amount = IF(settlement_status = 'COMPLETED',
+                total_sales_amount, total_sales_amount + :salesAmount),
+            total_commission_amount = IF(settlement_status = 'COMPLETED',
+                total_commission_amount, total_commission_amount + :commissionAmount),
+            total_tax_amount = IF(settlement_status = 'COMPLETED',
+                total_tax_amount, total_tax_amount + :taxAmount),
+            total_pg_fee_amount = IF(settlement_status = 'COMPLETED',
+                total_pg_fee_amount, total_pg_fee_amount + :pgFeeAmount),
+            final_settlement_amount = IF(settlement_status = 'COMPLETED',
+                final_settlement_amount, final_settlement_amount + :finalAmount),
+            aggregated_at = IF(settlement_status = 'COMPLETED', aggregated_at, :now),
+            updated_at = IF(settlement_status = 'COMPLETED', updated_at, :now)
+        """;
+
+    private static final String TOTAL_COLUMNS = """
+        total_order_count, total_sales_amount, total_commission_amount, total_tax_amount, total_pg_fee_amount,
+        final_settlement_amount, settlement_status, aggregated_at, created_at, updated_at""";
+
+    private static final String TOTAL_VALUES = """
+        :orderCount, :salesAmount, :commissionAmount, :taxAmount, :pgFeeAmount,
+        :finalAmount, :status, :now, :now, :now""";
+
+    private static final Bucket DAILY = new Bucket("settlements_daily",
+        "brand_id = :brandId AND settlement_date = :periodStart",
+        """
+        INSERT INTO settlements_daily
+            (settlement_number, brand_id, settlement_date, settlement_timezone, %s)
+        VALUES
+            (:settlementNumber, :brandId, :periodStart, :timezone, %s)
+        """.formatted(TOTAL_COLUMNS, TOTAL_VALUES),
+        date -> date);
+
+    private static final Bucket WEEKLY = new Bucket("settlements_weekly",
+        "brand_id = :brandId AND week_start_date = :periodStart",
+        """
+        INSERT INTO settlements_weekly
+            (settlement_number, brand_id, settlement_year, settlement_month, week_of_month, settlement_timezone,
+             week_start_date, week_end_date, week_day_count, %s)
+        VALUES
+            (:settlementNumber, :brandId, :weekYear, :month, :week, :timezone,
+             :periodStart, :periodEnd, 7, %s)
+        """.formatted(TOTAL_COLUMNS, TOTAL_VALUES),
+        date -> date.plusDays(6));
+
+    private static final Bucket MONTHLY = new Bucket("settlements_monthly",
+        "brand_id = :brandId AND settlement_year = :year AND settlement_month = :month",
+        """
+        INSERT INTO settlements_monthly
+            (settlement_number, brand_id, settlement_year, settlement_month, settlement_timezone,
+             month_start_date, month_end_date, %s)
+        VALUES
+            (:settlementNumber, :brandId, :year, :month, :timezone,
+             :periodStart, :periodEnd, %s)
+        """.formatted(TOTAL_COLUMNS, TOTAL_VALUES),
+        date -> YearMonth.from(date).atEndOfMonth());
+
+    private static final Bucket YEARLY = new Bucket("settlements_yearly",
+        "brand_id = :brandId AND settlement_year = :year",
+        """
+        INSERT INTO settlements_yearly
+            (settlement_number, brand_id, settlement_year, year_start_date, year_end_date, settlement_timezone, %s)
+        VALUES
+            (:settlementNumber, :brandId, :year, :periodStart, :periodEnd, :timezone, %s)
+        """.formatted(TOTAL_COLUMNS, TOTAL_VALUES),
+        date -> date.withDayOfYear(date.lengthOfYear()));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param newSettlementNumber 버킷 행을 새로 만들 때만 호출되는 정산 번호 발급 함수 (인자: 기간 시작일)
+     */
+    public void addDaily(List<RollupDelta> deltas, Function<LocalDate, String> newSettlementNumber) {
+        upsert(DAILY, deltas, newSettlementNumber);
+    }
+
+    public void addWeekly(List<RollupDelta> deltas, Function<LocalDate, String> newSettlementNumber) {
+        upsert(WEEKLY, deltas, newSettlementNumber);
+    }
+
+    public void addMonthly(List<RollupDelta> deltas, Function<LocalDate, String> newSettlementNumber) {
+        upsert(MONTHLY, deltas, newSettlementNumber);
+    }
+
+    public void addYearly(List<RollupDelta> deltas, Function<LocalDate, String> newSettlementNumber) {
+        upsert(YEARLY, deltas, newSettlementNumber);
+    }
+
+    private void upsert(Bucket bucket, List<RollupDelta> deltas, Function<LocalDate, String> newSettlementNumber) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<RollupDelta> sorted = deltas.stream()
+            .sorted(Comparator.comparing(RollupDelta::brandId).thenComparing(RollupDelta::periodStart))
+            .toList();
+        MapSqlParameterSource[] params = sorted.stream()
+            .map(delta -> toParams(bucket, delta, now))
+            .toArray(MapSqlParameterSource[]::new);
+
+        // 드라이버가 건수를 알려주지 않는 경우(SUCCESS_NO_INFO)는 갱신된 것으로 본다.
+        int[] updated = jdbcTemplate.batchUpdate(bucket.updateSql(), params);
+        for (int i = 0; i < params.length; i++) {
+            if (updated[i] == 0) {
+                insertBucket(bucket, params[i], newSettlementNumber.apply(sorted.get(i).periodStart()));
+            }
+        }
+    }
+
+    private void insertBucket(Bucket bucket, MapSqlParameterSource params, String settlementNumber) {
+        try {
+            jdbcTemplate.update(bucket.insertSql(), params.addValue("settlementNumber", settlementNumber));
+        } catch (DuplicateKeyException e) {
+            // 같은 버킷을 다른 트랜잭션이 먼저 만들었으면 그 행에 더한다. 버킷이 없으면 정산 번호 충돌이다.
+            Integer existing = jdbcTemplate.queryForObject(bucket.countSql(), params, Integer.class);
+            if (existing == null || existing == 0) {
+                throw new IllegalStateException(
+                    "정산 번호 충돌로 버킷을 만들지 못했습니다: " + bucket.table() + ", " + settlementNumber, e);
+            }
+            jdbcTemplate.update(bucket.updateSql(), params);
+        }
+    }
+
+    private MapSqlParameterSource toParams(Bucket bucket, RollupDelta delta, Timestamp now) {
+        return new MapSqlParameterSource()
+            .addValue("brandId", delta.brandId())
+            .addValue("periodStart", Date.valueOf(delta.periodStart()))
+            .addValue("periodEnd", Date.valueOf(bucket.periodEnd().apply(delta.periodStart())))
+            .addValue("year", delta.periodStart().getYear())
+            .addValue("month", delta.periodStart().getMonthValue())
+            .addValue("weekYear", delta.periodStart().get(WeekFields.ISO.weekBasedYear()))
+            .addValue("week", delta.periodStart().get(WeekFields.ISO.weekOfWeekBasedYear()))
+            .addValue("timezone", delta.timezone())
+            .addValue("orderCount", delta.orderCount())
+            .addValue("salesAmount", delta.salesAmount())
+            .addValue("commissionAmount", delta.commissionAmount())
+            .addValue("taxAmount", delta.taxAmount())
+            .addValue("pgFeeAmount", delta.pgFeeAmount())
+            .addValue("finalAmount", delta.finalAmount())
+            .addValue("status", SettlementStatus.PROCESSING.name())
+            .addValue("now", now);
+    }
+
+    private record Bucket(String table, String keyCondition, String insertSql, UnaryOperator<LocalDate> periodEnd) {
+
+        String updateSql() {
+            return "UPDATE " + table + " SET\n" + ADD_TOTALS + " WHERE " + keyCondition;
+        }
+
+        String countSql() {
+            return "SELECT COUNT(*) FROM " + table + " WHERE " + keyCondition;
+        }
+    }
+
+    /**
+     * 버킷 하나에 더할 증분
+     *
+     * @param periodStart 기간 시작일 (일: 해당일, 주: 월요일, 월: 1일, 연: 1월 1일)
+     * @param timezone 정산 타임존 (배치와 같은 값, 예: Asia/Seoul)
+     */
+    public record RollupDelta(
+        Long brandId,
+        LocalDate periodStart,
+        String timezone,
+        int orderCount,
+        BigDecimal salesAmount,
+        BigDecimal commissionAmount,
+        BigDecimal taxAmount,
+        BigDecimal pgFeeAmount
+    ) {
+        public BigDecimal finalAmount() {
+            return salesAmount.subtract(commissionAmount).subtract(taxAmount).subtract(pgFeeAmount);
+        }
+    }
+}
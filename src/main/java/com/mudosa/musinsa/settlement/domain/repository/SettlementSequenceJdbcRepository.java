@@ -0,0 +1,63 @@
+package com.mudosa.musinsa.settlement.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+
+/**
+ * 정산 번호 시퀀스 블록 예약.
+ * 호출한 쪽의 트랜잭션 안에서 행을 잠그고 올리므로, 커밋 전까지 같은 시퀀스의 다른 예약은 대기한다.
+ *
+ * 시퀀스 도입 전 정산 번호는 끝 5자리가 currentTimeMillis() % 100000 이었으므로,
+ * 시퀀스가 1부터 시작하면 같은 기간의 기존 번호와 겹칠 수 있다.
+ * 예약할 때마다 해당 정산 테이블의 가장 큰 끝 5자리 + 1 이상에서 시작해 기존 번호 뒤로 건너뛴다.
+ * (기존 번호는 모두 5자리이므로 끝 5자리만 보면 되고, 시퀀스가 이를 넘은 뒤에는 next_value가 그대로 쓰인다.)
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementSequenceJdbcRepository {
+
+    /* 시퀀스 이름 -> 그 번호를 쓰는 정산 테이블 */
+    private static final Map<String, String> SETTLEMENT_TABLES = Map.of(
+        "daily_settlement_seq", "settlements_daily",
+        "weekly_settlement_seq", "settlements_weekly",
+        "monthly_settlement_seq", "settlements_monthly",
+        "yearly_settlement_seq", "settlements_yearly"
+    );
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+        INSERT IGNORE INTO settlement_sequence (sequence_name, next_value) VALUES (:sequenceName, 1)
+        """;
+
+    private static final String LOCK_SQL = """
+        SELECT GREATEST(next_value,
+                        (SELECT COALESCE(MAX(CAST(RIGHT(settlement_number, 5) AS SIGNED)), 0) + 1 FROM %s))
+          FROM settlement_sequence
+         WHERE sequence_name = :sequenceName
+           FOR UPDATE
+        """;
+
+    private static final String ADVANCE_SQL = """
+        UPDATE settlement_sequence SET next_value = :nextValue WHERE sequence_name = :sequenceName
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * [시작값, 시작값 + blockSize) 구간을 예약하고 시작값을 돌려준다.
+     */
+    public long reserveBlock(String sequenceName, int blockSize) {
+        String table = SETTLEMENT_TABLES.get(sequenceName);
+        if (table == null) {
+            throw new IllegalArgumentException("알 수 없는 정산 번호 시퀀스: " + sequenceName);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("sequenceName", sequenceName);
+        jdbcTemplate.update(INSERT_IF_ABSENT_SQL, params);
+        Long start = jdbcTemplate.queryForObject(LOCK_SQL.formatted(table), params, Long.class);
+        jdbcTemplate.update(ADVANCE_SQL, params.addValue("nextValue", start + blockSize));
+        return start;
+    }
+}
@@ -33,6 +33,9 @@ public interface SettlementWeeklyRepository extends JpaRepository<SettlementWeek
         Integer weekOfMonth
     );
 
+    /* 브랜드별 + 주 시작일(월요일)로 특정 주간 정산 조회 */
+    java.util.Optional<SettlementWeekly> findByBrandIdAndWeekStartDate(Long brandId, LocalDate weekStartDate);
+
     /* 전체 브랜드 주간 정산 조회 (페이징) */
     Page<SettlementWeekly> findAllByOrderByWeekStartDateDesc(Pageable pageable);
 }
@@ -1,7 +1,5 @@
 package com.mudosa.musinsa.settlement.domain.service;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -14,8 +12,7 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class SettlementNumberGenerator {
 
-    @PersistenceContext
-    private EntityManager entityManager;
+    private final SettlementSequenceAllocator sequenceAllocator;
 
     /**
      * 일일 정산 번호 생성
@@ -59,12 +56,11 @@ public class SettlementNumberGenerator {
     }
 
     /**
-     * DB 시퀀스에서 다음 값 조회
-     * 간단한 타임스탬프 기반 번호 생성으로 대체
+     * 정산 유형별 시퀀스에서 다음 값 조회
+     * 노드별로 예약한 블록에서 나눠주므로 병렬 배치에서도 중복되지 않는다. (빈 번호는 생길 수 있음)
+     * 5자리를 넘으면 자릿수가 늘어난다.
      */
     private Long getNextSequence(String sequenceName) {
-        // MySQL에는 시퀀스가 없으므로 간단히 현재 시간 밀리초 사용
-        // 고도화 단계에서는 별도 시퀀스 테이블 또는 Redis 등 사용 예정
-        return System.currentTimeMillis() % 100000; // 5자리 숫자
+        return sequenceAllocator.next(sequenceName);
     }
 }
@@ -0,0 +1,98 @@
+package com.mudosa.musinsa.settlement.domain.service;
+
+import com.mudosa.musinsa.settlement.domain.repository.SettlementSequenceJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 정산 번호 시퀀스 블록 할당기
+ *
+ * - 노드마다 settlement_sequence에서 blockSize개 구간을 예약해 두고 메모리의 AtomicLong으로 락 없이 나눠준다.
+ * - 구간을 다 쓴 경우에만 시퀀스별 락을 잡고 DB에서 다음 구간을 예약한다.
+ * - 예약은 별도 트랜잭션(REQUIRES_NEW)에서 바로 커밋하므로, 호출한 트랜잭션이 롤백되거나 노드가 죽어도
+ *   같은 번호가 다시 나가지 않는다. 대신 쓰지 못한 구간은 건너뛴 번호(gap)로 남는다.
+ */
+@Slf4j
+@Component
+public class SettlementSequenceAllocator {
+
+    private final SettlementSequenceJdbcRepository sequenceRepository;
+    private final TransactionTemplate requiresNewTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public SettlementSequenceAllocator(SettlementSequenceJdbcRepository sequenceRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${settlement.sequence.block-size:1000}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.blockSize = blockSize;
+    }
+
+    public long next(String sequenceName) {
+        while (true) {
+            Block block = blocks.get(sequenceName);
+            if (block != null) {
+                long value = block.take();
+                if (value >= 0) {
+                    return value;
+                }
+            }
+            refill(sequenceName, block);
+        }
+    }
+
+    /* 다 쓴 블록을 새 블록으로 바꾼다. 다른 스레드가 먼저 바꿨으면 그 블록을 쓴다. */
+    private void refill(String sequenceName, Block exhausted) {
+        ReentrantLock lock = locks.computeIfAbsent(sequenceName, name -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (blocks.get(sequenceName) != exhausted) {
+                return;
+            }
+            Long start = requiresNewTemplate.execute(status -> sequenceRepository.reserveBlock(sequenceName, blockSize));
+            blocks.put(sequenceName, new Block(start, start + blockSize));
+            Counter.builder("settlement.sequence.reserved")
+                .tag("sequence", sequenceName)
+                .description("예약한 정산 번호 블록 수")
+                .register(meterRegistry)
+                .increment();
+            log.debug("정산 번호 블록 예약: {} [{}, {})", sequenceName, start, start + blockSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /* 남은 번호가 없으면 -1 */
+        private long take() {
+            long value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mudosa.musinsa.settlement.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 승인 → 정산 생성 아웃박스.
+ * 결제 승인과 같은 트랜잭션에서 적재되고, SettlementOutboxRelay가 정산 거래를 만든 트랜잭션에서 삭제한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "settlement_outbox",
+    uniqueConstraints = @UniqueConstraint(name = "uk_settlement_outbox_payment", columnNames = "payment_id"))
+public class SettlementOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @Column(name = "pg_transaction_id", length = 100)
+    private String pgTransactionId;
+
+    // 개별 처리 실패 횟수. 한도에 도달하면 수동 처리 대상으로 남는다.
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public static SettlementOutbox of(Long paymentId, String pgTransactionId) {
+        SettlementOutbox outbox = new SettlementOutbox();
+        outbox.paymentId = paymentId;
+        outbox.pgTransactionId = pgTransactionId;
+        outbox.createdAt = LocalDateTime.now();
+        return outbox;
+    }
+}
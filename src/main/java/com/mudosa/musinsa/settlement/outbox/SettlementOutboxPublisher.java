@@ -0,0 +1,26 @@
+package com.mudosa.musinsa.settlement.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 승인 이벤트를 정산 아웃박스에 적재한다.
+ * 호출한 쪽의 트랜잭션에 참여하므로 결제 승인이 롤백되면 이벤트도 함께 사라진다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SettlementOutboxPublisher {
+
+    private final SettlementOutboxRepository settlementOutboxRepository;
+
+    @Value("${settlement.outbox.enabled:false}")
+    private boolean enabled;
+
+    public void paymentApproved(Long paymentId, String pgTransactionId) {
+        if (!enabled || paymentId == null) {
+            return;
+        }
+        settlementOutboxRepository.save(SettlementOutbox.of(paymentId, pgTransactionId));
+    }
+}
@@ -0,0 +1,43 @@
+package com.mudosa.musinsa.settlement.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface SettlementOutboxRepository extends JpaRepository<SettlementOutbox, Long> {
+
+    // 다른 노드가 처리 중인 행과 재시도 한도를 넘긴 행은 건너뛰고 오래된 순으로 가져온다.
+    @Query(value = """
+        SELECT * FROM settlement_outbox
+         WHERE attempts < :maxAttempts
+         ORDER BY outbox_id
+         LIMIT :limit
+           FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<SettlementOutbox> claimBatch(@Param("limit") int limit, @Param("maxAttempts") int maxAttempts);
+
+    @Query(value = """
+        SELECT * FROM settlement_outbox
+         WHERE outbox_id = :outboxId
+           FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    Optional<SettlementOutbox> claimOne(@Param("outboxId") Long outboxId);
+
+    @Modifying
+    @Query("""
+        update SettlementOutbox o
+           set o.attempts = o.attempts + 1, o.lastError = :lastError
+         where o.id = :outboxId
+        """)
+    int recordFailure(@Param("outboxId") Long outboxId, @Param("lastError") String lastError);
+
+    @Query("select min(o.createdAt) from SettlementOutbox o where o.attempts < :maxAttempts")
+    LocalDateTime findOldestCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
@@ -1,8 +1,12 @@
 package com.mudosa.musinsa.settlement.presentation.controller;
 
 import com.mudosa.musinsa.common.dto.ApiResponse;
+import com.mudosa.musinsa.settlement.application.SettlementExportService;
 import com.mudosa.musinsa.settlement.application.SettlementQueryService;
+import com.mudosa.musinsa.settlement.domain.model.SettlementExportFormat;
+import com.mudosa.musinsa.settlement.domain.model.StatisticsBucket;
 import com.mudosa.musinsa.settlement.presentation.dto.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,10 +14,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * 정산 조회 API
  *
@@ -27,6 +39,8 @@ import org.springframework.web.bind.annotation.*;
  * - GET /api/settlements/monthly: 월간 정산 목록 조회
  * - GET /api/settlements/yearly: 연간 정산 목록 조회
  * - GET /api/settlements/statistics: 정산 통계 조회
+ * - GET /api/settlements/statistics/series: 정산 통계 시계열 조회 (차트용)
+ * - GET /api/settlements/transactions/export: 거래별 정산 내보내기 (CSV/NDJSON, gzip 스트리밍)
  */
 @Slf4j
 @Validated
@@ -42,6 +56,7 @@ public class SettlementController {
     private static final String YEARLY_SORT_FIELD = "settlementYear";
 
     private final SettlementQueryService settlementQueryService;
+    private final SettlementExportService settlementExportService;
 
     /* 일일 정산 목록 조회 */
     @GetMapping("/daily")
@@ -150,6 +165,30 @@ public class SettlementController {
         return ResponseEntity.ok(ApiResponse.success(data));
     }
 
+    /* 거래별 정산 내보내기 - 기간 전체를 한 번의 스트리밍 응답으로 (brandId 없으면 전체 브랜드) */
+    @GetMapping("/transactions/export")
+    public void exportPerTransactionSettlements(
+        @RequestParam(required = false) Long brandId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(defaultValue = "CSV") SettlementExportFormat format,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("거래별 정산 내보내기 요청 - brandId: {}, startDate: {}, endDate: {}, format: {}",
+            brandId, startDate, endDate, format);
+
+        try (SettlementExportService.Export export = settlementExportService.open(brandId, startDate, endDate, format)) {
+            response.setContentType(format.getContentType());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(export.getFileName())
+                .build()
+                .toString());
+            export.writeTo(response.getOutputStream());
+        }
+    }
+
     /* 거래별 정산 단건 조회 */
     @GetMapping("/transactions/{transactionId}")
     public ResponseEntity<SettlementPerTransactionResponse> getPerTransactionSettlement(
@@ -170,4 +209,21 @@ public class SettlementController {
         SettlementStatisticsResponse data = settlementQueryService.getStatistics(brandId);
         return ResponseEntity.ok(ApiResponse.success(data));
     }
-}
\ No newline at end of file
+
+    /* 정산 통계 시계열 조회 - 브랜드별 일/주/월 버킷 매출액, 주문 건수, 정산액 (brandIds 없으면 전체 브랜드) */
+    @GetMapping("/statistics/series")
+    public ResponseEntity<ApiResponse<SettlementStatisticsSeriesResponse>> getStatisticsSeries(
+        @RequestParam(required = false) List<Long> brandIds,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(defaultValue = "DAY") StatisticsBucket bucket
+    ) {
+        log.debug("정산 통계 시계열 조회 요청 - brandIds: {}, startDate: {}, endDate: {}, bucket: {}",
+            brandIds, startDate, endDate, bucket);
+
+        SettlementStatisticsSeriesResponse data = settlementQueryService.getStatisticsSeries(
+            brandIds, startDate, endDate, bucket
+        );
+        return ResponseEntity.ok(ApiResponse.success(data));
+    }
+}
@@ -0,0 +1,71 @@
+package com.mudosa.musinsa.settlement.presentation.dto;
+
+import com.mudosa.musinsa.settlement.application.SettlementStatisticsSeries;
+import com.mudosa.musinsa.settlement.batch.dto.DailyStatisticsDto;
+import com.mudosa.musinsa.settlement.domain.model.StatisticsBucket;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정산 통계 시계열 응답 DTO
+ *
+ * 차트에 바로 쓰도록 열 단위로 내려준다.
+ * series[n].salesAmounts[i]는 n번째 브랜드의 bucketStarts[i] 버킷 매출액이다.
+ */
+@Getter
+@Builder
+public class SettlementStatisticsSeriesResponse {
+
+    private StatisticsBucket bucket;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<LocalDate> bucketStarts;
+    private List<BrandSeries> series;
+
+    @Getter
+    @Builder
+    public static class BrandSeries {
+        private Long brandId;
+        private String brandName;
+        private long[] orderCounts;
+        private BigDecimal[] salesAmounts;
+        private BigDecimal[] finalSettlementAmounts;
+    }
+
+    public static SettlementStatisticsSeriesResponse of(
+        SettlementStatisticsSeries statistics,
+        LocalDate startDate,
+        LocalDate endDate,
+        Map<Long, String> brandNames
+    ) {
+        List<BrandSeries> series = statistics.getSeries().entrySet().stream()
+            .map(entry -> BrandSeries.builder()
+                .brandId(entry.getKey())
+                .brandName(brandNames.get(entry.getKey()))
+                .orderCounts(entry.getValue().orderCounts())
+                .salesAmounts(toAmounts(entry.getValue().salesAmounts()))
+                .finalSettlementAmounts(toAmounts(entry.getValue().finalSettlementAmounts()))
+                .build())
+            .toList();
+
+        return SettlementStatisticsSeriesResponse.builder()
+                .bucket(statistics.getBucket())
+                .startDate(startDate)
+                .endDate(endDate)
+                .bucketStarts(statistics.getBucketStarts())
+                .series(series)
+                .build();
+    }
+
+    private static BigDecimal[] toAmounts(long[] amounts) {
+        return Arrays.stream(amounts)
+            .mapToObj(DailyStatisticsDto::fromScaledLong)
+            .toArray(BigDecimal[]::new);
+    }
+}
@@ -0,0 +1,313 @@
+package com.mudosa.musinsa.chat.broker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.CloseStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 다중 노드 fan-out 하네스
+ * <p>
+ * Redis 대신 프로세스 내 pub/sub(노드별 구독 스레드 하나)와 Set 저장소를 쓰고,
+ * 노드마다 ChatRoomSessionRegistry / ChatRoomPresence / ChatFanoutDispatcher를 실제로 띄운다.
+ * simple broker 자리는 방 구독 수만큼 세션 전달을 세는 채널로 대신한다.
+ */
+@Slf4j
+class ChatFanoutHarnessTest {
+
+  private static final int NODES = 3;
+  private static final int ROOMS = 500;
+  private static final int SESSIONS_PER_ROOM = 20;
+  // 앞쪽 방은 세션이 모두 0번 노드에 있다.
+  private static final int LOCAL_ONLY_ROOMS = 100;
+  private static final int MESSAGES = 2_000;
+
+  private final InMemoryRedis redis = new InMemoryRedis();
+  private final Map<Long, long[]> sentAt = new ConcurrentHashMap<>();
+  private final List<Long> remoteLatencies = Collections.synchronizedList(new ArrayList<>());
+  private final LongAdder sessionDeliveries = new LongAdder();
+  private final LongAdder serializations = new LongAdder();
+  private final List<Node> nodes = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    redis.shutdown();
+  }
+
+  @Test
+  @DisplayName("10k 세션에 메시지당 한 번 직렬화로 모두 전달하고, 세션이 모두 로컬인 방은 브로커로 발행하지 않는다.")
+  void fanOut_tenThousandSessionsAcrossNodes() throws Exception {
+    for (int i = 0; i < NODES; i++) {
+      nodes.add(new Node(i));
+    }
+    // 방마다 20세션: 로컬 전용 방은 0번 노드, 나머지는 노드에 고르게 분산
+    Map<Long, List<Node>> roomNodes = new ConcurrentHashMap<>();
+    int session = 0;
+    for (long chatId = 1; chatId <= ROOMS; chatId++) {
+      for (int s = 0; s < SESSIONS_PER_ROOM; s++, session++) {
+        Node node = chatId <= LOCAL_ONLY_ROOMS ? nodes.get(0) : nodes.get(session % NODES);
+        node.registry.handleSubscribe(subscribe("session-" + session, chatId));
+        roomNodes.computeIfAbsent(chatId, id -> new ArrayList<>()).add(node);
+      }
+    }
+    redis.awaitIdle();
+
+    // 여러 스레드에서 방의 세션이 있는 노드 중 하나가 발행
+    ExecutorService senders = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    AtomicLong ids = new AtomicLong();
+    for (int i = 0; i < MESSAGES; i++) {
+      futures.add(senders.submit(() -> {
+        long chatId = ThreadLocalRandom.current().nextLong(1, ROOMS + 1);
+        List<Node> candidates = roomNodes.get(chatId);
+        Node sender = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+        long messageId = ids.incrementAndGet();
+        sentAt.put(messageId, new long[]{System.nanoTime(), sender.index});
+        sender.dispatcher.dispatch(chatId, new Payload("MESSAGE", messageId, chatId, "hello " + messageId));
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    senders.shutdown();
+    redis.awaitIdle();
+
+    long localOnlyPublishes = redis.publishes.entrySet().stream()
+        .filter(entry -> entry.getKey().startsWith("chat:room:"))
+        .filter(entry -> Long.parseLong(entry.getKey().substring("chat:room:".length())) <= LOCAL_ONLY_ROOMS)
+        .mapToLong(entry -> entry.getValue().sum())
+        .sum();
+
+    assertThat(sessionDeliveries.sum()).isEqualTo((long) MESSAGES * SESSIONS_PER_ROOM);
+    assertThat(serializations.sum()).isEqualTo(MESSAGES);
+    assertThat(localOnlyPublishes).isZero();
+    report();
+  }
+
+  @Test
+  @DisplayName("노드의 마지막 세션이 나가면 방 채널 구독을 해제하고 다른 노드는 더 이상 발행하지 않는다.")
+  void closeRoom_stopsBrokerPublishesWhenLastRemoteSessionLeaves() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      nodes.add(new Node(i));
+    }
+    nodes.get(0).registry.handleSubscribe(subscribe("a", 1L));
+    nodes.get(1).registry.handleSubscribe(subscribe("b", 1L));
+    redis.awaitIdle();
+    assertThat(nodes.get(0).presence.hasRemoteNodes(1L)).isTrue();
+
+    nodes.get(1).registry.handleDisconnect(disconnect("b"));
+    redis.awaitIdle();
+    nodes.get(0).dispatcher.dispatch(1L, new Payload("MESSAGE", 1L, 1L, "bye"));
+    redis.awaitIdle();
+
+    assertThat(nodes.get(0).presence.hasRemoteNodes(1L)).isFalse();
+    assertThat(redis.subscribers("chat:room:1")).isEqualTo(1);
+    assertThat(redis.publishes.getOrDefault("chat:room:1", new LongAdder()).sum()).isZero();
+    assertThat(sessionDeliveries.sum()).isEqualTo(1);
+  }
+
+  private void report() {
+    List<Long> sorted = new ArrayList<>(remoteLatencies);
+    Collections.sort(sorted);
+    if (sorted.isEmpty()) {
+      return;
+    }
+    log.info("fan-out {} nodes / {} sessions / {} messages - 노드 간 전달 {}건, p50={}us, p99={}us, max={}us",
+        NODES, ROOMS * SESSIONS_PER_ROOM, MESSAGES, sorted.size(),
+        micros(sorted, 0.50), micros(sorted, 0.99), sorted.get(sorted.size() - 1) / 1_000);
+  }
+
+  private static long micros(List<Long> sorted, double percentile) {
+    return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(sorted.size() * percentile))) / 1_000;
+  }
+
+  private static SessionSubscribeEvent subscribe(String sessionId, Long chatId) {
+    StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+    accessor.setSessionId(sessionId);
+    accessor.setSubscriptionId("sub-0");
+    accessor.setDestination(ChatFanoutDispatcher.ROOM_DESTINATION_PREFIX + chatId);
+    return new SessionSubscribeEvent(ChatFanoutHarnessTest.class,
+        MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+  }
+
+  private static SessionDisconnectEvent disconnect(String sessionId) {
+    StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+    accessor.setSessionId(sessionId);
+    return new SessionDisconnectEvent(ChatFanoutHarnessTest.class,
+        MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), sessionId, CloseStatus.NORMAL);
+  }
+
+  record Payload(String type, Long messageId, Long chatId, String content) {
+  }
+
+  /* 노드 하나 (구독 스레드 하나를 가진 브로커 연결 + fan-out 구성요소) */
+  private final class Node {
+    private final int index;
+    private final ChatRoomPresence presence;
+    private final ChatFanoutDispatcher dispatcher;
+    private final ChatRoomSessionRegistry registry;
+    private final ObjectMapper reader = new ObjectMapper();
+
+    private Node(int index) {
+      this.index = index;
+      ObjectMapper objectMapper = new ObjectMapper() {
+        @Override
+        public String writeValueAsString(Object value) throws JsonProcessingException {
+          serializations.increment();
+          return super.writeValueAsString(value);
+        }
+      };
+      SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+      this.presence = new ChatRoomPresence(redis.template(), redis.connect(), 60_000);
+      this.presence.subscribe();
+      this.dispatcher = new ChatFanoutDispatcher(new SimpMessagingTemplate(simpleBroker()), presence, objectMapper, meterRegistry);
+      this.registry = new ChatRoomSessionRegistry(dispatcher, meterRegistry);
+    }
+
+    /* simple broker 대역: 방 구독 세션 수만큼 같은 payload를 전달한 것으로 센다 */
+    private MessageChannel simpleBroker() {
+      return (message, timeout) -> {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        Long chatId = Long.valueOf(destination.substring(ChatFanoutDispatcher.ROOM_DESTINATION_PREFIX.length()));
+        sessionDeliveries.add(registry.getSubscriptionCount(chatId));
+        recordLatency(message);
+        return true;
+      };
+    }
+
+    private void recordLatency(Message<?> message) {
+      try {
+        long messageId = reader.readTree((byte[]) message.getPayload()).path("messageId").asLong();
+        long[] sent = sentAt.get(messageId);
+        if (sent != null && sent[1] != index) {
+          remoteLatencies.add(System.nanoTime() - sent[0]);
+        }
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  /* Redis 대역: 채널 pub/sub(노드별 단일 구독 스레드) + Set */
+  private static final class InMemoryRedis {
+    private final Map<String, Map<Connection, Consumer<String>>> channels = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> publishes = new ConcurrentHashMap<>();
+    private final List<Connection> connections = Collections.synchronizedList(new ArrayList<>());
+
+    Connection connect() {
+      Connection connection = new Connection();
+      connections.add(connection);
+      return connection;
+    }
+
+    int subscribers(String channel) {
+      return channels.getOrDefault(channel, Map.of()).size();
+    }
+
+    @SuppressWarnings("unchecked")
+    StringRedisTemplate template() {
+      SetOperations<String, String> setOperations = (SetOperations<String, String>) Proxy.newProxyInstance(
+          getClass().getClassLoader(), new Class<?>[]{SetOperations.class}, (proxy, method, args) -> {
+            String key = (String) args[0];
+            return switch (method.getName()) {
+              case "add" -> {
+                Set<String> set = sets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+                yield Arrays.stream((Object[]) args[1]).filter(value -> set.add((String) value)).count();
+              }
+              case "remove" -> {
+                Set<String> set = sets.getOrDefault(key, Set.of());
+                yield Arrays.stream((Object[]) args[1]).filter(set::remove).count();
+              }
+              case "members" -> new HashSet<>(sets.getOrDefault(key, Set.of()));
+              default -> throw new UnsupportedOperationException(method.getName());
+            };
+          });
+      return new StringRedisTemplate() {
+        @Override
+        public SetOperations<String, String> opsForSet() {
+          return setOperations;
+        }
+      };
+    }
+
+    /* 모든 구독 스레드가 밀린 메시지를 다 처리할 때까지 대기 (전달 중 발행된 메시지까지) */
+    void awaitIdle() throws Exception {
+      for (int round = 0; round < 3; round++) {
+        for (Connection connection : List.copyOf(connections)) {
+          connection.executor.submit(() -> { }).get(30, TimeUnit.SECONDS);
+        }
+      }
+    }
+
+    void shutdown() {
+      connections.forEach(connection -> connection.executor.shutdownNow());
+    }
+
+    private final class Connection implements ChatChannelBroker {
+      private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+      @Override
+      public void sendToTopic(String destination, Object payload) {
+        publishes.computeIfAbsent(destination, d -> new LongAdder()).increment();
+        channels.getOrDefault(destination, Map.of())
+            .forEach((connection, listener) -> connection.executor.execute(() -> listener.accept((String) payload)));
+      }
+
+      @Override
+      public void sendToUser(String sessionId, String destination, Object payload) {
+        sendToTopic(destination + ":" + sessionId, payload);
+      }
+
+      @Override
+      public void broadcast(String destination, Object payload) {
+        sendToTopic(destination, payload);
+      }
+
+      @Override
+      public void subscribe(String destination, Consumer<String> listener) {
+        channels.computeIfAbsent(destination, d -> new ConcurrentHashMap<>()).put(this, listener);
+      }
+
+      @Override
+      public void unsubscribe(String destination) {
+        channels.getOrDefault(destination, new ConcurrentHashMap<>()).remove(this);
+      }
+    }
+  }
+}
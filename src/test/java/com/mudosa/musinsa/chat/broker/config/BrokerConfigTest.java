@@ -0,0 +1,41 @@
+package com.mudosa.musinsa.chat.broker.config;
+
+import com.mudosa.musinsa.chat.broker.KafkaBrokerAdapter;
+import com.mudosa.musinsa.chat.broker.RedisBrokerAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class BrokerConfigTest {
+
+  private final RedisBrokerAdapter redis = mock(RedisBrokerAdapter.class);
+  private final KafkaBrokerAdapter kafka = mock(KafkaBrokerAdapter.class);
+
+  @Test
+  @DisplayName("fan-out을 켠 채 구독을 지원하지 않는 kafka를 고르면 시작 시 설정 오류로 실패한다.")
+  void chatMessageBroker_rejectsKafkaWithFanout() {
+    BrokerConfig config = config("kafka", true);
+
+    assertThatThrownBy(() -> config.chatMessageBroker(redis, kafka))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("chat.fanout.enabled");
+  }
+
+  @Test
+  @DisplayName("fan-out을 끄면 kafka를 쓸 수 있다.")
+  void chatMessageBroker_allowsKafkaWithoutFanout() {
+    assertThat(config("kafka", false).chatMessageBroker(redis, kafka)).isSameAs(kafka);
+    assertThat(config("redis", true).chatMessageBroker(redis, kafka)).isSameAs(redis);
+  }
+
+  private BrokerConfig config(String brokerType, boolean fanoutEnabled) {
+    BrokerConfig config = new BrokerConfig();
+    ReflectionTestUtils.setField(config, "brokerType", brokerType);
+    ReflectionTestUtils.setField(config, "fanoutEnabled", fanoutEnabled);
+    return config;
+  }
+}
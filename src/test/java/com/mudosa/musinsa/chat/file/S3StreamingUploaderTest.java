@@ -0,0 +1,281 @@
+package com.mudosa.musinsa.chat.file;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 S3 호환 스텁(PutObject / Multipart Upload만 구현)에 대해 스트리밍 업로드를 확인한다.
+ */
+class S3StreamingUploaderTest {
+
+  private static final String BUCKET = "chat-test";
+  private static final int PART_SIZE = 5 * 1024 * 1024;
+
+  private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+  private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+  private final AtomicInteger uploadIds = new AtomicInteger();
+  private final AtomicInteger aborted = new AtomicInteger();
+  // 닫혀 있으면 PUT(PutObject/UploadPart) 응답을 보류한다
+  private volatile CountDownLatch putGate = new CountDownLatch(0);
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private S3AsyncClient s3AsyncClient;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    serverExecutor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", this::handle);
+    server.setExecutor(serverExecutor);
+    server.start();
+
+    s3AsyncClient = S3AsyncClient.builder()
+        .endpointOverride(URI.create("http://127.0.0.1:" + server.getAddress().getPort()))
+        .region(Region.AP_NORTHEAST_2)
+        .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+        .serviceConfiguration(S3Configuration.builder()
+            .pathStyleAccessEnabled(true)
+            .checksumValidationEnabled(false)
+            .chunkedEncodingEnabled(false)
+            .build())
+        .build();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() {
+    putGate.countDown();
+    s3AsyncClient.close();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("작은 파일과 파트 이하 파일은 PutObject 한 번으로 올리고, 끝나면 버퍼를 모두 돌려준다.")
+  void tryUpload_singlePut() throws Exception {
+    S3StreamingUploader uploader = uploader(PART_SIZE * 4, 2000);
+    byte[] small = bytes(100 * 1024);
+    byte[] medium = bytes(3 * 1024 * 1024);
+
+    uploader.tryUpload(BUCKET, "chat/1/message/1/a.png", "image/png", small.length, new ByteArrayInputStream(small))
+        .orElseThrow().get(10, TimeUnit.SECONDS);
+    uploader.tryUpload(BUCKET, "chat/1/message/1/b.mp4", "video/mp4", medium.length, new ByteArrayInputStream(medium))
+        .orElseThrow().get(10, TimeUnit.SECONDS);
+
+    assertThat(objects.get("/chat-test/chat/1/message/1/a.png")).isEqualTo(small);
+    assertThat(objects.get("/chat-test/chat/1/message/1/b.mp4")).isEqualTo(medium);
+    assertThat(uploads).isEmpty();
+    assertThat(uploader.getInFlightBytes()).isZero();
+    assertThat(meterRegistry.get("chat.upload.stream.requests").tag("mode", "single").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("큰 파일은 요청 스레드에서 본문만 읽고 반환하며, 파트를 동시에 올린 뒤 순서대로 합친다.")
+  void tryUpload_multipart_returnsBeforeS3Completes() throws Exception {
+    S3StreamingUploader uploader = uploader(PART_SIZE * 3, 2000);
+    byte[] large = bytes(PART_SIZE * 2 + 1234);
+    putGate = new CountDownLatch(1);
+
+    CompletableFuture<Void> upload = uploader.tryUpload(BUCKET, "chat/1/message/2/c.zip", "application/zip",
+        large.length, new ByteArrayInputStream(large)).orElseThrow();
+
+    // 본문은 모두 버퍼에 담겼고 S3 전송은 아직 진행 중
+    assertThat(upload).isNotDone();
+    assertThat(uploader.getInFlightBytes()).isEqualTo(PART_SIZE * 3L);
+
+    putGate.countDown();
+    upload.get(10, TimeUnit.SECONDS);
+
+    assertThat(objects.get("/chat-test/chat/1/message/2/c.zip")).isEqualTo(large);
+    assertThat(uploader.getInFlightBytes()).isZero();
+    assertThat(meterRegistry.get("chat.upload.stream.requests").tag("mode", "multipart").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("버퍼 한도를 넘으면 본문을 읽지 않고 empty를 반환해 임시 파일 경로로 넘긴다.")
+  void tryUpload_overInFlightLimit_fallsBack() throws Exception {
+    S3StreamingUploader uploader = uploader(PART_SIZE, 50);
+    byte[] first = bytes(1024 * 1024);
+    byte[] second = bytes(10 * 1024);
+    putGate = new CountDownLatch(1);
+
+    CompletableFuture<Void> inFlight = uploader.tryUpload(BUCKET, "k1", "image/png", first.length,
+        new ByteArrayInputStream(first)).orElseThrow();
+    CountingInputStream secondBody = new CountingInputStream(second);
+    Optional<CompletableFuture<Void>> rejected = uploader.tryUpload(BUCKET, "k2", "image/png", second.length, secondBody);
+
+    assertThat(rejected).isEmpty();
+    assertThat(secondBody.read).isZero();
+    assertThat(meterRegistry.get("chat.upload.stream.fallback").counter().count()).isEqualTo(1);
+
+    putGate.countDown();
+    inFlight.get(10, TimeUnit.SECONDS);
+    assertThat(uploader.tryUpload(BUCKET, "k2", "image/png", second.length, new ByteArrayInputStream(second)))
+        .isPresent();
+  }
+
+  @Test
+  @DisplayName("본문이 선언된 크기보다 짧으면 실패하고 시작한 Multipart Upload를 중단한다.")
+  void tryUpload_truncatedBody_abortsMultipart() throws Exception {
+    S3StreamingUploader uploader = uploader(PART_SIZE * 3, 2000);
+    byte[] truncated = bytes(PART_SIZE + 10);
+
+    assertThatThrownBy(() ->
+        uploader.tryUpload(BUCKET, "k3", "application/zip", PART_SIZE * 2L, new ByteArrayInputStream(truncated)))
+        .isInstanceOf(IOException.class);
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (aborted.get() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(aborted.get()).isEqualTo(1);
+    assertThat(objects).doesNotContainKey("/chat-test/k3");
+    assertThat(uploader.getInFlightBytes()).isZero();
+  }
+
+  private S3StreamingUploader uploader(int maxInFlightBytes, long acquireTimeoutMillis) {
+    return new S3StreamingUploader(s3AsyncClient, meterRegistry, true, 256 * 1024, PART_SIZE,
+        maxInFlightBytes, acquireTimeoutMillis);
+  }
+
+  private static byte[] bytes(int size) {
+    byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return bytes;
+  }
+
+  /* S3 REST 중 PutObject, Create/UploadPart/Complete/AbortMultipartUpload만 흉내 낸다 */
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+    byte[] body = exchange.getRequestBody().readAllBytes();
+    String method = exchange.getRequestMethod();
+
+    if ("PUT".equals(method)) {
+      awaitGate();
+      if (query.containsKey("partNumber")) {
+        int partNumber = Integer.parseInt(query.get("partNumber"));
+        uploads.get(query.get("uploadId")).put(partNumber, body);
+        exchange.getResponseHeaders().add("ETag", "\"part-" + partNumber + "\"");
+      } else {
+        objects.put(path, body);
+        exchange.getResponseHeaders().add("ETag", "\"object\"");
+      }
+      respond(exchange, 200, "");
+    } else if ("POST".equals(method) && query.containsKey("uploads")) {
+      String uploadId = "upload-" + uploadIds.incrementAndGet();
+      uploads.put(uploadId, new TreeMap<>());
+      respond(exchange, 200, "<InitiateMultipartUploadResult><Bucket>" + BUCKET + "</Bucket><Key>" + path
+          + "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+    } else if ("POST".equals(method) && query.containsKey("uploadId")) {
+      ByteArrayOutputStream merged = new ByteArrayOutputStream();
+      for (byte[] part : uploads.remove(query.get("uploadId")).values()) {
+        merged.write(part);
+      }
+      objects.put(path, merged.toByteArray());
+      respond(exchange, 200, "<CompleteMultipartUploadResult><Bucket>" + BUCKET + "</Bucket><Key>" + path
+          + "</Key><ETag>\"merged\"</ETag></CompleteMultipartUploadResult>");
+    } else if ("DELETE".equals(method) && query.containsKey("uploadId")) {
+      uploads.remove(query.get("uploadId"));
+      aborted.incrementAndGet();
+      respond(exchange, 204, null);
+    } else {
+      respond(exchange, 400, "");
+    }
+  }
+
+  private void awaitGate() {
+    try {
+      putGate.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    if (body == null) {
+      exchange.sendResponseHeaders(status, -1);
+      exchange.close();
+      return;
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    if (bytes.length > 0) {
+      exchange.getResponseBody().write(bytes);
+    }
+    exchange.close();
+  }
+
+  private static Map<String, String> query(String rawQuery) {
+    Map<String, String> params = new TreeMap<>();
+    if (rawQuery == null) {
+      return params;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+      params.put(eq < 0 ? pair : pair.substring(0, eq), eq < 0 ? "" : pair.substring(eq + 1));
+    }
+    return params;
+  }
+
+  private static final class CountingInputStream extends InputStream {
+    private final ByteArrayInputStream delegate;
+    private int read;
+
+    private CountingInputStream(byte[] bytes) {
+      this.delegate = new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public int read() {
+      int b = delegate.read();
+      if (b >= 0) {
+        read++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      int n = delegate.read(b, off, len);
+      if (n > 0) {
+        read += n;
+      }
+      return n;
+    }
+  }
+}
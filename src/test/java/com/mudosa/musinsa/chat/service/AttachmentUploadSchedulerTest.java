@@ -0,0 +1,150 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.mudosa.musinsa.chat.event.StreamedUploadedFile;
+import com.mudosa.musinsa.chat.event.TempUploadedFile;
+import com.mudosa.musinsa.chat.event.UploadedFile;
+import com.mudosa.musinsa.chat.file.FileStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttachmentUploadSchedulerTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final StubFileStore fileStore = new StubFileStore();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private AttachmentUploadScheduler scheduler;
+
+  @AfterEach
+  void tearDown() {
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("노드/방 동시 업로드 한도를 지키고, 빈 자리가 나면 작은 이미지를 큰 파일보다 먼저 올린다.")
+  void submit_respectsCapsAndPrefersSmallImages() throws IOException {
+    scheduler = scheduler(2, 1, 3);
+
+    scheduler.submit(1L, 10L, List.of(temp("big-1.zip", "application/zip", 50_000_000)));
+    scheduler.submit(1L, 11L, List.of(temp("big-2.zip", "application/zip", 50_000_000),
+        temp("small-1.png", "image/png", 10_000)));
+    scheduler.submit(2L, 20L, List.of(temp("big-3.zip", "application/zip", 50_000_000)));
+
+    // 방 1은 한 개, 방 2는 한 개만
+    assertThat(fileStore.started).containsExactly("big-1.zip", "big-3.zip");
+    assertThat(gauge("chat.upload.inflight")).isEqualTo(2);
+    assertThat(gauge("chat.upload.inflight.bytes")).isEqualTo(100_000_000);
+    assertThat(gauge("chat.upload.queue.depth")).isEqualTo(2);
+
+    fileStore.succeed("big-1.zip");
+    assertThat(fileStore.started).containsExactly("big-1.zip", "big-3.zip", "small-1.png");
+
+    fileStore.succeed("small-1.png");
+    assertThat(fileStore.started).containsExactly("big-1.zip", "big-3.zip", "small-1.png", "big-2.zip");
+  }
+
+  @Test
+  @DisplayName("실패한 파일은 지수 백오프로 다시 올리고, 끝까지 실패하면 null로 알려준 뒤 임시 파일을 지운다.")
+  void submit_retriesWithBackoffThenFails() throws Exception {
+    scheduler = scheduler(4, 4, 3);
+    TempUploadedFile flaky = temp("flaky.png", "image/png", 100);
+    TempUploadedFile broken = temp("broken.png", "image/png", 100);
+    fileStore.failTimes.put("flaky.png", 1);
+    fileStore.failTimes.put("broken.png", Integer.MAX_VALUE);
+    fileStore.autoSucceed = true;
+
+    List<String> urls = scheduler.submit(1L, 10L, List.<UploadedFile>of(flaky, broken)).get(5, TimeUnit.SECONDS);
+
+    assertThat(urls).containsExactly("s3://flaky.png", null);
+    assertThat(fileStore.attempts.get("flaky.png").get()).isEqualTo(2);
+    assertThat(fileStore.attempts.get("broken.png").get()).isEqualTo(3);
+    assertThat(meterRegistry.get("chat.upload.retries").counter().count()).isEqualTo(3);
+    assertThat(Files.exists(flaky.tempPath())).isFalse();
+    assertThat(Files.exists(broken.tempPath())).isFalse();
+    assertThat(meterRegistry.get("chat.upload.file.duration").tag("result", "failure").timer().count()).isEqualTo(1);
+    assertThat(gauge("chat.upload.inflight")).isZero();
+  }
+
+  @Test
+  @DisplayName("요청 중에 스트리밍을 시작한 파일은 한도와 무관하게 그 결과만 기다린다.")
+  void submit_streamedFile_waitsForExistingUpload() throws Exception {
+    scheduler = scheduler(1, 1, 3);
+    CompletableFuture<String> streamed = new CompletableFuture<>();
+
+    CompletableFuture<List<String>> urls = scheduler.submit(1L, 10L,
+        List.of(new StreamedUploadedFile("video.mp4", "video/mp4", 30_000_000, streamed)));
+
+    assertThat(fileStore.started).isEmpty();
+    assertThat(urls).isNotDone();
+    streamed.complete("s3://video.mp4");
+    assertThat(urls.get(5, TimeUnit.SECONDS)).containsExactly("s3://video.mp4");
+  }
+
+  private AttachmentUploadScheduler scheduler(int maxConcurrent, int maxPerRoom, int maxAttempts) {
+    return new AttachmentUploadScheduler(fileStore, Runnable::run, meterRegistry,
+        maxConcurrent, maxPerRoom, 1_048_576, 2_000, maxAttempts, 10, 40);
+  }
+
+  private TempUploadedFile temp(String name, String contentType, long size) throws IOException {
+    Path path = Files.createFile(tempDir.resolve(name));
+    return new TempUploadedFile(name, contentType, path, size);
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).gauge().value();
+  }
+
+  /* 업로드 완료를 테스트에서 직접 정하는 파일 저장소 */
+  private static final class StubFileStore implements FileStore {
+    private final List<String> started = new CopyOnWriteArrayList<>();
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private final Map<String, Integer> failTimes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    private volatile boolean autoSucceed;
+
+    @Override
+    public CompletableFuture<String> storeMessageFile(Long chatId, Long messageId, TempUploadedFile file) {
+      String name = file.originalFilename();
+      started.add(name);
+      int attempt = attempts.computeIfAbsent(name, key -> new AtomicInteger()).incrementAndGet();
+      if (attempt <= failTimes.getOrDefault(name, 0)) {
+        return CompletableFuture.failedFuture(new IllegalStateException("S3 503"));
+      }
+      if (autoSucceed) {
+        return CompletableFuture.completedFuture("s3://" + name);
+      }
+      CompletableFuture<String> future = new CompletableFuture<>();
+      pending.put(name, future);
+      return future;
+    }
+
+    @Override
+    public CompletableFuture<String> storeBrandLogo(Long brandId, MultipartFile file) {
+      throw new UnsupportedOperationException();
+    }
+
+    private void succeed(String name) {
+      pending.remove(name).complete("s3://" + name);
+    }
+  }
+}
@@ -0,0 +1,254 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mudosa.musinsa.chat.dto.PendingMessage;
+import com.mudosa.musinsa.chat.dto.WSMessageResponseDTO;
+import com.mudosa.musinsa.chat.enums.MessageStatus;
+import com.mudosa.musinsa.chat.event.ChatEventPublisher;
+import com.mudosa.musinsa.chat.repository.MessageJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MessageWriteBehindTest {
+
+  private static final Long CHAT_ID = 1L;
+  private static final Long USER_ID = 10L;
+
+  @Mock
+  private ChatMembershipCache chatMembershipCache;
+  @Mock
+  private MessageIdAllocator messageIdAllocator;
+  @Mock
+  private MessageJdbcRepository messageJdbcRepository;
+  @Mock
+  private MessageQueryService messageQueryService;
+  @Mock
+  private ChatEventPublisher chatEventPublisher;
+  @Mock
+  private AutoIncrementWriterRegistry autoIncrementWriters;
+
+  @TempDir
+  Path journalDir;
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+  private final AtomicLong ids = new AtomicLong(100);
+  private final List<PendingMessage> inserted = new ArrayList<>();
+  private final LocalDateTime now = LocalDateTime.of(2025, 11, 4, 13, 0);
+
+  @BeforeEach
+  void setUp() {
+    when(chatMembershipCache.getMemberOrThrow(CHAT_ID, USER_ID))
+        .thenReturn(new ChatMembershipCache.Member(5L, USER_ID, "홍길동"));
+    when(messageIdAllocator.next()).thenAnswer(invocation -> ids.getAndIncrement());
+    doAnswer(this::insert).when(messageJdbcRepository).insertAll(anyList());
+  }
+
+  @Test
+  @DisplayName("접수 즉시 전송하고, 시계가 뒤로 가도 방 안의 시각/ID 순서를 유지한 채 배치로 저장한다.")
+  void accept_broadcastsImmediately_andFlushesInRoomOrder() {
+    MessageWriteBehind writeBehind = newWriteBehind(2);
+
+    Long first = writeBehind.accept(CHAT_ID, USER_ID, null, " 안녕 ", MessageStatus.NORMAL, now, "c-1");
+    writeBehind.accept(CHAT_ID, USER_ID, null, "두 번째", MessageStatus.NORMAL, now.minusSeconds(3), "c-2");
+    writeBehind.accept(CHAT_ID, USER_ID, first, "답장", MessageStatus.NORMAL, now.plusSeconds(1), "c-3");
+
+    ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+    verify(chatEventPublisher, times(3)).publishBroadcastEvent(eq(CHAT_ID), payloads.capture());
+    WSMessageResponseDTO reply = (WSMessageResponseDTO) payloads.getAllValues().get(2);
+    assertThat(reply.getParent().getMessageId()).isEqualTo(first);
+    assertThat(reply.getClientMessageId()).isEqualTo("c-3");
+    // 저장 전 메시지를 부모로 쓰면 DB를 보지 않는다
+    verify(messageQueryService, never()).getParentMessageResponseIfExists(any(), any());
+    assertThat(inserted).isEmpty();
+
+    writeBehind.flushAll();
+
+    verify(messageJdbcRepository, times(2)).insertAll(anyList());
+    assertThat(inserted).extracting(PendingMessage::messageId).containsExactly(100L, 101L, 102L);
+    assertThat(inserted).extracting(PendingMessage::createdAt).containsExactly(now, now, now.plusSeconds(1));
+    assertThat(inserted.get(0).content()).isEqualTo("안녕");
+    assertThat(journalDir.toFile().list()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("저장 실패 시 큐와 저널을 그대로 두고, 다음 주기에 같은 순서로 다시 저장한다.")
+  void flushFailure_requeuesAndKeepsJournal() {
+    MessageWriteBehind writeBehind = newWriteBehind(500);
+    writeBehind.accept(CHAT_ID, USER_ID, null, "a", MessageStatus.NORMAL, now, "c-1");
+    writeBehind.accept(CHAT_ID, USER_ID, null, "b", MessageStatus.NORMAL, now, "c-2");
+
+    doThrow(new IllegalStateException("db down")).doAnswer(this::insert)
+        .when(messageJdbcRepository).insertAll(anyList());
+
+    writeBehind.flushAll();
+    assertThat(inserted).isEmpty();
+    assertThat(journalDir.toFile().list()).hasSizeGreaterThan(1);
+
+    writeBehind.accept(CHAT_ID, USER_ID, null, "c", MessageStatus.NORMAL, now, "c-3");
+    writeBehind.flushAll();
+
+    assertThat(inserted).extracting(PendingMessage::content).containsExactly("a", "b", "c");
+    assertThat(journalDir.toFile().list()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("저장 전에 죽은 노드의 메시지는 재기동 시 저널에서 방별 순서대로 다시 저장한다.")
+  void recover_replaysJournalAfterCrash() {
+    MessageWriteBehind crashed = newWriteBehind(500);
+    crashed.accept(CHAT_ID, USER_ID, null, "a", MessageStatus.NORMAL, now, "c-1");
+    crashed.accept(CHAT_ID, USER_ID, null, "b", MessageStatus.UPLOADING, now.plusSeconds(1), "c-2");
+    assertThat(inserted).isEmpty();
+
+    MessageWriteBehind restarted = newWriteBehind(500);
+    restarted.recover();
+
+    assertThat(inserted).extracting(PendingMessage::messageId).containsExactly(100L, 101L);
+    assertThat(inserted).extracting(PendingMessage::status).containsExactly(MessageStatus.NORMAL, MessageStatus.UPLOADING);
+    assertThat(inserted).extracting(PendingMessage::userName).containsOnly("홍길동");
+
+    inserted.clear();
+    newWriteBehind(500).recover();
+    assertThat(inserted).isEmpty();
+  }
+
+  @Test
+  @DisplayName("재기동 직후 복구보다 주기 저장이 먼저 돌아도, 이전 실행의 저널을 먼저 넣은 뒤에 지운다.")
+  void flushAll_beforeRecover_replaysJournalFirst() {
+    MessageWriteBehind crashed = newWriteBehind(500);
+    crashed.accept(CHAT_ID, USER_ID, null, "a", MessageStatus.NORMAL, now, "c-1");
+    crashed.accept(CHAT_ID, USER_ID, null, "b", MessageStatus.NORMAL, now, "c-2");
+
+    MessageWriteBehind restarted = newWriteBehind(500);
+    restarted.accept(CHAT_ID, USER_ID, null, "c", MessageStatus.NORMAL, now, "c-3");
+    restarted.flushAll();
+    restarted.recover();
+
+    assertThat(inserted).extracting(PendingMessage::content).containsExactly("a", "b", "c");
+    assertThat(journalDir.toFile().list()).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("다른 메시지가 같은 ID로 저장돼 있으면 버리지 않고 새 ID로 저장하고, 첨부 대기자에게 새 ID를 넘긴다.")
+  void flush_reassignsConflictingIds() {
+    MessageWriteBehind writeBehind = newWriteBehind(500);
+    Long messageId = writeBehind.accept(CHAT_ID, USER_ID, null, "사진", MessageStatus.UPLOADING, now, "c-1");
+    CompletableFuture<Long> persisted = writeBehind.whenPersisted(messageId);
+
+    doAnswer(invocation -> {
+      List<PendingMessage> batch = invocation.getArgument(0);
+      return batch.stream().filter(message -> message.messageId().equals(messageId)).toList();
+    }).doAnswer(this::insert).when(messageJdbcRepository).insertAll(anyList());
+
+    assertThat(writeBehind.flush(CHAT_ID)).isTrue();
+
+    assertThat(inserted).extracting(PendingMessage::messageId).containsExactly(101L);
+    assertThat(inserted).extracting(PendingMessage::content).containsExactly("사진");
+    assertThat(persisted).isCompletedWithValue(101L);
+  }
+
+  @Test
+  @DisplayName("새 ID로 옮기면 대기 중인 답장의 부모를 고치고, 정정을 전송하고, 재기동 시 원래 ID로 다시 저장하지 않는다.")
+  void flush_reassignment_remapsChildren_broadcastsCorrection_andJournals() {
+    MessageWriteBehind writeBehind = newWriteBehind(1);
+    Long parentId = writeBehind.accept(CHAT_ID, USER_ID, null, "부모", MessageStatus.NORMAL, now, "c-1");
+    writeBehind.accept(CHAT_ID, USER_ID, parentId, "답장", MessageStatus.NORMAL, now, "c-2");
+
+    doAnswer(invocation -> {
+      List<PendingMessage> batch = invocation.getArgument(0);
+      return batch.stream().filter(message -> message.messageId().equals(parentId)).toList();
+    }).doAnswer(this::insert).when(messageJdbcRepository).insertAll(anyList());
+
+    assertThat(writeBehind.flush(CHAT_ID)).isTrue();
+
+    assertThat(inserted).extracting(PendingMessage::messageId).containsExactly(102L, 101L);
+    assertThat(inserted.get(1).parentId()).isEqualTo(102L);
+    ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+    verify(chatEventPublisher, times(3)).publishBroadcastEvent(eq(CHAT_ID), payloads.capture());
+    WSMessageResponseDTO correction = (WSMessageResponseDTO) payloads.getAllValues().get(2);
+    assertThat(correction.getType()).isEqualTo("R");
+    assertThat(correction.getMessageId()).isEqualTo(102L);
+    assertThat(correction.getPreviousMessageId()).isEqualTo(parentId);
+
+    // 저널을 지우기 전에 죽었다면: 원래 줄 대신 새 ID로, 답장은 새 부모로 다시 넣고 ID를 새로 받지 않는다
+    inserted.clear();
+    doAnswer(this::insert).when(messageJdbcRepository).insertAll(anyList());
+    newWriteBehind(500).recover();
+
+    assertThat(inserted).extracting(PendingMessage::messageId).containsExactly(102L, 101L);
+    assertThat(inserted.get(1).parentId()).isEqualTo(102L);
+    verify(messageIdAllocator, times(3)).next();
+    verify(messageJdbcRepository).reparent(CHAT_ID, parentId, 102L, List.of(101L));
+  }
+
+  @Test
+  @DisplayName("AUTO_INCREMENT로 저장하는 노드가 살아 있으면 쓰기 지연 접수를 멈춘다.")
+  void isAccepting_falseWhileAutoIncrementWritersPresent() {
+    MessageWriteBehind writeBehind = newWriteBehind(500);
+    assertThat(writeBehind.isAccepting()).isTrue();
+
+    when(autoIncrementWriters.isPresent()).thenReturn(true);
+
+    assertThat(writeBehind.isAccepting()).isFalse();
+    assertThat(writeBehind.isEnabled()).isTrue();
+  }
+
+  @Test
+  @DisplayName("첨부 메시지는 저장이 실패해도 대기만 하고, 다음 주기에 저장되면 그때 완료된다.")
+  void whenPersisted_completesAfterLaterFlush() {
+    MessageWriteBehind writeBehind = newWriteBehind(500);
+    Long messageId = writeBehind.accept(CHAT_ID, USER_ID, null, "사진", MessageStatus.UPLOADING, now, "c-1");
+    CompletableFuture<Long> persisted = writeBehind.whenPersisted(messageId);
+
+    doThrow(new IllegalStateException("db down")).doAnswer(this::insert)
+        .when(messageJdbcRepository).insertAll(anyList());
+
+    assertThat(writeBehind.flush(CHAT_ID)).isFalse();
+    assertThat(persisted).isNotDone();
+
+    writeBehind.flushAll();
+    assertThat(persisted).isCompletedWithValue(messageId);
+  }
+
+  private List<PendingMessage> insert(InvocationOnMock invocation) {
+    inserted.addAll(invocation.getArgument(0));
+    return List.of();
+  }
+
+  private MessageWriteBehind newWriteBehind(int batchSize) {
+    return new MessageWriteBehind(chatMembershipCache, messageIdAllocator, messageJdbcRepository,
+        messageQueryService, chatEventPublisher, mock(RecentMessageCache.class), autoIncrementWriters, objectMapper,
+        new SimpleMeterRegistry(), true, batchSize, journalDir.toString(), false);
+  }
+}
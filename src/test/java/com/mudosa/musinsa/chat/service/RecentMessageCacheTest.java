@@ -0,0 +1,225 @@
+package com.mudosa.musinsa.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mudosa.musinsa.chat.dto.AttachmentResponse;
+import com.mudosa.musinsa.chat.dto.MessageResponse;
+import com.mudosa.musinsa.chat.dto.ParentMessageResponse;
+import com.mudosa.musinsa.chat.entity.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RecentMessageCacheTest {
+
+  private static final Long CHAT_ID = 1L;
+  private static final Long MANAGER_ID = 7L;
+
+  @Mock
+  private StringRedisTemplate stringRedisTemplate;
+
+  @Mock
+  private RedisMessageListenerContainer listenerContainer;
+
+  private RecentMessageCache cache;
+
+  private final LocalDateTime now = LocalDateTime.of(2025, 11, 4, 13, 0);
+
+  @BeforeEach
+  void setUp() {
+    cache = newCache();
+  }
+
+  @Test
+  @DisplayName("업로드 중(UPLOADING) 메시지는 첨부 없이 들어가고, NORMAL이 되면 첨부와 답장의 부모 첨부가 함께 바뀐다.")
+  void attachmentsChanged_normal_updatesMessageAndReplies() {
+    seed(response(1L, now, null));
+    cache.messageSaved(message(2L, now.plusSeconds(1), MANAGER_ID), null);
+    ParentMessageResponse parent = ParentMessageResponse.builder().messageId(2L).attachments(List.of()).build();
+    cache.messageSaved(message(3L, now.plusSeconds(2), 8L), parent);
+
+    List<MessageResponse> uploading = firstPage(20).getContent();
+    assertThat(uploading).extracting(MessageResponse::getMessageId).containsExactly(3L, 2L, 1L);
+    assertThat(uploading.get(1).getAttachments()).isEmpty();
+    assertThat(uploading.get(1).isManager()).isTrue();
+
+    List<AttachmentResponse> uploaded = List.of(AttachmentResponse.builder().attachmentUrl("/upload/chat/1/a.png").build());
+    cache.attachmentsChanged(CHAT_ID, 2L, uploaded);
+
+    List<MessageResponse> normal = firstPage(20).getContent();
+    assertThat(normal.get(1).getAttachments()).extracting(AttachmentResponse::getAttachmentUrl)
+        .containsExactly("/upload/chat/1/a.png");
+    assertThat(normal.get(0).getParent().getAttachments()).extracting(AttachmentResponse::getAttachmentUrl)
+        .containsExactly("/upload/chat/1/a.png");
+    // 이전에 돌려준 목록은 바뀌지 않는다.
+    assertThat(uploading.get(1).getAttachments()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("업로드가 모두 실패(FAILED)하면 첨부는 빈 목록으로 남는다.")
+  void attachmentsChanged_failed_keepsEmptyAttachments() {
+    seed(response(1L, now, null));
+    cache.messageSaved(message(2L, now.plusSeconds(1), 8L), null);
+
+    cache.attachmentsChanged(CHAT_ID, 2L, List.of());
+
+    MessageResponse failed = firstPage(20).getContent().get(0);
+    assertThat(failed.getMessageId()).isEqualTo(2L);
+    assertThat(failed.getAttachments()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("DB 조회 중 같은 방에 커밋된 쓰기가 있으면 그 조회 결과로 채우지 않는다.")
+  void seed_skipsWhenWriteCommittedDuringLoad() {
+    long stamp = cache.stamp(CHAT_ID);
+    // DB 조회 중 다른 요청의 업로드 실패가 커밋됨
+    cache.attachmentsChanged(CHAT_ID, 1L, List.of());
+
+    cache.seed(CHAT_ID, stamp, List.of(response(1L, now, null)), false, Set.of());
+
+    assertThat(cache.getFirstPage(CHAT_ID, 20)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("버퍼가 size보다 작고 더 오래된 메시지가 있으면 DB로 넘기고, 넘치면 가장 오래된 메시지를 버린다.")
+  void getFirstPage_trimsToCapacityAndMissesShortBuffer() {
+    seed(response(1L, now, null));
+    for (long id = 2; id <= 6; id++) {
+      cache.messageSaved(message(id, now.plusSeconds(id), 8L), null);
+    }
+
+    Slice<MessageResponse> page = firstPage(3);
+    assertThat(page.getContent()).extracting(MessageResponse::getMessageId).containsExactly(6L, 5L, 4L);
+    assertThat(page.hasNext()).isTrue();
+    assertThat(firstPage(5).getContent()).extracting(MessageResponse::getMessageId).containsExactly(6L, 5L, 4L, 3L, 2L);
+    assertThat(cache.getFirstPage(CHAT_ID, 6)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("저장된 메시지는 다른 노드에 메시지 단위로 전파되고, 받은 노드는 방을 비우지 않고 같은 메시지를 넣는다.")
+  void messageSaved_publishesUpsertAppliedByOtherNode() {
+    RecentMessageCache otherNode = newCache();
+    otherNode.seed(CHAT_ID, otherNode.stamp(CHAT_ID), List.of(response(1L, now, null)), false, Set.of(MANAGER_ID));
+    seed(response(1L, now, null));
+
+    cache.messageSaved(message(2L, now.plusSeconds(1), MANAGER_ID), null);
+
+    ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+    verify(stringRedisTemplate).convertAndSend(eq(RecentMessageCache.CHANGE_CHANNEL), published.capture());
+    otherNode.onMessage(redisMessage(published.getValue()), null);
+
+    List<MessageResponse> received = otherNode.getFirstPage(CHAT_ID, 20).orElseThrow().getContent();
+    assertThat(received).extracting(MessageResponse::getMessageId).containsExactly(2L, 1L);
+    assertThat(received.get(0).isManager()).isTrue();
+    assertThat(received.get(0).getCreatedAt()).isEqualTo(now.plusSeconds(1));
+  }
+
+  @Test
+  @DisplayName("자기 노드가 보낸 변경은 다시 적용하지 않는다.")
+  void onMessage_ignoresOwnChange() {
+    seed(response(1L, now, null));
+    cache.messageSaved(message(2L, now.plusSeconds(1), 8L), null);
+    ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+    verify(stringRedisTemplate).convertAndSend(eq(RecentMessageCache.CHANGE_CHANNEL), published.capture());
+
+    cache.onMessage(redisMessage(published.getValue()), null);
+
+    assertThat(firstPage(20).getContent()).extracting(MessageResponse::getMessageId).containsExactly(2L, 1L);
+  }
+
+  @Test
+  @DisplayName("첨부 변경을 받았는데 그 메시지가 버퍼에 없으면(저장 이벤트보다 먼저 도착) 방을 비운다.")
+  void onMessage_invalidatesRoomWhenAttachmentTargetMissing() {
+    RecentMessageCache otherNode = newCache();
+    seed(response(1L, now, null));
+    otherNode.seed(CHAT_ID, otherNode.stamp(CHAT_ID), List.of(response(1L, now, null)), false, Set.of());
+    cache.messageSaved(message(2L, now.plusSeconds(1), 8L), null);
+    cache.attachmentsChanged(CHAT_ID, 2L, List.of());
+
+    ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+    verify(stringRedisTemplate, times(2)).convertAndSend(eq(RecentMessageCache.CHANGE_CHANNEL), published.capture());
+    otherNode.onMessage(redisMessage(published.getAllValues().get(1)), null);
+
+    assertThat(otherNode.getFirstPage(CHAT_ID, 20)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("버퍼에는 복사본을 넣으므로 넘겨준 응답 객체의 매니저 여부를 바꾸지 않는다.")
+  void messageSaved_doesNotMutateArgument() {
+    seed(response(1L, now, null));
+    MessageResponse saved = response(2L, now.plusSeconds(1), null);
+    saved.setUserId(MANAGER_ID);
+
+    cache.messageSaved(saved);
+
+    assertThat(saved.isManager()).isFalse();
+    MessageResponse cached = firstPage(20).getContent().get(0);
+    assertThat(cached.isManager()).isTrue();
+    assertThat(cached).isNotSameAs(saved);
+  }
+
+  private RecentMessageCache newCache() {
+    return new RecentMessageCache(stringRedisTemplate, listenerContainer, new ObjectMapper().findAndRegisterModules(),
+        new SimpleMeterRegistry(), true, 5, 1_000_000, 60_000);
+  }
+
+  private void seed(MessageResponse... newestFirst) {
+    cache.seed(CHAT_ID, cache.stamp(CHAT_ID), List.of(newestFirst), false, Set.of(MANAGER_ID));
+  }
+
+  private Slice<MessageResponse> firstPage(int size) {
+    return cache.getFirstPage(CHAT_ID, size).orElseThrow();
+  }
+
+  private static MessageResponse response(Long messageId, LocalDateTime createdAt, ParentMessageResponse parent) {
+    return MessageResponse.builder()
+        .messageId(messageId)
+        .chatId(CHAT_ID)
+        .userId(8L)
+        .content("content-" + messageId)
+        .attachments(List.of())
+        .createdAt(createdAt)
+        .parent(parent)
+        .build();
+  }
+
+  private static Message message(Long messageId, LocalDateTime createdAt, Long userId) {
+    Message message = mock(Message.class, RETURNS_DEEP_STUBS);
+    when(message.getMessageId()).thenReturn(messageId);
+    when(message.getChatId()).thenReturn(CHAT_ID);
+    when(message.getCreatedAt()).thenReturn(createdAt);
+    when(message.getContent()).thenReturn("content-" + messageId);
+    when(message.getChatPart().getUser().getId()).thenReturn(userId);
+    return message;
+  }
+
+  private static org.springframework.data.redis.connection.Message redisMessage(String body) {
+    org.springframework.data.redis.connection.Message message = mock(org.springframework.data.redis.connection.Message.class);
+    when(message.getBody()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+    return message;
+  }
+}
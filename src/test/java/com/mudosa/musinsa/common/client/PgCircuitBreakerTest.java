@@ -0,0 +1,130 @@
+package com.mudosa.musinsa.common.client;
+
+import com.mudosa.musinsa.exception.ExternalApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquireTimeoutException;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PgCircuitBreakerTest {
+
+    private static final long OPEN_DURATION_MS = 10_000;
+
+    private final Clock clock = mock(Clock.class);
+
+    private PgCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenReturn(0L);
+        circuitBreaker = new PgCircuitBreaker(10, 4, 0.5, OPEN_DURATION_MS, clock);
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 이상에서 실패율이 기준을 넘으면 OPEN으로 전환하고 호출을 거절한다.")
+    void opensAfterFailureRateExceeded() {
+        call(false);
+        call(true);
+        call(true);
+        assertThat(circuitBreaker.getState()).isEqualTo(PgCircuitBreaker.State.CLOSED);
+
+        call(true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(PgCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("OPEN 유지 시간이 지나면 HALF_OPEN에서 시험 호출 1건만 통과시킨다.")
+    void halfOpenAllowsSingleProbe() {
+        openCircuit();
+
+        when(clock.millis()).thenReturn(OPEN_DURATION_MS - 1);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        when(clock.millis()).thenReturn(OPEN_DURATION_MS);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(PgCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        // 집계 없이 반납하면 다음 시험 호출을 허용한다.
+        circuitBreaker.release();
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("시험 호출이 성공하면 CLOSED로 돌아가고 집계를 새로 시작한다.")
+    void closesOnProbeSuccess() {
+        openCircuit();
+        when(clock.millis()).thenReturn(OPEN_DURATION_MS);
+
+        call(false);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(PgCircuitBreaker.State.CLOSED);
+        call(true);
+        call(true);
+        call(true);
+        assertThat(circuitBreaker.getState()).isEqualTo(PgCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 OPEN으로 전환한다.")
+    void reopensOnProbeFailure() {
+        openCircuit();
+        when(clock.millis()).thenReturn(OPEN_DURATION_MS);
+
+        call(true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(PgCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("타임아웃(408)/5xx/I/O 오류는 PG 실패로, 나머지 4xx는 정상 응답으로 본다.")
+    void classifiesPgFaults() {
+        assertThat(PgHttpClient.isPgFault(new ExternalApiException("네트워크 오류", new IOException()))).isTrue();
+        assertThat(PgHttpClient.isPgFault(apiError(HttpStatus.REQUEST_TIMEOUT))).isTrue();
+        assertThat(PgHttpClient.isPgFault(apiError(HttpStatus.BAD_GATEWAY))).isTrue();
+        assertThat(PgHttpClient.isPgFault(apiError(HttpStatus.BAD_REQUEST))).isFalse();
+    }
+
+    @Test
+    @DisplayName("커넥션 풀 획득 실패는 PG 실패가 아닌 로컬 거절로 본다.")
+    void detectsLocalPoolRejection() {
+        assertThat(PgHttpClient.isPoolRejection(new PoolAcquireTimeoutException(Duration.ofSeconds(2)))).isTrue();
+        assertThat(PgHttpClient.isPoolRejection(
+            new CompletionException(new PoolAcquirePendingLimitException(1000)))).isTrue();
+        assertThat(PgHttpClient.isPoolRejection(new IOException("connection reset"))).isFalse();
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(PgCircuitBreaker.State.OPEN);
+    }
+
+    private void call(boolean failed) {
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        if (failed) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private ExternalApiException apiError(HttpStatus status) {
+        return new ExternalApiException("API 호출 실패", status, "", null);
+    }
+}
@@ -0,0 +1,142 @@
+package com.mudosa.musinsa.coupon.service;
+
+import com.mudosa.musinsa.coupon.repository.CouponRepository;
+import com.mudosa.musinsa.coupon.repository.MemberCouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CouponIssuanceWriterTest {
+
+    private static final String PENDING = "coupon:issue:pending";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ListOperations<String, String> listOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CouponRepository couponRepository;
+
+    @Mock
+    private MemberCouponRepository memberCouponRepository;
+
+    @Mock
+    private RedisCouponIssuer redisCouponIssuer;
+
+    private CouponIssuanceWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new CouponIssuanceWriter(redisTemplate, jdbcTemplate, transactionTemplate, couponRepository,
+                memberCouponRepository, redisCouponIssuer);
+        ReflectionTestUtils.setField(writer, "batchSize", 500);
+        ReflectionTestUtils.setField(writer, "maxAttempts", 5);
+        ReflectionTestUtils.setField(writer, "nodeId", "pod-b");
+        ReflectionTestUtils.setField(writer, "reclaimIntervalMs", 10_000L);
+
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        LocalDateTime now = LocalDateTime.now();
+        when(redisCouponIssuer.getMeta(any()))
+                .thenAnswer(invocation -> new RedisCouponIssuer.CouponMeta(invocation.getArgument(0), true,
+                        now.minusDays(1), now.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("쿠폰별로 이미 저장된 사용자는 건너뛰고 저장하며, 실패한 쿠폰은 시도 횟수를 올려 대기열로 되돌리고 시도 횟수를 넘긴 항목은 데드레터에 남긴다.")
+    @SuppressWarnings("unchecked")
+    void flush_persistsNewIssuesAndRequeuesFailures() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(PENDING, "coupon:issue:processing:pod-b")), eq("500")))
+                .thenReturn(List.of("1:10:0", "1:11:0", "2:20:0", "2:21:4"));
+        when(memberCouponRepository.findIssuedUserIds(1L, List.of(10L, 11L))).thenReturn(List.of(11L));
+        when(memberCouponRepository.findIssuedUserIds(eq(2L), anyList())).thenThrow(new IllegalStateException("db down"));
+
+        writer.flush();
+
+        ArgumentCaptor<Collection<Long>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), inserted.capture(), anyInt(), any());
+        assertThat(inserted.getValue()).containsExactly(10L);
+        verify(couponRepository).increaseIssuedQuantity(1L, 1);
+        verify(couponRepository, never()).increaseIssuedQuantity(eq(2L), anyInt());
+        // 최대 시도 횟수에 닿은 항목은 대기열 대신 데드레터로 옮긴다.
+        verify(listOperations).rightPushAll(PENDING, List.of("2:20:1"));
+        verify(listOperations).rightPushAll("coupon:issue:dead", List.of("2:21:5"));
+        verify(redisTemplate).delete("coupon:issue:processing:pod-b");
+    }
+
+    @Test
+    @DisplayName("생존 키를 갱신하고, 생존 키가 없는 이전 노드의 처리 목록만 대기열로 되돌린다.")
+    @SuppressWarnings("unchecked")
+    void reclaimStaleNodes_movesOrphanedProcessingLists() {
+        Cursor<String> cursor = mock(Cursor.class);
+        doAnswer(invocation -> {
+            Consumer<String> action = invocation.getArgument(0);
+            List.of("coupon:issue:processing:pod-a", "coupon:issue:processing:pod-b",
+                    "coupon:issue:processing:pod-c").forEach(action);
+            return null;
+        }).when(cursor).forEachRemaining(any());
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.hasKey("coupon:issue:node:pod-a")).thenReturn(false);
+        when(redisTemplate.hasKey("coupon:issue:node:pod-c")).thenReturn(true);
+        when(listOperations.rightPopAndLeftPush("coupon:issue:processing:pod-a", PENDING))
+                .thenReturn("1:10:0", "1:11:0", null);
+
+        writer.reclaimStaleNodes();
+
+        verify(valueOperations).set(eq("coupon:issue:node:pod-b"), anyString(), eq(Duration.ofMillis(30_000)));
+        verify(listOperations, times(3))
+                .rightPopAndLeftPush("coupon:issue:processing:pod-a", PENDING);
+        verify(listOperations, never()).rightPopAndLeftPush("coupon:issue:processing:pod-b", PENDING);
+        verify(listOperations, never()).rightPopAndLeftPush("coupon:issue:processing:pod-c", PENDING);
+    }
+}
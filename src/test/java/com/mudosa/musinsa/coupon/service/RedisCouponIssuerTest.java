@@ -0,0 +1,109 @@
+package com.mudosa.musinsa.coupon.service;
+
+import com.mudosa.musinsa.coupon.model.Coupon;
+import com.mudosa.musinsa.coupon.model.DiscountType;
+import com.mudosa.musinsa.coupon.repository.CouponRepository;
+import com.mudosa.musinsa.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RedisCouponIssuerTest {
+
+    private static final Long COUPON_ID = 1L;
+    private static final Long USER_ID = 10L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private CouponRepository couponRepository;
+
+    private RedisCouponIssuer issuer;
+
+    @BeforeEach
+    void setUp() {
+        issuer = new RedisCouponIssuer(redisTemplate, couponRepository, 30_000);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(couponRepository.findById(COUPON_ID)).thenReturn(Optional.of(coupon(true, 100, 40)));
+    }
+
+    @Test
+    @DisplayName("스크립트 한 번에 중복 체크/차감/대기열 적재 키를 넘기고, 결과 코드를 발급 결과로 바꾼다.")
+    void issue_passesKeysAndMapsResult() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L, 0L, -1L);
+
+        assertThat(issuer.issue(USER_ID, COUPON_ID)).isEqualTo(RedisCouponIssuer.IssueResult.ISSUED);
+        assertThat(issuer.issue(USER_ID, COUPON_ID)).isEqualTo(RedisCouponIssuer.IssueResult.DUPLICATE);
+        assertThat(issuer.issue(USER_ID, COUPON_ID)).isEqualTo(RedisCouponIssuer.IssueResult.SOLD_OUT);
+
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class),
+                eq(List.of("coupon:issued:1", "coupon:remaining:1", "coupon:issue:pending")),
+                eq("10"), eq("1:10:0"));
+        // 쿠폰 정보는 한 번만 읽는다.
+        verify(couponRepository, times(1)).findById(COUPON_ID);
+    }
+
+    @Test
+    @DisplayName("잔여 수량이 적재되지 않았으면 DB 잔여 수량으로 적재한 뒤 한 번 더 시도한다.")
+    void issue_initializesRemainingThenRetries() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(-2L, 1L);
+
+        assertThat(issuer.issue(USER_ID, COUPON_ID)).isEqualTo(RedisCouponIssuer.IssueResult.ISSUED);
+
+        verify(valueOperations).setIfAbsent("coupon:remaining:1", "60");
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(), any());
+    }
+
+    @Test
+    @DisplayName("비활성 쿠폰은 스크립트를 실행하지 않고 거절한다.")
+    void issue_rejectsInactiveCoupon() {
+        when(couponRepository.findById(COUPON_ID)).thenReturn(Optional.of(coupon(false, 100, 0)));
+
+        assertThatThrownBy(() -> issuer.issue(USER_ID, COUPON_ID)).isInstanceOf(BusinessException.class);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any());
+    }
+
+    private Coupon coupon(boolean active, int totalQuantity, int issuedQuantity) {
+        LocalDateTime now = LocalDateTime.now();
+        return Coupon.builder()
+                .id(COUPON_ID)
+                .couponName("선착순 쿠폰")
+                .discountType(DiscountType.AMOUNT)
+                .discountValue(BigDecimal.valueOf(1000))
+                .startDate(now.minusDays(1))
+                .endDate(now.plusDays(7))
+                .totalQuantity(totalQuantity)
+                .issuedQuantity(issuedQuantity)
+                .isActive(active)
+                .build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.mudosa.musinsa.event.service;
+
+import com.mudosa.musinsa.coupon.model.DiscountType;
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EventWaitingRoomTest {
+
+    private static final Long EVENT_ID = 7L;
+    private static final Long USER_ID = 10L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private EventCouponService eventCouponService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EventWaitingRoom waitingRoom;
+
+    @BeforeEach
+    void setUp() {
+        waitingRoom = new EventWaitingRoom(redisTemplate, eventCouponService, meterRegistry);
+        ReflectionTestUtils.setField(waitingRoom, "admitPerSecond", 100);
+        ReflectionTestUtils.setField(waitingRoom, "admitIntervalMs", 200L);
+        ReflectionTestUtils.setField(waitingRoom, "admissionTtlMs", 60_000L);
+        waitingRoom.init();
+
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("비활성화되어 있으면 진입/조회/입장 처리 모두 Redis를 쓰지 않고 입장 상태로 본다.")
+    void disabled_shortCircuitsToAdmitted() {
+        enable(false);
+
+        assertThat(waitingRoom.enter(EVENT_ID, USER_ID).state()).isEqualTo(EventWaitingRoom.QueueState.ADMITTED);
+        assertThat(waitingRoom.getStatus(EVENT_ID, USER_ID).state()).isEqualTo(EventWaitingRoom.QueueState.ADMITTED);
+        waitingRoom.admit();
+        waitingRoom.validateAdmitted(EVENT_ID, USER_ID);
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("활성화되어 있으면 순번을 돌려주고, 정원이 없으면 잔여 수량으로 적재한 뒤 다시 진입한다.")
+    void enabled_enterReturnsPositionAndLoadsCapacity() {
+        enable(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(0L, 3L), List.of(-2L, 0L), List.of(1L, 0L));
+        when(eventCouponService.getEventCoupon(EVENT_ID)).thenReturn(couponInfo(40));
+
+        EventWaitingRoom.QueueStatus waiting = waitingRoom.enter(EVENT_ID, USER_ID);
+        EventWaitingRoom.QueueStatus admitted = waitingRoom.enter(EVENT_ID, USER_ID);
+
+        assertThat(waiting).isEqualTo(new EventWaitingRoom.QueueStatus(EventWaitingRoom.QueueState.WAITING, 3));
+        assertThat(admitted.state()).isEqualTo(EventWaitingRoom.QueueState.ADMITTED);
+        verify(valueOperations).setIfAbsent("event:capacity:7", "40");
+    }
+
+    @Test
+    @DisplayName("활성화되어 있으면 참여자 수가 잔여 수량에 닿은 진입을 거절한다.")
+    void enabled_enterRejectsWhenSoldOut() {
+        enable(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenReturn(List.of(-1L, 0L));
+
+        assertThatThrownBy(() -> waitingRoom.enter(EVENT_ID, USER_ID))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.EVENT_STOCK_EMPTY);
+        assertThat(meterRegistry.get("event.waiting_room.rejected").tag("reason", "sold_out").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("활성화되어 있으면 입장 목록과 대기열 순번으로 상태를 조회하고, 입장하지 않은 발급 요청은 거절한다.")
+    void enabled_statusAndValidation() {
+        enable(true);
+        when(zSetOperations.score("event:admitted:7", "10")).thenReturn(null);
+        when(zSetOperations.rank("event:queue:7", "10")).thenReturn(4L);
+        when(zSetOperations.score("event:admitted:7", "11")).thenReturn((double) System.currentTimeMillis() + 60_000);
+
+        assertThat(waitingRoom.getStatus(EVENT_ID, USER_ID))
+                .isEqualTo(new EventWaitingRoom.QueueStatus(EventWaitingRoom.QueueState.WAITING, 5));
+        assertThat(waitingRoom.getStatus(EVENT_ID, 11L).state()).isEqualTo(EventWaitingRoom.QueueState.ADMITTED);
+        waitingRoom.validateAdmitted(EVENT_ID, 11L);
+        assertThatThrownBy(() -> waitingRoom.validateAdmitted(EVENT_ID, USER_ID)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("활성화되어 있으면 진행 중인 이벤트마다 주기당 인원만 입장시키고 대기 인원을 기록한다.")
+    void enabled_admitMovesPerTick() {
+        enable(true);
+        when(setOperations.members("event:queue:active")).thenReturn(Set.of("7"));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any(), any()))
+                .thenReturn(20L);
+        when(zSetOperations.zCard("event:queue:7")).thenReturn(130L);
+
+        waitingRoom.admit();
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("event:queue:7", "event:admitted:7", "event:admit:tick:7",
+                        "event:queue:active", "event:entered:7")),
+                eq("20"), any(), any(), any(), any());
+        assertThat(meterRegistry.get("event.waiting_room.admitted").counter().count()).isEqualTo(20);
+        assertThat(meterRegistry.get("event.waiting_room.queue.depth").gauge().value()).isEqualTo(130);
+    }
+
+    @Test
+    @DisplayName("활성화되어 있으면 발급을 마친 사용자를 참여자/입장 목록에서 빼고 정원을 줄인다.")
+    void enabled_completeReleasesSlot() {
+        enable(true);
+
+        waitingRoom.complete(EVENT_ID, USER_ID);
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("event:entered:7", "event:admitted:7", "event:capacity:7")),
+                eq("10"));
+    }
+
+    private void enable(boolean enabled) {
+        ReflectionTestUtils.setField(waitingRoom, "enabled", enabled);
+    }
+
+    private EventCouponService.EventCouponInfoResult couponInfo(Integer remaining) {
+        LocalDateTime now = LocalDateTime.now();
+        return new EventCouponService.EventCouponInfoResult(1L, "이벤트 쿠폰", DiscountType.AMOUNT,
+                BigDecimal.valueOf(1000), null, null, 100, 100 - remaining, remaining,
+                now.minusHours(1), now.plusDays(1), 1);
+    }
+}
@@ -0,0 +1,83 @@
+package com.mudosa.musinsa.order.application;
+
+import com.mudosa.musinsa.order.domain.model.Order;
+import com.mudosa.musinsa.order.domain.model.OrderStatus;
+import com.mudosa.musinsa.order.domain.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderSummaryBackfillJobTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderSummaryProjector orderSummaryProjector;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OrderSummaryBackfillJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new OrderSummaryBackfillJob(orderRepository, orderSummaryProjector, transactionTemplate);
+        ReflectionTestUtils.setField(job, "writeEnabled", true);
+        ReflectionTestUtils.setField(job, "batchSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+            ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("주문 ID 키셋 순서로 한 배치씩 백필하고, 끝까지 훑으면 더 조회하지 않는다.")
+    void backfillNextBatch_walksOrderIdsUntilDone() {
+        List<Order> firstBatch = List.of(order(1L), order(2L));
+        when(orderRepository.findForSummaryBackfill(eq(0L), eq(OrderStatus.PENDING), any())).thenReturn(firstBatch);
+        when(orderRepository.findForSummaryBackfill(eq(2L), eq(OrderStatus.PENDING), any())).thenReturn(List.of());
+
+        job.backfillNextBatch();
+        job.backfillNextBatch();
+        job.backfillNextBatch();
+
+        verify(orderSummaryProjector).backfill(firstBatch);
+        verify(orderRepository).findForSummaryBackfill(0L, OrderStatus.PENDING, PageRequest.of(0, 2));
+        verify(orderRepository).findForSummaryBackfill(2L, OrderStatus.PENDING, PageRequest.of(0, 2));
+        verify(orderRepository, times(2)).findForSummaryBackfill(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("읽기 모델 갱신을 끈 채 백필을 켜면 시작 시 설정 오류로 실패한다.")
+    void validate_rejectsBackfillWithoutWrite() {
+        ReflectionTestUtils.setField(job, "writeEnabled", false);
+
+        assertThatThrownBy(() -> job.validate()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private Order order(Long id) {
+        Order order = Order.builder().userId(1L).status(OrderStatus.COMPLETED).orderNo("ORD-" + id).build();
+        ReflectionTestUtils.setField(order, "id", id);
+        return order;
+    }
+}
@@ -0,0 +1,201 @@
+package com.mudosa.musinsa.order.application;
+
+import com.mudosa.musinsa.common.vo.Money;
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import com.mudosa.musinsa.order.application.dto.OrderFlatDto;
+import com.mudosa.musinsa.order.application.dto.OrderItem;
+import com.mudosa.musinsa.order.application.dto.response.OrderListResponse;
+import com.mudosa.musinsa.order.domain.model.Order;
+import com.mudosa.musinsa.order.domain.model.OrderStatus;
+import com.mudosa.musinsa.order.domain.model.OrderSummary;
+import com.mudosa.musinsa.order.domain.repository.OrderRepository;
+import com.mudosa.musinsa.order.domain.repository.OrderSummaryJdbcRepository;
+import com.mudosa.musinsa.order.domain.repository.OrderSummaryRepository;
+import com.mudosa.musinsa.order.domain.repository.OrderSummaryRepository.OrderKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderSummaryProjectorTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDateTime REGISTERED_AT = LocalDateTime.of(2026, 10, 1, 12, 0);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Mock
+    private OrderSummaryJdbcRepository orderSummaryJdbcRepository;
+
+    private OrderSummaryProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        projector = new OrderSummaryProjector(orderRepository, orderSummaryRepository, orderSummaryJdbcRepository);
+        ReflectionTestUtils.setField(projector, "writeEnabled", true);
+        ReflectionTestUtils.setField(projector, "readEnabled", true);
+    }
+
+    @Test
+    @DisplayName("갱신이 꺼져 있으면 order_summary에 쓰지 않는다.")
+    void project_skipsWhenWriteDisabled() {
+        ReflectionTestUtils.setField(projector, "writeEnabled", false);
+
+        projector.project(order(10L, OrderStatus.COMPLETED));
+        projector.updateStatus(order(10L, OrderStatus.CANCELLED));
+        projector.remove(order(10L, OrderStatus.PENDING));
+
+        verifyNoInteractions(orderSummaryRepository, orderSummaryJdbcRepository, orderRepository);
+    }
+
+    @Test
+    @DisplayName("읽기만 켜고 갱신을 끄면 시작 시 설정 오류로 실패한다.")
+    void validate_rejectsReadWithoutWrite() {
+        ReflectionTestUtils.setField(projector, "writeEnabled", false);
+
+        assertThatThrownBy(() -> projector.validate()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("완료된 주문은 주문 변경을 먼저 flush 하고 주문 상품별 요약 행을 UPSERT 한다.")
+    void project_upsertsRowsPerOrderItem() {
+        Order order = order(10L, OrderStatus.COMPLETED);
+        when(orderRepository.findOrderItems(order.getOrderNo())).thenReturn(List.of(
+            new OrderItem(100L, "브랜드", "티셔츠", BigDecimal.valueOf(10000), 1, "a.jpg", "M", "BLACK"),
+            new OrderItem(101L, "브랜드", "바지", BigDecimal.valueOf(20000), 2, "b.jpg", "L", "BLUE")));
+
+        projector.project(order);
+
+        InOrder inOrder = inOrder(orderRepository, orderSummaryJdbcRepository);
+        inOrder.verify(orderRepository).flush();
+        inOrder.verify(orderSummaryJdbcRepository).upsertAll(argThat((List<OrderSummary> rows) -> rows.size() == 2
+            && rows.stream().allMatch(row -> row.getOrderId().equals(10L)
+                && row.getUserId().equals(USER_ID)
+                && row.getOrderStatus() == OrderStatus.COMPLETED
+                && row.getTotalPrice().compareTo(BigDecimal.valueOf(50000)) == 0)));
+    }
+
+    @Test
+    @DisplayName("커서 이후의 주문을 최신순으로 조회하고, 다음 페이지가 있으면 마지막 주문으로 커서를 만든다.")
+    void fetch_pagesAfterCursor() {
+        LocalDateTime cursorAt = REGISTERED_AT.plusDays(1);
+        when(orderSummaryRepository.findOrderKeysAfter(eq(USER_ID), eq(cursorAt), eq(30L), any())).thenReturn(List.of(
+            new OrderKey(20L, REGISTERED_AT),
+            new OrderKey(19L, REGISTERED_AT),
+            new OrderKey(18L, REGISTERED_AT)));
+        when(orderSummaryRepository.findByOrderIdIn(any())).thenReturn(List.of(
+            row(19L, 100L), row(20L, 100L), row(20L, 101L)));
+
+        OrderListResponse response = projector.fetch(USER_ID, cursorAt + ":30", 2);
+
+        verify(orderSummaryRepository).findOrderKeysAfter(USER_ID, cursorAt, 30L, PageRequest.of(0, 3));
+        assertThat(response.getOrders()).extracting(info -> info.getOrderNo()).containsExactly("ORD-20", "ORD-19");
+        assertThat(response.getOrders().get(0).getOrderItems()).hasSize(2);
+        assertThat(response.getNextCursor()).isEqualTo(REGISTERED_AT + ":19");
+    }
+
+    @Test
+    @DisplayName("마지막 페이지는 다음 커서가 없다.")
+    void fetch_lastPageHasNoCursor() {
+        when(orderSummaryRepository.findFirstOrderKeys(eq(USER_ID), any())).thenReturn(List.of(
+            new OrderKey(20L, REGISTERED_AT)));
+        when(orderSummaryRepository.findByOrderIdIn(any())).thenReturn(List.of(row(20L, 100L)));
+
+        OrderListResponse response = projector.fetch(USER_ID, null, 2);
+
+        assertThat(response.getOrders()).hasSize(1);
+        assertThat(response.getNextCursor()).isNull();
+        verify(orderSummaryRepository, never()).deleteByOrderId(any());
+        verifyNoInteractions(orderSummaryJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("백필은 기존 조인 쿼리로 주문 상품별 행을 만들어 없는 행만 넣는다.")
+    void backfill_insertsMissingRowsOnly() {
+        Order first = order(10L, OrderStatus.COMPLETED);
+        Order second = order(11L, OrderStatus.CANCELLED);
+        when(orderRepository.findFlatOrderDetailsByOrderIds(any())).thenReturn(List.of(
+            flat(10L, OrderStatus.COMPLETED, 100L),
+            flat(10L, OrderStatus.COMPLETED, 101L),
+            flat(11L, OrderStatus.CANCELLED, 100L)));
+
+        int rows = projector.backfill(List.of(first, second));
+
+        assertThat(rows).isEqualTo(3);
+        verify(orderRepository).findFlatOrderDetailsByOrderIds(argThat(ids -> ids.containsAll(List.of(10L, 11L))));
+        verify(orderSummaryJdbcRepository).insertMissing(argThat((List<OrderSummary> summaries) -> summaries.size() == 3
+            && summaries.stream().allMatch(row -> row.getUserId().equals(USER_ID))
+            && summaries.get(2).getOrderStatus() == OrderStatus.CANCELLED));
+        verify(orderSummaryJdbcRepository, never()).upsertAll(any());
+    }
+
+    @Test
+    @DisplayName("형식이 맞지 않는 커서는 첫 페이지로 대신하지 않고 거절한다.")
+    void fetch_rejectsInvalidCursor() {
+        for (String cursor : List.of("garbage", "2026-10-01T12:00:abc", "not-a-date:10")) {
+            assertThatThrownBy(() -> projector.fetch(USER_ID, cursor, 20))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INVALID_ORDER_CURSOR);
+        }
+        verify(orderSummaryRepository, never()).findFirstOrderKeys(any(), any());
+    }
+
+    private Order order(Long id, OrderStatus status) {
+        Order order = Order.builder()
+            .userId(USER_ID)
+            .status(status)
+            .orderNo("ORD-" + id)
+            .totalPrice(new Money(BigDecimal.valueOf(50000)))
+            .registeredAt(REGISTERED_AT)
+            .build();
+        ReflectionTestUtils.setField(order, "id", id);
+        return order;
+    }
+
+    private OrderFlatDto flat(Long orderId, OrderStatus status, Long productOptionId) {
+        return new OrderFlatDto(orderId, "ORD-" + orderId, status, REGISTERED_AT, BigDecimal.valueOf(50000),
+            productOptionId, "브랜드", "티셔츠", BigDecimal.valueOf(10000), 1, "a.jpg", "M", "BLACK");
+    }
+
+    private OrderSummary row(Long orderId, Long productOptionId) {
+        return OrderSummary.builder()
+            .orderId(orderId)
+            .userId(USER_ID)
+            .orderNo("ORD-" + orderId)
+            .orderStatus(OrderStatus.COMPLETED)
+            .registeredAt(REGISTERED_AT)
+            .totalPrice(BigDecimal.valueOf(50000))
+            .productOptionId(productOptionId)
+            .build();
+    }
+}
@@ -188,9 +188,8 @@ public class ProductQueryServiceTest extends ServiceConfig {
 			.build();
 		given(productIndexSearchQueryRepository.searchByKeywordWithFilters(
 			org.mockito.ArgumentMatchers.any(ProductSearchCondition.class),
-			org.mockito.ArgumentMatchers.anyList(),
-			org.mockito.ArgumentMatchers.anyInt()))
-			.willReturn(new ProductIndexSearchQueryRepository.SearchResult(List.of(esSummary), false, null));
+			org.mockito.ArgumentMatchers.anyList()))
+			.willReturn(new ProductIndexSearchQueryRepository.SearchResult(List.of(esSummary), false, null, null));
 
 		// when
 		ProductSearchResponse response = sut.searchProducts(condition);
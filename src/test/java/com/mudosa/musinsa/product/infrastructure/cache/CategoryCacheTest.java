@@ -1,16 +1,18 @@
 package com.mudosa.musinsa.product.infrastructure.cache;
 
 import com.mudosa.musinsa.product.application.dto.CategoryTreeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import java.util.HashMap;
 import java.util.List;
@@ -35,13 +37,22 @@ class CategoryCacheTest {
 	@Mock
 	private ValueOperations<String, Object> valueOperations;
 
-	@InjectMocks
+	@Mock
+	private StringRedisTemplate stringRedisTemplate;
+
+	@Mock
+	private RedisMessageListenerContainer listenerContainer;
+
+	private NearCacheManager nearCacheManager;
+
 	private CategoryCache categoryCache;
 
 	private final Map<String, Object> store = new HashMap<>();
 
 	@BeforeEach
 	void setUp() {
+		nearCacheManager = new NearCacheManager(stringRedisTemplate, listenerContainer, new SimpleMeterRegistry(), true, 100, 60_000);
+		categoryCache = new CategoryCache(redisTemplate, nearCacheManager);
 		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 		doAnswer(invocation -> {
 			String key = invocation.getArgument(0);
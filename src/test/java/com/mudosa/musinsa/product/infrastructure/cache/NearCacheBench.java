@@ -0,0 +1,139 @@
+package com.mudosa.musinsa.product.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * NearCache 미스 로딩 방식 비교 (docs/LOAD_TEST_STRATEGY.md 6장).
+ *
+ * 가상 스레드 THREADS개가 키 KEYS개를 반복 조회하고, 라운드마다 10ms 후 전체 무효화한다.
+ * L2 로더는 LOAD_MS 동안 대기한 뒤 현재 버전을 돌려주므로, 라운드가 끝난 뒤 L1에 이전 버전이 남아 있으면 stale로 센다.
+ *
+ * 실행: gradle nearCacheBench --args=nearCache (compute | putAfterLoad | nearCache)
+ */
+public class NearCacheBench {
+
+	interface Impl {
+		Long get(Long key, Function<Long, Long> loader);
+		void invalidateAll();
+	}
+
+	static final int KEYS = 50;
+	static final int THREADS = 400;
+	static final int ROUNDS = Integer.getInteger("rounds", 100);
+	static final long LOAD_MS = 5;
+
+	public static void main(String[] args) throws Exception {
+		String which = args.length > 0 ? args[0] : "nearCache";
+		Impl impl = switch (which) {
+			case "compute" -> computeImpl();
+			case "putAfterLoad" -> putAfterLoadImpl();
+			default -> nearCacheImpl();
+		};
+		AtomicLong version = new AtomicLong();
+		AtomicLong loads = new AtomicLong();
+		AtomicLong gets = new AtomicLong();
+		Function<Long, Long> loader = key -> {
+			long v = version.get();
+			loads.incrementAndGet();
+			try {
+				Thread.sleep(LOAD_MS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return v;
+		};
+
+		long staleKeys = 0;
+		long start = System.nanoTime();
+		for (int round = 0; round < ROUNDS; round++) {
+			AtomicBoolean running = new AtomicBoolean(true);
+			try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+				for (int t = 0; t < THREADS; t++) {
+					readers.submit(() -> {
+						ThreadLocalRandom random = ThreadLocalRandom.current();
+						while (running.get()) {
+							impl.get((long) random.nextInt(KEYS), loader);
+							gets.incrementAndGet();
+						}
+					});
+				}
+				Thread.sleep(10);
+				version.incrementAndGet();
+				impl.invalidateAll();
+				Thread.sleep(10);
+				running.set(false);
+			}
+			long current = version.get();
+			for (long key = 0; key < KEYS; key++) {
+				Long cached = impl.get(key, k -> -1L);
+				if (cached != -1L && cached < current) {
+					staleKeys++;
+				}
+			}
+			impl.invalidateAll();
+		}
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+		System.out.printf("%s: rounds=%d gets=%d loads=%d elapsed=%dms throughput=%.0f gets/s staleKeysAfterInvalidation=%d%n",
+			which, ROUNDS, gets.get(), loads.get(), elapsedMs, gets.get() * 1000.0 / elapsedMs, staleKeys);
+	}
+
+	static Impl nearCacheImpl() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		NearCache<Long, Long> cache = new NearCache<>("bench", Caffeine.newBuilder().maximumSize(10_000).build(),
+			registry.counter("hit"), registry.counter("miss"));
+		return new Impl() {
+			public Long get(Long key, Function<Long, Long> loader) {
+				return cache.get(key, loader);
+			}
+
+			public void invalidateAll() {
+				cache.invalidateAll();
+			}
+		};
+	}
+
+	// Caffeine compute 안에서 로딩
+	static Impl computeImpl() {
+		Cache<Long, Long> local = Caffeine.newBuilder().maximumSize(10_000).build();
+		return new Impl() {
+			public Long get(Long key, Function<Long, Long> loader) {
+				return local.get(key, loader);
+			}
+
+			public void invalidateAll() {
+				local.invalidateAll();
+			}
+		};
+	}
+
+	// compute 밖에서 로딩 후 그대로 put (무효화 여부를 확인하지 않음)
+	static Impl putAfterLoadImpl() {
+		Cache<Long, Long> local = Caffeine.newBuilder().maximumSize(10_000).build();
+		return new Impl() {
+			public Long get(Long key, Function<Long, Long> loader) {
+				Long cached = local.getIfPresent(key);
+				if (cached != null) {
+					return cached;
+				}
+				Long loaded = loader.apply(key);
+				if (loaded != null) {
+					local.put(key, loaded);
+				}
+				return loaded;
+			}
+
+			public void invalidateAll() {
+				local.invalidateAll();
+			}
+		};
+	}
+}
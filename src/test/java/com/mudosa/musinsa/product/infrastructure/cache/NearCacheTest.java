@@ -0,0 +1,110 @@
+package com.mudosa.musinsa.product.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NearCacheTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private NearCache<Long, String> nearCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        NearCacheManager nearCacheManager = new NearCacheManager(stringRedisTemplate, listenerContainer,
+            new SimpleMeterRegistry(), true, 100, 60_000);
+        nearCache = nearCacheManager.getCache("test");
+    }
+
+    @Test
+    @DisplayName("L2 조회 도중 무효화되면 조회 결과를 L1에 넣지 않는다.")
+    void get_dropsValueLoadedBeforeInvalidation() {
+        String first = nearCache.get(1L, key -> {
+            loads.incrementAndGet();
+            nearCache.invalidateAll();
+            return "stale";
+        });
+        String second = nearCache.get(1L, key -> {
+            loads.incrementAndGet();
+            return "fresh";
+        });
+
+        assertThat(first).isEqualTo("stale");
+        assertThat(second).isEqualTo("fresh");
+        assertThat(nearCache.get(1L, key -> "unused")).isEqualTo("fresh");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("여러 건 조회 도중 무효화되면 조회 결과를 L1에 넣지 않는다.")
+    void getAll_dropsValuesLoadedBeforeInvalidation() {
+        nearCache.getAll(List.of(1L, 2L), keys -> {
+            loads.incrementAndGet();
+            nearCache.invalidateAll();
+            return Map.of(1L, "stale", 2L, "stale");
+        });
+        Map<Long, String> reloaded = nearCache.getAll(List.of(1L, 2L), keys -> {
+            loads.incrementAndGet();
+            return Map.of(1L, "fresh", 2L, "fresh");
+        });
+
+        assertThat(reloaded).containsEntry(1L, "fresh").containsEntry(2L, "fresh");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("같은 키의 동시 미스는 한 번만 L2를 조회한다.")
+    void get_coalescesConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> nearCache.get(1L, key -> {
+                loads.incrementAndGet();
+                try {
+                    loading.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "value";
+            })));
+        }
+        Thread.sleep(100);
+        loading.countDown();
+        for (Future<String> future : futures) {
+            assertThat(future.get(2, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        executor.shutdown();
+
+        assertThat(loads).hasValue(1);
+    }
+}
@@ -1,18 +1,22 @@
 package com.mudosa.musinsa.product.infrastructure.cache;
 
 import com.mudosa.musinsa.product.domain.model.OptionValue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +27,10 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.stream.StreamSupport;
@@ -37,13 +45,24 @@ class OptionValueCacheTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
-    @InjectMocks
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private NearCacheManager nearCacheManager;
+
     private OptionValueCache optionValueCache;
 
+    private final OptionValueDictionary dictionary = new OptionValueDictionary();
+
     private final Map<String, Object> store = new HashMap<>();
 
     @BeforeEach
     void setUp() {
+        nearCacheManager = new NearCacheManager(stringRedisTemplate, listenerContainer, new SimpleMeterRegistry(), true, 100, 60_000);
+        optionValueCache = new OptionValueCache(redisTemplate, nearCacheManager, dictionary);
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 		doAnswer(invocation -> {
 			String key = invocation.getArgument(0);
@@ -80,13 +99,13 @@ class OptionValueCacheTest {
     }
 
     @Test
-    void saveAll_andGetAll_multipleOptionValues() {
+    void preloadAll_andGetAll_multipleOptionValues() {
         OptionValue first = OptionValue.create("size", "M");
         OptionValue second = OptionValue.create("material", "cotton");
         ReflectionTestUtils.setField(first, "optionValueId", 1L);
         ReflectionTestUtils.setField(second, "optionValueId", 2L);
 
-        optionValueCache.saveAll(List.of(first, second));
+        optionValueCache.preloadAll(List.of(first, second));
 
         Map<Long, OptionValueCache.Value> result = optionValueCache.getAll(List.of(1L, 2L, 3L));
         assertThat(result).hasSize(2);
@@ -94,4 +113,73 @@ class OptionValueCacheTest {
         assertThat(result.get(2L).optionValue()).isEqualTo("cotton");
         assertThat(result).doesNotContainKey(3L);
     }
+
+    @Test
+    void getAll_servesRepeatedReadsFromNearCache() {
+        OptionValue optionValue = OptionValue.create("size", "M");
+        ReflectionTestUtils.setField(optionValue, "optionValueId", 1L);
+        optionValueCache.preloadAll(List.of(optionValue));
+
+        optionValueCache.getAll(List.of(1L));
+        Map<Long, OptionValueCache.Value> result = optionValueCache.getAll(List.of(1L));
+
+        assertThat(result.get(1L).optionValue()).isEqualTo("M");
+        verify(valueOperations, times(1)).multiGet(any());
+    }
+
+    @Test
+    void invalidationMessage_evictsNearCache() {
+        OptionValue optionValue = OptionValue.create("size", "M");
+        ReflectionTestUtils.setField(optionValue, "optionValueId", 1L);
+        optionValueCache.save(optionValue);
+        assertThat(optionValueCache.get(1L).optionValue()).isEqualTo("M");
+
+        // 다른 노드에서 값이 바뀌고 무효화 메시지가 도착한 상황
+        store.put("optionValue:1", new OptionValueCache.Value("size", "L"));
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn(OptionValueCache.CACHE_NAME.getBytes(StandardCharsets.UTF_8));
+        nearCacheManager.onMessage(message, null);
+
+        assertThat(optionValueCache.get(1L).optionValue()).isEqualTo("L");
+        verify(stringRedisTemplate).convertAndSend(NearCacheManager.INVALIDATION_CHANNEL, OptionValueCache.CACHE_NAME);
+    }
+
+    @Test
+    void saveAndInvalidationMessage_clearMemoryDictionary() {
+        OptionValue optionValue = OptionValue.create("size", "M");
+        ReflectionTestUtils.setField(optionValue, "optionValueId", 1L);
+        dictionary.rebuild(List.of(optionValue));
+        assertThat(optionValueCache.get(1L).optionValue()).isEqualTo("M");
+
+        // 같은 노드에서 저장하면 사전보다 새 값이 우선한다.
+        OptionValue changed = OptionValue.create("size", "L");
+        ReflectionTestUtils.setField(changed, "optionValueId", 1L);
+        optionValueCache.save(changed);
+        assertThat(dictionary.size()).isZero();
+        assertThat(optionValueCache.get(1L).optionValue()).isEqualTo("L");
+
+        // 다른 노드의 저장으로 무효화 메시지가 도착해도 사전을 비운다.
+        dictionary.rebuild(List.of(changed));
+        store.put("optionValue:1", new OptionValueCache.Value("size", "XL"));
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn(OptionValueCache.CACHE_NAME.getBytes(StandardCharsets.UTF_8));
+        nearCacheManager.onMessage(message, null);
+
+        assertThat(optionValueCache.get(1L).optionValue()).isEqualTo("XL");
+    }
+
+    @Test
+    void preloadAll_keepsRebuiltDictionaryOnEveryNode() {
+        OptionValue optionValue = OptionValue.create("size", "M");
+        ReflectionTestUtils.setField(optionValue, "optionValueId", 1L);
+
+        optionValueCache.preloadAll(List.of(optionValue));
+        dictionary.rebuild(List.of(optionValue));
+
+        // 일괄 적재는 무효화를 전파하지 않으므로 방금 만든 사전이 유지된다.
+        verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+        assertThat(dictionary.size()).isEqualTo(1);
+        assertThat(optionValueCache.get(1L).optionValue()).isEqualTo("M");
+        verify(valueOperations, never()).get(anyString());
+    }
 }
@@ -0,0 +1,57 @@
+package com.mudosa.musinsa.product.infrastructure.cache;
+
+import com.mudosa.musinsa.product.domain.model.OptionValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OptionValueDictionaryTest {
+
+	private final OptionValueDictionary dictionary = new OptionValueDictionary();
+
+	@Test
+	void get_beforeRebuild_returnsNull() {
+		assertThat(dictionary.get(1L)).isNull();
+		assertThat(dictionary.size()).isZero();
+	}
+
+	@Test
+	void rebuild_resolvesAllIdsIncludingCollisions() {
+		List<OptionValue> optionValues = new ArrayList<>();
+		for (long id = 1; id <= 1_000; id++) {
+			optionValues.add(optionValue(id * 1_024, "size", "S" + id));
+		}
+
+		dictionary.rebuild(optionValues);
+
+		assertThat(dictionary.size()).isEqualTo(1_000);
+		for (long id = 1; id <= 1_000; id++) {
+			assertThat(dictionary.get(id * 1_024).optionValue()).isEqualTo("S" + id);
+		}
+		assertThat(dictionary.get(3L)).isNull();
+	}
+
+	@Test
+	void rebuild_sharesIdenticalValuesAndSwapsSnapshot() {
+		dictionary.rebuild(List.of(optionValue(1L, "color", "red"), optionValue(2L, "color", "red")));
+		long firstVersion = dictionary.getVersion();
+
+		assertThat(dictionary.get(1L)).isSameAs(dictionary.get(2L));
+
+		dictionary.rebuild(List.of(optionValue(1L, "color", "blue")));
+
+		assertThat(dictionary.getVersion()).isEqualTo(firstVersion + 1);
+		assertThat(dictionary.get(1L).optionValue()).isEqualTo("blue");
+		assertThat(dictionary.get(2L)).isNull();
+	}
+
+	private OptionValue optionValue(Long id, String name, String value) {
+		OptionValue optionValue = OptionValue.create(name, value);
+		ReflectionTestUtils.setField(optionValue, "optionValueId", id);
+		return optionValue;
+	}
+}
@@ -0,0 +1,140 @@
+package com.mudosa.musinsa.product.infrastructure.cache;
+
+import com.mudosa.musinsa.product.application.dto.ProductSearchCondition;
+import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexSearchQueryRepository;
+import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexSearchQueryRepository.SearchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SearchResultCacheTest {
+
+    @Mock
+    private ProductIndexSearchQueryRepository productIndexSearchQueryRepository;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NearCacheManager nearCacheManager;
+
+    private SearchResultCache searchResultCache;
+
+    private final SearchResult result = new SearchResult(List.of(), false, null, null);
+
+    @BeforeEach
+    void setUp() {
+        nearCacheManager = new NearCacheManager(stringRedisTemplate, listenerContainer, meterRegistry, true, 100, 60_000);
+        searchResultCache = new SearchResultCache(productIndexSearchQueryRepository, nearCacheManager, meterRegistry,
+            true, 100, 60_000, 60_000, 100);
+        when(productIndexSearchQueryRepository.searchByKeywordWithFilters(any(), anyList())).thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("토큰 순서/대소문자와 카테고리 순서가 달라도 같은 시그니처로 캐싱한다.")
+    void search_normalizesSignature() {
+        searchResultCache.search(condition("Black Tee", List.of("상의/티셔츠", "아우터")), List.of("Black", "Tee"));
+        searchResultCache.search(condition("tee black", List.of("아우터", "상의/티셔츠")), List.of("tee", "black"));
+
+        verify(productIndexSearchQueryRepository, times(1)).searchByKeywordWithFilters(any(), anyList());
+        assertThat(meterRegistry.get("search.result_cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(searchResultCache.topSignatures(10))
+            .singleElement()
+            .satisfies(summary -> {
+                assertThat(summary.signature()).startsWith("q=black tee&category=상의/티셔츠,아우터");
+                assertThat(summary.hits()).isEqualTo(1);
+                assertThat(summary.misses()).isEqualTo(1);
+            });
+    }
+
+    @Test
+    @DisplayName("같은 시그니처의 동시 미스는 한 번만 ES를 조회한다.")
+    void search_coalescesConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        when(productIndexSearchQueryRepository.searchByKeywordWithFilters(any(), anyList())).thenAnswer(invocation -> {
+            loading.await(1, TimeUnit.SECONDS);
+            return result;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<SearchResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> searchResultCache.search(condition("tee", List.of()), List.of("tee"))));
+        }
+        Thread.sleep(100);
+        loading.countDown();
+        for (Future<SearchResult> future : futures) {
+            assertThat(future.get(2, TimeUnit.SECONDS)).isSameAs(result);
+        }
+        executor.shutdown();
+
+        verify(productIndexSearchQueryRepository, times(1)).searchByKeywordWithFilters(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("무효화 메시지를 받으면 캐시를 비우고 다시 조회한다.")
+    void search_reloadsAfterInvalidation() {
+        searchResultCache.search(condition("tee", List.of()), List.of("tee"));
+
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn(SearchResultCache.CACHE_NAME.getBytes(StandardCharsets.UTF_8));
+        nearCacheManager.onMessage(message, null);
+        searchResultCache.search(condition("tee", List.of()), List.of("tee"));
+
+        verify(productIndexSearchQueryRepository, times(2)).searchByKeywordWithFilters(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("무효화 전에 시작한 조회 결과는 캐시에 넣지 않는다.")
+    void search_dropsResultLoadedBeforeInvalidation() {
+        when(productIndexSearchQueryRepository.searchByKeywordWithFilters(any(), anyList())).thenAnswer(invocation -> {
+            nearCacheManager.invalidate(SearchResultCache.CACHE_NAME);
+            return result;
+        }).thenReturn(result);
+
+        searchResultCache.search(condition("tee", List.of()), List.of("tee"));
+        searchResultCache.search(condition("tee", List.of()), List.of("tee"));
+
+        verify(productIndexSearchQueryRepository, times(2)).searchByKeywordWithFilters(any(), anyList());
+    }
+
+    private ProductSearchCondition condition(String keyword, List<String> categoryPaths) {
+        return ProductSearchCondition.builder()
+            .keyword(keyword)
+            .categoryPaths(categoryPaths)
+            .limit(20)
+            .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.mudosa.musinsa.product.infrastructure.search.reindex;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import com.mudosa.musinsa.product.infrastructure.cache.NearCacheManager;
+import com.mudosa.musinsa.product.infrastructure.cache.SearchResultCache;
+import com.mudosa.musinsa.product.infrastructure.search.document.ProductDocument;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ProductIndexDto;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ProductOptionIdRange;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ReindexResult;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexChangeType;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutbox;
+import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexQueryRepository;
+import com.mudosa.musinsa.product.infrastructure.search.service.ProductIndexChangeApplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProductReindexerTest {
+
+    private static final long MAX_OPTION_ID = 10L;
+
+    @Mock
+    private ProductIndexQueryRepository productIndexQueryRepository;
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Mock
+    private ElasticsearchClient elasticsearchClient;
+
+    @Mock
+    private ElasticsearchIndicesClient indicesClient;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private ReindexCheckpointStore checkpointStore;
+
+    @Mock
+    private NearCacheManager nearCacheManager;
+
+    @Mock
+    private ProductIndexChangeApplier productIndexChangeApplier;
+
+    private final List<Long> indexedIds = Collections.synchronizedList(new ArrayList<>());
+
+    private ProductReindexer reindexer;
+
+    @BeforeEach
+    void setUp() {
+        reindexer = new ProductReindexer(productIndexQueryRepository, elasticsearchOperations, elasticsearchClient,
+            checkpointStore, nearCacheManager, productIndexChangeApplier, 2, 2, 1, 2, 3, 2);
+
+        when(elasticsearchClient.indices()).thenReturn(indicesClient);
+        when(elasticsearchOperations.indexOps(any(IndexCoordinates.class))).thenReturn(indexOperations);
+        when(elasticsearchOperations.indexOps(ProductDocument.class)).thenReturn(indexOperations);
+        when(indexOperations.createSettings()).thenReturn(new Settings());
+        when(indexOperations.createMapping()).thenReturn(Document.create());
+
+        when(checkpointStore.pendingChanges(anyInt())).thenReturn(List.of());
+        when(productIndexQueryRepository.findOptionIdRange()).thenReturn(new ProductOptionIdRange(1L, MAX_OPTION_ID));
+        when(productIndexQueryRepository.findChunk(anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            long max = invocation.getArgument(1);
+            int size = invocation.getArgument(2);
+            return LongStream.rangeClosed(after + 1, Math.min(max, MAX_OPTION_ID))
+                .limit(size)
+                .mapToObj(id -> ProductIndexDto.builder()
+                    .productOptionId(id)
+                    .colorOptions(List.of())
+                    .sizeOptions(List.of())
+                    .build())
+                .toList();
+        });
+        when(elasticsearchOperations.bulkIndex(any(List.class), any(IndexCoordinates.class))).thenAnswer(invocation -> {
+            List<IndexQuery> queries = invocation.getArgument(0);
+            queries.forEach(query -> indexedIds.add(Long.valueOf(query.getId())));
+            return List.of();
+        });
+    }
+
+    @Test
+    @DisplayName("옵션 ID 구간을 나눠 전체를 새 인덱스에 색인하고 구간마다 체크포인트와 완료를 기록한다.")
+    void reindex_indexesAllRangesIntoNewIndex() {
+        when(checkpointStore.load()).thenReturn(Optional.empty());
+
+        ReindexResult result = reindexer.reindex();
+
+        assertThat(result.documents()).isEqualTo(MAX_OPTION_ID);
+        assertThat(result.resumed()).isFalse();
+        assertThat(result.indexName()).startsWith(ProductReindexer.ALIAS + "_");
+        assertThat(indexedIds).containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, MAX_OPTION_ID).boxed().toList());
+        verify(checkpointStore).checkpoint(0, 5L);
+        verify(checkpointStore).checkpoint(1, MAX_OPTION_ID);
+        verify(checkpointStore).markDone(0);
+        verify(checkpointStore).markDone(1);
+        verify(indexOperations).alias(any());
+        verify(checkpointStore).clear();
+        verify(nearCacheManager).invalidate(SearchResultCache.CACHE_NAME);
+    }
+
+    @Test
+    @DisplayName("이전 실행이 남아 있으면 같은 인덱스에 체크포인트 이후 옵션만 이어서 색인한다.")
+    void reindex_resumesFromCheckpoint() {
+        when(indexOperations.exists()).thenReturn(true);
+        when(checkpointStore.load()).thenReturn(Optional.of(new ReindexCheckpointStore.State("product_resume", List.of(
+            new ReindexRange(0, 0L, 5L, 5L, true),
+            new ReindexRange(1, 5L, MAX_OPTION_ID, 7L, false)))));
+
+        ReindexResult result = reindexer.reindex();
+
+        assertThat(result.resumed()).isTrue();
+        assertThat(result.indexName()).isEqualTo("product_resume");
+        assertThat(indexedIds).containsExactly(8L, 9L, 10L);
+        verify(indexOperations, never()).create(any(), any());
+        verify(checkpointStore).markDone(1);
+        verify(checkpointStore, never()).markDone(0);
+    }
+
+    @Test
+    @DisplayName("색인 중 증분 색인이 처리한 변경을 별칭 교체 전후로 새 인덱스에 다시 반영한다.")
+    void reindex_replaysChangesRecordedDuringReindex() {
+        List<ProductIndexOutbox> beforeSwap = List.of(ProductIndexOutbox.of(ProductIndexChangeType.PRODUCT, 10L));
+        List<ProductIndexOutbox> afterSwap = List.of(ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 3L));
+        when(indexOperations.exists()).thenReturn(true);
+        when(checkpointStore.load()).thenReturn(Optional.of(new ReindexCheckpointStore.State("product_resume", List.of(
+            new ReindexRange(0, 0L, MAX_OPTION_ID, MAX_OPTION_ID, true)))));
+        when(checkpointStore.pendingChanges(anyInt())).thenReturn(beforeSwap, List.of(), afterSwap, List.of());
+
+        reindexer.reindex();
+
+        IndexCoordinates target = IndexCoordinates.of("product_resume");
+        InOrder order = inOrder(productIndexChangeApplier, checkpointStore, indexOperations);
+        order.verify(productIndexChangeApplier).apply(beforeSwap, target);
+        order.verify(checkpointStore).removeChanges(beforeSwap);
+        order.verify(indexOperations).alias(any());
+        order.verify(productIndexChangeApplier).apply(afterSwap, target);
+        order.verify(checkpointStore).removeChanges(afterSwap);
+        order.verify(checkpointStore).clear();
+    }
+}
@@ -0,0 +1,56 @@
+package com.mudosa.musinsa.product.infrastructure.search.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchAfterCursorTest {
+
+    @Test
+    @DisplayName("정렬 값과 PIT ID를 인코딩한 커서를 그대로 복원한다.")
+    void encodeAndDecode() {
+        SearchAfterCursor cursor = new SearchAfterCursor(List.of(3.25, 120L, 4501L), "pit-id==");
+
+        SearchAfterCursor decoded = SearchAfterCursor.decode(cursor.encode());
+
+        assertThat(decoded.sortValues()).containsExactly(3.25, 120L, 4501L);
+        assertThat(decoded.pointInTimeId()).isEqualTo("pit-id==");
+        assertThat(decoded.lastProductId()).isEqualTo(120L);
+    }
+
+    @Test
+    @DisplayName("PIT 없이 가격 정렬 값만 담긴 커서도 복원한다.")
+    void decode_withoutPointInTime() {
+        String encoded = new SearchAfterCursor(List.of(39000L, 7L, 70L), null).encode();
+
+        SearchAfterCursor decoded = SearchAfterCursor.decode(encoded);
+
+        assertThat(decoded.sortValues()).containsExactly(39000L, 7L, 70L);
+        assertThat(decoded.pointInTimeId()).isNull();
+    }
+
+    @Test
+    @DisplayName("점수 정렬의 상품 단위 오프셋 커서를 PIT ID와 함께 복원한다.")
+    void encodeAndDecode_offset() {
+        String encoded = SearchAfterCursor.ofOffset(40, "pit-id==").encode();
+
+        SearchAfterCursor decoded = SearchAfterCursor.decode(encoded);
+
+        assertThat(decoded.offset()).isEqualTo(40);
+        assertThat(decoded.sortValues()).isEmpty();
+        assertThat(decoded.pointInTimeId()).isEqualTo("pit-id==");
+        assertThat(decoded.lastProductId()).isNull();
+    }
+
+    @Test
+    @DisplayName("비어 있거나 형식이 맞지 않는 커서는 첫 페이지로 본다.")
+    void decode_invalidCursor() {
+        assertThat(SearchAfterCursor.decode(null)).isNull();
+        assertThat(SearchAfterCursor.decode("")).isNull();
+        assertThat(SearchAfterCursor.decode("2")).isNull();
+        assertThat(SearchAfterCursor.decode("not base64!")).isNull();
+    }
+}
@@ -0,0 +1,134 @@
+package com.mudosa.musinsa.product.infrastructure.search.service;
+
+import com.mudosa.musinsa.product.infrastructure.cache.NearCacheManager;
+import com.mudosa.musinsa.product.infrastructure.cache.SearchResultCache;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexChangeType;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutbox;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxRepository;
+import com.mudosa.musinsa.product.infrastructure.search.reindex.ReindexCheckpointStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProductIncrementalIndexerTest {
+
+    @Mock
+    private ProductIndexOutboxRepository productIndexOutboxRepository;
+
+    @Mock
+    private ProductIndexChangeApplier productIndexChangeApplier;
+
+    @Mock
+    private ReindexCheckpointStore reindexCheckpointStore;
+
+    @Mock
+    private ProductIndexingService productIndexingService;
+
+    @Mock
+    private NearCacheManager nearCacheManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductIncrementalIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        indexer = new ProductIncrementalIndexer(productIndexOutboxRepository, productIndexChangeApplier,
+            reindexCheckpointStore, productIndexingService, nearCacheManager, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(indexer, "batchSize", 100);
+        indexer.init();
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    @DisplayName("변경 대상을 재색인용으로 먼저 남긴 뒤 product 별칭에 반영하고 아웃박스에서 지운다.")
+    void poll_recordsChangesBeforeApplyingToAlias() {
+        List<ProductIndexOutbox> events = givenEvents(
+            ProductIndexOutbox.of(ProductIndexChangeType.PRODUCT, 10L),
+            ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 1L));
+
+        indexer.poll();
+
+        InOrder order = inOrder(reindexCheckpointStore, productIndexChangeApplier, productIndexOutboxRepository,
+            productIndexingService);
+        order.verify(reindexCheckpointStore).recordChanges(events);
+        order.verify(productIndexChangeApplier).apply(events, IndexCoordinates.of("product"));
+        order.verify(productIndexOutboxRepository).deleteAllInBatch(events);
+        order.verify(productIndexingService).refresh(IndexCoordinates.of("product"));
+        assertThat(meterRegistry.get("search.incremental_index.latency").timer().count()).isEqualTo(2);
+        verify(nearCacheManager).invalidate(SearchResultCache.CACHE_NAME);
+    }
+
+    @Test
+    @DisplayName("처리한 변경이 없으면 검색 결과 캐시를 비우지 않는다.")
+    void poll_skipsInvalidationWithoutChanges() {
+        when(productIndexOutboxRepository.claimBatch(anyInt())).thenReturn(List.of());
+
+        indexer.poll();
+
+        verify(nearCacheManager, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("재고 변경만 반영한 주기는 refresh/캐시 무효화를 하지 않고 캐시 ttl에 맡긴다.")
+    void poll_skipsInvalidationForStockOnlyChanges() {
+        List<ProductIndexOutbox> events = givenEvents(
+            ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 1L),
+            ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 2L));
+
+        indexer.poll();
+
+        verify(productIndexOutboxRepository).deleteAllInBatch(events);
+        verify(productIndexingService, never()).refresh(any());
+        verify(nearCacheManager, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 아웃박스를 지우지 않아 다음 주기에 다시 처리된다.")
+    void poll_keepsEventsWhenApplyFails() {
+        List<ProductIndexOutbox> events = givenEvents(ProductIndexOutbox.of(ProductIndexChangeType.OPTION, 1L));
+        doThrow(new IllegalStateException("es down")).when(productIndexChangeApplier).apply(any(), any());
+
+        indexer.poll();
+
+        verify(productIndexOutboxRepository, never()).deleteAllInBatch(events);
+        verify(nearCacheManager, never()).invalidate(any());
+    }
+
+    private List<ProductIndexOutbox> givenEvents(ProductIndexOutbox... events) {
+        List<ProductIndexOutbox> batch = List.of(events);
+        when(productIndexOutboxRepository.claimBatch(anyInt())).thenReturn(batch, List.of());
+        return batch;
+    }
+}
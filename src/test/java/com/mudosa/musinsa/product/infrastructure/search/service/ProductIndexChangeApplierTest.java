@@ -0,0 +1,109 @@
+package com.mudosa.musinsa.product.infrastructure.search.service;
+
+import com.mudosa.musinsa.product.application.dto.OptionStockSnapshot;
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import com.mudosa.musinsa.product.infrastructure.search.dto.ProductIndexDto;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexChangeType;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutbox;
+import com.mudosa.musinsa.product.infrastructure.search.repository.ProductIndexQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProductIndexChangeApplierTest {
+
+    private static final IndexCoordinates INDEX = IndexCoordinates.of("product");
+
+    @Mock
+    private ProductIndexQueryRepository productIndexQueryRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private ProductIndexingService productIndexingService;
+
+    private ProductIndexChangeApplier applier;
+
+    @BeforeEach
+    void setUp() {
+        applier = new ProductIndexChangeApplier(productIndexQueryRepository, inventoryRepository, productIndexingService);
+    }
+
+    @Test
+    @DisplayName("같은 옵션의 재고 변경은 한 번의 hasStock 부분 갱신으로 합쳐진다.")
+    void apply_coalescesStockChangesIntoPartialUpdate() {
+        when(inventoryRepository.findStockSnapshots(any())).thenReturn(List.of(
+            new OptionStockSnapshot(1L, 0),
+            new OptionStockSnapshot(2L, 5)));
+
+        applier.apply(List.of(
+            ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 1L),
+            ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 1L),
+            ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 2L)), INDEX);
+
+        verify(inventoryRepository).findStockSnapshots(argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 2L))));
+        verify(productIndexingService).updateHasStock(Map.of(1L, false, 2L, true), INDEX);
+        verify(productIndexingService, never()).indexAll(any(), any());
+    }
+
+    @Test
+    @DisplayName("도큐먼트를 다시 만드는 옵션의 재고 변경은 부분 갱신하지 않는다.")
+    void apply_skipsStockUpdateForRebuiltOptions() {
+        when(productIndexQueryRepository.findByProductIds(any())).thenReturn(List.of(
+            ProductIndexDto.builder().productOptionId(1L).productId(10L).build()));
+
+        applier.apply(List.of(
+            ProductIndexOutbox.of(ProductIndexChangeType.PRODUCT, 10L),
+            ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 1L)), INDEX);
+
+        verify(productIndexingService).indexAll(argThat(dtos -> dtos.size() == 1), eq(INDEX));
+        verify(productIndexingService, never()).updateHasStock(any(), any());
+    }
+
+    @Test
+    @DisplayName("상품 이벤트는 DB에 남은 옵션 외의 도큐먼트를 지운다.")
+    void apply_deletesRemovedOptionsOfChangedProduct() {
+        when(productIndexQueryRepository.findByProductIds(any())).thenReturn(List.of(
+            ProductIndexDto.builder().productOptionId(1L).productId(10L).build()));
+
+        applier.apply(List.of(ProductIndexOutbox.of(ProductIndexChangeType.PRODUCT, 10L)), INDEX);
+
+        verify(productIndexingService).deleteMissingOptions(Set.of(10L), Set.of(1L), INDEX);
+    }
+
+    @Test
+    @DisplayName("옵션 이벤트는 추가된 옵션만 색인하고, DB에서 사라진 옵션의 도큐먼트는 지운다.")
+    void apply_rebuildsOptionAndDeletesMissingOption() {
+        when(productIndexQueryRepository.findByProductOptionIds(any())).thenReturn(List.of(
+            ProductIndexDto.builder().productOptionId(1L).productId(10L).build()));
+
+        applier.apply(List.of(
+            ProductIndexOutbox.of(ProductIndexChangeType.OPTION, 1L),
+            ProductIndexOutbox.of(ProductIndexChangeType.OPTION, 2L),
+            ProductIndexOutbox.of(ProductIndexChangeType.STOCK, 2L)), INDEX);
+
+        verify(productIndexingService).indexAll(argThat(dtos -> dtos.size() == 1), eq(INDEX));
+        verify(productIndexingService).deleteOptions(Set.of(2L), INDEX);
+        verify(productIndexingService, never()).updateHasStock(any(), any());
+    }
+}
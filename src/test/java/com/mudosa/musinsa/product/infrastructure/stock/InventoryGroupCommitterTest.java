@@ -0,0 +1,132 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import com.mudosa.musinsa.exception.BusinessException;
+import com.mudosa.musinsa.exception.ErrorCode;
+import com.mudosa.musinsa.product.domain.model.ProductOption;
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import com.mudosa.musinsa.product.domain.repository.ProductOptionRepository;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InventoryGroupCommitterTest {
+
+    @Mock
+    private ProductOptionRepository productOptionRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ProductIndexOutboxPublisher productIndexOutboxPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InventoryGroupCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        committer = new InventoryGroupCommitter(productOptionRepository, inventoryRepository, transactionTemplate,
+            productIndexOutboxPublisher, meterRegistry);
+        ReflectionTestUtils.setField(committer, "maxBatchSize", 100);
+        committer.init();
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(inventoryRepository.applyStockDelta(anyLong(), anyInt())).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("같은 옵션에 대한 동시 요청은 하나의 UPDATE로 합쳐지고 각자 반영 후 재고를 받는다.")
+    void flush_coalescesAdjustmentsIntoSingleUpdate() throws Exception {
+        givenStock(1L, 10);
+
+        CompletableFuture<Integer> first = committer.submit(1L, 5);
+        CompletableFuture<Integer> second = committer.submit(1L, -3);
+        CompletableFuture<Integer> third = committer.submit(1L, 2);
+
+        committer.flush();
+
+        verify(inventoryRepository, times(1)).applyStockDelta(1L, 4);
+        assertThat(first.get()).isEqualTo(15);
+        assertThat(second.get()).isEqualTo(12);
+        assertThat(third.get()).isEqualTo(14);
+        assertThat(meterRegistry.get("inventory.group_commit.batch.size").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("재고를 음수로 만드는 요청만 거절되고 나머지는 반영된다.")
+    void flush_rejectsOnlyRequestsThatWouldGoNegative() throws Exception {
+        givenStock(1L, 3);
+
+        CompletableFuture<Integer> ok = committer.submit(1L, -2);
+        CompletableFuture<Integer> tooMuch = committer.submit(1L, -5);
+
+        committer.flush();
+
+        verify(inventoryRepository, times(1)).applyStockDelta(1L, -2);
+        assertThat(ok.get()).isEqualTo(1);
+        assertThatThrownBy(tooMuch::get)
+            .isInstanceOf(ExecutionException.class)
+            .cause()
+            .isInstanceOf(BusinessException.class)
+            .extracting("errorCode")
+            .isEqualTo(ErrorCode.INSUFFICIENT_STOCK);
+        assertThat(meterRegistry.get("inventory.group_commit.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("순 변화량이 0이면 UPDATE를 실행하지 않는다.")
+    void flush_skipsUpdateWhenNetIsZero() throws Exception {
+        givenStock(1L, 3);
+
+        CompletableFuture<Integer> add = committer.submit(1L, 2);
+        CompletableFuture<Integer> subtract = committer.submit(1L, -2);
+
+        committer.flush();
+
+        verify(inventoryRepository, never()).applyStockDelta(anyLong(), anyInt());
+        assertThat(add.get()).isEqualTo(5);
+        assertThat(subtract.get()).isEqualTo(3);
+    }
+
+    private void givenStock(Long productOptionId, int stock) {
+        ProductOption option = mock(ProductOption.class);
+        when(option.getProductOptionId()).thenReturn(productOptionId);
+        when(option.getStockQuantity()).thenReturn(stock);
+        when(productOptionRepository.findByProductOptionIdInWithPessimisticLock(anyList())).thenReturn(List.of(option));
+    }
+}
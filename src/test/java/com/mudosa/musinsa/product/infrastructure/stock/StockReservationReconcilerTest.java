@@ -0,0 +1,119 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import com.mudosa.musinsa.product.application.dto.OptionStockSnapshot;
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StockReservationReconcilerTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockReservationStore stockReservationStore;
+
+    @Mock
+    private StockWriteBehindBuffer stockWriteBehindBuffer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StockReservationReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new StockReservationReconciler(inventoryRepository, stockReservationStore,
+            stockWriteBehindBuffer, meterRegistry);
+        ReflectionTestUtils.setField(reconciler, "pageSize", 1000);
+        ReflectionTestUtils.setField(reconciler, "repairDrift", true);
+        ReflectionTestUtils.setField(reconciler, "lockTtlMs", 300000L);
+        reconciler.init();
+        when(stockReservationStore.tryLockReconcile(any(), any())).thenReturn(true);
+
+        when(inventoryRepository.findAvailableSnapshotsAfter(eq(0L), any()))
+            .thenReturn(List.of(new OptionStockSnapshot(1L, 10), new OptionStockSnapshot(2L, 5)));
+        when(inventoryRepository.findAvailableSnapshotsAfter(eq(2L), any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("한 주기만 어긋난 값은 진행 중인 예약일 수 있어 보정하지 않고, 같은 차이가 다음 주기에도 남으면 차이만큼 보정한다.")
+    void reconcile_repairsStableDriftOnly() {
+        when(stockReservationStore.getAll(any())).thenReturn(Map.of(1L, 7L, 2L, 5L));
+
+        reconciler.reconcile();
+
+        verify(stockReservationStore, never()).adjust(any());
+        assertThat(meterRegistry.get("stock.reconcile.drift").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("stock.reconcile.drifted.options").gauge().value()).isEqualTo(1);
+
+        when(stockReservationStore.adjust(any())).thenReturn(1L);
+        reconciler.reconcile();
+
+        verify(stockReservationStore).adjust(Map.of(1L, 3L));
+        assertThat(meterRegistry.get("stock.reconcile.repaired").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("차이가 주기마다 달라지면 예약이 진행 중인 것으로 보고 보정하지 않는다.")
+    void reconcile_skipsChangingDrift() {
+        when(stockReservationStore.getAll(any())).thenReturn(Map.of(1L, 7L, 2L, 5L), Map.of(1L, 6L, 2L, 5L));
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        verify(stockReservationStore, never()).adjust(any());
+        assertThat(meterRegistry.get("stock.reconcile.drift").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("보관 중인 변화량을 먼저 재반영하고, 아웃박스 변화량을 포함한 가용 재고와 비교한다.")
+    void reconcile_retriesRejectedAndComparesAvailable() {
+        when(inventoryRepository.findAvailableSnapshotsAfter(eq(0L), any()))
+            .thenReturn(List.of(new OptionStockSnapshot(1L, 7), new OptionStockSnapshot(2L, 5)));
+        when(stockReservationStore.getAll(any())).thenReturn(Map.of(1L, 7L));
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        verify(stockWriteBehindBuffer, times(2)).retryRejected();
+        verify(stockReservationStore, times(2)).loadIfAbsent(Map.of(2L, 5L));
+        verify(stockReservationStore, never()).adjust(any());
+        assertThat(meterRegistry.get("stock.reconcile.drift").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 대사 잠금을 잡고 있으면 이번 주기는 건너뛰고, 직전 차이도 버려 보정하지 않는다.")
+    void reconcile_skipsWhenLockedByOtherNode() {
+        when(stockReservationStore.getAll(any())).thenReturn(Map.of(1L, 7L, 2L, 5L));
+        reconciler.reconcile();
+
+        when(stockReservationStore.tryLockReconcile(any(), any())).thenReturn(false, true);
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        verify(stockWriteBehindBuffer, times(2)).retryRejected();
+        verify(stockReservationStore, times(2)).unlockReconcile(any());
+        verify(stockReservationStore, never()).adjust(any());
+    }
+}
@@ -0,0 +1,146 @@
+package com.mudosa.musinsa.product.infrastructure.stock;
+
+import com.mudosa.musinsa.product.domain.repository.InventoryRepository;
+import com.mudosa.musinsa.product.infrastructure.search.outbox.ProductIndexOutboxPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StockWriteBehindBufferTest {
+
+    @Mock
+    private StockDeltaRepository stockDeltaRepository;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ProductIndexOutboxPublisher productIndexOutboxPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StockWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new StockWriteBehindBuffer(stockDeltaRepository, inventoryRepository, transactionTemplate,
+            productIndexOutboxPublisher, meterRegistry);
+        ReflectionTestUtils.setField(buffer, "batchSize", 1000);
+        buffer.init();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(inventoryRepository.applyStockDelta(anyLong(), anyInt())).thenReturn(1);
+        when(stockDeltaRepository.claimBatch(anyBoolean(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("변화량은 0이 아닌 것만 아웃박스에 적재된다.")
+    void add_savesNonZeroDeltas() {
+        buffer.add(Map.of(1L, -2, 2L, 0));
+
+        verify(stockDeltaRepository).saveAll(argThat(rows -> {
+            List<StockDelta> list = (List<StockDelta>) rows;
+            return list.size() == 1 && list.get(0).getProductOptionId() == 1L && list.get(0).getDelta() == -2;
+        }));
+    }
+
+    @Test
+    @DisplayName("같은 옵션의 변화량은 합쳐져 한 번의 UPDATE로 반영되고, 반영된 행은 삭제된다.")
+    void flush_coalescesDeltasPerOption() {
+        when(stockDeltaRepository.claimBatch(false, 1000)).thenReturn(List.of(
+            row(1L, 1L, -2), row(2L, 2L, -1), row(3L, 1L, -3), row(4L, 1L, 1)));
+
+        buffer.flush();
+
+        verify(inventoryRepository, times(1)).applyStockDelta(1L, -4);
+        verify(inventoryRepository, times(1)).applyStockDelta(2L, -1);
+        verify(stockDeltaRepository).deleteAllByIdInBatch(List.of(1L, 3L, 4L, 2L));
+        verify(productIndexOutboxPublisher).stockChanged(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("상쇄되어 0이 된 변화량은 반영하지 않고 행만 삭제한다.")
+    void flush_skipsZeroDelta() {
+        when(stockDeltaRepository.claimBatch(false, 1000)).thenReturn(List.of(row(1L, 1L, -2), row(2L, 1L, 2)));
+
+        buffer.flush();
+
+        verify(inventoryRepository, never()).applyStockDelta(anyLong(), anyInt());
+        verify(stockDeltaRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 행을 지우지 않아 다음 주기에 재시도된다.")
+    void flush_keepsRowsOnFailure() {
+        when(stockDeltaRepository.claimBatch(false, 1000)).thenReturn(List.of(row(1L, 1L, -2)));
+        when(inventoryRepository.applyStockDelta(anyLong(), anyInt())).thenThrow(new IllegalStateException("db down"));
+
+        buffer.flush();
+
+        verify(stockDeltaRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("음수 재고가 되어 거절된 변화량은 rejected로 보관했다가, 입고 후 재시도 시 반영한다.")
+    void flush_keepsRejectedDeltaForRetry() {
+        when(inventoryRepository.applyStockDelta(eq(1L), anyInt())).thenReturn(0);
+        when(stockDeltaRepository.claimBatch(false, 1000)).thenReturn(List.of(row(1L, 1L, -5), row(2L, 2L, -1)));
+
+        buffer.flush();
+
+        verify(stockDeltaRepository).markRejected(List.of(1L));
+        verify(stockDeltaRepository).deleteAllByIdInBatch(List.of(2L));
+        assertThat(meterRegistry.get("stock.write_behind.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("stock.write_behind.rejected.options").gauge().value()).isEqualTo(1);
+
+        StockDelta rejected = row(1L, 1L, -5);
+        ReflectionTestUtils.setField(rejected, "rejected", true);
+        when(stockDeltaRepository.claimBatch(true, 1000)).thenReturn(List.of(rejected));
+
+        assertThat(buffer.retryRejected()).isZero();
+        verify(stockDeltaRepository, times(1)).markRejected(any());
+
+        when(inventoryRepository.applyStockDelta(eq(1L), anyInt())).thenReturn(1);
+        assertThat(buffer.retryRejected()).isEqualTo(1);
+        verify(stockDeltaRepository).deleteAllByIdInBatch(List.of(1L));
+        assertThat(meterRegistry.get("stock.write_behind.rejected.options").gauge().value()).isZero();
+    }
+
+    private StockDelta row(Long id, Long productOptionId, int delta) {
+        StockDelta row = StockDelta.of(productOptionId, delta);
+        ReflectionTestUtils.setField(row, "id", id);
+        return row;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.mudosa.musinsa.brand.domain.event.BrandChangedEvent;
+import com.mudosa.musinsa.brand.domain.model.Brand;
+import com.mudosa.musinsa.brand.domain.repository.BrandRepository;
+import com.mudosa.musinsa.product.infrastructure.cache.NearCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BrandDirectoryTest {
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private NearCacheManager nearCacheManager;
+
+    private BrandDirectory directory;
+    private Runnable invalidator;
+
+    @BeforeEach
+    void setUp() {
+        directory = new BrandDirectory(brandRepository, nearCacheManager, new SimpleMeterRegistry());
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(nearCacheManager).registerLocalInvalidator(eq(BrandDirectory.CACHE_NAME), captor.capture());
+        invalidator = captor.getValue();
+    }
+
+    @Test
+    @DisplayName("브랜드가 바뀌면 무효화 채널로 전파하고, 무효화를 받은 노드는 다음 조회 때 다시 적재한다.")
+    void onBrandChanged_broadcastsAndReloadsOnNextLookup() {
+        when(brandRepository.findAll()).thenReturn(List.of(brand(1L, "0.10")), List.of(brand(1L, "0.20")));
+        assertThat(directory.getCommissionRate(1L)).isEqualByComparingTo("0.10");
+
+        directory.onBrandChanged(new BrandChangedEvent(1L));
+        verify(nearCacheManager).invalidate(BrandDirectory.CACHE_NAME);
+        invalidator.run();
+
+        assertThat(directory.getCommissionRate(1L)).isEqualByComparingTo("0.20");
+        verify(brandRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("적재 도중 무효화되면 그 결과를 스냅샷에 넣지 않고 다음 조회 때 다시 적재한다.")
+    void reload_discardsResultInvalidatedWhileLoading() {
+        when(brandRepository.findAll())
+            .thenAnswer(invocation -> {
+                invalidator.run();
+                return List.of(brand(1L, "0.10"));
+            })
+            .thenReturn(List.of(brand(1L, "0.20")));
+
+        assertThat(directory.getCommissionRate(1L)).isEqualByComparingTo("0.10");
+        assertThat(directory.getCommissionRate(1L)).isEqualByComparingTo("0.20");
+    }
+
+    private Brand brand(Long brandId, String commissionRate) {
+        Brand brand = Brand.create("브랜드", "brand", new BigDecimal(commissionRate));
+        ReflectionTestUtils.setField(brand, "brandId", brandId);
+        return brand;
+    }
+}
@@ -0,0 +1,66 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.mudosa.musinsa.common.vo.Money;
+import com.mudosa.musinsa.settlement.domain.model.SettlementPerTransaction;
+import com.mudosa.musinsa.settlement.domain.model.TransactionType;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementRollupJdbcRepository;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementRollupJdbcRepository.RollupDelta;
+import com.mudosa.musinsa.settlement.domain.service.SettlementNumberGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SettlementRollupServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 16);
+
+    @Mock
+    private SettlementRollupJdbcRepository rollupRepository;
+
+    @Mock
+    private SettlementNumberGenerator settlementNumberGenerator;
+
+    @Test
+    @DisplayName("거래 오프셋이 달라도 같은 버킷으로 합치고, 배치와 같은 정산 타임존으로 기록한다.")
+    void apply_normalizesTimezone() {
+        SettlementRollupService service = new SettlementRollupService(rollupRepository, settlementNumberGenerator,
+            new SimpleMeterRegistry(), true);
+
+        service.apply(List.of(transaction("+09:00", 10000), transaction("UTC", 20000)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RollupDelta>> daily = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).addDaily(daily.capture(), any());
+        assertThat(daily.getValue()).singleElement().satisfies(delta -> {
+            assertThat(delta.timezone()).isEqualTo("Asia/Seoul");
+            assertThat(delta.orderCount()).isEqualTo(2);
+            assertThat(delta.salesAmount()).isEqualByComparingTo("30000");
+        });
+        verify(settlementNumberGenerator, never()).generateDailyNumber(any());
+    }
+
+    private SettlementPerTransaction transaction(String timezoneOffset, long amount) {
+        SettlementPerTransaction settlement = SettlementPerTransaction.create(1L, 1L, "pg-" + amount,
+            new Money(BigDecimal.valueOf(amount)), BigDecimal.TEN, Money.ZERO, TransactionType.ORDER, timezoneOffset);
+        ReflectionTestUtils.setField(settlement, "transactionDateLocal", DATE);
+        return settlement;
+    }
+}
@@ -0,0 +1,156 @@
+package com.mudosa.musinsa.settlement.application;
+
+import com.mudosa.musinsa.settlement.application.SettlementStatisticsSeries.Columns;
+import com.mudosa.musinsa.settlement.batch.dto.DailyStatisticsDto;
+import com.mudosa.musinsa.settlement.domain.model.StatisticsBucket;
+import com.mudosa.musinsa.settlement.domain.repository.SettlementDailyMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementStatisticsStoreTest {
+
+    private static final int RETENTION_DAYS = 30;
+
+    @Mock
+    private SettlementDailyMapper dailyMapper;
+
+    // settlements_daily 대신 쓰는 행 목록
+    private final List<DailyStatisticsDto> table = new ArrayList<>();
+
+    private final LocalDate today = LocalDate.now();
+
+    @Test
+    @DisplayName("저장소의 일일 값을 주 단위 버킷으로 합산한다.")
+    void query_sumsDailyValuesIntoWeeklyBuckets() {
+        LocalDate monday = today.minusWeeks(1).with(DayOfWeek.MONDAY);
+        insert(1L, monday, 2, "10000.50");
+        insert(1L, monday.plusDays(3), 1, "5000.25");
+        insert(1L, monday.plusDays(7), 4, "20000.00");
+        SettlementStatisticsStore store = loadedStore(100);
+
+        SettlementStatisticsSeries series = store.query(List.of(1L), monday, monday.plusDays(13), StatisticsBucket.WEEK)
+            .orElseThrow();
+
+        Columns columns = series.getSeries().get(1L);
+        assertThat(series.getBucketStarts()).containsExactly(monday, monday.plusWeeks(1));
+        assertThat(columns.orderCounts()).containsExactly(3, 4);
+        assertThat(columns.salesAmounts()).containsExactly(1500075L, 2000000L);
+    }
+
+    @Test
+    @DisplayName("기간을 다시 읽으면 바뀐 값은 덮어쓰고 없어진 행은 지운다.")
+    void refresh_replacesValuesAndClearsRemovedRows() {
+        LocalDate yesterday = today.minusDays(1);
+        insert(1L, yesterday, 1, "1000.00");
+        insert(2L, yesterday, 5, "3000.00");
+        SettlementStatisticsStore store = loadedStore(100);
+
+        table.clear();
+        insert(1L, yesterday, 2, "2500.00");
+        store.refresh(yesterday, today);
+
+        SettlementStatisticsSeries series = store.query(null, yesterday, today, StatisticsBucket.DAY).orElseThrow();
+        assertThat(series.getSeries().get(1L).orderCounts()).containsExactly(2, 0);
+        assertThat(series.getSeries().get(1L).salesAmounts()).containsExactly(250000L, 0L);
+        assertThat(series.getSeries().get(2L).orderCounts()).containsExactly(0, 0);
+    }
+
+    @Test
+    @DisplayName("보관 기간 밖이거나 max-brands를 넘어 담지 못한 브랜드가 걸리면 DB 조회로 넘긴다.")
+    void query_returnsEmptyWhenStoreCannotAnswer() {
+        insert(1L, today, 1, "1000.00");
+        insert(2L, today, 1, "1000.00");
+        SettlementStatisticsStore store = loadedStore(1);
+
+        Optional<SettlementStatisticsSeries> outOfRange = store.query(List.of(1L),
+            today.minusDays(RETENTION_DAYS), today, StatisticsBucket.DAY);
+        Optional<SettlementStatisticsSeries> rejectedBrand = store.query(List.of(2L),
+            today.minusDays(1), today, StatisticsBucket.DAY);
+        Optional<SettlementStatisticsSeries> storedBrand = store.query(List.of(1L),
+            today.minusDays(1), today, StatisticsBucket.DAY);
+
+        assertThat(outOfRange).isEmpty();
+        assertThat(rejectedBrand).isEmpty();
+        assertThat(storedBrand).isPresent();
+    }
+
+    @Test
+    @DisplayName("링 버퍼 칸이 다른 날짜에 재사용되어도 보관 기간 밖 날짜의 값은 섞이지 않는다.")
+    void query_ignoresSlotsOwnedByOtherDays() {
+        LocalDate month = today.minusDays(RETENTION_DAYS - 1L);
+        insert(1L, month, 7, "7000.00");
+        SettlementStatisticsStore store = loadedStore(100);
+
+        SettlementStatisticsSeries series = store.query(List.of(1L), month, today, StatisticsBucket.DAY).orElseThrow();
+
+        long[] orderCounts = series.getSeries().get(1L).orderCounts();
+        assertThat(orderCounts[0]).isEqualTo(7);
+        assertThat(orderCounts[orderCounts.length - 1]).isZero();
+    }
+
+    private SettlementStatisticsStore loadedStore(int maxBrands) {
+        doAnswer(invocation -> {
+            LocalDate startDate = invocation.getArgument(0);
+            LocalDate endDate = invocation.getArgument(1);
+            ResultHandler<DailyStatisticsDto> handler = invocation.getArgument(3);
+            table.stream()
+                .filter(row -> !row.getSettlementDate().isBefore(startDate) && !row.getSettlementDate().isAfter(endDate))
+                .sorted(Comparator.comparing(DailyStatisticsDto::getBrandId)
+                    .thenComparing(DailyStatisticsDto::getSettlementDate))
+                .forEach(row -> handler.handleResult(context(row)));
+            return null;
+        }).when(dailyMapper).streamDailyStatistics(any(), any(), isNull(), any());
+
+        SettlementStatisticsStore store = new SettlementStatisticsStore(
+            dailyMapper, new SimpleMeterRegistry(), true, RETENTION_DAYS, 2, maxBrands);
+        store.refreshRecent();
+        return store;
+    }
+
+    private void insert(Long brandId, LocalDate date, int orderCount, String salesAmount) {
+        table.add(new DailyStatisticsDto(brandId, date, orderCount, new BigDecimal(salesAmount), new BigDecimal(salesAmount)));
+    }
+
+    private static ResultContext<DailyStatisticsDto> context(DailyStatisticsDto row) {
+        return new ResultContext<>() {
+            @Override
+            public DailyStatisticsDto getResultObject() {
+                return row;
+            }
+
+            @Override
+            public int getResultCount() {
+                return 1;
+            }
+
+            @Override
+            public boolean isStopped() {
+                return false;
+            }
+
+            @Override
+            public void stop() {
+            }
+        };
+    }
+}
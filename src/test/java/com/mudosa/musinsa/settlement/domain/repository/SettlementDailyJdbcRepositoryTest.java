@@ -0,0 +1,75 @@
+package com.mudosa.musinsa.settlement.domain.repository;
+
+import com.mudosa.musinsa.common.vo.Money;
+import com.mudosa.musinsa.settlement.domain.model.SettlementDaily;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SettlementDailyJdbcRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 16);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SettlementDailyJdbcRepository repository;
+
+    @Test
+    @DisplayName("(brand_id, settlement_date)로 먼저 갱신하고, 갱신되지 않은 행만 INSERT 한다.")
+    void upsertAll_insertsOnlyRowsNotUpdated() {
+        when(jdbcTemplate.batchUpdate(argThat((String sql) -> sql.contains("UPDATE")), any(SqlParameterSource[].class)))
+            .thenReturn(new int[]{1, 0});
+
+        repository.upsertAll(List.of(daily(1L, "DAILY-20261016-00001"), daily(2L, "DAILY-20261016-00002")));
+
+        ArgumentCaptor<SqlParameterSource[]> inserted = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(argThat((String sql) -> sql.startsWith("INSERT")), inserted.capture());
+        assertThat(inserted.getValue()).hasSize(1);
+        assertThat(inserted.getValue()[0].getValue("brandId")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("모든 행이 이미 있으면 INSERT 하지 않고, ON DUPLICATE KEY로 다른 키 충돌을 덮어쓰지 않는다.")
+    void upsertAll_skipsInsertWhenAllUpdated() {
+        when(jdbcTemplate.batchUpdate(any(String.class), any(SqlParameterSource[].class))).thenReturn(new int[]{1});
+
+        repository.upsertAll(List.of(daily(1L, "DAILY-20261016-00001")));
+
+        verify(jdbcTemplate, never()).batchUpdate(argThat((String sql) -> sql.startsWith("INSERT")),
+            any(SqlParameterSource[].class));
+        verify(jdbcTemplate, never()).batchUpdate(argThat((String sql) -> sql.contains("ON DUPLICATE KEY")),
+            any(SqlParameterSource[].class));
+    }
+
+    private SettlementDaily daily(Long brandId, String settlementNumber) {
+        SettlementDaily daily = SettlementDaily.create(brandId, DATE, settlementNumber, "Asia/Seoul");
+        Money amount = new Money(BigDecimal.valueOf(10000));
+        daily.setAggregatedData(1, amount, Money.ZERO, Money.ZERO, Money.ZERO);
+        daily.startProcessing();
+        daily.complete();
+        return daily;
+    }
+}
@@ -0,0 +1,99 @@
+package com.mudosa.musinsa.settlement.domain.repository;
+
+import com.mudosa.musinsa.settlement.domain.repository.SettlementRollupJdbcRepository.RollupDelta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SettlementRollupJdbcRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 16);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SettlementRollupJdbcRepository repository;
+
+    @Test
+    @DisplayName("(brand_id, 기간)으로 먼저 더하고, 버킷이 없는 브랜드만 새 정산 번호로 INSERT 한다.")
+    void addDaily_insertsOnlyMissingBuckets() {
+        when(jdbcTemplate.batchUpdate(argThat((String sql) -> sql.startsWith("UPDATE")), any(SqlParameterSource[].class)))
+            .thenReturn(new int[]{1, 0});
+        List<LocalDate> issued = new ArrayList<>();
+
+        repository.addDaily(List.of(delta(2L), delta(1L)), date -> {
+            issued.add(date);
+            return "DAILY-20261016-00007";
+        });
+
+        ArgumentCaptor<SqlParameterSource> inserted = ArgumentCaptor.forClass(SqlParameterSource.class);
+        verify(jdbcTemplate).update(argThat((String sql) -> sql.startsWith("INSERT")), inserted.capture());
+        assertThat(inserted.getValue().getValue("brandId")).isEqualTo(2L);
+        assertThat(inserted.getValue().getValue("settlementNumber")).isEqualTo("DAILY-20261016-00007");
+        assertThat(issued).containsExactly(DATE);
+        verify(jdbcTemplate, never()).batchUpdate(argThat((String sql) -> sql.contains("ON DUPLICATE KEY")),
+            any(SqlParameterSource[].class));
+    }
+
+    @Test
+    @DisplayName("다른 트랜잭션이 같은 버킷을 먼저 만들었으면 INSERT 대신 그 행에 다시 더한다.")
+    void addDaily_retriesUpdateWhenBucketCreatedConcurrently() {
+        when(jdbcTemplate.batchUpdate(any(String.class), any(SqlParameterSource[].class))).thenReturn(new int[]{0});
+        when(jdbcTemplate.update(argThat((String sql) -> sql.startsWith("INSERT")), any(SqlParameterSource.class)))
+            .thenThrow(new DuplicateKeyException("uk_brand_date"));
+        when(jdbcTemplate.queryForObject(any(String.class), any(SqlParameterSource.class), eq(Integer.class)))
+            .thenReturn(1);
+
+        repository.addDaily(List.of(delta(1L)), date -> "DAILY-20261016-00007");
+
+        verify(jdbcTemplate, times(1)).update(argThat((String sql) -> sql.startsWith("UPDATE")),
+            any(SqlParameterSource.class));
+    }
+
+    @Test
+    @DisplayName("버킷이 없는데 키 중복이면 정산 번호 충돌이므로 다른 브랜드 행에 더하지 않고 실패한다.")
+    void addDaily_failsOnSettlementNumberCollision() {
+        when(jdbcTemplate.batchUpdate(any(String.class), any(SqlParameterSource[].class))).thenReturn(new int[]{0});
+        when(jdbcTemplate.update(argThat((String sql) -> sql.startsWith("INSERT")), any(SqlParameterSource.class)))
+            .thenThrow(new DuplicateKeyException("uk_settlement_number"));
+        when(jdbcTemplate.queryForObject(any(String.class), any(SqlParameterSource.class), eq(Integer.class)))
+            .thenReturn(0);
+
+        assertThatThrownBy(() -> repository.addDaily(List.of(delta(1L)), date -> "DAILY-20261016-00007"))
+            .isInstanceOf(IllegalStateException.class);
+        verify(jdbcTemplate, never()).update(argThat((String sql) -> sql.startsWith("UPDATE")),
+            any(SqlParameterSource.class));
+    }
+
+    private RollupDelta delta(Long brandId) {
+        return new RollupDelta(brandId, DATE, "Asia/Seoul", 1, BigDecimal.valueOf(10000),
+            BigDecimal.valueOf(1000), BigDecimal.valueOf(100), BigDecimal.valueOf(10));
+    }
+}
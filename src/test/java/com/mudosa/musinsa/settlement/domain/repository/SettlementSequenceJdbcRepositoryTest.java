@@ -0,0 +1,74 @@
+package com.mudosa.musinsa.settlement.domain.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SettlementSequenceJdbcRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SettlementSequenceJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:settlement_sequence;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE settlement_sequence (sequence_name VARCHAR(50) PRIMARY KEY, next_value BIGINT NOT NULL)");
+        for (String table : new String[]{"settlements_daily", "settlements_weekly", "settlements_monthly", "settlements_yearly"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (settlement_number VARCHAR(50) NOT NULL UNIQUE)");
+        }
+        repository = new SettlementSequenceJdbcRepository(new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("시퀀스 도입 전 번호(currentTimeMillis % 100000)가 있으면 가장 큰 끝자리 다음부터 예약한다.")
+    void reserveBlock_startsAfterLegacyNumbers() {
+        jdbcTemplate.update("INSERT INTO settlements_daily VALUES ('DAILY-20250127-83412'), ('DAILY-20250128-00042')");
+
+        long first = repository.reserveBlock("daily_settlement_seq", 100);
+        long second = repository.reserveBlock("daily_settlement_seq", 100);
+
+        assertThat(first).isEqualTo(83413);
+        assertThat(second).isEqualTo(83513);
+    }
+
+    @Test
+    @DisplayName("이미 1부터 시작하도록 만들어진 시퀀스 행도 기존 번호 뒤로 건너뛴다.")
+    void reserveBlock_skipsLegacyNumbersForExistingSequenceRow() {
+        jdbcTemplate.update("INSERT INTO settlement_sequence VALUES ('weekly_settlement_seq', 1)");
+        jdbcTemplate.update("INSERT INTO settlements_weekly VALUES ('WEEKLY-2025W04-99999')");
+
+        assertThat(repository.reserveBlock("weekly_settlement_seq", 100)).isEqualTo(100000);
+        assertThat(repository.reserveBlock("weekly_settlement_seq", 100)).isEqualTo(100100);
+    }
+
+    @Test
+    @DisplayName("기존 번호가 없으면 1부터, 시퀀스가 기존 번호를 넘은 뒤에는 next_value부터 예약한다.")
+    void reserveBlock_usesNextValueWithoutLegacyNumbers() {
+        assertThat(repository.reserveBlock("monthly_settlement_seq", 100)).isEqualTo(1);
+
+        jdbcTemplate.update("INSERT INTO settlements_monthly VALUES ('MONTHLY-202501-00001'), ('MONTHLY-202501-00100')");
+
+        assertThat(repository.reserveBlock("monthly_settlement_seq", 100)).isEqualTo(101);
+    }
+
+    @Test
+    @DisplayName("정산 테이블이 정해지지 않은 시퀀스는 예약하지 않는다.")
+    void reserveBlock_rejectsUnknownSequence() {
+        assertThatThrownBy(() -> repository.reserveBlock("unknown_seq", 100))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.mudosa.musinsa.settlement.domain.service;
+
+import com.mudosa.musinsa.settlement.domain.repository.SettlementSequenceJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SettlementSequenceAllocatorTest {
+
+    private static final int BLOCK_SIZE = 100;
+
+    @Mock
+    private SettlementSequenceJdbcRepository sequenceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // settlement_sequence 테이블 대신 시퀀스별 next_value를 원자적으로 올린다.
+    private final Map<String, AtomicLong> table = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(sequenceRepository.reserveBlock(anyString(), anyInt())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            int blockSize = invocation.getArgument(1);
+            return table.computeIfAbsent(name, key -> new AtomicLong(1)).getAndAdd(blockSize);
+        });
+    }
+
+    @Test
+    @DisplayName("여러 노드의 병렬 배치 파티션이 동시에 번호를 받아도 중복이 없다.")
+    void next_isUniqueAcrossNodesAndPartitions() throws Exception {
+        List<SettlementSequenceAllocator> nodes = List.of(newAllocator(), newAllocator(), newAllocator());
+        int partitions = 12;
+        int perPartition = 2_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(partitions);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            SettlementSequenceAllocator node = nodes.get(i % nodes.size());
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> values = new ArrayList<>(perPartition);
+                for (int n = 0; n < perPartition; n++) {
+                    values.add(node.next("daily_settlement_seq"));
+                }
+                return values;
+            }));
+        }
+        start.countDown();
+
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        int total = 0;
+        for (Future<List<Long>> future : futures) {
+            List<Long> values = future.get();
+            issued.addAll(values);
+            total += values.size();
+        }
+        executor.shutdown();
+
+        assertThat(total).isEqualTo(partitions * perPartition);
+        assertThat(issued).hasSize(total);
+    }
+
+    @Test
+    @DisplayName("블록을 다 쓴 경우에만 DB에서 다음 블록을 예약한다.")
+    void next_reservesOnlyWhenBlockIsExhausted() {
+        SettlementSequenceAllocator allocator = newAllocator();
+
+        for (int i = 0; i < BLOCK_SIZE * 2 + 1; i++) {
+            allocator.next("weekly_settlement_seq");
+        }
+
+        verify(sequenceRepository, times(3)).reserveBlock(eq("weekly_settlement_seq"), eq(BLOCK_SIZE));
+    }
+
+    @Test
+    @DisplayName("노드가 재시작되면 이전 블록의 남은 번호는 건너뛰고 새 블록부터 나눠준다.")
+    void next_skipsUnusedRangeAfterRestart() {
+        SettlementSequenceAllocator beforeCrash = newAllocator();
+        long first = beforeCrash.next("monthly_settlement_seq");
+
+        SettlementSequenceAllocator afterRestart = newAllocator();
+        long next = afterRestart.next("monthly_settlement_seq");
+
+        assertThat(first).isEqualTo(1);
+        assertThat(next).isEqualTo(1 + BLOCK_SIZE);
+    }
+
+    @Test
+    @DisplayName("시퀀스는 정산 유형별로 독립적이다.")
+    void next_isIndependentPerSequence() {
+        SettlementSequenceAllocator allocator = newAllocator();
+
+        assertThat(allocator.next("daily_settlement_seq")).isEqualTo(1);
+        assertThat(allocator.next("yearly_settlement_seq")).isEqualTo(1);
+        assertThat(allocator.next("daily_settlement_seq")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 날짜의 일일 정산 번호를 병렬로 생성해도 겹치지 않는다.")
+    void generateDailyNumber_isUniqueUnderParallelCalls() throws Exception {
+        SettlementNumberGenerator generator = new SettlementNumberGenerator(newAllocator());
+        LocalDate date = LocalDate.of(2025, 1, 27);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            futures.add(executor.submit(() -> generator.generateDailyNumber(date)));
+        }
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        for (Future<String> future : futures) {
+            numbers.add(future.get());
+        }
+        executor.shutdown();
+
+        assertThat(numbers).hasSize(5_000)
+            .allMatch(number -> number.startsWith("DAILY-20250127-"));
+    }
+
+    private SettlementSequenceAllocator newAllocator() {
+        return new SettlementSequenceAllocator(sequenceRepository, transactionManager, new SimpleMeterRegistry(), BLOCK_SIZE);
+    }
+}